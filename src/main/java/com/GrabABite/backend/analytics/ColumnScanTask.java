@@ -0,0 +1,162 @@
+package com.grababite.backend.analytics;
+
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Fork-join scan over a row range of an {@link OrderColumns} snapshot.
+ *
+ * Each leaf filters its slice and accumulates into per-bucket counters; siblings are merged
+ * by adding their buckets. Subclasses decide which column set is scanned, the filter, and the
+ * bucket a matching row lands in.
+ */
+abstract class ColumnScanTask extends RecursiveTask<ColumnScanTask.Buckets> {
+
+    // Rows per leaf; large enough that task overhead is negligible next to the scan itself
+    static final int LEAF_SIZE = 32_768;
+
+    static final int MINUTES_PER_DAY = 24 * 60;
+
+    final OrderColumns columns;
+    final int cafeteria;
+    final int fromMinute;
+    final int toMinute;
+    final int bucketCount;
+    final int lo;
+    final int hi;
+
+    ColumnScanTask(OrderColumns columns, int cafeteria, int fromMinute, int toMinute, int bucketCount, int lo, int hi) {
+        this.columns = columns;
+        this.cafeteria = cafeteria;
+        this.fromMinute = fromMinute;
+        this.toMinute = toMinute;
+        this.bucketCount = bucketCount;
+        this.lo = lo;
+        this.hi = hi;
+    }
+
+    @Override
+    protected Buckets compute() {
+        if (hi - lo <= LEAF_SIZE) {
+            Buckets buckets = new Buckets(bucketCount);
+            scan(buckets);
+            return buckets;
+        }
+        int mid = (lo + hi) >>> 1;
+        ColumnScanTask left = slice(lo, mid);
+        left.fork();
+        Buckets right = slice(mid, hi).compute();
+        return left.join().add(right);
+    }
+
+    /** Creates the same scan over a sub-range. */
+    abstract ColumnScanTask slice(int lo, int hi);
+
+    /** Accumulates rows [lo, hi) into the buckets. */
+    abstract void scan(Buckets buckets);
+
+    // Per-bucket counters: count is the number of rows (or units), amount the sum in minor units.
+    static final class Buckets {
+        final long[] count;
+        final long[] amountMinor;
+
+        Buckets(int size) {
+            this.count = new long[size];
+            this.amountMinor = new long[size];
+        }
+
+        Buckets add(Buckets other) {
+            for (int i = 0; i < count.length; i++) {
+                count[i] += other.count[i];
+                amountMinor[i] += other.amountMinor[i];
+            }
+            return this;
+        }
+    }
+
+    /** Completed orders of one cafeteria in [fromMinute, toMinute), bucketed by day offset from fromMinute. */
+    static final class OrdersByDay extends ColumnScanTask {
+
+        OrdersByDay(OrderColumns columns, int cafeteria, int fromMinute, int toMinute, int days, int lo, int hi) {
+            super(columns, cafeteria, fromMinute, toMinute, days, lo, hi);
+        }
+
+        @Override
+        ColumnScanTask slice(int lo, int hi) {
+            return new OrdersByDay(columns, cafeteria, fromMinute, toMinute, bucketCount, lo, hi);
+        }
+
+        @Override
+        void scan(Buckets buckets) {
+            int[] minutes = columns.orderEpochMinute;
+            int[] cafeterias = columns.orderCafeteria;
+            long[] totals = columns.orderTotalMinor;
+            for (int i = lo; i < hi; i++) {
+                int minute = minutes[i];
+                if (cafeterias[i] == cafeteria && minute >= fromMinute && minute < toMinute) {
+                    int day = (minute - fromMinute) / MINUTES_PER_DAY;
+                    buckets.count[day]++;
+                    buckets.amountMinor[day] += totals[i];
+                }
+            }
+        }
+    }
+
+    /** Order lines of one cafeteria in [fromMinute, toMinute), bucketed by day offset; count is units sold. */
+    static final class LinesByDay extends ColumnScanTask {
+
+        LinesByDay(OrderColumns columns, int cafeteria, int fromMinute, int toMinute, int days, int lo, int hi) {
+            super(columns, cafeteria, fromMinute, toMinute, days, lo, hi);
+        }
+
+        @Override
+        ColumnScanTask slice(int lo, int hi) {
+            return new LinesByDay(columns, cafeteria, fromMinute, toMinute, bucketCount, lo, hi);
+        }
+
+        @Override
+        void scan(Buckets buckets) {
+            int[] minutes = columns.lineEpochMinute;
+            int[] cafeterias = columns.lineCafeteria;
+            int[] quantities = columns.lineQuantity;
+            long[] amounts = columns.lineAmountMinor;
+            for (int i = lo; i < hi; i++) {
+                int minute = minutes[i];
+                if (cafeterias[i] == cafeteria && minute >= fromMinute && minute < toMinute) {
+                    int day = (minute - fromMinute) / MINUTES_PER_DAY;
+                    buckets.count[day] += quantities[i];
+                    buckets.amountMinor[day] += amounts[i];
+                }
+            }
+        }
+    }
+
+    /** Order lines of one cafeteria in [fromMinute, toMinute), bucketed by menu item dictionary id. */
+    static final class LinesByItem extends ColumnScanTask {
+
+        LinesByItem(OrderColumns columns, int cafeteria, int fromMinute, int toMinute, int itemCount, int lo, int hi) {
+            super(columns, cafeteria, fromMinute, toMinute, itemCount, lo, hi);
+        }
+
+        @Override
+        ColumnScanTask slice(int lo, int hi) {
+            return new LinesByItem(columns, cafeteria, fromMinute, toMinute, bucketCount, lo, hi);
+        }
+
+        @Override
+        void scan(Buckets buckets) {
+            int[] minutes = columns.lineEpochMinute;
+            int[] cafeterias = columns.lineCafeteria;
+            int[] items = columns.lineItem;
+            int[] quantities = columns.lineQuantity;
+            long[] amounts = columns.lineAmountMinor;
+            for (int i = lo; i < hi; i++) {
+                int minute = minutes[i];
+                if (cafeterias[i] == cafeteria && minute >= fromMinute && minute < toMinute) {
+                    int item = items[i];
+                    buckets.count[item] += quantities[i];
+                    buckets.amountMinor[item] += amounts[i];
+                }
+            }
+        }
+    }
+}
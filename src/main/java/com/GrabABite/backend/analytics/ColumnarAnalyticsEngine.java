@@ -0,0 +1,151 @@
+package com.grababite.backend.analytics;
+
+import com.grababite.backend.dto.PopularMenuItemResponse;
+import com.grababite.backend.dto.SalesSummaryResponse;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Answers the sales reports from the {@link ColumnarOrderStore} instead of the database.
+ *
+ * Each report is one or two parallel scans over primitive columns, so no entity, BigDecimal or
+ * LocalDateTime is created per order. Results match the SQL reports: completed orders only,
+ * inclusive date ranges, amounts rounded to two decimals.
+ */
+@Service
+@ConditionalOnProperty(name = "grababite.analytics.columnar.enabled", havingValue = "true")
+public class ColumnarAnalyticsEngine {
+
+    @Autowired
+    private ColumnarOrderStore store;
+
+    private final ForkJoinPool pool;
+
+    public ColumnarAnalyticsEngine(@Value("${grababite.analytics.columnar.parallelism:0}") int parallelism) {
+        this.pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdown();
+    }
+
+    /** @return true when the store has finished loading and reports can be served from memory. */
+    public boolean isReady() {
+        return store.isReady();
+    }
+
+    /**
+     * Aggregates completed orders per day for a cafeteria over an inclusive date range.
+     * Days without completed orders are omitted.
+     */
+    public List<SalesSummaryResponse> getDailySales(UUID cafeteriaId, LocalDate startDate, LocalDate endDate) {
+        int days = (int) ChronoUnit.DAYS.between(startDate, endDate) + 1;
+        ColumnScanTask.Buckets orders = scanOrdersByDay(cafeteriaId, startDate, days);
+        ColumnScanTask.Buckets lines = scanLinesByDay(cafeteriaId, startDate, days);
+        String cafeteriaName = cafeteriaName(cafeteriaId);
+
+        List<SalesSummaryResponse> result = new ArrayList<>();
+        for (int day = 0; day < days; day++) {
+            if (orders.count[day] > 0) {
+                result.add(new SalesSummaryResponse(cafeteriaId, cafeteriaName, startDate.plusDays(day),
+                        BigDecimal.valueOf(orders.amountMinor[day], 2), orders.count[day], lines.count[day]));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Summarizes completed orders of a cafeteria on a single day. Always returns a summary,
+     * with zero totals when nothing was sold.
+     */
+    public SalesSummaryResponse getDailySalesSummary(UUID cafeteriaId, LocalDate date) {
+        ColumnScanTask.Buckets orders = scanOrdersByDay(cafeteriaId, date, 1);
+        ColumnScanTask.Buckets lines = scanLinesByDay(cafeteriaId, date, 1);
+        return new SalesSummaryResponse(cafeteriaId, cafeteriaName(cafeteriaId), date,
+                BigDecimal.valueOf(orders.amountMinor[0], 2), orders.count[0], lines.count[0]);
+    }
+
+    /**
+     * Aggregates completed order lines per menu item for a cafeteria over an inclusive date range.
+     * @return Menu items sorted by quantity sold, highest first.
+     */
+    public List<PopularMenuItemResponse> getPopularMenuItems(UUID cafeteriaId, LocalDate startDate, LocalDate endDate, int limit) {
+        int cafeteria = store.cafeterias().lookup(cafeteriaId);
+        if (cafeteria < 0) {
+            return List.of();
+        }
+        OrderColumns columns = store.snapshot();
+        IdDictionary menuItems = store.menuItems();
+        // Every item referenced by this snapshot was interned before it was published
+        int itemCount = menuItems.size();
+        ColumnScanTask.Buckets byItem = pool.invoke(new ColumnScanTask.LinesByItem(columns, cafeteria,
+                minuteOf(startDate), minuteOf(endDate.plusDays(1)), itemCount, 0, columns.lineCount));
+
+        String cafeteriaName = cafeteriaName(cafeteriaId);
+        return Arrays.stream(itemIndexes(byItem.count))
+                .boxed()
+                .sorted(Comparator.comparingLong((Integer item) -> byItem.count[item]).reversed())
+                .limit(limit)
+                .map(item -> new PopularMenuItemResponse(menuItems.idAt(item), menuItems.nameAt(item),
+                        byItem.count[item], BigDecimal.valueOf(byItem.amountMinor[item], 2),
+                        cafeteriaId, cafeteriaName))
+                .toList();
+    }
+
+    private ColumnScanTask.Buckets scanOrdersByDay(UUID cafeteriaId, LocalDate startDate, int days) {
+        int cafeteria = store.cafeterias().lookup(cafeteriaId);
+        if (cafeteria < 0) {
+            return new ColumnScanTask.Buckets(days);
+        }
+        OrderColumns columns = store.snapshot();
+        int fromMinute = minuteOf(startDate);
+        return pool.invoke(new ColumnScanTask.OrdersByDay(columns, cafeteria, fromMinute,
+                fromMinute + days * ColumnScanTask.MINUTES_PER_DAY, days, 0, columns.orderCount));
+    }
+
+    private ColumnScanTask.Buckets scanLinesByDay(UUID cafeteriaId, LocalDate startDate, int days) {
+        int cafeteria = store.cafeterias().lookup(cafeteriaId);
+        if (cafeteria < 0) {
+            return new ColumnScanTask.Buckets(days);
+        }
+        OrderColumns columns = store.snapshot();
+        int fromMinute = minuteOf(startDate);
+        return pool.invoke(new ColumnScanTask.LinesByDay(columns, cafeteria, fromMinute,
+                fromMinute + days * ColumnScanTask.MINUTES_PER_DAY, days, 0, columns.lineCount));
+    }
+
+    private String cafeteriaName(UUID cafeteriaId) {
+        int cafeteria = store.cafeterias().lookup(cafeteriaId);
+        String name = cafeteria >= 0 ? store.cafeterias().nameAt(cafeteria) : null;
+        return name != null ? name : "Unknown Cafeteria";
+    }
+
+    private static int[] itemIndexes(long[] quantities) {
+        int[] indexes = new int[quantities.length];
+        int n = 0;
+        for (int i = 0; i < quantities.length; i++) {
+            if (quantities[i] > 0) {
+                indexes[n++] = i;
+            }
+        }
+        return Arrays.copyOf(indexes, n);
+    }
+
+    private static int minuteOf(LocalDate date) {
+        return ColumnarOrderStore.toEpochMinute(date.atStartOfDay());
+    }
+}
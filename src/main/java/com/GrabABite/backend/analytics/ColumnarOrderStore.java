@@ -0,0 +1,275 @@
+package com.grababite.backend.analytics;
+
+import com.grababite.backend.events.OrderCompletedEvent;
+import com.grababite.backend.events.OrderCompletionRevertedEvent;
+import com.grababite.backend.repositories.ReportingJdbcRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * In-memory, column-oriented copy of every completed order line.
+ *
+ * The store is loaded once at startup by streaming completed orders from the reporting pool,
+ * then kept current by appending each order as it is completed. Readers take the current
+ * {@link OrderColumns} snapshot without locking; appends are serialized on this object.
+ *
+ * Only additions are appended in place. An order that leaves COMPLETED (or is deleted) on this
+ * node requests a {@link #rebuild()}, which runs within
+ * grababite.analytics.columnar.rebuild-request-interval-ms. Orders completed or reverted on
+ * other nodes are picked up by the periodic full rebuild (grababite.analytics.columnar.rebuild-cron).
+ */
+@Component
+@ConditionalOnProperty(name = "grababite.analytics.columnar.enabled", havingValue = "true")
+public class ColumnarOrderStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(ColumnarOrderStore.class);
+
+    @Autowired
+    private ReportingJdbcRepository reportingJdbcRepository;
+
+    private final IdDictionary cafeterias = new IdDictionary();
+    private final IdDictionary menuItems = new IdDictionary();
+
+    private volatile OrderColumns snapshot = OrderColumns.EMPTY;
+    private volatile boolean ready = false;
+    private final AtomicBoolean rebuildRequested = new AtomicBoolean();
+
+    // Guarded by this
+    private ColumnBuffers buffers;
+    private boolean loading = false;
+    private List<OrderCompletedEvent> pendingEvents;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        rebuild();
+    }
+
+    // Picks up orders completed, reverted or deleted on other nodes
+    @Scheduled(cron = "${grababite.analytics.columnar.rebuild-cron:0 */10 * * * *}")
+    public void scheduledRebuild() {
+        rebuild();
+    }
+
+    @Scheduled(fixedDelayString = "${grababite.analytics.columnar.rebuild-request-interval-ms:5000}")
+    public void rebuildIfRequested() {
+        if (rebuildRequested.getAndSet(false)) {
+            rebuild();
+        }
+    }
+
+    /**
+     * Reloads every completed order from the database and swaps the result in atomically.
+     * Orders completed while the reload is running are buffered and applied afterwards.
+     */
+    public void rebuild() {
+        synchronized (this) {
+            if (loading) {
+                // The running load may already have read past the change that prompted this call
+                rebuildRequested.set(true);
+                return;
+            }
+            loading = true;
+            pendingEvents = new ArrayList<>();
+        }
+
+        long start = System.currentTimeMillis();
+        ColumnBuffers loaded = new ColumnBuffers();
+        Set<UUID> loadedOrderIds = new HashSet<>();
+        try {
+            reportingJdbcRepository.streamCafeteriaNames(rs ->
+                    cafeterias.intern(rs.getObject("cafeteria_id", UUID.class), rs.getString("name")));
+            reportingJdbcRepository.streamMenuItemNames(rs ->
+                    menuItems.intern(rs.getObject("item_id", UUID.class), rs.getString("name")));
+
+            OrderAccumulator accumulator = new OrderAccumulator(loaded, loadedOrderIds);
+            reportingJdbcRepository.streamCompletedOrderLines(accumulator::processRow);
+        } catch (RuntimeException e) {
+            logger.error("Failed to load columnar order store", e);
+            synchronized (this) {
+                // Keep whatever was serving before and replay the orders completed meanwhile
+                if (buffers != null) {
+                    pendingEvents.forEach(event -> appendEvent(buffers, event));
+                    snapshot = buffers.snapshot();
+                }
+                pendingEvents = null;
+                loading = false;
+            }
+            return;
+        }
+
+        synchronized (this) {
+            for (OrderCompletedEvent event : pendingEvents) {
+                if (!loadedOrderIds.contains(event.getOrderId())) {
+                    appendEvent(loaded, event);
+                }
+            }
+            buffers = loaded;
+            snapshot = loaded.snapshot();
+            pendingEvents = null;
+            loading = false;
+            ready = true;
+        }
+        logger.info("Columnar order store loaded {} orders / {} lines in {} ms",
+                loaded.orderCount, loaded.lineCount, System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Appends a newly completed order once its transaction has committed.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public synchronized void onOrderCompleted(OrderCompletedEvent event) {
+        if (loading) {
+            pendingEvents.add(event);
+        } else if (buffers != null) {
+            appendEvent(buffers, event);
+            snapshot = buffers.snapshot();
+        }
+    }
+
+    /**
+     * Schedules a rebuild once a completed order has been reverted or deleted. Appended columns
+     * cannot drop a single order, and reverts are rare, so the whole store is reloaded.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onOrderCompletionReverted(OrderCompletionRevertedEvent event) {
+        rebuildRequested.set(true);
+    }
+
+    /** @return true once the initial load has finished and queries reflect all completed orders. */
+    public boolean isReady() {
+        return ready;
+    }
+
+    OrderColumns snapshot() {
+        return snapshot;
+    }
+
+    IdDictionary cafeterias() {
+        return cafeterias;
+    }
+
+    IdDictionary menuItems() {
+        return menuItems;
+    }
+
+    static int toEpochMinute(LocalDateTime dateTime) {
+        return (int) (dateTime.toEpochSecond(ZoneOffset.UTC) / 60);
+    }
+
+    static long toMinorUnits(BigDecimal amount) {
+        return amount == null ? 0L : amount.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    private void appendEvent(ColumnBuffers target, OrderCompletedEvent event) {
+        int cafeteria = cafeterias.intern(event.getCafeteriaId(), event.getCafeteriaName());
+        int minute = toEpochMinute(event.getCreatedAt());
+        target.appendOrder(minute, cafeteria, toMinorUnits(event.getTotalAmount()));
+        for (OrderCompletedEvent.Line line : event.getLines()) {
+            int item = menuItems.intern(line.getMenuItemId(), line.getMenuItemName());
+            target.appendLine(minute, cafeteria, item, line.getQuantity(),
+                    toMinorUnits(line.getUnitPrice()) * line.getQuantity());
+        }
+    }
+
+    // Folds the order-line rows of the streaming load (ordered by order ID) back into orders.
+    private final class OrderAccumulator {
+        private final ColumnBuffers target;
+        private final Set<UUID> orderIds;
+        private UUID currentOrderId;
+
+        OrderAccumulator(ColumnBuffers target, Set<UUID> orderIds) {
+            this.target = target;
+            this.orderIds = orderIds;
+        }
+
+        void processRow(ResultSet rs) throws SQLException {
+            UUID orderId = rs.getObject("order_id", UUID.class);
+            int minute = toEpochMinute(rs.getObject("created_at", LocalDateTime.class));
+            int cafeteria = cafeterias.intern(rs.getObject("cafeteria_id", UUID.class), null);
+            if (!orderId.equals(currentOrderId)) {
+                currentOrderId = orderId;
+                orderIds.add(orderId);
+                target.appendOrder(minute, cafeteria, toMinorUnits(rs.getBigDecimal("total_amount")));
+            }
+            UUID menuItemId = rs.getObject("menu_item_id", UUID.class);
+            if (menuItemId != null) {
+                int quantity = rs.getInt("quantity");
+                target.appendLine(minute, cafeteria, menuItems.intern(menuItemId, null), quantity,
+                        toMinorUnits(rs.getBigDecimal("unit_price")) * quantity);
+            }
+        }
+    }
+
+    // Growable backing arrays. Grown by copy, so snapshots taken earlier keep their own arrays
+    // and never observe a partially written entry.
+    private static final class ColumnBuffers {
+        private int[] orderEpochMinute = new int[1024];
+        private int[] orderCafeteria = new int[1024];
+        private long[] orderTotalMinor = new long[1024];
+        private int orderCount = 0;
+
+        private int[] lineEpochMinute = new int[2048];
+        private int[] lineCafeteria = new int[2048];
+        private int[] lineItem = new int[2048];
+        private int[] lineQuantity = new int[2048];
+        private long[] lineAmountMinor = new long[2048];
+        private int lineCount = 0;
+
+        void appendOrder(int epochMinute, int cafeteria, long totalMinor) {
+            if (orderCount == orderEpochMinute.length) {
+                int capacity = orderCount * 2;
+                orderEpochMinute = Arrays.copyOf(orderEpochMinute, capacity);
+                orderCafeteria = Arrays.copyOf(orderCafeteria, capacity);
+                orderTotalMinor = Arrays.copyOf(orderTotalMinor, capacity);
+            }
+            orderEpochMinute[orderCount] = epochMinute;
+            orderCafeteria[orderCount] = cafeteria;
+            orderTotalMinor[orderCount] = totalMinor;
+            orderCount++;
+        }
+
+        void appendLine(int epochMinute, int cafeteria, int item, int quantity, long amountMinor) {
+            if (lineCount == lineEpochMinute.length) {
+                int capacity = lineCount * 2;
+                lineEpochMinute = Arrays.copyOf(lineEpochMinute, capacity);
+                lineCafeteria = Arrays.copyOf(lineCafeteria, capacity);
+                lineItem = Arrays.copyOf(lineItem, capacity);
+                lineQuantity = Arrays.copyOf(lineQuantity, capacity);
+                lineAmountMinor = Arrays.copyOf(lineAmountMinor, capacity);
+            }
+            lineEpochMinute[lineCount] = epochMinute;
+            lineCafeteria[lineCount] = cafeteria;
+            lineItem[lineCount] = item;
+            lineQuantity[lineCount] = quantity;
+            lineAmountMinor[lineCount] = amountMinor;
+            lineCount++;
+        }
+
+        OrderColumns snapshot() {
+            return new OrderColumns(orderEpochMinute, orderCafeteria, orderTotalMinor, orderCount,
+                    lineEpochMinute, lineCafeteria, lineItem, lineQuantity, lineAmountMinor, lineCount);
+        }
+    }
+}
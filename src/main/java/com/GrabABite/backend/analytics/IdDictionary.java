@@ -0,0 +1,62 @@
+package com.grababite.backend.analytics;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Maps UUIDs (cafeterias, menu items) to dense int ids so the columnar store can keep
+ * plain int columns and group-by scans can use arrays instead of hash maps.
+ *
+ * Interning is synchronized; lookups and name reads are lock-free.
+ */
+final class IdDictionary {
+
+    private final Map<UUID, Integer> index = new ConcurrentHashMap<>();
+    private volatile UUID[] ids = new UUID[64];
+    private volatile String[] names = new String[64];
+    private volatile int size = 0;
+
+    /**
+     * Returns the dense id for the UUID, assigning the next id if it is new.
+     * The display name is refreshed when a non-null name is supplied.
+     */
+    synchronized int intern(UUID id, String name) {
+        Integer existing = index.get(id);
+        if (existing != null) {
+            if (name != null) {
+                names[existing] = name;
+            }
+            return existing;
+        }
+        int next = size;
+        if (next == ids.length) {
+            names = Arrays.copyOf(names, next * 2);
+            ids = Arrays.copyOf(ids, next * 2);
+        }
+        ids[next] = id;
+        names[next] = name;
+        size = next + 1;
+        index.put(id, next);
+        return next;
+    }
+
+    /** @return The dense id for the UUID, or -1 if it has never been seen. */
+    int lookup(UUID id) {
+        Integer existing = index.get(id);
+        return existing != null ? existing : -1;
+    }
+
+    UUID idAt(int denseId) {
+        return ids[denseId];
+    }
+
+    String nameAt(int denseId) {
+        return names[denseId];
+    }
+
+    int size() {
+        return size;
+    }
+}
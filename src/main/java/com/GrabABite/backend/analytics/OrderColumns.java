@@ -0,0 +1,45 @@
+package com.grababite.backend.analytics;
+
+/**
+ * Immutable view of the columnar store at a point in time.
+ *
+ * The arrays may be longer than the counts and may be shared with newer snapshots; only the
+ * first orderCount / lineCount entries belong to this snapshot and those never change.
+ *
+ * Order columns: one entry per completed order.
+ * Line columns: one entry per order line; the line's epoch minute and cafeteria are copied
+ * from its order so line scans never need to join back to the order columns.
+ */
+final class OrderColumns {
+
+    static final OrderColumns EMPTY = new OrderColumns(
+            new int[0], new int[0], new long[0], 0,
+            new int[0], new int[0], new int[0], new int[0], new long[0], 0);
+
+    final int[] orderEpochMinute;
+    final int[] orderCafeteria;
+    final long[] orderTotalMinor;
+    final int orderCount;
+
+    final int[] lineEpochMinute;
+    final int[] lineCafeteria;
+    final int[] lineItem;
+    final int[] lineQuantity;
+    final long[] lineAmountMinor;
+    final int lineCount;
+
+    OrderColumns(int[] orderEpochMinute, int[] orderCafeteria, long[] orderTotalMinor, int orderCount,
+                 int[] lineEpochMinute, int[] lineCafeteria, int[] lineItem, int[] lineQuantity,
+                 long[] lineAmountMinor, int lineCount) {
+        this.orderEpochMinute = orderEpochMinute;
+        this.orderCafeteria = orderCafeteria;
+        this.orderTotalMinor = orderTotalMinor;
+        this.orderCount = orderCount;
+        this.lineEpochMinute = lineEpochMinute;
+        this.lineCafeteria = lineCafeteria;
+        this.lineItem = lineItem;
+        this.lineQuantity = lineQuantity;
+        this.lineAmountMinor = lineAmountMinor;
+        this.lineCount = lineCount;
+    }
+}
@@ -0,0 +1,76 @@
+package com.grababite.backend.auth;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * What login and token issuing need to know about a user: identity, password hash, roles and
+ * the cafeteria/college the user belongs to. Immutable, so a cached instance can be shared.
+ */
+public final class AuthAccount {
+
+    private final UUID userId;
+    private final String email;
+    private final String passwordHash;
+    private final List<String> roles;
+    private final UUID cafeteriaId;
+    private final UUID collegeId;
+
+    public AuthAccount(UUID userId, String email, String passwordHash, List<String> roles,
+                       UUID cafeteriaId, UUID collegeId) {
+        this.userId = userId;
+        this.email = email;
+        this.passwordHash = passwordHash;
+        this.roles = Collections.unmodifiableList(new ArrayList<>(roles));
+        this.cafeteriaId = cafeteriaId;
+        this.collegeId = collegeId;
+    }
+
+    /**
+     * Folds the rows of {@code UserRepository.findAuthRowsByEmail/ById} (one per role, or one
+     * with a null role for a user without roles) into an account.
+     */
+    public static Optional<AuthAccount> fromRows(List<Object[]> rows) {
+        if (rows.isEmpty()) {
+            return Optional.empty();
+        }
+        Object[] first = rows.get(0);
+        Set<String> roles = new LinkedHashSet<>();
+        for (Object[] row : rows) {
+            if (row[3] != null) {
+                roles.add((String) row[3]);
+            }
+        }
+        return Optional.of(new AuthAccount((UUID) first[0], (String) first[1], (String) first[2],
+                new ArrayList<>(roles), (UUID) first[4], (UUID) first[5]));
+    }
+
+    public UUID getUserId() {
+        return userId;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public String getPasswordHash() {
+        return passwordHash;
+    }
+
+    public List<String> getRoles() {
+        return roles;
+    }
+
+    public UUID getCafeteriaId() {
+        return cafeteriaId;
+    }
+
+    public UUID getCollegeId() {
+        return collegeId;
+    }
+}
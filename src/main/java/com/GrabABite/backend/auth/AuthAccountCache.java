@@ -0,0 +1,134 @@
+package com.grababite.backend.auth;
+
+import com.grababite.backend.events.AfterCommit;
+import com.grababite.backend.events.RevocationsReceivedEvent;
+import com.grababite.backend.repositories.RevokedTokenRepository;
+import com.grababite.backend.repositories.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Short-lived, read-through cache of {@link AuthAccount}s by email, so a login resolves the
+ * user once: authentication and token issuing share one single-query load.
+ *
+ * Writers that change a user's email, password, roles, cafeteria or college (or delete the
+ * user) call {@link #invalidateAfterCommit(UUID)}. Every invalidation bumps a generation
+ * counter, and a load that started before the bump is not cached, so a load that read the old
+ * row cannot overwrite the invalidation. Unknown emails are not cached.
+ *
+ * Entries are local to this node. An invalidation is also written to revoked_tokens under the
+ * user's ID, and other nodes drop their entry when RevocationList polls that row (within
+ * grababite.jwt.revocation.poll-interval-ms). The TTL bounds staleness if a poll fails.
+ */
+@Component
+public class AuthAccountCache {
+
+    private final UserRepository userRepository;
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final AtomicLong generation = new AtomicLong();
+    private final Map<String, Entry> entries;
+    private final long ttlMillis;
+
+    public AuthAccountCache(UserRepository userRepository,
+                            RevokedTokenRepository revokedTokenRepository,
+                            @Value("${grababite.auth.account-cache.max-entries:10000}") int maxEntries,
+                            @Value("${grababite.auth.account-cache.ttl:PT30S}") Duration ttl) {
+        this.userRepository = userRepository;
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > maxEntries;
+            }
+        };
+        this.ttlMillis = ttl.toMillis();
+    }
+
+    /**
+     * Returns the account with the given email, loading it with one query on a miss.
+     */
+    public Optional<AuthAccount> findByEmail(String email) {
+        if (email == null) {
+            return Optional.empty();
+        }
+        Entry cached;
+        synchronized (entries) {
+            cached = entries.get(email);
+        }
+        if (cached != null && System.currentTimeMillis() - cached.loadedAt < ttlMillis) {
+            return Optional.of(cached.account);
+        }
+
+        long loadGeneration = generation.get();
+        Optional<AuthAccount> loaded = AuthAccount.fromRows(userRepository.findAuthRowsByEmail(email));
+        loaded.ifPresent(account -> {
+            synchronized (entries) {
+                if (generation.get() == loadGeneration) {
+                    entries.put(email, new Entry(account));
+                }
+            }
+        });
+        return loaded;
+    }
+
+    /**
+     * Loads the account with the given ID with one query. Not cached: it is only used when a
+     * refresh token is rotated, at most once per access token lifetime.
+     */
+    public Optional<AuthAccount> findById(UUID userId) {
+        return AuthAccount.fromRows(userRepository.findAuthRowsById(userId));
+    }
+
+    /**
+     * Drops the user's cached account on this node, whatever email it is cached under.
+     */
+    public void invalidate(UUID userId) {
+        invalidateAll(Set.of(userId));
+    }
+
+    /**
+     * Invalidates the user's account on this node once the current transaction commits, and on
+     * the other nodes once they poll the revoked_tokens row written here in the same
+     * transaction. Without a transaction both happen immediately.
+     */
+    public void invalidateAfterCommit(UUID userId) {
+        if (userId != null) {
+            LocalDateTime now = LocalDateTime.now();
+            revokedTokenRepository.publish(userId, now.plus(Duration.ofMillis(ttlMillis)), now);
+            AfterCommit.run(() -> invalidate(userId));
+        }
+    }
+
+    /** Drops accounts invalidated on other nodes; the event carries token and session IDs too. */
+    @EventListener
+    public void onRevocationsReceived(RevocationsReceivedEvent event) {
+        invalidateAll(event.getIds());
+    }
+
+    private void invalidateAll(Collection<UUID> userIds) {
+        synchronized (entries) {
+            generation.incrementAndGet();
+            entries.values().removeIf(entry -> userIds.contains(entry.account.getUserId()));
+        }
+    }
+
+    private static final class Entry {
+        final AuthAccount account;
+        final long loadedAt = System.currentTimeMillis();
+
+        Entry(AuthAccount account) {
+            this.account = account;
+        }
+    }
+}
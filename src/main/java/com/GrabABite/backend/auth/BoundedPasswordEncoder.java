@@ -0,0 +1,74 @@
+package com.grababite.backend.auth;
+
+import com.grababite.backend.exceptions.PasswordHashingBusyException;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Runs every hash and verification of the wrapped encoder on a small, bounded worker pool.
+ *
+ * BCrypt is deliberately CPU-bound; run on request threads, a burst of logins (e.g. when an
+ * exam ends) occupies every core and starves unrelated requests. Here at most the pool's
+ * worker count of hashes run at once, a bounded number wait in its queue, and anything beyond
+ * that is rejected immediately with {@link PasswordHashingBusyException} (503).
+ */
+public class BoundedPasswordEncoder implements PasswordEncoder {
+
+    private final PasswordEncoder delegate;
+    private final ThreadPoolTaskExecutor executor;
+    private final long timeoutMillis;
+
+    public BoundedPasswordEncoder(PasswordEncoder delegate, ThreadPoolTaskExecutor executor, Duration timeout) {
+        this.delegate = delegate;
+        this.executor = executor;
+        this.timeoutMillis = timeout.toMillis();
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return run(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return run(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    // Cheap (parses the stored hash's cost), so it stays on the calling thread
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    private <T> T run(Supplier<T> work) {
+        Future<T> future;
+        try {
+            future = executor.submit(work::get);
+        } catch (TaskRejectedException e) {
+            throw new PasswordHashingBusyException("Password hashing queue is full");
+        }
+        try {
+            return future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(false); // Drop it if still queued; a running hash finishes on its own
+            throw new PasswordHashingBusyException("Password hashing timed out in the queue");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(false);
+            throw new PasswordHashingBusyException("Interrupted while waiting for password hashing");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.grababite.backend.auth;
+
+import com.grababite.backend.exceptions.LoginThrottledException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Token-bucket limits on login attempts, per account and per client address.
+ *
+ * The account bucket is the main limit. Many clients can share one address (a campus NAT), so
+ * the address bucket is sized as a ceiling against spraying many accounts from one address.
+ * Client addresses come from X-Forwarded-For when the request passed a trusted proxy
+ * (server.forward-headers-strategy).
+ *
+ * Every attempt takes one token from both buckets; a bucket holds up to its burst size and
+ * regains one token per refill interval. Rejected attempts are answered before any password
+ * hashing, so guessing and login storms cannot consume the hashing pool.
+ *
+ * Buckets live in memory, in striped maps so concurrent logins rarely contend on a lock. Each
+ * stripe is bounded with least-recently-used eviction; an evicted key starts over with a full
+ * bucket. Limits are per node.
+ */
+@Component
+public class LoginThrottle {
+
+    private static final int STRIPES = 16;
+
+    private final Buckets accounts;
+    private final Buckets addresses;
+
+    public LoginThrottle(@Value("${grababite.login.account-burst:5}") int accountBurst,
+                         @Value("${grababite.login.account-refill:PT30S}") Duration accountRefill,
+                         @Value("${grababite.login.ip-burst:300}") int ipBurst,
+                         @Value("${grababite.login.ip-refill:PT0.2S}") Duration ipRefill,
+                         @Value("${grababite.login.max-tracked-keys:100000}") int maxTrackedKeys) {
+        int perStripe = Math.max(1, maxTrackedKeys / STRIPES);
+        this.accounts = new Buckets(accountBurst, accountRefill.toNanos(), perStripe);
+        this.addresses = new Buckets(ipBurst, ipRefill.toNanos(), perStripe);
+    }
+
+    /**
+     * Takes one login attempt from the account's and the client address's bucket.
+     * @param email The account being logged in to.
+     * @param clientAddress The caller's IP address, or null if unknown.
+     * @throws LoginThrottledException if either bucket is empty.
+     */
+    public void acquire(String email, String clientAddress) {
+        long now = System.nanoTime();
+        long waitNanos = clientAddress != null ? addresses.take(clientAddress, now) : 0L;
+        if (waitNanos == 0L) {
+            waitNanos = accounts.take(email != null ? email.trim().toLowerCase(Locale.ROOT) : "", now);
+        }
+        if (waitNanos > 0L) {
+            long retryAfterSeconds = Math.max(1L, (waitNanos + 999_999_999L) / 1_000_000_000L);
+            throw new LoginThrottledException("Too many login attempts", retryAfterSeconds);
+        }
+    }
+
+    private static final class Buckets {
+        private final int burst;
+        private final long refillNanos;
+        private final Map<String, Bucket>[] stripes;
+
+        @SuppressWarnings("unchecked")
+        Buckets(int burst, long refillNanos, int maxPerStripe) {
+            this.burst = burst;
+            this.refillNanos = refillNanos;
+            this.stripes = new Map[STRIPES];
+            for (int i = 0; i < STRIPES; i++) {
+                stripes[i] = new LinkedHashMap<>(16, 0.75f, true) {
+                    @Override
+                    protected boolean removeEldestEntry(Map.Entry<String, Bucket> eldest) {
+                        return size() > maxPerStripe;
+                    }
+                };
+            }
+        }
+
+        // 0 if a token was taken, otherwise the nanoseconds until one is available
+        long take(String key, long now) {
+            Map<String, Bucket> stripe = stripes[(key.hashCode() & 0x7fffffff) % STRIPES];
+            synchronized (stripe) {
+                Bucket bucket = stripe.get(key);
+                if (bucket == null) {
+                    bucket = new Bucket(burst, now);
+                    stripe.put(key, bucket);
+                }
+                bucket.tokens = Math.min(burst, bucket.tokens + (double) (now - bucket.updatedAt) / refillNanos);
+                bucket.updatedAt = now;
+                if (bucket.tokens >= 1.0) {
+                    bucket.tokens -= 1.0;
+                    return 0L;
+                }
+                return Math.max(1L, (long) ((1.0 - bucket.tokens) * refillNanos));
+            }
+        }
+    }
+
+    private static final class Bucket {
+        double tokens;
+        long updatedAt;
+
+        Bucket(double tokens, long updatedAt) {
+            this.tokens = tokens;
+            this.updatedAt = updatedAt;
+        }
+    }
+}
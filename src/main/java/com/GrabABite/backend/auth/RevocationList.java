@@ -0,0 +1,202 @@
+package com.grababite.backend.auth;
+
+import com.grababite.backend.events.AfterCommit;
+import com.grababite.backend.events.RevocationsReceivedEvent;
+import com.grababite.backend.models.RevokedToken;
+import com.grababite.backend.repositories.RevokedTokenRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * In-memory list of revoked access token IDs (jti) and login session IDs (sid), checked by
+ * JwtFilter on every authenticated request without touching the database.
+ *
+ * A Bloom filter answers the common case ("not revoked") with a few bit tests; only its
+ * positives, true or false, are confirmed against the exact set. Revocations made on this node
+ * are added after their transaction commits; those made on other nodes are picked up by polling
+ * the revoked_tokens table every grababite.jwt.revocation.poll-interval-ms. The structure is
+ * rebuilt from the table on grababite.jwt.revocation.rebuild-cron, which drops entries whose
+ * tokens have all expired. Every poll also publishes the IDs it read as a
+ * {@link RevocationsReceivedEvent}, which is how account edits reach other nodes' caches.
+ */
+@Component
+public class RevocationList {
+
+    private static final Logger logger = LoggerFactory.getLogger(RevocationList.class);
+
+    private static final int HASHES = 4;
+
+    // Polls overlap by this much so rows committed late, or stamped by a node whose clock is
+    // slightly behind, are not missed; re-adding an entry is harmless
+    private static final long POLL_OVERLAP_SECONDS = 60;
+
+    @Autowired
+    private RevokedTokenRepository revokedTokenRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    private final int bloomBits;
+
+    private volatile State state;
+    private volatile LocalDateTime lastPoll;
+
+    public RevocationList(@Value("${grababite.jwt.revocation.bloom-bits:1048576}") int bloomBits) {
+        this.bloomBits = Math.max(64, bloomBits);
+        this.state = new State(this.bloomBits);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        rebuild();
+    }
+
+    /** @return true if any of the given IDs (nulls are ignored) has been revoked. */
+    public boolean isRevoked(UUID tokenId, UUID sessionId) {
+        State current = state;
+        return current.contains(tokenId) || current.contains(sessionId);
+    }
+
+    /**
+     * Revokes the ID once the current transaction commits (immediately without one). The caller
+     * stores the matching revoked_tokens row in the same transaction so other nodes see it too.
+     * @param expiresAt When the last access token the ID could match expires.
+     */
+    public void addAfterCommit(UUID id, LocalDateTime expiresAt) {
+        AfterCommit.run(() -> add(id, expiresAt));
+    }
+
+    /** Picks up revocations made on other nodes. */
+    @Scheduled(fixedDelayString = "${grababite.jwt.revocation.poll-interval-ms:5000}")
+    public void poll() {
+        LocalDateTime since = lastPoll;
+        if (since == null) {
+            return; // Not loaded yet
+        }
+        LocalDateTime now = LocalDateTime.now();
+        Set<UUID> received = new HashSet<>();
+        try {
+            for (RevokedToken revoked : revokedTokenRepository.findByCreatedAtAfter(since.minusSeconds(POLL_OVERLAP_SECONDS))) {
+                add(revoked.getTokenId(), revoked.getExpiresAt());
+                received.add(revoked.getTokenId());
+            }
+            lastPoll = now;
+        } catch (RuntimeException e) {
+            logger.warn("Failed to poll revoked tokens", e);
+        }
+        if (!received.isEmpty()) {
+            eventPublisher.publishEvent(new RevocationsReceivedEvent(received));
+        }
+    }
+
+    /**
+     * Deletes expired rows and reloads the list from the table. Entries added locally while the
+     * reload runs are carried over, so a revocation is never lost.
+     */
+    @Scheduled(cron = "${grababite.jwt.revocation.rebuild-cron:0 */10 * * * *}")
+    public void rebuild() {
+        LocalDateTime now = LocalDateTime.now();
+        List<RevokedToken> rows;
+        try {
+            revokedTokenRepository.deleteExpired(now);
+            rows = revokedTokenRepository.findByExpiresAtAfter(now);
+        } catch (RuntimeException e) {
+            logger.error("Failed to load revoked tokens", e);
+            return;
+        }
+        State rebuilt = new State(bloomBits);
+        for (RevokedToken row : rows) {
+            rebuilt.add(row.getTokenId(), row.getExpiresAt());
+        }
+        synchronized (this) {
+            long nowMillis = System.currentTimeMillis();
+            state.exact.forEach((id, expiresAt) -> {
+                if (expiresAt > nowMillis) {
+                    rebuilt.add(id, expiresAt);
+                }
+            });
+            state = rebuilt;
+        }
+        if (lastPoll == null) {
+            lastPoll = now;
+        }
+        logger.info("Revocation list loaded with {} entries", rebuilt.exact.size());
+    }
+
+    private synchronized void add(UUID id, LocalDateTime expiresAt) {
+        state.add(id, expiresAt);
+    }
+
+    private static final class State {
+        final AtomicLongArray bloom;
+        final int bits;
+        final Map<UUID, Long> exact = new ConcurrentHashMap<>(); // ID -> expiry, epoch millis
+
+        State(int bits) {
+            this.bits = bits;
+            this.bloom = new AtomicLongArray((bits + 63) / 64);
+        }
+
+        void add(UUID id, LocalDateTime expiresAt) {
+            add(id, expiresAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+        }
+
+        // The exact entry goes in first, so a reader that sees the bloom bits also finds it
+        void add(UUID id, long expiresAtMillis) {
+            exact.merge(id, expiresAtMillis, Math::max);
+            long h1 = mix(id.getMostSignificantBits() ^ id.getLeastSignificantBits());
+            long h2 = mix(id.getLeastSignificantBits()) | 1L;
+            for (int i = 0; i < HASHES; i++) {
+                int bit = (int) Math.floorMod(h1 + i * h2, (long) bits);
+                long mask = 1L << (bit & 63);
+                int word = bit >>> 6;
+                long current;
+                do {
+                    current = bloom.get(word);
+                } while ((current & mask) == 0 && !bloom.compareAndSet(word, current, current | mask));
+            }
+        }
+
+        boolean contains(UUID id) {
+            if (id == null) {
+                return false;
+            }
+            long h1 = mix(id.getMostSignificantBits() ^ id.getLeastSignificantBits());
+            long h2 = mix(id.getLeastSignificantBits()) | 1L;
+            for (int i = 0; i < HASHES; i++) {
+                int bit = (int) Math.floorMod(h1 + i * h2, (long) bits);
+                if ((bloom.get(bit >>> 6) & (1L << (bit & 63))) == 0) {
+                    return false;
+                }
+            }
+            return exact.containsKey(id);
+        }
+
+        // 64-bit finalizer from MurmurHash3
+        private static long mix(long h) {
+            h ^= h >>> 33;
+            h *= 0xff51afd7ed558ccdL;
+            h ^= h >>> 33;
+            h *= 0xc4ceb93e1a85ec53L;
+            h ^= h >>> 33;
+            return h;
+        }
+    }
+}
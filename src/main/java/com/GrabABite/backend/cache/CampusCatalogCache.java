@@ -0,0 +1,125 @@
+package com.grababite.backend.cache;
+
+import com.grababite.backend.hours.OpeningHoursIndex;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Serialized campus catalogs (college + cafeterias + available menu items) per college.
+ *
+ * A catalog's ETag is derived from the college and cafeteria versions and the menu version of
+ * each of its cafeterias, so it can be recomputed from memory without touching the database.
+ * A cached catalog is served while its ETag is still the current one; any committed write to
+ * the college, a cafeteria or one of the menus, a cafeteria opening or closing, or the ETag
+ * window rolling over changes the ETag and forces a rebuild.
+ */
+@Component
+public class CampusCatalogCache {
+
+    @Autowired
+    private CatalogVersions catalogVersions;
+
+    @Autowired
+    private OpeningHoursIndex openingHoursIndex;
+
+    private final Map<UUID, Entry> entries;
+
+    public CampusCatalogCache(@Value("${grababite.catalog.campus-cache.max-entries:100}") int maxEntries) {
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<UUID, Entry> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    /** @return The cached catalog of the college if it is still current, otherwise null. */
+    public Entry get(UUID collegeId) {
+        Entry entry;
+        synchronized (entries) {
+            entry = entries.get(collegeId);
+        }
+        if (entry != null && entry.etag.equals(currentEtag(collegeId, entry.cafeteriaIds))) {
+            return entry;
+        }
+        return null;
+    }
+
+    public void put(UUID collegeId, Entry entry) {
+        synchronized (entries) {
+            entries.put(collegeId, entry);
+        }
+    }
+
+    /**
+     * Computes the ETag of a college's catalog from the current versions. Read the versions
+     * before loading the data they describe: a write racing the load then changes the ETag
+     * and the catalog is rebuilt on the next request.
+     * @param collegeId The college.
+     * @param cafeteriaIds The college's cafeterias.
+     */
+    public String currentEtag(UUID collegeId, List<UUID> cafeteriaIds) {
+        return etag(collegeId, collegeVersions(), cafeteriaIds);
+    }
+
+    /**
+     * @return The versions of the colleges and cafeterias, which cover a college's list of
+     *         cafeterias; read them before listing the cafeterias.
+     */
+    public String collegeVersions() {
+        return catalogVersions.etag(CatalogVersions.COLLEGES) + catalogVersions.etag(CatalogVersions.CAFETERIAS);
+    }
+
+    /**
+     * Computes the ETag of a college's catalog from college versions read earlier and the
+     * current menu versions of its cafeterias; call it before loading the menus.
+     * @param collegeId The college.
+     * @param collegeVersions The result of {@link #collegeVersions()}.
+     * @param cafeteriaIds The college's cafeterias.
+     */
+    public String etag(UUID collegeId, String collegeVersions, List<UUID> cafeteriaIds) {
+        StringBuilder versions = new StringBuilder(collegeVersions);
+        for (UUID cafeteriaId : cafeteriaIds) {
+            versions.append(catalogVersions.menuEtag(cafeteriaId)).append(openingHoursIndex.isOpen(cafeteriaId));
+        }
+        return "\"campus-" + collegeId + "-" + sha256(versions.toString()).substring(0, 16) + "\"";
+    }
+
+    private static String sha256(String value) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public static final class Entry {
+        private final String etag;
+        private final SerializedPayload payload;
+        private final List<UUID> cafeteriaIds;
+
+        public Entry(String etag, SerializedPayload payload, List<UUID> cafeteriaIds) {
+            this.etag = etag;
+            this.payload = payload;
+            this.cafeteriaIds = List.copyOf(cafeteriaIds);
+        }
+
+        public String etag() {
+            return etag;
+        }
+
+        public SerializedPayload payload() {
+            return payload;
+        }
+    }
+}
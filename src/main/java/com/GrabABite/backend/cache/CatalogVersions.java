@@ -0,0 +1,135 @@
+package com.grababite.backend.cache;
+
+import com.grababite.backend.events.AfterCommit;
+import com.grababite.backend.models.CatalogVersion;
+import com.grababite.backend.repositories.CatalogVersionRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Version counters for the catalog aggregates (colleges, cafeterias, menu items, standard menu
+ * items) and for each cafeteria's menu, used to build strong ETags without loading or hashing
+ * response bodies.
+ *
+ * The counters live in the catalog_versions table and are incremented in the same transaction
+ * as the write they describe, so every node derives the same ETag from the same data. Each
+ * node keeps the counters in memory: its own writes are applied as soon as they commit, and
+ * other nodes' writes are picked up by polling every grababite.catalog.version-poll-interval-ms.
+ * Caches keyed by these versions (e.g. {@link MenuCache}) are invalidated by the same poll.
+ *
+ * Until the counters have been loaded (e.g. the database was unreachable at startup), tags
+ * carry an ID for this process start so they can never match another node's.
+ */
+@Component
+public class CatalogVersions {
+
+    private static final Logger logger = LoggerFactory.getLogger(CatalogVersions.class);
+
+    public static final String COLLEGES = "colleges";
+    public static final String CAFETERIAS = "cafeterias";
+    public static final String MENU_ITEMS = "menu-items";
+    public static final String STANDARD_MENU_ITEMS = "standard-menu-items";
+
+    // Polls overlap by this much so rows committed late, or stamped by a node whose clock is
+    // slightly behind, are not missed; versions only move forward, so re-reading is harmless
+    private static final long POLL_OVERLAP_SECONDS = 60;
+
+    private final String bootId = Long.toString(System.currentTimeMillis(), 36);
+    private final Map<String, Long> versions = new ConcurrentHashMap<>();
+
+    @Autowired
+    private CatalogVersionRepository catalogVersionRepository;
+
+    private volatile LocalDateTime lastPoll;
+
+    @PostConstruct
+    public void load() {
+        LocalDateTime now = LocalDateTime.now();
+        try {
+            apply(catalogVersionRepository.findAll());
+            lastPoll = now;
+        } catch (RuntimeException e) {
+            logger.error("Failed to load catalog versions; ETags are node-local until the next poll", e);
+        }
+    }
+
+    /** Picks up versions bumped on other nodes. */
+    @Scheduled(fixedDelayString = "${grababite.catalog.version-poll-interval-ms:2000}")
+    public void poll() {
+        LocalDateTime since = lastPoll;
+        if (since == null) {
+            load();
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        try {
+            apply(catalogVersionRepository.findByUpdatedAtAfter(since.minusSeconds(POLL_OVERLAP_SECONDS)));
+            lastPoll = now;
+        } catch (RuntimeException e) {
+            logger.warn("Failed to poll catalog versions", e);
+        }
+    }
+
+    /** @return The strong ETag for the current state of the aggregate. */
+    public String etag(String aggregate) {
+        return tag(aggregate, version(aggregate));
+    }
+
+    /** @return The strong ETag for the current menu of one cafeteria. */
+    public String menuEtag(UUID cafeteriaId) {
+        return tag(menuKey(cafeteriaId), menuVersion(cafeteriaId));
+    }
+
+    public long version(String aggregate) {
+        return versions.getOrDefault(aggregate, 0L);
+    }
+
+    /** @return The current version of one cafeteria's menu. */
+    public long menuVersion(UUID cafeteriaId) {
+        return version(menuKey(cafeteriaId));
+    }
+
+    /**
+     * Increments the aggregate's shared version within the current transaction (in its own
+     * without one). This node sees the new version once the transaction commits.
+     */
+    public void bumpAfterCommit(String aggregate) {
+        catalogVersionRepository.increment(aggregate, LocalDateTime.now());
+        // The row stays locked until commit, so this is the version the write will publish
+        long version = catalogVersionRepository.currentVersion(aggregate);
+        AfterCommit.run(() -> versions.merge(aggregate, version, Math::max));
+    }
+
+    /** Same as {@link #bumpAfterCommit(String)} for one cafeteria's menu. */
+    public void bumpMenuAfterCommit(UUID cafeteriaId) {
+        bumpAfterCommit(menuKey(cafeteriaId));
+    }
+
+    private void apply(List<CatalogVersion> rows) {
+        for (CatalogVersion row : rows) {
+            versions.merge(row.getName(), row.getVersion(), Math::max);
+        }
+    }
+
+    private String tag(String name, long version) {
+        StringBuilder tag = new StringBuilder("\"").append(name).append('-').append(version);
+        if (lastPoll == null) {
+            tag.append('-').append(bootId);
+        }
+        return tag.append('"').toString();
+    }
+
+    private static String menuKey(UUID cafeteriaId) {
+        return "menu-" + cafeteriaId;
+    }
+}
@@ -0,0 +1,135 @@
+package com.grababite.backend.cache;
+
+import com.grababite.backend.events.AfterCommit;
+import com.grababite.backend.models.MenuItem;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Read-through cache of each cafeteria's menu.
+ *
+ * Every cafeteria has a menu version (kept by {@link CatalogVersions}) that is bumped whenever
+ * one of its menu items is created, updated or deleted. A cached menu is only served while its
+ * version is current, so a bump invalidates it even if a load that read the old data finishes
+ * afterwards. Concurrent misses for the same cafeteria share a single database load, and the
+ * number of cached menus is bounded with least-recently-used eviction.
+ *
+ * Versions are shared between nodes, so a bump on another node invalidates this node's entry
+ * as soon as CatalogVersions polls it. grababite.menu-cache.ttl remains as a backstop.
+ */
+@Component
+public class MenuCache {
+
+    private final CatalogVersions catalogVersions;
+    private final Map<UUID, CompletableFuture<Entry>> inFlight = new ConcurrentHashMap<>();
+    private final Map<UUID, Entry> entries;
+    private final long ttlMillis;
+
+    public MenuCache(CatalogVersions catalogVersions,
+                     @Value("${grababite.menu-cache.max-entries:500}") int maxEntries,
+                     @Value("${grababite.menu-cache.ttl:PT1M}") Duration ttl) {
+        this.catalogVersions = catalogVersions;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<UUID, Entry> eldest) {
+                return size() > maxEntries;
+            }
+        };
+        this.ttlMillis = ttl.toMillis();
+    }
+
+    /**
+     * Returns the cafeteria's menu, loading it with {@code loader} on a miss.
+     * @param cafeteriaId The ID of the cafeteria.
+     * @param loader Loads the menu from the database.
+     * @return An unmodifiable list of the cafeteria's menu items.
+     */
+    public List<MenuItem> get(UUID cafeteriaId, Function<UUID, List<MenuItem>> loader) {
+        Entry cached;
+        synchronized (entries) {
+            cached = entries.get(cafeteriaId);
+        }
+        if (isCurrent(cafeteriaId, cached)) {
+            return cached.items;
+        }
+
+        CompletableFuture<Entry> load = new CompletableFuture<>();
+        CompletableFuture<Entry> existing = inFlight.putIfAbsent(cafeteriaId, load);
+        if (existing != null) {
+            try {
+                Entry shared = existing.join();
+                if (isCurrent(cafeteriaId, shared)) {
+                    return shared.items;
+                }
+            } catch (CompletionException e) {
+                // The shared load failed; try once more on this thread
+            }
+            return List.copyOf(loader.apply(cafeteriaId));
+        }
+
+        try {
+            long version = version(cafeteriaId);
+            Entry loaded = new Entry(version, List.copyOf(loader.apply(cafeteriaId)));
+            if (version(cafeteriaId) == version) {
+                synchronized (entries) {
+                    entries.put(cafeteriaId, loaded);
+                }
+            }
+            load.complete(loaded);
+            return loaded.items;
+        } catch (RuntimeException e) {
+            load.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(cafeteriaId, load);
+        }
+    }
+
+    /** @return The current menu version of the cafeteria. */
+    public long version(UUID cafeteriaId) {
+        return catalogVersions.menuVersion(cafeteriaId);
+    }
+
+    /**
+     * Bumps the cafeteria's shared menu version in the current transaction and drops the cached
+     * menu once it commits, so no reader can cache the pre-commit state under the new version.
+     * Without a transaction both happen immediately.
+     */
+    public void invalidateAfterCommit(UUID cafeteriaId) {
+        if (cafeteriaId != null) {
+            catalogVersions.bumpMenuAfterCommit(cafeteriaId);
+            AfterCommit.run(() -> {
+                synchronized (entries) {
+                    entries.remove(cafeteriaId);
+                }
+            });
+        }
+    }
+
+    private boolean isCurrent(UUID cafeteriaId, Entry entry) {
+        return entry != null
+                && entry.version == version(cafeteriaId)
+                && System.currentTimeMillis() - entry.loadedAt < ttlMillis;
+    }
+
+    private static final class Entry {
+        final long version;
+        final List<MenuItem> items;
+        final long loadedAt = System.currentTimeMillis();
+
+        Entry(long version, List<MenuItem> items) {
+            this.version = version;
+            this.items = items;
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.grababite.backend.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.grababite.backend.models.MenuItem;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Serialized (and gzipped) menu JSON per cafeteria.
+ *
+ * A payload is tied to the exact menu list it was built from. MenuCache hands out a new list
+ * only when the menu is reloaded (version bump, expiry or eviction), so a payload is rebuilt
+ * exactly when the menu it represents changes.
+ */
+@Component
+public class MenuPayloadCache {
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final Map<UUID, Entry> entries;
+
+    public MenuPayloadCache(@Value("${grababite.menu-cache.max-entries:500}") int maxEntries) {
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<UUID, Entry> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    /**
+     * @param cafeteriaId The ID of the cafeteria.
+     * @param menu The cafeteria's current menu, as returned by MenuCache.
+     * @return The serialized form of that menu.
+     */
+    public SerializedPayload get(UUID cafeteriaId, List<MenuItem> menu) {
+        Entry entry;
+        synchronized (entries) {
+            entry = entries.get(cafeteriaId);
+        }
+        if (entry != null && entry.source == menu) {
+            return entry.payload;
+        }
+        SerializedPayload payload;
+        try {
+            payload = SerializedPayload.of(objectMapper.writeValueAsBytes(menu));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize menu of cafeteria " + cafeteriaId, e);
+        }
+        synchronized (entries) {
+            entries.put(cafeteriaId, new Entry(menu, payload));
+        }
+        return payload;
+    }
+
+    private static final class Entry {
+        final List<MenuItem> source;
+        final SerializedPayload payload;
+
+        Entry(List<MenuItem> source, SerializedPayload payload) {
+            this.source = source;
+            this.payload = payload;
+        }
+    }
+}
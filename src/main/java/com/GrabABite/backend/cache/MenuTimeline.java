@@ -0,0 +1,127 @@
+package com.grababite.backend.cache;
+
+import com.grababite.backend.models.MenuItem;
+import com.grababite.backend.models.MenuSection;
+
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+
+/**
+ * One cafeteria's menu precomputed for every part of the day.
+ *
+ * The day is cut at every section start and end into segments in which the set of active
+ * sections is constant. Each segment holds the items on the menu during it (available, and
+ * all-day or in an active section), so resolving the current menu is a binary search for the
+ * segment rather than a filter over the menu. Immutable apart from the lazily built payloads.
+ */
+final class MenuTimeline {
+
+    private static final int MINUTES_PER_DAY = 24 * 60;
+
+    private final int[] starts; // Segment start minutes, ascending, starts[0] == 0
+    private final Segment[] segments;
+
+    private MenuTimeline(int[] starts, Segment[] segments) {
+        this.starts = starts;
+        this.segments = segments;
+    }
+
+    static MenuTimeline compile(List<MenuItem> menu, List<MenuSection> sections) {
+        TreeSet<Integer> boundaries = new TreeSet<>();
+        boundaries.add(0);
+        for (MenuSection section : sections) {
+            boundaries.add(minuteOf(section.getStartsAt()));
+            boundaries.add(minuteOf(section.getEndsAt()));
+        }
+        Set<UUID> knownSections = new HashSet<>();
+        sections.forEach(section -> knownSections.add(section.getMenuSectionId()));
+
+        List<Integer> segmentStarts = new ArrayList<>();
+        List<Segment> segmentList = new ArrayList<>();
+        for (int start : boundaries) {
+            Set<UUID> active = new HashSet<>();
+            for (MenuSection section : sections) {
+                if (covers(section, start)) {
+                    active.add(section.getMenuSectionId());
+                }
+            }
+            // Adjacent boundaries with the same active sections are one segment
+            if (!segmentList.isEmpty() && segmentList.get(segmentList.size() - 1).activeSections.equals(active)) {
+                continue;
+            }
+            List<MenuItem> items = new ArrayList<>();
+            for (MenuItem item : menu) {
+                UUID sectionId = item.getMenuSectionId();
+                // Items of a section that no longer exists are treated as all-day
+                boolean inWindow = sectionId == null || !knownSections.contains(sectionId) || active.contains(sectionId);
+                if (inWindow && !Boolean.FALSE.equals(item.getIsAvailable())) {
+                    items.add(item);
+                }
+            }
+            segmentStarts.add(start);
+            segmentList.add(new Segment(start, Set.copyOf(active), knownSections, List.copyOf(items)));
+        }
+        return new MenuTimeline(segmentStarts.stream().mapToInt(Integer::intValue).toArray(),
+                segmentList.toArray(new Segment[0]));
+    }
+
+    /** @return The segment covering the minute of the day. */
+    Segment segmentAt(int minuteOfDay) {
+        int low = 0;
+        int high = starts.length - 1;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (starts[mid] <= minuteOfDay) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return segments[low];
+    }
+
+    /** @return The minute of the day the segment after this one starts (MINUTES_PER_DAY for the last). */
+    int endOf(Segment segment) {
+        for (int i = 0; i < segments.length - 1; i++) {
+            if (segments[i] == segment) {
+                return starts[i + 1];
+            }
+        }
+        return MINUTES_PER_DAY;
+    }
+
+    private static boolean covers(MenuSection section, int minute) {
+        int start = minuteOf(section.getStartsAt());
+        int end = minuteOf(section.getEndsAt());
+        return end > start ? minute >= start && minute < end : minute >= start || minute < end;
+    }
+
+    private static int minuteOf(LocalTime time) {
+        return time.getHour() * 60 + time.getMinute();
+    }
+
+    static final class Segment {
+        final int start;
+        final Set<UUID> activeSections;
+        final Set<UUID> knownSections;
+        final List<MenuItem> items;
+        volatile SerializedPayload payload; // Built on first request for this segment
+
+        Segment(int start, Set<UUID> activeSections, Set<UUID> knownSections, List<MenuItem> items) {
+            this.start = start;
+            this.activeSections = activeSections;
+            this.knownSections = knownSections;
+            this.items = items;
+        }
+
+        /** @return Whether an item of the section is inside its window during this segment. */
+        boolean inWindow(UUID menuSectionId) {
+            return menuSectionId == null || !knownSections.contains(menuSectionId) || activeSections.contains(menuSectionId);
+        }
+    }
+}
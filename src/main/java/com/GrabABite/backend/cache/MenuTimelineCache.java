@@ -0,0 +1,164 @@
+package com.grababite.backend.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.grababite.backend.hours.OpeningHoursIndex;
+import com.grababite.backend.models.MenuItem;
+import com.grababite.backend.repositories.MenuSectionRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Per-cafeteria {@link MenuTimeline}s and a pointer to the segment in effect now.
+ *
+ * Like MenuPayloadCache, a timeline is tied to the exact menu list it was built from, so it is
+ * rebuilt (together with the cafeteria's sections) whenever MenuCache reloads the menu; section
+ * changes invalidate the menu for that reason. Between boundaries the current menu is the
+ * cached pointer; the pointer is swapped to the next segment on the first request after a
+ * boundary passes. Times are evaluated in the cafeteria's opening-hours timezone.
+ */
+@Component
+public class MenuTimelineCache {
+
+    @Autowired
+    private MenuSectionRepository menuSectionRepository;
+
+    @Autowired
+    private OpeningHoursIndex openingHoursIndex;
+
+    @Autowired
+    private CatalogVersions catalogVersions;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final Map<UUID, Entry> entries;
+
+    public MenuTimelineCache(@Value("${grababite.menu-cache.max-entries:500}") int maxEntries) {
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<UUID, Entry> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    /**
+     * @param cafeteriaId The ID of the cafeteria.
+     * @param menu The cafeteria's full menu, as returned by MenuCache.
+     * @return The items on the menu right now, with their serialized form and ETag.
+     */
+    public CurrentMenu current(UUID cafeteriaId, List<MenuItem> menu) {
+        MenuTimeline.Segment segment = currentSegment(cafeteriaId, menu);
+        SerializedPayload payload = segment.payload;
+        if (payload == null) {
+            try {
+                payload = SerializedPayload.of(objectMapper.writeValueAsBytes(segment.items));
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException("Could not serialize current menu of cafeteria " + cafeteriaId, e);
+            }
+            segment.payload = payload;
+        }
+        String menuEtag = catalogVersions.menuEtag(cafeteriaId);
+        String etag = menuEtag.substring(0, menuEtag.length() - 1) + "-s" + segment.start + "\"";
+        return new CurrentMenu(etag, segment.items, payload);
+    }
+
+    /**
+     * @param cafeteriaId The ID of the cafeteria.
+     * @param menu The cafeteria's full menu, as returned by MenuCache.
+     * @param menuSectionId The section of the item to check (null for all-day items).
+     * @return Whether items of that section may be ordered right now.
+     */
+    public boolean isInWindow(UUID cafeteriaId, List<MenuItem> menu, UUID menuSectionId) {
+        return menuSectionId == null || currentSegment(cafeteriaId, menu).inWindow(menuSectionId);
+    }
+
+    private MenuTimeline.Segment currentSegment(UUID cafeteriaId, List<MenuItem> menu) {
+        Entry entry;
+        synchronized (entries) {
+            entry = entries.get(cafeteriaId);
+        }
+        if (entry == null || entry.source != menu) {
+            entry = new Entry(menu, MenuTimeline.compile(menu, menuSectionRepository.findByCafeteriaIdOrderByStartsAtAsc(cafeteriaId)));
+            synchronized (entries) {
+                entries.put(cafeteriaId, entry);
+            }
+        }
+
+        long now = System.currentTimeMillis();
+        Cursor cursor = entry.cursor;
+        if (cursor != null && now >= cursor.validFrom && now < cursor.validUntil) {
+            return cursor.segment;
+        }
+        // A boundary passed (or first use): locate the segment and swap the pointer
+        ZoneId zone = openingHoursIndex.zoneOf(cafeteriaId);
+        ZonedDateTime local = ZonedDateTime.now(zone != null ? zone : ZoneId.systemDefault());
+        MenuTimeline.Segment segment = entry.timeline.segmentAt(local.getHour() * 60 + local.getMinute());
+        int end = entry.timeline.endOf(segment);
+        LocalDate date = local.toLocalDate();
+        ZonedDateTime until = end >= 24 * 60
+                ? date.plusDays(1).atStartOfDay(local.getZone())
+                : ZonedDateTime.of(date, LocalTime.ofSecondOfDay(end * 60L), local.getZone());
+        ZonedDateTime from = ZonedDateTime.of(date, LocalTime.ofSecondOfDay(segment.start * 60L), local.getZone());
+        entry.cursor = new Cursor(segment, from.toInstant().toEpochMilli(), until.toInstant().toEpochMilli());
+        return segment;
+    }
+
+    public static final class CurrentMenu {
+        private final String etag;
+        private final List<MenuItem> items;
+        private final SerializedPayload payload;
+
+        CurrentMenu(String etag, List<MenuItem> items, SerializedPayload payload) {
+            this.etag = etag;
+            this.items = items;
+            this.payload = payload;
+        }
+
+        public String etag() {
+            return etag;
+        }
+
+        public List<MenuItem> items() {
+            return items;
+        }
+
+        public SerializedPayload payload() {
+            return payload;
+        }
+    }
+
+    private static final class Entry {
+        final List<MenuItem> source;
+        final MenuTimeline timeline;
+        volatile Cursor cursor;
+
+        Entry(List<MenuItem> source, MenuTimeline timeline) {
+            this.source = source;
+            this.timeline = timeline;
+        }
+    }
+
+    private static final class Cursor {
+        final MenuTimeline.Segment segment;
+        final long validFrom;
+        final long validUntil;
+
+        Cursor(MenuTimeline.Segment segment, long validFrom, long validUntil) {
+            this.segment = segment;
+            this.validFrom = validFrom;
+            this.validUntil = validUntil;
+        }
+    }
+}
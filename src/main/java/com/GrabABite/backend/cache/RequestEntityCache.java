@@ -0,0 +1,78 @@
+package com.grababite.backend.cache;
+
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Identity map for the current HTTP request, keyed by entity type and ID.
+ *
+ * Lets @PreAuthorize expressions, controllers and services that look up the same entity
+ * during one request share a single load, including lookups that found nothing. Entries live
+ * in the request's attributes and are dropped with the request. Outside a request (scheduled
+ * jobs, report workers) every lookup goes straight to the loader.
+ *
+ * Writers must {@link #evict} an entry they delete, or {@link #put} one they replace with a
+ * different instance, so later lookups in the same request see the change.
+ */
+@Component
+public class RequestEntityCache {
+
+    private static final String ATTRIBUTE = RequestEntityCache.class.getName();
+
+    /**
+     * Returns the entity loaded earlier in this request, or loads it with {@code loader}.
+     * @param type The entity type.
+     * @param id The entity's ID.
+     * @param loader Loads the entity from the database.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Optional<T> get(Class<T> type, Object id, Supplier<Optional<T>> loader) {
+        Map<List<Object>, Optional<?>> entries = entries();
+        if (entries == null || id == null) {
+            return loader.get();
+        }
+        List<Object> key = List.of(type, id);
+        Optional<?> cached = entries.get(key);
+        if (cached == null) {
+            cached = loader.get();
+            entries.put(key, cached);
+        }
+        return (Optional<T>) cached;
+    }
+
+    public <T> void put(Class<T> type, Object id, T entity) {
+        Map<List<Object>, Optional<?>> entries = entries();
+        if (entries != null && id != null) {
+            entries.put(List.of(type, id), Optional.ofNullable(entity));
+        }
+    }
+
+    public void evict(Class<?> type, Object id) {
+        Map<List<Object>, Optional<?>> entries = entries();
+        if (entries != null && id != null) {
+            entries.remove(List.of(type, id));
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<List<Object>, Optional<?>> entries() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return null;
+        }
+        Map<List<Object>, Optional<?>> entries =
+                (Map<List<Object>, Optional<?>>) attributes.getAttribute(ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (entries == null) {
+            entries = new HashMap<>();
+            attributes.setAttribute(ATTRIBUTE, entries, RequestAttributes.SCOPE_REQUEST);
+        }
+        return entries;
+    }
+}
@@ -0,0 +1,45 @@
+package com.grababite.backend.cache;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * A JSON response body serialized once and kept in both plain UTF-8 and gzip form, so it can
+ * be written to any number of responses without serializing or compressing again.
+ */
+public final class SerializedPayload {
+
+    private final byte[] json;
+    private final byte[] gzip;
+
+    private SerializedPayload(byte[] json, byte[] gzip) {
+        this.json = json;
+        this.gzip = gzip;
+    }
+
+    /**
+     * @param json UTF-8 encoded JSON.
+     * @return The payload with its gzip form precomputed.
+     */
+    public static SerializedPayload of(byte[] json) {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(Math.max(64, json.length / 4));
+        try (GZIPOutputStream gzip = new GZIPOutputStream(buffer)) {
+            gzip.write(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e); // In-memory streams do not fail
+        }
+        return new SerializedPayload(json, buffer.toByteArray());
+    }
+
+    /** @return UTF-8 JSON bytes. Shared; must not be modified. */
+    public byte[] json() {
+        return json;
+    }
+
+    /** @return Gzip-compressed JSON bytes. Shared; must not be modified. */
+    public byte[] gzip() {
+        return gzip;
+    }
+}
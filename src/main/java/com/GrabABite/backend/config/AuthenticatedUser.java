@@ -0,0 +1,94 @@
+package com.grababite.backend.config;
+
+import java.time.Instant;
+import java.util.Set;
+import java.util.UUID;
+
+import org.springframework.security.core.AuthenticatedPrincipal;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+/**
+ * Principal of a request authenticated with a JWT, built by JwtFilter from the token's claims.
+ *
+ * Carries everything handlers and @PreAuthorize expressions need to authorize a request
+ * (available there as {@code principal.userId}, {@code principal.cafeteriaId}, ...), so they do
+ * not have to load the user from the database. The values are those at login time: changes
+ * to a user's roles, cafeteria or college take effect with the next token.
+ */
+public class AuthenticatedUser implements AuthenticatedPrincipal {
+
+    private final UUID userId;
+    private final String email;
+    private final Set<String> roles;
+    private final UUID cafeteriaId;
+    private final UUID collegeId;
+    private final UUID tokenId;
+    private final UUID sessionId;
+    private final Instant expiresAt;
+
+    public AuthenticatedUser(UUID userId, String email, Set<String> roles, UUID cafeteriaId, UUID collegeId,
+                             UUID tokenId, UUID sessionId, Instant expiresAt) {
+        this.userId = userId;
+        this.email = email;
+        this.roles = Set.copyOf(roles);
+        this.cafeteriaId = cafeteriaId;
+        this.collegeId = collegeId;
+        this.tokenId = tokenId;
+        this.sessionId = sessionId;
+        this.expiresAt = expiresAt;
+    }
+
+    /** @return The principal of the current request, or null if it is not authenticated with a JWT. */
+    public static AuthenticatedUser current() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof AuthenticatedUser user) {
+            return user;
+        }
+        return null;
+    }
+
+    // The email, so Authentication.getName() keeps returning it
+    @Override
+    public String getName() {
+        return email;
+    }
+
+    public UUID getUserId() {
+        return userId;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public Set<String> getRoles() {
+        return roles;
+    }
+
+    public boolean hasRole(String role) {
+        return roles.contains(role);
+    }
+
+    public UUID getCafeteriaId() {
+        return cafeteriaId;
+    }
+
+    public UUID getCollegeId() {
+        return collegeId;
+    }
+
+    // The access token's jti
+    public UUID getTokenId() {
+        return tokenId;
+    }
+
+    // The login session (refresh token family) the token was issued in
+    public UUID getSessionId() {
+        return sessionId;
+    }
+
+    public Instant getExpiresAt() {
+        return expiresAt;
+    }
+}
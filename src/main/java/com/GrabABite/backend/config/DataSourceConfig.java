@@ -0,0 +1,172 @@
+package com.grababite.backend.config;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * Declares the connection pools used by the application.
+ *
+ * The primary pool serves writes and interactive traffic through JPA. When
+ * grababite.datasource.replica.url is set, a replica pool is added and the JPA data source
+ * becomes a routing data source that sends @Transactional(readOnly = true) work to the
+ * replica while it is within the staleness tolerance. The reporting pool is a separate,
+ * small Hikari pool used only by background report jobs, so a long analytics query can
+ * never take a connection away from order traffic. Bulk loads that must see the latest
+ * committed data, such as the catalog search index, stream from the primary pool instead.
+ */
+@Configuration
+public class DataSourceConfig {
+
+    @Bean
+    @Primary
+    @ConfigurationProperties("spring.datasource")
+    public DataSourceProperties dataSourceProperties() {
+        return new DataSourceProperties();
+    }
+
+    @Bean(name = "primaryDataSource")
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties dataSourceProperties) {
+        HikariDataSource dataSource = dataSourceProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        dataSource.setPoolName("primary-pool");
+        return dataSource;
+    }
+
+    /**
+     * Read replica pool, or null when no replica is configured. Username and password
+     * default to the primary's credentials.
+     */
+    @Bean(name = "replicaDataSource")
+    public HikariDataSource replicaDataSource(
+            DataSourceProperties dataSourceProperties,
+            @Value("${grababite.datasource.replica.url:}") String url,
+            @Value("${grababite.datasource.replica.username:}") String username,
+            @Value("${grababite.datasource.replica.password:}") String password,
+            @Value("${grababite.datasource.replica.maximum-pool-size:5}") int maximumPoolSize) {
+        if (url.isBlank()) {
+            return null;
+        }
+        HikariDataSource dataSource = dataSourceProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        dataSource.setJdbcUrl(url);
+        if (!username.isBlank()) {
+            dataSource.setUsername(username);
+            dataSource.setPassword(password);
+        }
+        dataSource.setPoolName("replica-pool");
+        dataSource.setMaximumPoolSize(maximumPoolSize);
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(
+            @Qualifier("replicaDataSource") ObjectProvider<HikariDataSource> replicaDataSource,
+            @Value("${grababite.datasource.replica.max-lag-ms:5000}") long maxLagMs,
+            @Value("${grababite.datasource.replica.lag-query:}") String lagQuery,
+            @Value("${grababite.datasource.replica.check-interval-ms:5000}") long checkIntervalMs) {
+        return new ReplicaLagMonitor(replicaDataSource.getIfAvailable(), maxLagMs, lagQuery, checkIntervalMs);
+    }
+
+    /**
+     * Data source used by JPA. Routes read-only transactions to the replica when one is
+     * configured and healthy, otherwise every connection comes from the primary pool.
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(
+            @Qualifier("primaryDataSource") HikariDataSource primaryDataSource,
+            @Qualifier("replicaDataSource") ObjectProvider<HikariDataSource> replicaDataSource,
+            ReplicaLagMonitor replicaLagMonitor) {
+        HikariDataSource replica = replicaDataSource.getIfAvailable();
+        if (replica == null) {
+            return primaryDataSource;
+        }
+
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(ReplicaRoutingDataSource.PRIMARY, primaryDataSource);
+        targets.put(ReplicaRoutingDataSource.REPLICA, replica);
+
+        ReplicaRoutingDataSource routingDataSource = new ReplicaRoutingDataSource(replicaLagMonitor);
+        routingDataSource.setTargetDataSources(targets);
+        routingDataSource.setDefaultTargetDataSource(primaryDataSource);
+        routingDataSource.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+
+    /**
+     * Dedicated pool for report jobs. Uses grababite.reporting.datasource.url if set,
+     * otherwise the read replica if one is configured, otherwise the primary database.
+     * Credentials come from the same place as the URL; blank ones default to the primary's.
+     */
+    @Bean(name = "reportingDataSource")
+    public HikariDataSource reportingDataSource(
+            DataSourceProperties dataSourceProperties,
+            @Value("${grababite.reporting.datasource.url:}") String reportingUrl,
+            @Value("${grababite.reporting.datasource.username:}") String reportingUsername,
+            @Value("${grababite.reporting.datasource.password:}") String reportingPassword,
+            @Value("${grababite.datasource.replica.url:}") String replicaUrl,
+            @Value("${grababite.datasource.replica.username:}") String replicaUsername,
+            @Value("${grababite.datasource.replica.password:}") String replicaPassword,
+            @Value("${grababite.reporting.datasource.maximum-pool-size:2}") int maximumPoolSize) {
+        HikariDataSource dataSource = dataSourceProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        if (!reportingUrl.isBlank()) {
+            dataSource.setJdbcUrl(reportingUrl);
+            if (!reportingUsername.isBlank()) {
+                dataSource.setUsername(reportingUsername);
+                dataSource.setPassword(reportingPassword);
+            }
+        } else if (!replicaUrl.isBlank()) {
+            dataSource.setJdbcUrl(replicaUrl);
+            if (!replicaUsername.isBlank()) {
+                dataSource.setUsername(replicaUsername);
+                dataSource.setPassword(replicaPassword);
+            }
+        }
+        dataSource.setPoolName("reporting-pool");
+        dataSource.setMaximumPoolSize(maximumPoolSize);
+        dataSource.setMinimumIdle(0);
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    /**
+     * JdbcTemplate on the primary pool, for bulk reads that must not see replica lag.
+     */
+    @Bean(name = "primaryJdbcTemplate")
+    public JdbcTemplate primaryJdbcTemplate(@Qualifier("primaryDataSource") DataSource primaryDataSource) {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(primaryDataSource);
+        jdbcTemplate.setFetchSize(500);
+        return jdbcTemplate;
+    }
+
+    @Bean(name = "reportingJdbcTemplate")
+    public JdbcTemplate reportingJdbcTemplate(
+            @Qualifier("reportingDataSource") DataSource reportingDataSource,
+            @Value("${grababite.reporting.query-timeout-seconds:600}") int queryTimeoutSeconds) {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(reportingDataSource);
+        jdbcTemplate.setFetchSize(500);
+        jdbcTemplate.setQueryTimeout(queryTimeoutSeconds);
+        return jdbcTemplate;
+    }
+}
@@ -0,0 +1,34 @@
+package com.grababite.backend.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Worker pool that renders resized image variants.
+ *
+ * Decoding and scaling photos is CPU and memory heavy, so the pool and its queue are small and
+ * bounded; when both are full, uploads still succeed and the missing variants are rendered the
+ * first time they are requested.
+ */
+@Configuration
+public class ImageConfig {
+
+    @Bean(name = "imageExecutor")
+    public ThreadPoolTaskExecutor imageExecutor(
+            @Value("${grababite.images.workers:2}") int workers,
+            @Value("${grababite.images.queue-capacity:50}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(workers);
+        executor.setMaxPoolSize(workers);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("image-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        executor.initialize();
+        return executor;
+    }
+}
@@ -3,6 +3,8 @@ package com.grababite.backend.config;
 import java.io.IOException;
 import java.util.List;
 
+import com.grababite.backend.auth.RevocationList;
+
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -18,9 +20,11 @@ import jakarta.servlet.http.HttpServletResponse;
 public class JwtFilter extends OncePerRequestFilter {
 
     private final JwtUtil jwtUtil;
+    private final RevocationList revocationList;
 
-    public JwtFilter(JwtUtil jwtUtil) {
+    public JwtFilter(JwtUtil jwtUtil, RevocationList revocationList) {
         this.jwtUtil = jwtUtil;
+        this.revocationList = revocationList;
     }
 
     @Override
@@ -35,21 +39,32 @@ public class JwtFilter extends OncePerRequestFilter {
 
             String token = authHeader.substring(7);
 
-            if (jwtUtil.isValid(token)) {
-                String email = jwtUtil.extractEmail(token);
-                String role = jwtUtil.extractRole(token);
+            // Verified and parsed once; repeated tokens are served from JwtUtil's cache.
+            // Revoked tokens and sessions (logout, refresh token reuse) are checked in memory
+            jwtUtil.verify(token)
+                    .filter(user -> !revocationList.isRevoked(user.getTokenId(), user.getSessionId()))
+                    .ifPresent(user -> {
+                        List<SimpleGrantedAuthority> authorities = user.getRoles().stream()
+                                .map(role -> new SimpleGrantedAuthority("ROLE_" + role))
+                                .toList();
 
-                UsernamePasswordAuthenticationToken authentication =
-                        new UsernamePasswordAuthenticationToken(
-                                email,
-                                null,
-                                List.of(new SimpleGrantedAuthority("ROLE_" + role))
-                        );
+                        UsernamePasswordAuthenticationToken authentication =
+                                new UsernamePasswordAuthenticationToken(
+                                        user,
+                                        null,
+                                        authorities
+                                );
 
-                SecurityContextHolder.getContext().setAuthentication(authentication);
-            }
+                        SecurityContextHolder.getContext().setAuthentication(authentication);
+                    });
         }
 
         filterChain.doFilter(request, response);
     }
+
+    // Public routes never look at the caller, so their tokens are not verified at all
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return SecurityConfig.PUBLIC_ROUTES.matches(request);
+    }
 }
@@ -1,12 +1,25 @@
 package com.grababite.backend.config;
 
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
@@ -14,31 +27,138 @@ import io.jsonwebtoken.security.Keys;
 @Component
 public class JwtUtil {
 
+    private static final int VERIFIED_CACHE_STRIPES = 16; // Power of two
+
     private final String SECRET =
             "this-is-a-very-long-super-secure-secret-key-for-grababite-jwt";
 
-    private final long EXPIRATION = 1000 * 60 * 60 * 24; // 24 hours
+    // Short-lived: clients renew access tokens with their refresh token (POST /api/auth/refresh)
+    private final Duration accessTtl;
+
+    // Built once: the key and the parser are immutable and thread-safe
+    private final Key signingKey = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+    private final JwtParser parser = Jwts.parserBuilder().setSigningKey(signingKey).build();
 
-    private Key getSigningKey() {
-        return Keys.hmacShaKeyFor(SECRET.getBytes());
+    // Recently verified tokens, so a client's repeated requests skip the HMAC check and JSON
+    // parse. Keyed by the exact token string; entries are only served until the token expires.
+    // Split by token hash into separately locked LRU stripes, so concurrent requests seldom
+    // wait on the same lock.
+    private final List<Map<String, VerifiedToken>> verified;
+
+    public JwtUtil(@Value("${grababite.jwt.verified-cache.max-entries:10000}") int maxVerifiedTokens,
+                   @Value("${grababite.jwt.access-ttl:PT15M}") Duration accessTtl) {
+        this.accessTtl = accessTtl;
+        int stripeCapacity = Math.max(1, maxVerifiedTokens / VERIFIED_CACHE_STRIPES);
+        List<Map<String, VerifiedToken>> stripes = new ArrayList<>(VERIFIED_CACHE_STRIPES);
+        for (int i = 0; i < VERIFIED_CACHE_STRIPES; i++) {
+            stripes.add(new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, VerifiedToken> eldest) {
+                    return size() > stripeCapacity;
+                }
+            });
+        }
+        this.verified = List.copyOf(stripes);
     }
 
-    public String generateToken(String email, String role) {
+    /**
+     * Issues an access token carrying the user's identity, so requests can be authorized from the token alone.
+     * @param roles All of the user's roles; the first is also written as "role" for older clients.
+     * @param sessionId The login session (refresh token family); revoking it revokes the token.
+     */
+    public String generateToken(UUID userId, String email, Collection<String> roles, UUID cafeteriaId, UUID collegeId,
+                                UUID sessionId) {
         return Jwts.builder()
+                .setId(UUID.randomUUID().toString())
                 .setSubject(email)
-                .claim("role", role)
+                .claim("sid", sessionId.toString())
+                .claim("uid", userId.toString())
+                .claim("role", roles.stream().findFirst().orElse(null))
+                .claim("roles", List.copyOf(roles))
+                .claim("cafeteriaId", cafeteriaId != null ? cafeteriaId.toString() : null)
+                .claim("collegeId", collegeId != null ? collegeId.toString() : null)
                 .setIssuedAt(new Date())
-                .setExpiration(new Date(System.currentTimeMillis() + EXPIRATION))
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
+                .setExpiration(new Date(System.currentTimeMillis() + accessTtl.toMillis()))
+                .signWith(signingKey, SignatureAlgorithm.HS256)
                 .compact();
     }
 
+    /**
+     * Verifies the token's signature and expiry, parsing it at most once while it stays cached.
+     * @return The user the token was issued to, or empty if the token is invalid or expired, or was
+     * issued before tokens carried the user's ID.
+     */
+    public Optional<AuthenticatedUser> verify(String token) {
+        long now = System.currentTimeMillis();
+        Map<String, VerifiedToken> stripe = stripeOf(token);
+        VerifiedToken cached;
+        synchronized (stripe) {
+            cached = stripe.get(token);
+        }
+        if (cached != null) {
+            if (now < cached.expiresAt) {
+                return Optional.of(cached.user);
+            }
+            synchronized (stripe) {
+                stripe.remove(token);
+            }
+            return Optional.empty();
+        }
+
+        Claims claims;
+        AuthenticatedUser user;
+        try {
+            claims = parser.parseClaimsJws(token).getBody();
+            user = toPrincipal(claims);
+        } catch (JwtException | IllegalArgumentException e) {
+            return Optional.empty();
+        }
+        if (user == null) {
+            return Optional.empty();
+        }
+        Date expiration = claims.getExpiration();
+        if (expiration != null) { // Tokens without an expiry are never cached
+            synchronized (stripe) {
+                stripe.put(token, new VerifiedToken(user, expiration.getTime()));
+            }
+        }
+        return Optional.of(user);
+    }
+
+    private Map<String, VerifiedToken> stripeOf(String token) {
+        int hash = token.hashCode();
+        return verified.get((hash ^ (hash >>> 16)) & (VERIFIED_CACHE_STRIPES - 1));
+    }
+
+    /** @return How long issued access tokens are valid. */
+    public Duration getAccessTtl() {
+        return accessTtl;
+    }
+
+    // Null for tokens issued before the identity and session claims were added; their holders sign in again
+    private static AuthenticatedUser toPrincipal(Claims claims) {
+        String userId = claims.get("uid", String.class);
+        if (userId == null || claims.getId() == null || claims.get("sid") == null) {
+            return null;
+        }
+        Set<String> roles = new LinkedHashSet<>();
+        Object roleList = claims.get("roles");
+        if (roleList instanceof Collection<?> values) {
+            values.forEach(role -> roles.add(String.valueOf(role)));
+        }
+        return new AuthenticatedUser(UUID.fromString(userId), claims.getSubject(), roles,
+                uuidClaim(claims, "cafeteriaId"), uuidClaim(claims, "collegeId"),
+                UUID.fromString(claims.getId()), uuidClaim(claims, "sid"),
+                claims.getExpiration() != null ? claims.getExpiration().toInstant() : null);
+    }
+
+    private static UUID uuidClaim(Claims claims, String name) {
+        String value = claims.get(name, String.class);
+        return value != null ? UUID.fromString(value) : null;
+    }
+
     public Claims extractClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        return parser.parseClaimsJws(token).getBody();
     }
 
     public String extractEmail(String token) {
@@ -49,13 +169,17 @@ public class JwtUtil {
         return extractClaims(token).get("role", String.class);
     }
 
-    // 🔥 THIS IS WHAT YOUR FILTER NEEDS
     public boolean isValid(String token) {
-        try {
-            extractClaims(token);
-            return true;
-        } catch (JwtException | IllegalArgumentException e) {
-            return false;
+        return verify(token).isPresent();
+    }
+
+    private static final class VerifiedToken {
+        final AuthenticatedUser user;
+        final long expiresAt;
+
+        VerifiedToken(AuthenticatedUser user, long expiresAt) {
+            this.user = user;
+            this.expiresAt = expiresAt;
         }
     }
 }
@@ -0,0 +1,43 @@
+package com.grababite.backend.config;
+
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.grababite.backend.repositories.CafeteriaRepository;
+
+/**
+ * Ownership checks for cafeteria-owned resources, used from @PreAuthorize as
+ * {@code @ownership.ownsCafeteria(#id)}.
+ *
+ * A check passes when the caller is a CAFETERIA_OWNER whose cafeteria (from the token) owns
+ * the resource. Writes to a single menu item check ownership in MenuItemService instead, on the
+ * row they write, so the item is loaded once per request.
+ */
+@Component("ownership")
+public class Ownership {
+
+    @Autowired
+    private CafeteriaRepository cafeteriaRepository;
+
+    /** @return true if the caller owns the cafeteria. */
+    public boolean ownsCafeteria(UUID cafeteriaId) {
+        UUID ownCafeteriaId = ownCafeteriaId();
+        return ownCafeteriaId != null && ownCafeteriaId.equals(cafeteriaId);
+    }
+
+    /** @return true if the caller owns a cafeteria of the same college as the given one. */
+    public boolean ownsCafeteriaInCollegeOf(UUID cafeteriaId) {
+        UUID ownCafeteriaId = ownCafeteriaId();
+        if (ownCafeteriaId == null || cafeteriaId == null) {
+            return false;
+        }
+        return cafeteriaRepository.inSameCollege(ownCafeteriaId, cafeteriaId);
+    }
+
+    private static UUID ownCafeteriaId() {
+        AuthenticatedUser user = AuthenticatedUser.current();
+        return user != null && user.hasRole("CAFETERIA_OWNER") ? user.getCafeteriaId() : null;
+    }
+}
@@ -0,0 +1,49 @@
+package com.grababite.backend.config;
+
+import com.grababite.backend.auth.BoundedPasswordEncoder;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Password encoder and the worker pool it hashes on.
+ *
+ * The pool size is a hard ceiling on the CPU spent on BCrypt: at most that many hashes run at
+ * once whatever the login rate, and the bounded queue turns overload into fast 503s instead of
+ * request threads piling up. Raising grababite.auth.bcrypt-strength rehashes each password
+ * with the new cost the next time its owner logs in.
+ */
+@Configuration
+public class PasswordHashingConfig {
+
+    @Bean(name = "passwordHashExecutor")
+    public ThreadPoolTaskExecutor passwordHashExecutor(
+            @Value("${grababite.auth.hash-workers:0}") int workers,
+            @Value("${grababite.auth.hash-queue-capacity:200}") int queueCapacity) {
+        int poolSize = workers > 0 ? workers : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("password-hash-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        executor.initialize();
+        return executor;
+    }
+
+    @Bean
+    public PasswordEncoder passwordEncoder(
+            @Qualifier("passwordHashExecutor") ThreadPoolTaskExecutor passwordHashExecutor,
+            @Value("${grababite.auth.bcrypt-strength:10}") int strength,
+            @Value("${grababite.auth.hash-timeout:PT10S}") Duration timeout) {
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(strength), passwordHashExecutor, timeout);
+    }
+}
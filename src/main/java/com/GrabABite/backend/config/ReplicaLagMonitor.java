@@ -0,0 +1,79 @@
+package com.grababite.backend.config;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+
+/**
+ * Periodically measures how far the read replica is behind the primary.
+ *
+ * The replica is considered usable only while the last check succeeded recently and the
+ * measured lag is within the configured staleness tolerance. Otherwise read-only work
+ * falls back to the primary until the replica catches up again.
+ */
+public class ReplicaLagMonitor {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+
+    private final DataSource replicaDataSource; // null when no replica is configured
+    private final long maxLagMs;
+    private final String lagQuery;
+    private final long staleAfterMs;
+
+    private volatile boolean replicaUsable = false;
+    private volatile long lastLagMs = -1;
+    private volatile long lastSuccessfulCheck = 0;
+
+    public ReplicaLagMonitor(DataSource replicaDataSource, long maxLagMs, String lagQuery, long checkIntervalMs) {
+        this.replicaDataSource = replicaDataSource;
+        this.maxLagMs = maxLagMs;
+        this.lagQuery = lagQuery;
+        this.staleAfterMs = checkIntervalMs * 3;
+    }
+
+    public boolean isReplicaConfigured() {
+        return replicaDataSource != null;
+    }
+
+    public boolean isReplicaUsable() {
+        return replicaUsable && System.currentTimeMillis() - lastSuccessfulCheck <= staleAfterMs;
+    }
+
+    public long getLastLagMs() {
+        return lastLagMs;
+    }
+
+    @Scheduled(fixedDelayString = "${grababite.datasource.replica.check-interval-ms:5000}")
+    public void checkReplica() {
+        if (replicaDataSource == null) {
+            return;
+        }
+        boolean wasUsable = replicaUsable;
+        try (Connection connection = replicaDataSource.getConnection()) {
+            long lagMs = 0;
+            if (lagQuery != null && !lagQuery.isBlank()) {
+                try (Statement statement = connection.createStatement();
+                     ResultSet rs = statement.executeQuery(lagQuery)) {
+                    lagMs = rs.next() ? rs.getLong(1) : 0;
+                }
+            }
+            lastLagMs = lagMs;
+            lastSuccessfulCheck = System.currentTimeMillis();
+            replicaUsable = lagMs <= maxLagMs;
+        } catch (Exception e) {
+            replicaUsable = false;
+            logger.debug("Replica health check failed", e);
+        }
+
+        if (wasUsable != replicaUsable) {
+            logger.warn("Read replica is now {} (lag {} ms, tolerance {} ms)",
+                    replicaUsable ? "in use" : "bypassed, reads go to primary", lastLagMs, maxLagMs);
+        }
+    }
+}
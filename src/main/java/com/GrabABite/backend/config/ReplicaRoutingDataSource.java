@@ -0,0 +1,32 @@
+package com.grababite.backend.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Routes connections for @Transactional(readOnly = true) work to the read replica and
+ * everything else to the primary.
+ *
+ * The lookup key is evaluated when a connection is actually opened, so this data source
+ * must be wrapped in a LazyConnectionDataSourceProxy; otherwise the transaction manager
+ * would fetch the connection before the read-only flag is bound to the thread.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    public static final String PRIMARY = "primary";
+    public static final String REPLICA = "replica";
+
+    private final ReplicaLagMonitor replicaLagMonitor;
+
+    public ReplicaRoutingDataSource(ReplicaLagMonitor replicaLagMonitor) {
+        this.replicaLagMonitor = replicaLagMonitor;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly() && replicaLagMonitor.isReplicaUsable()) {
+            return REPLICA;
+        }
+        return PRIMARY;
+    }
+}
@@ -0,0 +1,33 @@
+package com.grababite.backend.config;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Worker pool for asynchronous report jobs.
+ *
+ * The pool and its queue are bounded; once both are full new submissions are rejected
+ * immediately instead of piling up behind long-running reports.
+ */
+@Configuration
+public class ReportingConfig {
+
+    @Bean(name = "reportJobExecutor")
+    public ThreadPoolTaskExecutor reportJobExecutor(
+            @Value("${grababite.reports.jobs.workers:2}") int workers,
+            @Value("${grababite.reports.jobs.queue-capacity:20}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(workers);
+        executor.setMaxPoolSize(workers);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("report-job-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        executor.initialize();
+        return executor;
+    }
+}
@@ -13,16 +13,20 @@ import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.servlet.util.matcher.PathPatternRequestMatcher;
+import org.springframework.security.web.util.matcher.OrRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
+import com.grababite.backend.auth.AuthAccountCache;
 import com.grababite.backend.repositories.UserRepository;
 
 @Configuration
@@ -30,37 +34,72 @@ import com.grababite.backend.repositories.UserRepository;
 @EnableMethodSecurity
 public class SecurityConfig {
 
+    // Routes reachable without a token. JwtFilter skips token verification on them, so no
+    // handler on these routes may depend on the caller's identity.
+    static final RequestMatcher PUBLIC_ROUTES = publicRoutes();
+
     private final UserRepository userRepository;
+    private final AuthAccountCache authAccountCache;
     private final JwtFilter jwtFilter;
 
-    public SecurityConfig(UserRepository userRepository, JwtFilter jwtFilter) {
+    public SecurityConfig(UserRepository userRepository, AuthAccountCache authAccountCache, JwtFilter jwtFilter) {
         this.userRepository = userRepository;
+        this.authAccountCache = authAccountCache;
         this.jwtFilter = jwtFilter;
     }
 
-    @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    private static RequestMatcher publicRoutes() {
+        PathPatternRequestMatcher.Builder path = PathPatternRequestMatcher.withDefaults();
+        return new OrRequestMatcher(
+                path.matcher(HttpMethod.OPTIONS, "/**"),
+                path.matcher("/api/auth/login"),
+                path.matcher(HttpMethod.POST, "/api/auth/refresh"),
+                path.matcher("/api/admin/register"),
+                path.matcher(HttpMethod.POST, "/api/onboarding/**"),
+                path.matcher(HttpMethod.GET, "/api/colleges/**"),
+                path.matcher(HttpMethod.GET, "/api/cafeterias/**"),
+                path.matcher(HttpMethod.GET, "/api/menu-items/**"),
+                path.matcher(HttpMethod.GET, "/api/standard-menu-items/**"),
+                path.matcher(HttpMethod.GET, "/api/images/**")
+        );
     }
 
+    // One query (or a cache hit) per login; AuthService reuses the same cached account
     @Bean
     public UserDetailsService userDetailsService() {
-        return email -> userRepository.findByEmail(email)
-                .map(user -> org.springframework.security.core.userdetails.User.builder()
-                        .username(user.getEmail())
-                        .password(user.getPassword())
-                        .roles(user.getRoles().toArray(new String[0]))
+        return email -> authAccountCache.findByEmail(email)
+                .map(account -> org.springframework.security.core.userdetails.User.builder()
+                        .username(account.getEmail())
+                        .password(account.getPasswordHash())
+                        .roles(account.getRoles().toArray(new String[0]))
                         .build())
                 .orElseThrow(() -> new UsernameNotFoundException("User not found"));
     }
 
+    // Stores the new hash when a login finds the stored one below the configured BCrypt cost
+    @Bean
+    public UserDetailsPasswordService userDetailsPasswordService() {
+        return (user, newPassword) -> {
+            userRepository.findByEmail(user.getUsername()).ifPresent(existing -> {
+                existing.setPassword(newPassword);
+                userRepository.save(existing);
+                authAccountCache.invalidateAfterCommit(existing.getId());
+            });
+            return org.springframework.security.core.userdetails.User.withUserDetails(user)
+                    .password(newPassword)
+                    .build();
+        };
+    }
+
     @Bean
     public AuthenticationManager authenticationManager(
             UserDetailsService userDetailsService,
+            UserDetailsPasswordService userDetailsPasswordService,
             PasswordEncoder passwordEncoder
     ) {
         DaoAuthenticationProvider provider = new DaoAuthenticationProvider();
         provider.setUserDetailsService(userDetailsService);
+        provider.setUserDetailsPasswordService(userDetailsPasswordService);
         provider.setPasswordEncoder(passwordEncoder);
         return new ProviderManager(provider);
     }
@@ -73,7 +112,7 @@ public class SecurityConfig {
                 "https://grab-a-bite-campus-efhj.vercel.app"
         ));
         configuration.setAllowedMethods(Arrays.asList(
-                "GET", "POST", "PUT", "DELETE", "OPTIONS"
+                "GET", "POST", "PUT", "PATCH", "DELETE", "OPTIONS"
         ));
         configuration.setAllowedHeaders(Arrays.asList(
                 "Authorization", "Content-Type"
@@ -96,14 +135,7 @@ public class SecurityConfig {
             .authorizeHttpRequests(authorize -> authorize
 
                 // Public routes
-                .requestMatchers(HttpMethod.OPTIONS, "/**").permitAll()
-                .requestMatchers("/api/auth/login").permitAll()
-                .requestMatchers("/api/admin/register").permitAll()
-                .requestMatchers(HttpMethod.POST, "/api/onboarding/**").permitAll()
-                .requestMatchers(HttpMethod.GET, "/api/colleges/**").permitAll()
-                .requestMatchers(HttpMethod.GET, "/api/cafeterias/**").permitAll()
-                .requestMatchers(HttpMethod.GET, "/api/menu-items/**").permitAll()
-                .requestMatchers(HttpMethod.GET, "/api/standard-menu-items/**").permitAll()
+                .requestMatchers(PUBLIC_ROUTES).permitAll()
 
                 // ADMIN routes
                 .requestMatchers(HttpMethod.POST, "/api/colleges").hasRole("ADMIN")
@@ -111,11 +143,14 @@ public class SecurityConfig {
                 .requestMatchers(HttpMethod.DELETE, "/api/colleges/**").hasRole("ADMIN")
 
                 .requestMatchers(HttpMethod.POST, "/api/cafeterias").hasRole("ADMIN")
+                .requestMatchers("/api/cafeterias/*/sections", "/api/cafeterias/*/sections/*").hasAnyRole("ADMIN", "CAFETERIA_OWNER") // Owners: own cafeteria only (@PreAuthorize)
+                .requestMatchers(HttpMethod.PUT, "/api/cafeterias/*/hours").hasAnyRole("ADMIN", "CAFETERIA_OWNER") // Owners: own cafeteria only (@PreAuthorize)
                 .requestMatchers(HttpMethod.PUT, "/api/cafeterias/**").hasRole("ADMIN")
                 .requestMatchers(HttpMethod.DELETE, "/api/cafeterias/**").hasRole("ADMIN")
 
                 .requestMatchers(HttpMethod.POST, "/api/standard-menu-items").hasRole("ADMIN")
                 .requestMatchers(HttpMethod.POST, "/api/standard-menu-items/bulk").hasRole("ADMIN")
+                .requestMatchers(HttpMethod.POST, "/api/standard-menu-items/import").hasRole("ADMIN")
                 .requestMatchers(HttpMethod.PUT, "/api/standard-menu-items/**").hasRole("ADMIN")
                 .requestMatchers(HttpMethod.DELETE, "/api/standard-menu-items/**").hasRole("ADMIN")
 
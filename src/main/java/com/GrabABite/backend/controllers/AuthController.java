@@ -1,8 +1,14 @@
 package com.grababite.backend.controllers;
 
+import com.grababite.backend.config.AuthenticatedUser;
 import com.grababite.backend.dto.AuthResponse;
 import com.grababite.backend.dto.LoginRequest;
+import com.grababite.backend.dto.RefreshTokenRequest;
+import com.grababite.backend.exceptions.LoginThrottledException;
+import com.grababite.backend.exceptions.PasswordHashingBusyException;
 import com.grababite.backend.services.AuthService;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.BadCredentialsException;
@@ -19,17 +25,58 @@ public class AuthController {
     }
 
     @PostMapping("/login")
-    public ResponseEntity<?> login(@RequestBody LoginRequest loginRequest) {
+    public ResponseEntity<?> login(@RequestBody LoginRequest loginRequest, HttpServletRequest request) {
         try {
             AuthResponse response = authService.login(
                     loginRequest.getEmail(),
-                    loginRequest.getPassword()
+                    loginRequest.getPassword(),
+                    request.getRemoteAddr() // The real client behind a trusted proxy (server.forward-headers-strategy)
             );
             return ResponseEntity.ok(response);
         } catch (BadCredentialsException e) {
             return new ResponseEntity<>("Invalid credentials", HttpStatus.UNAUTHORIZED);
+        } catch (LoginThrottledException e) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, Long.toString(e.getRetryAfterSeconds()))
+                    .body("Too many login attempts");
+        } catch (PasswordHashingBusyException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "1")
+                    .body("Login is busy, please retry");
         } catch (Exception e) {
             return new ResponseEntity<>("Login failed", HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
+
+    /**
+     * POST /api/auth/refresh
+     * Exchanges a refresh token for a new access token and a new refresh token (the old one stops
+     * working). Presenting a refresh token that was already exchanged ends the whole session.
+     *
+     * @return 200 OK with the new tokens, or 401 Unauthorized if the refresh token is invalid, expired or reused.
+     */
+    @PostMapping("/refresh")
+    public ResponseEntity<?> refresh(@RequestBody RefreshTokenRequest request) {
+        try {
+            return ResponseEntity.ok(authService.refresh(request.getRefreshToken()));
+        } catch (BadCredentialsException e) {
+            return new ResponseEntity<>("Invalid refresh token", HttpStatus.UNAUTHORIZED);
+        }
+    }
+
+    /**
+     * POST /api/auth/logout
+     * Ends the caller's session: its refresh token and access tokens are revoked.
+     *
+     * @return 204 No Content.
+     */
+    @PostMapping("/logout")
+    public ResponseEntity<HttpStatus> logout() {
+        AuthenticatedUser user = AuthenticatedUser.current();
+        if (user == null) {
+            return new ResponseEntity<>(HttpStatus.UNAUTHORIZED);
+        }
+        authService.logout(user);
+        return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+    }
 }
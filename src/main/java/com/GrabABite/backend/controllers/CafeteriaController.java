@@ -1,15 +1,33 @@
 package com.grababite.backend.controllers;
 
+import com.grababite.backend.cache.CatalogVersions;
+import com.grababite.backend.cache.MenuPayloadCache;
+import com.grababite.backend.cache.MenuTimelineCache;
 import com.grababite.backend.dto.CafeteriaCreationRequest; // Import the new DTO
+import com.grababite.backend.dto.MenuCloneRequest;
+import com.grababite.backend.dto.MenuCloneResponse;
+import com.grababite.backend.dto.OpeningHoursRequest;
+import com.grababite.backend.dto.OpeningHoursResponse;
+import com.grababite.backend.exceptions.ResourceNotFoundException;
 import com.grababite.backend.models.Cafeteria;
 import com.grababite.backend.models.College;
+import com.grababite.backend.models.MenuItem;
+import com.grababite.backend.models.MenuSection;
 import com.grababite.backend.services.CafeteriaService;
 import com.grababite.backend.services.CollegeService;
+import com.grababite.backend.services.MenuItemService;
+import com.grababite.backend.services.MenuSectionService;
+import com.grababite.backend.services.OpeningHoursService;
 import org.springframework.beans.factory.annotation.Autowired;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
 
+import java.io.IOException;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -24,16 +42,82 @@ public class CafeteriaController {
     @Autowired
     private CollegeService collegeService;
 
+    @Autowired
+    private MenuItemService menuItemService;
+
+    @Autowired
+    private CatalogVersions catalogVersions;
+
+    @Autowired
+    private MenuPayloadCache menuPayloadCache;
+
+    @Autowired
+    private OpeningHoursService openingHoursService;
+
+    @Autowired
+    private MenuTimelineCache menuTimelineCache;
+
+    @Autowired
+    private MenuSectionService menuSectionService;
+
     @GetMapping
-    public List<Cafeteria> getAllCafeterias() {
-        return cafeteriaService.getAllCafeterias();
+    public ResponseEntity<List<Cafeteria>> getAllCafeterias(WebRequest request) {
+        return ConditionalResponses.ifNoneMatch(request, catalogVersions.etag(CatalogVersions.CAFETERIAS),
+                ConditionalResponses.LISTING, cafeteriaService::getAllCafeterias);
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Cafeteria> getCafeteriaById(@PathVariable UUID id) {
-        return cafeteriaService.getCafeteriaById(id)
-                .map(ResponseEntity::ok)
-                .orElse(ResponseEntity.notFound().build());
+    public ResponseEntity<Cafeteria> getCafeteriaById(@PathVariable UUID id, WebRequest request) {
+        return ConditionalResponses.ifNoneMatchOptional(request, catalogVersions.etag(CatalogVersions.CAFETERIAS),
+                ConditionalResponses.LISTING, () -> cafeteriaService.getCafeteriaById(id));
+    }
+
+    /**
+     * GET /api/cafeterias/{id}/menu
+     * Retrieves the menu of a single cafeteria, served from the per-cafeteria menu cache.
+     * The JSON (plain and gzip) is cached per menu version and written to the response as is.
+     * Responds with the cafeteria's menu items and HTTP status 200 OK,
+     * 304 Not Modified if If-None-Match matches the menu's current version,
+     * or 404 Not Found if the cafeteria does not exist.
+     * @param id The UUID of the cafeteria.
+     */
+    @GetMapping("/{id}/menu")
+    public void getCafeteriaMenu(@PathVariable UUID id, ServletWebRequest request, HttpServletResponse response) throws IOException {
+        if (ConditionalResponses.notModified(request, response, catalogVersions.menuEtag(id), ConditionalResponses.LIVE)) {
+            return;
+        }
+        List<MenuItem> menu = menuItemService.getMenuByCafeteriaId(id);
+        // An empty menu is the only case where the cafeteria itself may not exist
+        if (menu.isEmpty() && cafeteriaService.getCafeteriaById(id).isEmpty()) {
+            response.setStatus(HttpStatus.NOT_FOUND.value());
+            return;
+        }
+        ConditionalResponses.writePayload(request.getRequest(), response,
+                menuPayloadCache.get(id, menu), ConditionalResponses.LIVE);
+    }
+
+    /**
+     * GET /api/cafeterias/{id}/menu/current
+     * Retrieves the items on the cafeteria's menu right now: available items that are all-day
+     * or whose menu section (breakfast, lunch, ...) is in its time window. Resolved from the
+     * cafeteria's precomputed menu timeline; the JSON is cached per part of the day.
+     * Responds with the items and HTTP status 200 OK, 304 Not Modified if If-None-Match matches
+     * (the ETag changes with the menu and at every section boundary),
+     * or 404 Not Found if the cafeteria does not exist.
+     * @param id The UUID of the cafeteria.
+     */
+    @GetMapping("/{id}/menu/current")
+    public void getCurrentMenu(@PathVariable UUID id, ServletWebRequest request, HttpServletResponse response) throws IOException {
+        List<MenuItem> menu = menuItemService.getMenuByCafeteriaId(id);
+        if (menu.isEmpty() && cafeteriaService.getCafeteriaById(id).isEmpty()) {
+            response.setStatus(HttpStatus.NOT_FOUND.value());
+            return;
+        }
+        MenuTimelineCache.CurrentMenu current = menuTimelineCache.current(id, menu);
+        if (ConditionalResponses.notModified(request, response, current.etag(), ConditionalResponses.LIVE)) {
+            return;
+        }
+        ConditionalResponses.writePayload(request.getRequest(), response, current.payload(), ConditionalResponses.LIVE);
     }
 
     /**
@@ -104,4 +188,139 @@ public class CafeteriaController {
         }
         return new ResponseEntity<>(HttpStatus.NOT_FOUND);
     }
+
+    /**
+     * GET /api/cafeterias/{id}/hours
+     * Retrieves a cafeteria's weekly opening hours, its upcoming overrides (holidays etc.),
+     * whether it is open now and when it next opens.
+     * @param id The UUID of the cafeteria.
+     * @return ResponseEntity with the OpeningHoursResponse and HTTP status 200 OK,
+     * or 404 Not Found if the cafeteria does not exist.
+     */
+    @GetMapping("/{id}/hours")
+    public ResponseEntity<OpeningHoursResponse> getOpeningHours(@PathVariable UUID id) {
+        try {
+            return ResponseEntity.ok(openingHoursService.getHours(id));
+        } catch (ResourceNotFoundException e) {
+            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        }
+    }
+
+    /**
+     * PUT /api/cafeterias/{id}/hours
+     * Replaces a cafeteria's timezone, weekly opening hours and overrides. Orders are accepted
+     * only while the hours say the cafeteria is open; with no hours the manual isOpen switch applies.
+     * Access Control: ADMIN or CAFETERIA_OWNER (for their own cafeteria).
+     * @param id The UUID of the cafeteria.
+     * @param request The new hours.
+     * @return ResponseEntity with the stored hours and HTTP status 200 OK,
+     * 400 Bad Request if the timezone or an interval is invalid, or 404 Not Found if the cafeteria does not exist.
+     */
+    @PutMapping("/{id}/hours")
+    @PreAuthorize("hasRole('ADMIN') or (hasRole('CAFETERIA_OWNER') and principal.cafeteriaId == #id)")
+    public ResponseEntity<OpeningHoursResponse> replaceOpeningHours(@PathVariable UUID id, @RequestBody OpeningHoursRequest request) {
+        try {
+            return ResponseEntity.ok(openingHoursService.replaceHours(id, request));
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        } catch (ResourceNotFoundException e) {
+            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        }
+    }
+
+    /**
+     * GET /api/cafeterias/{id}/sections
+     * Retrieves the cafeteria's menu sections (daily time windows), ordered by start time.
+     * @param id The UUID of the cafeteria.
+     * @return ResponseEntity with the list of MenuSection objects and HTTP status 200 OK.
+     */
+    @GetMapping("/{id}/sections")
+    public ResponseEntity<List<MenuSection>> getMenuSections(@PathVariable UUID id) {
+        return ResponseEntity.ok(menuSectionService.getSections(id));
+    }
+
+    /**
+     * POST /api/cafeterias/{id}/sections
+     * Creates a menu section with a daily time window (endsAt at or before startsAt runs past midnight).
+     * Access Control: ADMIN or CAFETERIA_OWNER (for their own cafeteria).
+     * @param id The UUID of the cafeteria.
+     * @param section The section's name, startsAt and endsAt.
+     * @return ResponseEntity with the created MenuSection and HTTP status 201 Created,
+     * 400 Bad Request if fields are missing, or 404 Not Found if the cafeteria does not exist.
+     */
+    @PostMapping("/{id}/sections")
+    @PreAuthorize("hasRole('ADMIN') or (hasRole('CAFETERIA_OWNER') and principal.cafeteriaId == #id)")
+    public ResponseEntity<MenuSection> createMenuSection(@PathVariable UUID id, @RequestBody MenuSection section) {
+        try {
+            return new ResponseEntity<>(menuSectionService.createSection(id, section), HttpStatus.CREATED);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        } catch (ResourceNotFoundException e) {
+            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        }
+    }
+
+    /**
+     * PUT /api/cafeterias/{id}/sections/{sectionId}
+     * Updates a menu section's name and time window.
+     * Access Control: ADMIN or CAFETERIA_OWNER (for their own cafeteria).
+     * @return ResponseEntity with the updated MenuSection and HTTP status 200 OK,
+     * 400 Bad Request if fields are missing, or 404 Not Found if the section does not exist in the cafeteria.
+     */
+    @PutMapping("/{id}/sections/{sectionId}")
+    @PreAuthorize("hasRole('ADMIN') or (hasRole('CAFETERIA_OWNER') and principal.cafeteriaId == #id)")
+    public ResponseEntity<MenuSection> updateMenuSection(@PathVariable UUID id, @PathVariable UUID sectionId, @RequestBody MenuSection section) {
+        try {
+            return ResponseEntity.ok(menuSectionService.updateSection(id, sectionId, section));
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        } catch (ResourceNotFoundException e) {
+            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        }
+    }
+
+    /**
+     * DELETE /api/cafeterias/{id}/sections/{sectionId}
+     * Deletes a menu section; its items become all-day.
+     * Access Control: ADMIN or CAFETERIA_OWNER (for their own cafeteria).
+     * @return ResponseEntity with HTTP status 204 No Content if deleted,
+     * or 404 Not Found if the section does not exist in the cafeteria.
+     */
+    @DeleteMapping("/{id}/sections/{sectionId}")
+    @PreAuthorize("hasRole('ADMIN') or (hasRole('CAFETERIA_OWNER') and principal.cafeteriaId == #id)")
+    public ResponseEntity<HttpStatus> deleteMenuSection(@PathVariable UUID id, @PathVariable UUID sectionId) {
+        try {
+            menuSectionService.deleteSection(id, sectionId);
+            return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+        } catch (ResourceNotFoundException e) {
+            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        }
+    }
+
+    /**
+     * POST /api/cafeterias/{id}/menu/clone
+     * Copies the menu of another cafeteria into this one with a single set-based insert, for
+     * chains that run several outlets. Items can be filtered (available only, name contains)
+     * and repriced with a multiplier; names that already exist in this cafeteria are skipped.
+     * The cafeteria's menu cache is rebuilt before the response is sent.
+     * Access Control: ADMIN, or CAFETERIA_OWNER for their own cafeteria as the target and a
+     * source cafeteria of the same college.
+     * @param id The UUID of the target cafeteria.
+     * @param request The source cafeteria, optional priceMultiplier, onlyAvailable and nameContains.
+     * @return ResponseEntity with the created item IDs and HTTP status 201 Created,
+     * 400 Bad Request if the request is invalid, or 404 Not Found if either cafeteria does not exist.
+     */
+    @PostMapping("/{id}/menu/clone")
+    @PreAuthorize("hasRole('ADMIN') or (@ownership.ownsCafeteria(#id) and @ownership.ownsCafeteriaInCollegeOf(#request.sourceCafeteriaId))")
+    public ResponseEntity<MenuCloneResponse> cloneMenu(@PathVariable UUID id, @RequestBody MenuCloneRequest request) {
+        try {
+            List<UUID> createdIds = menuItemService.cloneMenu(id, request);
+            menuItemService.getMenuByCafeteriaId(id); // Committed: reload the target's menu into the cache now
+            return new ResponseEntity<>(new MenuCloneResponse(request.getSourceCafeteriaId(), id, createdIds), HttpStatus.CREATED);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        } catch (ResourceNotFoundException e) {
+            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        }
+    }
 }
@@ -1,5 +1,6 @@
 package com.grababite.backend.controllers;
 
+import java.io.IOException;
 import java.util.List;
 import java.util.UUID;
 
@@ -14,12 +15,21 @@ import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
 
+import com.grababite.backend.cache.CampusCatalogCache;
+import com.grababite.backend.cache.CatalogVersions;
+
+import com.grababite.backend.exceptions.ResourceNotFoundException;
 import com.grababite.backend.models.Cafeteria;
 import com.grababite.backend.models.College;
 import com.grababite.backend.repositories.CafeteriaRepository;
+import com.grababite.backend.services.CampusCatalogService;
 import com.grababite.backend.services.CollegeService;
 
+import jakarta.servlet.http.HttpServletResponse;
+
 @RestController
 @RequestMapping("/api/colleges")
 public class CollegeController {
@@ -30,18 +40,24 @@ public class CollegeController {
     @Autowired
     private CafeteriaRepository cafeteriaRepository;
 
-    // Get all colleges
+    @Autowired
+    private CatalogVersions catalogVersions;
+
+    @Autowired
+    private CampusCatalogService campusCatalogService;
+
+    // Get all colleges (304 when If-None-Match matches the current version)
     @GetMapping
-    public List<College> getAllColleges() {
-        return collegeService.getAllColleges();
+    public ResponseEntity<List<College>> getAllColleges(WebRequest request) {
+        return ConditionalResponses.ifNoneMatch(request, catalogVersions.etag(CatalogVersions.COLLEGES),
+                ConditionalResponses.REFERENCE_DATA, collegeService::getAllColleges);
     }
 
     // Get a college by ID
     @GetMapping("/{id}")
-    public ResponseEntity<College> getCollegeById(@PathVariable UUID id) {
-        return collegeService.getCollegeById(id)
-                .map(ResponseEntity::ok)
-                .orElse(ResponseEntity.notFound().build());
+    public ResponseEntity<College> getCollegeById(@PathVariable UUID id, WebRequest request) {
+        return ConditionalResponses.ifNoneMatchOptional(request, catalogVersions.etag(CatalogVersions.COLLEGES),
+                ConditionalResponses.REFERENCE_DATA, () -> collegeService.getCollegeById(id));
     }
 
     // Create a new college
@@ -73,7 +89,31 @@ public class CollegeController {
 
     // ✅ Get cafeterias by college
     @GetMapping("/{collegeId}/cafeterias")
-    public List<Cafeteria> getCafeteriasByCollege(@PathVariable UUID collegeId) {
-        return cafeteriaRepository.findByCollege_CollegeId(collegeId);
+    public ResponseEntity<List<Cafeteria>> getCafeteriasByCollege(@PathVariable UUID collegeId, WebRequest request) {
+        return ConditionalResponses.ifNoneMatch(request, catalogVersions.etag(CatalogVersions.CAFETERIAS),
+                ConditionalResponses.LISTING, () -> cafeteriaRepository.findByCollege_CollegeId(collegeId));
+    }
+
+    /**
+     * GET /api/colleges/{id}/catalog
+     * Returns the college, its cafeterias with their open status, and each cafeteria's available
+     * menu items in one response, for the app's home screen. Served from a per-college cache and
+     * answered with 304 Not Modified while the college, its cafeterias and their menus are unchanged.
+     * @param id The UUID of the college.
+     * @return The campus catalog, or 404 Not Found if the college does not exist.
+     */
+    @GetMapping("/{id}/catalog")
+    public void getCampusCatalog(@PathVariable UUID id, ServletWebRequest request, HttpServletResponse response) throws IOException {
+        CampusCatalogCache.Entry catalog;
+        try {
+            catalog = campusCatalogService.getCatalog(id);
+        } catch (ResourceNotFoundException e) {
+            response.setStatus(HttpStatus.NOT_FOUND.value());
+            return;
+        }
+        if (ConditionalResponses.notModified(request, response, catalog.etag(), ConditionalResponses.LIVE)) {
+            return;
+        }
+        ConditionalResponses.writePayload(request.getRequest(), response, catalog.payload(), ConditionalResponses.LIVE);
     }
 }
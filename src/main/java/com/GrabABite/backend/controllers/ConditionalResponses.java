@@ -0,0 +1,111 @@
+package com.grababite.backend.controllers;
+
+import com.grababite.backend.cache.SerializedPayload;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+// Conditional GET handling shared by the catalog controllers. The ETag comes from
+// CatalogVersions, so a matching If-None-Match is answered with 304 before the body
+// is loaded or serialized.
+final class ConditionalResponses {
+
+    // Colleges and the standard item catalog: edited by admins only
+    static final CacheControl REFERENCE_DATA = CacheControl.maxAge(Duration.ofMinutes(5)).cachePublic();
+
+    // Cafeteria listings: open/closed flags change during the day
+    static final CacheControl LISTING = CacheControl.maxAge(Duration.ofMinutes(1)).cachePublic();
+
+    // Menus: availability and prices must be revalidated on every use
+    static final CacheControl LIVE = CacheControl.noCache().cachePublic();
+
+    private ConditionalResponses() {
+    }
+
+    static <T> ResponseEntity<T> ifNoneMatch(WebRequest request, String etag, CacheControl cacheControl, Supplier<T> body) {
+        return ifNoneMatchOptional(request, etag, cacheControl, () -> Optional.of(body.get()));
+    }
+
+    // checkNotModified also writes the ETag header, so it is not repeated on the ResponseEntity
+    static <T> ResponseEntity<T> ifNoneMatchOptional(WebRequest request, String etag, CacheControl cacheControl,
+                                                     Supplier<Optional<T>> body) {
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(cacheControl).build();
+        }
+        return body.get()
+                .map(value -> ResponseEntity.ok().cacheControl(cacheControl).body(value))
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Conditional GET for a payload sent with {@link #writePayload}. The gzip and identity
+     * bodies differ, so each gets its own strong ETag: the gzip one carries a "-gzip" suffix.
+     * Writes the ETag header; on a match it also completes the 304 response.
+     * @return true if the client's copy is current and nothing more should be written.
+     */
+    static boolean notModified(ServletWebRequest request, HttpServletResponse response, String etag,
+                               CacheControl cacheControl) {
+        boolean gzip = acceptsGzip(request.getRequest().getHeader(HttpHeaders.ACCEPT_ENCODING));
+        String codingEtag = gzip ? etag.substring(0, etag.length() - 1) + "-gzip\"" : etag;
+        if (request.checkNotModified(codingEtag)) {
+            response.setHeader(HttpHeaders.CACHE_CONTROL, cacheControl.getHeaderValue());
+            response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Writes a pre-serialized JSON payload directly to the response, bypassing the message
+     * converters. The gzip form is sent when the client accepts it; check the ETag with
+     * {@link #notModified} first so the tag matches the coding sent.
+     */
+    static void writePayload(HttpServletRequest request, HttpServletResponse response, SerializedPayload payload,
+                             CacheControl cacheControl) throws IOException {
+        boolean gzip = acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+        byte[] body = gzip ? payload.gzip() : payload.json();
+
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader(HttpHeaders.CACHE_CONTROL, cacheControl.getHeaderValue());
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+
+    // True if Accept-Encoding lists gzip (or *) without q=0
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            String name = parts[0].trim();
+            if (name.equalsIgnoreCase("gzip") || name.equals("*")) {
+                for (int i = 1; i < parts.length; i++) {
+                    String param = parts[i].trim().replace(" ", "");
+                    if (param.equals("q=0") || param.matches("q=0\\.0{0,3}")) {
+                        return false;
+                    }
+                }
+                return true;
+            }
+        }
+        return false;
+    }
+}
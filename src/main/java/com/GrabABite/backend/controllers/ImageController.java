@@ -0,0 +1,113 @@
+package com.grababite.backend.controllers;
+
+import com.grababite.backend.dto.ImageUploadResponse;
+import com.grababite.backend.images.ImageVariant;
+import com.grababite.backend.services.ImageStorageService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+@RestController
+@RequestMapping("/api/images")
+public class ImageController {
+
+    // Every file under an image ID is immutable, so clients and CDNs may keep it for a year
+    private static final String IMMUTABLE = "public, max-age=31536000, immutable";
+
+    // Tomcat's sendfile hand-off: the connector writes the file straight from the page cache to the socket
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    @Autowired
+    private ImageStorageService imageStorageService;
+
+    /**
+     * POST /api/images
+     * Uploads an image (multipart field "file": JPEG, PNG, GIF or BMP). The original is stored as is;
+     * thumb, small and large JPEG variants are rendered in the background.
+     * Access Control: ADMIN or CAFETERIA_OWNER.
+     *
+     * @param file The image file.
+     * @return ResponseEntity with the image ID and URLs and HTTP status 201 Created,
+     * or 400 Bad Request if the file is not a supported image.
+     */
+    @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @PreAuthorize("hasAnyRole('ADMIN', 'CAFETERIA_OWNER')")
+    public ResponseEntity<ImageUploadResponse> uploadImage(@RequestParam("file") MultipartFile file) throws IOException {
+        try {
+            return new ResponseEntity<>(imageStorageService.store(file.getBytes()), HttpStatus.CREATED);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    /**
+     * GET /api/images/{imageId}/{variant}
+     * Serves an image: variant is "original", "thumb", "small" or "large". The file is sent without
+     * copying it through the JVM heap, with long-lived immutable cache headers.
+     * A variant that is still being rendered redirects (uncached) to the original.
+     *
+     * @return The image, 304 Not Modified if If-None-Match matches, 302 Found while the variant
+     * is being rendered, or 404 Not Found if the image or variant does not exist.
+     */
+    @GetMapping("/{imageId}/{variant}")
+    public void getImage(@PathVariable String imageId, @PathVariable String variant,
+                         HttpServletRequest request, HttpServletResponse response) throws IOException {
+        Path file = imageStorageService.resolve(imageId, variant);
+        if (file == null) {
+            if (ImageVariant.fromName(variant) != null && imageStorageService.resolve(imageId, ImageVariant.ORIGINAL) != null) {
+                response.setHeader(HttpHeaders.CACHE_CONTROL, "no-cache");
+                response.sendRedirect(request.getRequestURI().replaceAll("/[^/]+$", "/" + ImageVariant.ORIGINAL));
+            } else {
+                response.setStatus(HttpStatus.NOT_FOUND.value());
+            }
+            return;
+        }
+
+        String etag = "\"" + imageId + "-" + variant + "\"";
+        response.setHeader(HttpHeaders.CACHE_CONTROL, IMMUTABLE);
+        response.setHeader(HttpHeaders.ETAG, etag);
+        String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch != null && (ifNoneMatch.contains(etag) || ifNoneMatch.trim().equals("*"))) {
+            response.setStatus(HttpStatus.NOT_MODIFIED.value());
+            return;
+        }
+
+        long size = Files.size(file);
+        response.setContentType(MediaTypeFactory.getMediaType(file.getFileName().toString())
+                .orElse(MediaType.APPLICATION_OCTET_STREAM).toString());
+        response.setContentLengthLong(size);
+
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            request.setAttribute(SENDFILE_FILENAME, file.toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, 0L);
+            request.setAttribute(SENDFILE_END, size);
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = 0;
+            while (position < size) {
+                position += channel.transferTo(position, size - position, out);
+            }
+        }
+    }
+}
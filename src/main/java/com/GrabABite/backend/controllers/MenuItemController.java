@@ -1,17 +1,35 @@
 package com.grababite.backend.controllers;
 
+import com.grababite.backend.cache.CatalogVersions;
+import com.grababite.backend.config.AuthenticatedUser;
+import com.grababite.backend.dto.BulkImportResponse;
+import com.grababite.backend.dto.BulkUpdateResponse;
+import com.grababite.backend.dto.MenuItemAvailabilityRequest;
+import com.grababite.backend.dto.MenuItemPriceRequest;
 import com.grababite.backend.dto.MenuItemCreationRequest;
+import com.grababite.backend.dto.MenuRepriceRequest;
+import com.grababite.backend.dto.MenuRepriceResponse;
+import com.grababite.backend.dto.MenuSectionAssignmentRequest;
+import com.grababite.backend.dto.SearchResultResponse;
 import com.grababite.backend.models.Cafeteria;
 import com.grababite.backend.models.MenuItem;
+import com.grababite.backend.search.CatalogSearchIndex;
 import com.grababite.backend.services.CafeteriaService;
+import com.grababite.backend.services.CatalogImportService;
 import com.grababite.backend.services.MenuItemService;
+import com.grababite.backend.services.MenuSectionService;
 import com.grababite.backend.services.UserService; // NEW: Import UserService
+import com.grababite.backend.exceptions.ResourceNotFoundException;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.access.prepost.PreAuthorize; // NEW: Import PreAuthorize
 
+import java.io.IOException;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -23,22 +41,61 @@ public class MenuItemController {
     @Autowired
     private MenuItemService menuItemService;
 
+    @Autowired
+    private MenuSectionService menuSectionService;
+
     @Autowired
     private CafeteriaService cafeteriaService;
 
     @Autowired
     private UserService userService; // NEW: Autowire UserService for security checks
 
+    @Autowired
+    private CatalogVersions catalogVersions;
+
+    @Autowired
+    private CatalogSearchIndex catalogSearchIndex;
+
+    @Autowired
+    private CatalogImportService catalogImportService;
+
     @GetMapping
-    public List<MenuItem> getAllMenuItems() {
-        return menuItemService.getAllMenuItems();
+    public ResponseEntity<List<MenuItem>> getAllMenuItems(WebRequest request) {
+        return ConditionalResponses.ifNoneMatch(request, catalogVersions.etag(CatalogVersions.MENU_ITEMS),
+                ConditionalResponses.LIVE, menuItemService::getAllMenuItems);
+    }
+
+    /**
+     * GET /api/menu-items/search?q=chiken bir&cafeteriaId={id}
+     * Searches menu item names and descriptions. Tolerates typos and treats the last word as a
+     * prefix, so it can back a search-as-you-type box. Results are ranked by relevance, then popularity.
+     *
+     * @param q The search text.
+     * @param cafeteriaId Optional: only items of this cafeteria.
+     * @param collegeId Optional: only items of cafeterias belonging to this college.
+     * @param limit The maximum number of results (default 10, at most 50).
+     * @return ResponseEntity with the matching items, best first, 400 Bad Request if the query is empty,
+     * or 503 Service Unavailable while the search index is still loading.
+     */
+    @GetMapping("/search")
+    public ResponseEntity<List<SearchResultResponse>> searchMenuItems(
+            @RequestParam String q,
+            @RequestParam(required = false) UUID cafeteriaId,
+            @RequestParam(required = false) UUID collegeId,
+            @RequestParam(defaultValue = "10") int limit) {
+        try {
+            return ResponseEntity.ok(catalogSearchIndex.searchMenuItems(q, cafeteriaId, collegeId, limit));
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        } catch (IllegalStateException e) {
+            return new ResponseEntity<>(HttpStatus.SERVICE_UNAVAILABLE);
+        }
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<MenuItem> getMenuItemById(@PathVariable UUID id) {
-        return menuItemService.getMenuItemById(id)
-                .map(ResponseEntity::ok)
-                .orElse(ResponseEntity.notFound().build());
+    public ResponseEntity<MenuItem> getMenuItemById(@PathVariable UUID id, WebRequest request) {
+        return ConditionalResponses.ifNoneMatchOptional(request, catalogVersions.etag(CatalogVersions.MENU_ITEMS),
+                ConditionalResponses.LIVE, () -> menuItemService.getMenuItemById(id));
     }
 
     /**
@@ -51,7 +108,7 @@ public class MenuItemController {
      * or 400 Bad Request if cafeteria or standard menu item not found, or if required fields are missing.
      */
     @PostMapping
-    @PreAuthorize("hasRole('ADMIN') or (hasRole('CAFETERIA_OWNER') and @userService.getCurrentUserCafeteriaId() == #request.cafeteriaId)")
+    @PreAuthorize("hasRole('ADMIN') or (hasRole('CAFETERIA_OWNER') and principal.cafeteriaId == #request.cafeteriaId)")
     public ResponseEntity<MenuItem> createMenuItem(@RequestBody MenuItemCreationRequest request) {
         // 1. Validate Cafeteria
         Optional<Cafeteria> cafeteriaOptional = cafeteriaService.getCafeteriaById(request.getCafeteriaId());
@@ -85,6 +142,32 @@ public class MenuItemController {
         }
     }
 
+    /**
+     * POST /api/menu-items/import?cafeteriaId={id}
+     * Imports a cafeteria's menu from a CSV file (Content-Type: text/csv, header row) or a JSON
+     * array of objects (application/json). Columns: name, description, price, isAvailable, imageUrl,
+     * and optionally standardMenuItemId or standardMenuItemName to link a standard item.
+     * The upload is streamed and inserted in batches; names already on the menu are skipped.
+     * Access Control: ADMIN or CAFETERIA_OWNER (for their own cafeteria).
+     *
+     * @param cafeteriaId The UUID of the cafeteria to import into.
+     * @return ResponseEntity with the per-row import report and HTTP status 200 OK,
+     * 404 Not Found if the cafeteria does not exist, or 415 Unsupported Media Type if the body is neither CSV nor JSON.
+     */
+    @PostMapping("/import")
+    @PreAuthorize("hasRole('ADMIN') or (hasRole('CAFETERIA_OWNER') and principal.cafeteriaId == #cafeteriaId)")
+    public ResponseEntity<BulkImportResponse> importMenuItems(@RequestParam UUID cafeteriaId, HttpServletRequest request) {
+        try {
+            return ResponseEntity.ok(catalogImportService.importMenuItems(cafeteriaId, request.getInputStream(), request.getContentType()));
+        } catch (ResourceNotFoundException e) {
+            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(HttpStatus.UNSUPPORTED_MEDIA_TYPE);
+        } catch (IOException e) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+    }
+
     /**
      * PUT /api/menu-items/{id}
      * Updates an existing menu item.
@@ -96,15 +179,103 @@ public class MenuItemController {
      * or 404 Not Found if the menu item does not exist, or 403 Forbidden if not authorized.
      */
     @PutMapping("/{id}")
-    @PreAuthorize("hasRole('ADMIN') or (hasRole('CAFETERIA_OWNER') and @menuItemService.getMenuItemById(#id).orElse(null)?.cafeteria?.cafeteriaId == @userService.getCurrentUserCafeteriaId())")
+    @PreAuthorize("hasAnyRole('ADMIN', 'CAFETERIA_OWNER')") // Ownership is checked on the row being written
     public ResponseEntity<MenuItem> updateMenuItem(@PathVariable UUID id, @RequestBody MenuItem menuItemDetails) {
-        MenuItem updatedMenuItem = menuItemService.updateMenuItem(id, menuItemDetails);
+        MenuItem updatedMenuItem = menuItemService.updateMenuItem(id, menuItemDetails, requiredCafeteriaId());
         if (updatedMenuItem != null) {
             return ResponseEntity.ok(updatedMenuItem);
         }
         return ResponseEntity.notFound().build();
     }
 
+    /**
+     * PATCH /api/menu-items/{id}/availability
+     * Marks a single menu item available or sold out. Only the availability column is written.
+     * Access Control: ADMIN or CAFETERIA_OWNER (for their own cafeteria).
+     *
+     * @param id The UUID of the menu item.
+     * @param request The cafeteriaId the item belongs to and the new isAvailable value.
+     * @return ResponseEntity with HTTP status 204 No Content if updated,
+     * 400 Bad Request if fields are missing, or 404 Not Found if the item is not in that cafeteria.
+     */
+    @PatchMapping("/{id}/availability")
+    @PreAuthorize("hasRole('ADMIN') or (hasRole('CAFETERIA_OWNER') and principal.cafeteriaId == #request.cafeteriaId)")
+    public ResponseEntity<HttpStatus> updateMenuItemAvailability(@PathVariable UUID id, @RequestBody MenuItemAvailabilityRequest request) {
+        try {
+            int updated = menuItemService.updateAvailability(request.getCafeteriaId(), List.of(id), request.getIsAvailable());
+            return new ResponseEntity<>(updated > 0 ? HttpStatus.NO_CONTENT : HttpStatus.NOT_FOUND);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    /**
+     * PATCH /api/menu-items/availability
+     * Marks many menu items of one cafeteria available or sold out with a single update.
+     * Access Control: ADMIN or CAFETERIA_OWNER (for their own cafeteria).
+     *
+     * @param request The cafeteriaId, the menuItemIds (at most 500) and the new isAvailable value.
+     * @return ResponseEntity with how many items were updated (items not in the cafeteria are ignored),
+     * or 400 Bad Request if fields are missing or too many IDs are given.
+     */
+    @PatchMapping("/availability")
+    @PreAuthorize("hasRole('ADMIN') or (hasRole('CAFETERIA_OWNER') and principal.cafeteriaId == #request.cafeteriaId)")
+    public ResponseEntity<BulkUpdateResponse> updateMenuItemsAvailability(@RequestBody MenuItemAvailabilityRequest request) {
+        try {
+            int updated = menuItemService.updateAvailability(request.getCafeteriaId(), request.getMenuItemIds(), request.getIsAvailable());
+            return ResponseEntity.ok(new BulkUpdateResponse(request.getMenuItemIds().size(), updated));
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    /**
+     * PATCH /api/menu-items/{id}/price
+     * Changes the price of a single menu item. Only the price column is written.
+     * Access Control: ADMIN or CAFETERIA_OWNER (for their own cafeteria).
+     *
+     * @param id The UUID of the menu item.
+     * @param request The cafeteriaId the item belongs to and the new price.
+     * @return ResponseEntity with HTTP status 204 No Content if updated,
+     * 400 Bad Request if fields are missing or the price is negative, or 404 Not Found if the item is not in that cafeteria.
+     */
+    @PatchMapping("/{id}/price")
+    @PreAuthorize("hasRole('ADMIN') or (hasRole('CAFETERIA_OWNER') and principal.cafeteriaId == #request.cafeteriaId)")
+    public ResponseEntity<HttpStatus> updateMenuItemPrice(@PathVariable UUID id, @RequestBody MenuItemPriceRequest request) {
+        try {
+            boolean updated = menuItemService.updatePrice(request.getCafeteriaId(), id, request.getPrice());
+            return new ResponseEntity<>(updated ? HttpStatus.NO_CONTENT : HttpStatus.NOT_FOUND);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    /**
+     * POST /api/menu-items/reprice
+     * Changes the price of every item of a cafeteria, a college or a standard item group at once,
+     * by a percentage and/or an absolute amount, rounded to a multiple of roundTo (NEAREST, UP or DOWN).
+     * With dryRun the new prices are only computed and returned.
+     * Access Control: ADMIN, or CAFETERIA_OWNER for their own cafeteria (not college-wide).
+     *
+     * @param request The scope (cafeteriaId, collegeId and/or standardMenuItemId), percent, amount, roundTo, rounding and dryRun.
+     * @return ResponseEntity with the old and new price of every changed item,
+     * 400 Bad Request if the request is invalid, or 404 Not Found if the scope does not exist.
+     */
+    @PostMapping("/reprice")
+    @PreAuthorize("hasRole('ADMIN') or (#request.collegeId == null and @ownership.ownsCafeteria(#request.cafeteriaId))")
+    public ResponseEntity<MenuRepriceResponse> repriceMenuItems(@RequestBody MenuRepriceRequest request) {
+        try {
+            MenuRepriceResponse response = Boolean.TRUE.equals(request.getDryRun())
+                    ? menuItemService.previewReprice(request)
+                    : menuItemService.reprice(request);
+            return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        } catch (ResourceNotFoundException e) {
+            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        }
+    }
+
     /**
      * DELETE /api/menu-items/{id}
      * Deletes a menu item by its ID.
@@ -115,12 +286,48 @@ public class MenuItemController {
      * or 404 Not Found if the item does not exist, or 403 Forbidden if not authorized.
      */
     @DeleteMapping("/{id}")
-    @PreAuthorize("hasRole('ADMIN') or (hasRole('CAFETERIA_OWNER') and @menuItemService.getMenuItemById(#id).orElse(null)?.cafeteria?.cafeteriaId == @userService.getCurrentUserCafeteriaId())")
+    @PreAuthorize("hasAnyRole('ADMIN', 'CAFETERIA_OWNER')") // Ownership is checked on the row being deleted
     public ResponseEntity<HttpStatus> deleteMenuItem(@PathVariable UUID id) {
-        boolean deleted = menuItemService.deleteMenuItem(id);
+        boolean deleted = menuItemService.deleteMenuItem(id, requiredCafeteriaId());
         if (deleted) {
             return new ResponseEntity<>(HttpStatus.NO_CONTENT);
         }
         return new ResponseEntity<>(HttpStatus.NOT_FOUND);
     }
+
+    /**
+     * PATCH /api/menu-items/section
+     * Assigns many menu items of one cafeteria to a menu section (breakfast, lunch, ...) with a
+     * single update, or makes them all-day again when menuSectionId is null.
+     * Access Control: ADMIN or CAFETERIA_OWNER (for their own cafeteria).
+     *
+     * @param request The cafeteriaId, the menuItemIds (at most 500) and the menuSectionId.
+     * @return ResponseEntity with how many items were updated (items not in the cafeteria are ignored),
+     * 400 Bad Request if fields are missing or too many IDs are given,
+     * or 404 Not Found if the section does not exist in the cafeteria.
+     */
+    @PatchMapping("/section")
+    @PreAuthorize("hasRole('ADMIN') or (hasRole('CAFETERIA_OWNER') and principal.cafeteriaId == #request.cafeteriaId)")
+    public ResponseEntity<BulkUpdateResponse> assignMenuSection(@RequestBody MenuSectionAssignmentRequest request) {
+        try {
+            int updated = menuSectionService.assignItems(request.getCafeteriaId(), request.getMenuSectionId(), request.getMenuItemIds());
+            return ResponseEntity.ok(new BulkUpdateResponse(request.getMenuItemIds().size(), updated));
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        } catch (ResourceNotFoundException e) {
+            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        }
+    }
+
+    // The cafeteria an owner's writes are limited to; null for admins, who may write to any
+    private static UUID requiredCafeteriaId() {
+        AuthenticatedUser user = AuthenticatedUser.current();
+        if (user.hasRole("ADMIN")) {
+            return null;
+        }
+        if (user.getCafeteriaId() == null) {
+            throw new AccessDeniedException("No cafeteria is assigned to this owner");
+        }
+        return user.getCafeteriaId();
+    }
 }
@@ -1,15 +1,16 @@
 package com.grababite.backend.controllers;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.util.List;
 import java.util.UUID;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -19,13 +20,13 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.grababite.backend.config.AuthenticatedUser;
 import com.grababite.backend.dto.OrderCreationRequest;
 import com.grababite.backend.dto.OrderStatusUpdateRequest;
+import com.grababite.backend.exceptions.CafeteriaClosedException;
 import com.grababite.backend.exceptions.ResourceNotFoundException;
 import com.grababite.backend.models.Order;
-import com.grababite.backend.models.User;
 import com.grababite.backend.services.OrderService;
-import com.grababite.backend.services.UserService;
 
 @RestController
 @RequestMapping("/api/orders")
@@ -36,48 +37,37 @@ public class OrderController {
     @Autowired
     private OrderService orderService;
 
-    @Autowired
-    private UserService userService;
-
     /**
      * GET /api/orders
      */
     @GetMapping
     public ResponseEntity<List<Order>> getOrdersForCurrentUser() {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        String userEmail = authentication.getName();
+        AuthenticatedUser currentUser = AuthenticatedUser.current(); // From the token, no users query
 
-        User currentUser = userService.getUserEntityByEmail(userEmail)
-                .orElseThrow(() -> new ResourceNotFoundException("User not found with email: " + userEmail));
-
-        if (currentUser.getRoles().contains("ADMIN")) {
+        if (currentUser.hasRole("ADMIN")) {
             return ResponseEntity.ok(orderService.getAllOrders());
-        } else if (currentUser.getRoles().contains("CAFETERIA_OWNER")) {
-            if (currentUser.getCafeteria() == null) {
+        } else if (currentUser.hasRole("CAFETERIA_OWNER")) {
+            if (currentUser.getCafeteriaId() == null) {
                 return new ResponseEntity<>(HttpStatus.FORBIDDEN);
             }
-            return ResponseEntity.ok(orderService.getOrdersByCafeteriaId(currentUser.getCafeteria().getCafeteriaId()));
+            return ResponseEntity.ok(orderService.getOrdersByCafeteriaId(currentUser.getCafeteriaId()));
         } else {
-            return ResponseEntity.ok(orderService.getOrdersByUserId(currentUser.getId()));
+            return ResponseEntity.ok(orderService.getOrdersByUserId(currentUser.getUserId()));
         }
     }
 
     @GetMapping("/{id}")
     public ResponseEntity<Order> getOrderById(@PathVariable UUID id) {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        String userEmail = authentication.getName();
-
-        User currentUser = userService.getUserEntityByEmail(userEmail)
-                .orElseThrow(() -> new ResourceNotFoundException("User not found with email: " + userEmail));
+        AuthenticatedUser currentUser = AuthenticatedUser.current(); // From the token, no users query
 
         Order order = orderService.getOrderById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Order not found with id: " + id));
 
-        if (currentUser.getRoles().contains("ADMIN") ||
-            (currentUser.getRoles().contains("CAFETERIA_OWNER") &&
-             currentUser.getCafeteria() != null &&
-             order.getCafeteria().getCafeteriaId().equals(currentUser.getCafeteria().getCafeteriaId())) ||
-            (order.getUser() != null && order.getUser().getId().equals(currentUser.getId()))) {
+        if (currentUser.hasRole("ADMIN") ||
+            (currentUser.hasRole("CAFETERIA_OWNER") &&
+             currentUser.getCafeteriaId() != null &&
+             order.getCafeteria().getCafeteriaId().equals(currentUser.getCafeteriaId())) ||
+            (order.getUser() != null && order.getUser().getId().equals(currentUser.getUserId()))) {
 
             return ResponseEntity.ok(order);
         }
@@ -90,6 +80,13 @@ public class OrderController {
         try {
             Order createdOrder = orderService.createOrder(request);
             return new ResponseEntity<>(createdOrder, HttpStatus.CREATED);
+        } catch (CafeteriaClosedException e) {
+            HttpHeaders headers = new HttpHeaders();
+            if (e.getNextOpening() != null) {
+                // Seconds until the cafeteria opens, so clients can tell the user when to come back
+                headers.set(HttpHeaders.RETRY_AFTER, Long.toString(Math.max(1, Duration.between(Instant.now(), e.getNextOpening()).getSeconds())));
+            }
+            return new ResponseEntity<>(headers, HttpStatus.CONFLICT);
         } catch (ResourceNotFoundException | IllegalArgumentException e) {
             logger.error("Error creating order: {}", e.getMessage());
             return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
@@ -101,19 +98,15 @@ public class OrderController {
 
     @PutMapping("/{id}/status")
     public ResponseEntity<Order> updateOrderStatus(@PathVariable UUID id, @RequestBody OrderStatusUpdateRequest request) {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        String userEmail = authentication.getName();
-
-        User currentUser = userService.getUserEntityByEmail(userEmail)
-                .orElseThrow(() -> new ResourceNotFoundException("User not found with email: " + userEmail));
+        AuthenticatedUser currentUser = AuthenticatedUser.current(); // From the token, no users query
 
         Order order = orderService.getOrderById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Order not found with id: " + id));
 
-        boolean authorized = currentUser.getRoles().contains("ADMIN") ||
-                (currentUser.getRoles().contains("CAFETERIA_OWNER") &&
-                 currentUser.getCafeteria() != null &&
-                 order.getCafeteria().getCafeteriaId().equals(currentUser.getCafeteria().getCafeteriaId()));
+        boolean authorized = currentUser.hasRole("ADMIN") ||
+                (currentUser.hasRole("CAFETERIA_OWNER") &&
+                 currentUser.getCafeteriaId() != null &&
+                 order.getCafeteria().getCafeteriaId().equals(currentUser.getCafeteriaId()));
 
         if (!authorized) {
             return new ResponseEntity<>(HttpStatus.FORBIDDEN);
@@ -133,19 +126,15 @@ public class OrderController {
 
     @DeleteMapping("/{id}")
     public ResponseEntity<HttpStatus> deleteOrder(@PathVariable UUID id) {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        String userEmail = authentication.getName();
-
-        User currentUser = userService.getUserEntityByEmail(userEmail)
-                .orElseThrow(() -> new ResourceNotFoundException("User not found with email: " + userEmail));
+        AuthenticatedUser currentUser = AuthenticatedUser.current(); // From the token, no users query
 
         Order order = orderService.getOrderById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Order not found with id: " + id));
 
-        boolean authorized = currentUser.getRoles().contains("ADMIN") ||
-                (currentUser.getRoles().contains("CAFETERIA_OWNER") &&
-                 currentUser.getCafeteria() != null &&
-                 order.getCafeteria().getCafeteriaId().equals(currentUser.getCafeteria().getCafeteriaId()));
+        boolean authorized = currentUser.hasRole("ADMIN") ||
+                (currentUser.hasRole("CAFETERIA_OWNER") &&
+                 currentUser.getCafeteriaId() != null &&
+                 order.getCafeteria().getCafeteriaId().equals(currentUser.getCafeteriaId()));
 
         if (!authorized) {
             return new ResponseEntity<>(HttpStatus.FORBIDDEN);
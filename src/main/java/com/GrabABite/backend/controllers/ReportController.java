@@ -1,15 +1,27 @@
 package com.grababite.backend.controllers;
 
+import com.grababite.backend.config.Ownership;
+import com.grababite.backend.dto.DemandForecastResponse;
+import com.grababite.backend.dto.HourlySalesResponse;
 import com.grababite.backend.dto.PopularMenuItemResponse;
+import com.grababite.backend.dto.ReportJobRequest;
+import com.grababite.backend.dto.ReportJobResponse;
 import com.grababite.backend.dto.SalesSummaryResponse;
+import com.grababite.backend.models.ReportJob;
+import com.grababite.backend.services.DemandForecastService;
+import com.grababite.backend.services.ReportJobService;
 import com.grababite.backend.services.ReportingService;
-import com.grababite.backend.services.UserService; // Import UserService for security checks
 import com.grababite.backend.exceptions.ResourceNotFoundException; // Import ResourceNotFoundException
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize; // Import PreAuthorize
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -23,7 +35,13 @@ public class ReportController {
     private ReportingService reportingService;
 
     @Autowired
-    private UserService userService; // Autowire UserService for security checks
+    private ReportJobService reportJobService;
+
+    @Autowired
+    private DemandForecastService demandForecastService;
+
+    @Autowired
+    private Ownership ownership;
 
     /**
      * GET /api/reports/sales/daily
@@ -35,7 +53,7 @@ public class ReportController {
      * @return SalesSummaryResponse containing aggregated sales data for the day.
      */
     @GetMapping("/sales/daily")
-    @PreAuthorize("hasRole('ADMIN') or (hasRole('CAFETERIA_OWNER') and @userService.getCurrentUserCafeteriaId() == #cafeteriaId)")
+    @PreAuthorize("hasRole('ADMIN') or (hasRole('CAFETERIA_OWNER') and principal.cafeteriaId == #cafeteriaId)")
     public ResponseEntity<SalesSummaryResponse> getDailySalesSummary(
             @RequestParam UUID cafeteriaId,
             @RequestParam LocalDate date) {
@@ -60,7 +78,7 @@ public class ReportController {
      * @return A list of PopularMenuItemResponse objects, sorted by quantity sold.
      */
     @GetMapping("/menu-items/popular")
-    @PreAuthorize("hasRole('ADMIN') or (hasRole('CAFETERIA_OWNER') and @userService.getCurrentUserCafeteriaId() == #cafeteriaId)")
+    @PreAuthorize("hasRole('ADMIN') or (hasRole('CAFETERIA_OWNER') and principal.cafeteriaId == #cafeteriaId)")
     public ResponseEntity<List<PopularMenuItemResponse>> getPopularMenuItems(
             @RequestParam UUID cafeteriaId,
             @RequestParam LocalDate startDate,
@@ -74,4 +92,117 @@ public class ReportController {
             return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
+
+    /**
+     * GET /api/reports/sales/hourly
+     * Generates an hourly sales heatmap for a specific cafeteria on one day.
+     * Past days are served from the nightly precomputed snapshot when available.
+     * Access Control: ADMIN or CAFETERIA_OWNER (for their own cafeteria).
+     *
+     * @param cafeteriaId The ID of the cafeteria.
+     * @param date The day to report on (e.g., "2025-08-01").
+     * @return A list of 24 HourlySalesResponse objects, one per hour.
+     */
+    @GetMapping("/sales/hourly")
+    @PreAuthorize("hasRole('ADMIN') or (hasRole('CAFETERIA_OWNER') and principal.cafeteriaId == #cafeteriaId)")
+    public ResponseEntity<List<HourlySalesResponse>> getHourlySales(
+            @RequestParam UUID cafeteriaId,
+            @RequestParam LocalDate date) {
+        try {
+            return ResponseEntity.ok(reportingService.getHourlySales(cafeteriaId, date));
+        } catch (Exception e) {
+            return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    /**
+     * GET /api/reports/forecast
+     * Forecasts hourly demand per menu item for a specific cafeteria, for kitchen prep planning.
+     * Access Control: ADMIN or CAFETERIA_OWNER (for their own cafeteria).
+     *
+     * @param cafeteriaId The ID of the cafeteria.
+     * @param date The day to forecast (e.g., "2025-08-01"); defaults to tomorrow.
+     * @return A list of DemandForecastResponse objects, ordered by hour.
+     */
+    @GetMapping("/forecast")
+    @PreAuthorize("hasRole('ADMIN') or (hasRole('CAFETERIA_OWNER') and principal.cafeteriaId == #cafeteriaId)")
+    public ResponseEntity<List<DemandForecastResponse>> getDemandForecast(
+            @RequestParam UUID cafeteriaId,
+            @RequestParam(required = false) LocalDate date) {
+        try {
+            LocalDate forecastDate = date != null ? date : LocalDate.now().plusDays(1);
+            return ResponseEntity.ok(demandForecastService.getForecast(cafeteriaId, forecastDate));
+        } catch (Exception e) {
+            return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    /**
+     * POST /api/reports/jobs
+     * Submits a long-range report (e.g., a year of popular items) to run in the background.
+     * Access Control: ADMIN or CAFETERIA_OWNER (for their own cafeteria).
+     *
+     * @param request The ReportJobRequest describing the report type, cafeteria and date range.
+     * @return ResponseEntity with the job (including its jobId) and HTTP status 202 Accepted,
+     * 400 Bad Request if the request is invalid, or 503 Service Unavailable if the job queue is full.
+     */
+    @PostMapping("/jobs")
+    @PreAuthorize("hasRole('ADMIN') or (hasRole('CAFETERIA_OWNER') and principal.cafeteriaId == #request.cafeteriaId)")
+    public ResponseEntity<ReportJobResponse> submitReportJob(@RequestBody ReportJobRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        try {
+            ReportJob job = reportJobService.submitJob(request, authentication.getName());
+            return new ResponseEntity<>(ReportJobResponse.from(job, false), HttpStatus.ACCEPTED);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        } catch (TaskRejectedException e) {
+            return new ResponseEntity<>(HttpStatus.SERVICE_UNAVAILABLE); // Too many reports queued, retry later
+        }
+    }
+
+    /**
+     * GET /api/reports/jobs/{jobId}
+     * Polls a report job. Once the status is COMPLETED the response includes the result.
+     * Access Control: ADMIN or CAFETERIA_OWNER (for jobs of their own cafeteria).
+     *
+     * @param jobId The UUID of the job.
+     * @return ResponseEntity with the job, 404 Not Found if it does not exist (or has expired),
+     * or 403 Forbidden if not authorized.
+     */
+    @GetMapping("/jobs/{jobId}")
+    @PreAuthorize("hasAnyRole('ADMIN', 'CAFETERIA_OWNER')")
+    public ResponseEntity<ReportJobResponse> getReportJob(@PathVariable UUID jobId) {
+        ReportJob job = reportJobService.getJob(jobId)
+                .orElseThrow(() -> new ResourceNotFoundException("Report job not found with id: " + jobId));
+        if (!canAccess(job)) {
+            return new ResponseEntity<>(HttpStatus.FORBIDDEN);
+        }
+        return ResponseEntity.ok(ReportJobResponse.from(job, true));
+    }
+
+    /**
+     * GET /api/reports/jobs/{jobId}/events
+     * Server-sent events stream that emits a single "completed" event when the job finishes.
+     * Access Control: ADMIN or CAFETERIA_OWNER (for jobs of their own cafeteria).
+     *
+     * @param jobId The UUID of the job.
+     * @return An SSE stream, 404 Not Found if the job does not exist, or 403 Forbidden if not authorized.
+     */
+    @GetMapping(value = "/jobs/{jobId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("hasAnyRole('ADMIN', 'CAFETERIA_OWNER')")
+    public ResponseEntity<SseEmitter> subscribeToReportJob(@PathVariable UUID jobId) {
+        ReportJob job = reportJobService.getJob(jobId)
+                .orElseThrow(() -> new ResourceNotFoundException("Report job not found with id: " + jobId));
+        if (!canAccess(job)) {
+            return new ResponseEntity<>(HttpStatus.FORBIDDEN);
+        }
+        return ResponseEntity.ok(reportJobService.subscribe(job));
+    }
+
+    private boolean canAccess(ReportJob job) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        boolean isAdmin = authentication.getAuthorities().stream()
+                .anyMatch(a -> "ROLE_ADMIN".equals(a.getAuthority()));
+        return isAdmin || ownership.ownsCafeteria(job.getCafeteriaId());
+    }
 }
@@ -1,15 +1,22 @@
 package com.grababite.backend.controllers;
 
+import com.grababite.backend.cache.CatalogVersions;
+import com.grababite.backend.dto.BulkImportResponse;
+import com.grababite.backend.dto.SearchResultResponse;
 import com.grababite.backend.models.StandardMenuItem;
+import com.grababite.backend.search.CatalogSearchIndex;
+import com.grababite.backend.services.CatalogImportService;
 import com.grababite.backend.services.StandardMenuItemService;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 import java.util.UUID;
-import java.util.stream.Collectors; // Import for Collectors
+import java.io.IOException;
 
 @RestController
 @RequestMapping("/api/standard-menu-items") // Base URL for standard menu items
@@ -18,14 +25,47 @@ public class StandardMenuItemController {
     @Autowired
     private StandardMenuItemService standardMenuItemService;
 
+    @Autowired
+    private CatalogVersions catalogVersions;
+
+    @Autowired
+    private CatalogSearchIndex catalogSearchIndex;
+
+    @Autowired
+    private CatalogImportService catalogImportService;
+
     /**
      * GET /api/standard-menu-items
      * Retrieves a list of all standard menu items.
-     * @return A list of StandardMenuItem objects.
+     * @return A list of StandardMenuItem objects, or 304 Not Modified if If-None-Match matches.
      */
     @GetMapping
-    public List<StandardMenuItem> getAllStandardMenuItems() {
-        return standardMenuItemService.getAllStandardMenuItems();
+    public ResponseEntity<List<StandardMenuItem>> getAllStandardMenuItems(WebRequest request) {
+        return ConditionalResponses.ifNoneMatch(request, catalogVersions.etag(CatalogVersions.STANDARD_MENU_ITEMS),
+                ConditionalResponses.REFERENCE_DATA, standardMenuItemService::getAllStandardMenuItems);
+    }
+
+    /**
+     * GET /api/standard-menu-items/search?q=panner tika
+     * Searches standard menu item names and descriptions, e.g. to pick the item to link a menu item to.
+     * Tolerates typos and treats the last word as a prefix. Results are ranked by relevance, then by
+     * units sold across all linked menu items.
+     * @param q The search text.
+     * @param limit The maximum number of results (default 10, at most 50).
+     * @return ResponseEntity with the matching standard items, best first, 400 Bad Request if the query is empty,
+     * or 503 Service Unavailable while the search index is still loading.
+     */
+    @GetMapping("/search")
+    public ResponseEntity<List<SearchResultResponse>> searchStandardMenuItems(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "10") int limit) {
+        try {
+            return ResponseEntity.ok(catalogSearchIndex.searchStandardMenuItems(q, limit));
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        } catch (IllegalStateException e) {
+            return new ResponseEntity<>(HttpStatus.SERVICE_UNAVAILABLE);
+        }
     }
 
     /**
@@ -33,13 +73,12 @@ public class StandardMenuItemController {
      * Retrieves a single standard menu item by its ID.
      * @param id The UUID of the standard menu item to retrieve.
      * @return ResponseEntity with the StandardMenuItem object and HTTP status 200 OK,
-     * or 404 Not Found if the item does not exist.
+     * 304 Not Modified if If-None-Match matches, or 404 Not Found if the item does not exist.
      */
     @GetMapping("/{id}")
-    public ResponseEntity<StandardMenuItem> getStandardMenuItemById(@PathVariable UUID id) {
-        return standardMenuItemService.getStandardMenuItemById(id)
-                .map(ResponseEntity::ok)
-                .orElse(ResponseEntity.notFound().build());
+    public ResponseEntity<StandardMenuItem> getStandardMenuItemById(@PathVariable UUID id, WebRequest request) {
+        return ConditionalResponses.ifNoneMatchOptional(request, catalogVersions.etag(CatalogVersions.STANDARD_MENU_ITEMS),
+                ConditionalResponses.REFERENCE_DATA, () -> standardMenuItemService.getStandardMenuItemById(id));
     }
 
     /**
@@ -56,18 +95,35 @@ public class StandardMenuItemController {
 
     /**
      * POST /api/standard-menu-items/bulk
-     * Creates multiple new standard menu items in a single request.
+     * Creates multiple new standard menu items in a single request and transaction.
      * @param standardMenuItems A list of StandardMenuItem objects to create (sent in the request body as JSON array).
      * @return ResponseEntity with the list of created StandardMenuItem objects and HTTP status 201 Created.
      */
     @PostMapping("/bulk") // New endpoint for bulk creation
     public ResponseEntity<List<StandardMenuItem>> createStandardMenuItemsBulk(@RequestBody List<StandardMenuItem> standardMenuItems) {
-        List<StandardMenuItem> createdItems = standardMenuItems.stream()
-                                                .map(standardMenuItemService::createStandardMenuItem)
-                                                .collect(Collectors.toList());
+        List<StandardMenuItem> createdItems = standardMenuItemService.createStandardMenuItems(standardMenuItems);
         return new ResponseEntity<>(createdItems, HttpStatus.CREATED);
     }
 
+    /**
+     * POST /api/standard-menu-items/import
+     * Imports standard menu items from a CSV file (Content-Type: text/csv, header row with
+     * name, description, imageUrl) or a JSON array of objects with the same fields.
+     * The upload is streamed; rows whose name already exists are skipped.
+     * @return ResponseEntity with the per-row import report and HTTP status 200 OK,
+     * or 415 Unsupported Media Type if the body is neither CSV nor JSON.
+     */
+    @PostMapping("/import")
+    public ResponseEntity<BulkImportResponse> importStandardMenuItems(HttpServletRequest request) {
+        try {
+            return ResponseEntity.ok(catalogImportService.importStandardMenuItems(request.getInputStream(), request.getContentType()));
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(HttpStatus.UNSUPPORTED_MEDIA_TYPE);
+        } catch (IOException e) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+    }
+
     /**
      * PUT /api/standard-menu-items/{id}
      * Updates an existing standard menu item.
@@ -1,17 +1,22 @@
 package com.grababite.backend.dto;
 
+import java.util.List;
 import java.util.UUID;
 
 public class AuthResponse {
 
     private String token;
     private String role;
+    private List<String> roles;
     private UUID userId;
+    private String refreshToken; // Exchanged at POST /api/auth/refresh once the access token expires
 
-    public AuthResponse(String token, String role, UUID userId) {
+    public AuthResponse(String token, String role, List<String> roles, UUID userId, String refreshToken) {
         this.token = token;
         this.role = role;
+        this.roles = roles;
         this.userId = userId;
+        this.refreshToken = refreshToken;
     }
 
     public String getToken() {
@@ -22,7 +27,15 @@ public class AuthResponse {
         return role;
     }
 
+    public List<String> getRoles() {
+        return roles;
+    }
+
     public UUID getUserId() {
         return userId;
     }
+
+    public String getRefreshToken() {
+        return refreshToken;
+    }
 }
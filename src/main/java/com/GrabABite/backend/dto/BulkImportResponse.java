@@ -0,0 +1,114 @@
+package com.grababite.backend.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+// DTO summarizing a bulk import: counts plus one entry per row that was skipped or failed.
+public class BulkImportResponse {
+    private int totalRows;
+    private int imported;
+    private int skipped; // Duplicates of an existing item or of an earlier row
+    private int failed;
+    private List<UUID> createdIds = new ArrayList<>();
+    private List<RowError> errors = new ArrayList<>();
+
+    // Getters and Setters
+    public int getTotalRows() {
+        return totalRows;
+    }
+
+    public void setTotalRows(int totalRows) {
+        this.totalRows = totalRows;
+    }
+
+    public int getImported() {
+        return imported;
+    }
+
+    public void setImported(int imported) {
+        this.imported = imported;
+    }
+
+    public int getSkipped() {
+        return skipped;
+    }
+
+    public void setSkipped(int skipped) {
+        this.skipped = skipped;
+    }
+
+    public int getFailed() {
+        return failed;
+    }
+
+    public void setFailed(int failed) {
+        this.failed = failed;
+    }
+
+    public List<UUID> getCreatedIds() {
+        return createdIds;
+    }
+
+    public void setCreatedIds(List<UUID> createdIds) {
+        this.createdIds = createdIds;
+    }
+
+    public List<RowError> getErrors() {
+        return errors;
+    }
+
+    public void setErrors(List<RowError> errors) {
+        this.errors = errors;
+    }
+
+    public void addSkipped(int rowNumber, String name, String message) {
+        skipped++;
+        errors.add(new RowError(rowNumber, name, message));
+    }
+
+    public void addFailed(int rowNumber, String name, String message) {
+        failed++;
+        errors.add(new RowError(rowNumber, name, message));
+    }
+
+    // A row that was not imported and why.
+    public static class RowError {
+        private int rowNumber;
+        private String name;
+        private String message;
+
+        public RowError() {
+        }
+
+        public RowError(int rowNumber, String name, String message) {
+            this.rowNumber = rowNumber;
+            this.name = name;
+            this.message = message;
+        }
+
+        public int getRowNumber() {
+            return rowNumber;
+        }
+
+        public void setRowNumber(int rowNumber) {
+            this.rowNumber = rowNumber;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+
+        public void setMessage(String message) {
+            this.message = message;
+        }
+    }
+}
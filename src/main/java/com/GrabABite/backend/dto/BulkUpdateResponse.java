@@ -0,0 +1,33 @@
+package com.grababite.backend.dto;
+
+// DTO reporting how many of the requested rows a bulk update changed.
+public class BulkUpdateResponse {
+    private int requested;
+    private int updated; // Items not found in the cafeteria are not counted
+
+    // Constructors
+    public BulkUpdateResponse() {
+    }
+
+    public BulkUpdateResponse(int requested, int updated) {
+        this.requested = requested;
+        this.updated = updated;
+    }
+
+    // Getters and Setters
+    public int getRequested() {
+        return requested;
+    }
+
+    public void setRequested(int requested) {
+        this.requested = requested;
+    }
+
+    public int getUpdated() {
+        return updated;
+    }
+
+    public void setUpdated(int updated) {
+        this.updated = updated;
+    }
+}
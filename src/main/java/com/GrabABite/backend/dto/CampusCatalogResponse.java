@@ -0,0 +1,115 @@
+package com.grababite.backend.dto;
+
+import com.grababite.backend.models.MenuItem;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+
+// DTO for the campus home screen: a college, its cafeterias and their available menu items.
+public class CampusCatalogResponse {
+    private UUID collegeId;
+    private String collegeName;
+    private String address;
+    private String timezone;
+    private List<CafeteriaCatalog> cafeterias;
+
+    // Getters and Setters
+    public UUID getCollegeId() {
+        return collegeId;
+    }
+
+    public void setCollegeId(UUID collegeId) {
+        this.collegeId = collegeId;
+    }
+
+    public String getCollegeName() {
+        return collegeName;
+    }
+
+    public void setCollegeName(String collegeName) {
+        this.collegeName = collegeName;
+    }
+
+    public String getAddress() {
+        return address;
+    }
+
+    public void setAddress(String address) {
+        this.address = address;
+    }
+
+    public String getTimezone() {
+        return timezone;
+    }
+
+    public void setTimezone(String timezone) {
+        this.timezone = timezone;
+    }
+
+    public List<CafeteriaCatalog> getCafeterias() {
+        return cafeterias;
+    }
+
+    public void setCafeterias(List<CafeteriaCatalog> cafeterias) {
+        this.cafeterias = cafeterias;
+    }
+
+    // One cafeteria of the campus with its currently available menu items.
+    public static class CafeteriaCatalog {
+        private UUID cafeteriaId;
+        private String name;
+        private String location;
+        private Boolean isOpen;
+        private OffsetDateTime nextOpening; // Null while open or when there are no opening hours
+        private List<MenuItem> menuItems;
+
+        public UUID getCafeteriaId() {
+            return cafeteriaId;
+        }
+
+        public void setCafeteriaId(UUID cafeteriaId) {
+            this.cafeteriaId = cafeteriaId;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public String getLocation() {
+            return location;
+        }
+
+        public void setLocation(String location) {
+            this.location = location;
+        }
+
+        public Boolean getIsOpen() {
+            return isOpen;
+        }
+
+        public void setIsOpen(Boolean isOpen) {
+            this.isOpen = isOpen;
+        }
+
+        public OffsetDateTime getNextOpening() {
+            return nextOpening;
+        }
+
+        public void setNextOpening(OffsetDateTime nextOpening) {
+            this.nextOpening = nextOpening;
+        }
+
+        public List<MenuItem> getMenuItems() {
+            return menuItems;
+        }
+
+        public void setMenuItems(List<MenuItem> menuItems) {
+            this.menuItems = menuItems;
+        }
+    }
+}
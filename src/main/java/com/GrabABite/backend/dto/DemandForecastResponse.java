@@ -0,0 +1,77 @@
+package com.grababite.backend.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+
+// DTO for the expected demand of one menu item in one hour, used for kitchen prep planning.
+public class DemandForecastResponse {
+    private UUID cafeteriaId;
+    private UUID menuItemId;
+    private String menuItemName;
+    private LocalDate date;
+    private Integer hour; // 0-23
+    private BigDecimal expectedQuantity;
+
+    // Constructors
+    public DemandForecastResponse() {
+    }
+
+    public DemandForecastResponse(UUID cafeteriaId, UUID menuItemId, String menuItemName, LocalDate date, Integer hour, BigDecimal expectedQuantity) {
+        this.cafeteriaId = cafeteriaId;
+        this.menuItemId = menuItemId;
+        this.menuItemName = menuItemName;
+        this.date = date;
+        this.hour = hour;
+        this.expectedQuantity = expectedQuantity;
+    }
+
+    // Getters and Setters
+    public UUID getCafeteriaId() {
+        return cafeteriaId;
+    }
+
+    public void setCafeteriaId(UUID cafeteriaId) {
+        this.cafeteriaId = cafeteriaId;
+    }
+
+    public UUID getMenuItemId() {
+        return menuItemId;
+    }
+
+    public void setMenuItemId(UUID menuItemId) {
+        this.menuItemId = menuItemId;
+    }
+
+    public String getMenuItemName() {
+        return menuItemName;
+    }
+
+    public void setMenuItemName(String menuItemName) {
+        this.menuItemName = menuItemName;
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public void setDate(LocalDate date) {
+        this.date = date;
+    }
+
+    public Integer getHour() {
+        return hour;
+    }
+
+    public void setHour(Integer hour) {
+        this.hour = hour;
+    }
+
+    public BigDecimal getExpectedQuantity() {
+        return expectedQuantity;
+    }
+
+    public void setExpectedQuantity(BigDecimal expectedQuantity) {
+        this.expectedQuantity = expectedQuantity;
+    }
+}
@@ -0,0 +1,67 @@
+package com.grababite.backend.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+
+// DTO for one hour of a cafeteria's sales heatmap.
+public class HourlySalesResponse {
+    private UUID cafeteriaId;
+    private LocalDate date;
+    private Integer hour; // 0-23
+    private Long totalOrders;
+    private BigDecimal totalSalesAmount;
+
+    // Constructors
+    public HourlySalesResponse() {
+    }
+
+    public HourlySalesResponse(UUID cafeteriaId, LocalDate date, Integer hour, Long totalOrders, BigDecimal totalSalesAmount) {
+        this.cafeteriaId = cafeteriaId;
+        this.date = date;
+        this.hour = hour;
+        this.totalOrders = totalOrders;
+        this.totalSalesAmount = totalSalesAmount;
+    }
+
+    // Getters and Setters
+    public UUID getCafeteriaId() {
+        return cafeteriaId;
+    }
+
+    public void setCafeteriaId(UUID cafeteriaId) {
+        this.cafeteriaId = cafeteriaId;
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public void setDate(LocalDate date) {
+        this.date = date;
+    }
+
+    public Integer getHour() {
+        return hour;
+    }
+
+    public void setHour(Integer hour) {
+        this.hour = hour;
+    }
+
+    public Long getTotalOrders() {
+        return totalOrders;
+    }
+
+    public void setTotalOrders(Long totalOrders) {
+        this.totalOrders = totalOrders;
+    }
+
+    public BigDecimal getTotalSalesAmount() {
+        return totalSalesAmount;
+    }
+
+    public void setTotalSalesAmount(BigDecimal totalSalesAmount) {
+        this.totalSalesAmount = totalSalesAmount;
+    }
+}
@@ -0,0 +1,66 @@
+package com.grababite.backend.dto;
+
+import java.util.Map;
+
+// DTO returned after an image upload. Use url as a menu item's imageUrl; the variants are
+// rendered in the background and served from their URLs once ready.
+public class ImageUploadResponse {
+    private String imageId;
+    private String url; // The original image
+    private Map<String, String> variants; // Variant name (thumb, small, large) to URL
+    private int width;
+    private int height;
+
+    // Constructors
+    public ImageUploadResponse() {
+    }
+
+    public ImageUploadResponse(String imageId, String url, Map<String, String> variants, int width, int height) {
+        this.imageId = imageId;
+        this.url = url;
+        this.variants = variants;
+        this.width = width;
+        this.height = height;
+    }
+
+    // Getters and Setters
+    public String getImageId() {
+        return imageId;
+    }
+
+    public void setImageId(String imageId) {
+        this.imageId = imageId;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public void setUrl(String url) {
+        this.url = url;
+    }
+
+    public Map<String, String> getVariants() {
+        return variants;
+    }
+
+    public void setVariants(Map<String, String> variants) {
+        this.variants = variants;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public void setWidth(int width) {
+        this.width = width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    public void setHeight(int height) {
+        this.height = height;
+    }
+}
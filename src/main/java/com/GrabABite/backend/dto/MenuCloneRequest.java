@@ -0,0 +1,45 @@
+package com.grababite.backend.dto;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+// DTO for copying a cafeteria's menu into another cafeteria.
+public class MenuCloneRequest {
+    private UUID sourceCafeteriaId; // Required
+    private BigDecimal priceMultiplier; // Optional, e.g. 1.10 for +10%; defaults to 1
+    private Boolean onlyAvailable; // Optional: skip items that are currently unavailable
+    private String nameContains; // Optional case-insensitive filter on the item name
+
+    // Getters and Setters
+    public UUID getSourceCafeteriaId() {
+        return sourceCafeteriaId;
+    }
+
+    public void setSourceCafeteriaId(UUID sourceCafeteriaId) {
+        this.sourceCafeteriaId = sourceCafeteriaId;
+    }
+
+    public BigDecimal getPriceMultiplier() {
+        return priceMultiplier;
+    }
+
+    public void setPriceMultiplier(BigDecimal priceMultiplier) {
+        this.priceMultiplier = priceMultiplier;
+    }
+
+    public Boolean getOnlyAvailable() {
+        return onlyAvailable;
+    }
+
+    public void setOnlyAvailable(Boolean onlyAvailable) {
+        this.onlyAvailable = onlyAvailable;
+    }
+
+    public String getNameContains() {
+        return nameContains;
+    }
+
+    public void setNameContains(String nameContains) {
+        this.nameContains = nameContains;
+    }
+}
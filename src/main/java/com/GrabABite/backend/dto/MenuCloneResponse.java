@@ -0,0 +1,52 @@
+package com.grababite.backend.dto;
+
+import java.util.List;
+import java.util.UUID;
+
+// DTO for the result of a menu clone.
+public class MenuCloneResponse {
+    private UUID sourceCafeteriaId;
+    private UUID targetCafeteriaId;
+    private int cloned;
+    private List<UUID> createdIds;
+
+    public MenuCloneResponse(UUID sourceCafeteriaId, UUID targetCafeteriaId, List<UUID> createdIds) {
+        this.sourceCafeteriaId = sourceCafeteriaId;
+        this.targetCafeteriaId = targetCafeteriaId;
+        this.cloned = createdIds.size();
+        this.createdIds = createdIds;
+    }
+
+    // Getters and Setters
+    public UUID getSourceCafeteriaId() {
+        return sourceCafeteriaId;
+    }
+
+    public void setSourceCafeteriaId(UUID sourceCafeteriaId) {
+        this.sourceCafeteriaId = sourceCafeteriaId;
+    }
+
+    public UUID getTargetCafeteriaId() {
+        return targetCafeteriaId;
+    }
+
+    public void setTargetCafeteriaId(UUID targetCafeteriaId) {
+        this.targetCafeteriaId = targetCafeteriaId;
+    }
+
+    public int getCloned() {
+        return cloned;
+    }
+
+    public void setCloned(int cloned) {
+        this.cloned = cloned;
+    }
+
+    public List<UUID> getCreatedIds() {
+        return createdIds;
+    }
+
+    public void setCreatedIds(List<UUID> createdIds) {
+        this.createdIds = createdIds;
+    }
+}
@@ -0,0 +1,36 @@
+package com.grababite.backend.dto;
+
+import java.util.List;
+import java.util.UUID;
+
+// DTO for toggling availability ("sold out") of one or more menu items of a cafeteria.
+public class MenuItemAvailabilityRequest {
+    private UUID cafeteriaId; // Required: the cafeteria the items belong to
+    private Boolean isAvailable; // Required
+    private List<UUID> menuItemIds; // Bulk endpoint only
+
+    // Getters and Setters
+    public UUID getCafeteriaId() {
+        return cafeteriaId;
+    }
+
+    public void setCafeteriaId(UUID cafeteriaId) {
+        this.cafeteriaId = cafeteriaId;
+    }
+
+    public Boolean getIsAvailable() {
+        return isAvailable;
+    }
+
+    public void setIsAvailable(Boolean isAvailable) {
+        this.isAvailable = isAvailable;
+    }
+
+    public List<UUID> getMenuItemIds() {
+        return menuItemIds;
+    }
+
+    public void setMenuItemIds(List<UUID> menuItemIds) {
+        this.menuItemIds = menuItemIds;
+    }
+}
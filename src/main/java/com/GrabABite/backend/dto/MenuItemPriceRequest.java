@@ -0,0 +1,27 @@
+package com.grababite.backend.dto;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+// DTO for changing the price of a single menu item.
+public class MenuItemPriceRequest {
+    private UUID cafeteriaId; // Required: the cafeteria the item belongs to
+    private BigDecimal price; // Required, not negative
+
+    // Getters and Setters
+    public UUID getCafeteriaId() {
+        return cafeteriaId;
+    }
+
+    public void setCafeteriaId(UUID cafeteriaId) {
+        this.cafeteriaId = cafeteriaId;
+    }
+
+    public BigDecimal getPrice() {
+        return price;
+    }
+
+    public void setPrice(BigDecimal price) {
+        this.price = price;
+    }
+}
@@ -0,0 +1,82 @@
+package com.grababite.backend.dto;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+// DTO for repricing many menu items at once (e.g. a semester price increase).
+// The scope filters are combined; at least one is required.
+public class MenuRepriceRequest {
+    private UUID cafeteriaId; // Items of one cafeteria
+    private UUID collegeId; // Items of every cafeteria of a college (ADMIN only)
+    private UUID standardMenuItemId; // Items linked to one standard item
+    private BigDecimal percent; // Optional, e.g. 5 for +5% or -10 for -10%
+    private BigDecimal amount; // Optional absolute change added after the percentage, e.g. 0.25
+    private BigDecimal roundTo; // Optional step the new price is rounded to, e.g. 0.05; defaults to 0.01
+    private String rounding; // Optional: NEAREST (default), UP or DOWN
+    private Boolean dryRun; // Optional: only preview the new prices
+
+    // Getters and Setters
+    public UUID getCafeteriaId() {
+        return cafeteriaId;
+    }
+
+    public void setCafeteriaId(UUID cafeteriaId) {
+        this.cafeteriaId = cafeteriaId;
+    }
+
+    public UUID getCollegeId() {
+        return collegeId;
+    }
+
+    public void setCollegeId(UUID collegeId) {
+        this.collegeId = collegeId;
+    }
+
+    public UUID getStandardMenuItemId() {
+        return standardMenuItemId;
+    }
+
+    public void setStandardMenuItemId(UUID standardMenuItemId) {
+        this.standardMenuItemId = standardMenuItemId;
+    }
+
+    public BigDecimal getPercent() {
+        return percent;
+    }
+
+    public void setPercent(BigDecimal percent) {
+        this.percent = percent;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    public void setAmount(BigDecimal amount) {
+        this.amount = amount;
+    }
+
+    public BigDecimal getRoundTo() {
+        return roundTo;
+    }
+
+    public void setRoundTo(BigDecimal roundTo) {
+        this.roundTo = roundTo;
+    }
+
+    public String getRounding() {
+        return rounding;
+    }
+
+    public void setRounding(String rounding) {
+        this.rounding = rounding;
+    }
+
+    public Boolean getDryRun() {
+        return dryRun;
+    }
+
+    public void setDryRun(Boolean dryRun) {
+        this.dryRun = dryRun;
+    }
+}
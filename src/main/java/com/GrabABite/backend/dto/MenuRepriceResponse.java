@@ -0,0 +1,106 @@
+package com.grababite.backend.dto;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+// DTO listing the price changes of a bulk reprice (applied, or previewed when dryRun is true).
+public class MenuRepriceResponse {
+    private boolean dryRun;
+    private int changed; // Items whose price changes; items already at the new price are not listed
+    private List<PriceChange> changes;
+
+    // Constructors
+    public MenuRepriceResponse() {
+    }
+
+    public MenuRepriceResponse(boolean dryRun, List<PriceChange> changes) {
+        this.dryRun = dryRun;
+        this.changed = changes.size();
+        this.changes = changes;
+    }
+
+    // Getters and Setters
+    public boolean isDryRun() {
+        return dryRun;
+    }
+
+    public void setDryRun(boolean dryRun) {
+        this.dryRun = dryRun;
+    }
+
+    public int getChanged() {
+        return changed;
+    }
+
+    public void setChanged(int changed) {
+        this.changed = changed;
+    }
+
+    public List<PriceChange> getChanges() {
+        return changes;
+    }
+
+    public void setChanges(List<PriceChange> changes) {
+        this.changes = changes;
+    }
+
+    public static class PriceChange {
+        private UUID menuItemId;
+        private UUID cafeteriaId;
+        private String name;
+        private BigDecimal oldPrice;
+        private BigDecimal newPrice;
+
+        public PriceChange() {
+        }
+
+        public PriceChange(UUID menuItemId, UUID cafeteriaId, String name, BigDecimal oldPrice, BigDecimal newPrice) {
+            this.menuItemId = menuItemId;
+            this.cafeteriaId = cafeteriaId;
+            this.name = name;
+            this.oldPrice = oldPrice;
+            this.newPrice = newPrice;
+        }
+
+        public UUID getMenuItemId() {
+            return menuItemId;
+        }
+
+        public void setMenuItemId(UUID menuItemId) {
+            this.menuItemId = menuItemId;
+        }
+
+        public UUID getCafeteriaId() {
+            return cafeteriaId;
+        }
+
+        public void setCafeteriaId(UUID cafeteriaId) {
+            this.cafeteriaId = cafeteriaId;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public BigDecimal getOldPrice() {
+            return oldPrice;
+        }
+
+        public void setOldPrice(BigDecimal oldPrice) {
+            this.oldPrice = oldPrice;
+        }
+
+        public BigDecimal getNewPrice() {
+            return newPrice;
+        }
+
+        public void setNewPrice(BigDecimal newPrice) {
+            this.newPrice = newPrice;
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.grababite.backend.dto;
+
+import java.util.List;
+import java.util.UUID;
+
+// DTO for assigning menu items of a cafeteria to a menu section (or back to all-day).
+public class MenuSectionAssignmentRequest {
+    private UUID cafeteriaId; // Required: the cafeteria the items belong to
+    private UUID menuSectionId; // Null = all day
+    private List<UUID> menuItemIds; // Required
+
+    // Getters and Setters
+    public UUID getCafeteriaId() {
+        return cafeteriaId;
+    }
+
+    public void setCafeteriaId(UUID cafeteriaId) {
+        this.cafeteriaId = cafeteriaId;
+    }
+
+    public UUID getMenuSectionId() {
+        return menuSectionId;
+    }
+
+    public void setMenuSectionId(UUID menuSectionId) {
+        this.menuSectionId = menuSectionId;
+    }
+
+    public List<UUID> getMenuItemIds() {
+        return menuItemIds;
+    }
+
+    public void setMenuItemIds(List<UUID> menuItemIds) {
+        this.menuItemIds = menuItemIds;
+    }
+}
@@ -0,0 +1,39 @@
+package com.grababite.backend.dto;
+
+import com.grababite.backend.models.OpeningHours;
+import com.grababite.backend.models.OpeningHoursOverride;
+
+import java.util.List;
+
+// DTO for replacing a cafeteria's opening hours as a whole.
+// Only dayOfWeek/opensAt/closesAt (weekly) and date/opensAt/closesAt/note (overrides) are read.
+public class OpeningHoursRequest {
+    private String timezone; // IANA zone ID; null = use the college's timezone
+    private List<OpeningHours> weekly;
+    private List<OpeningHoursOverride> overrides;
+
+    // Getters and Setters
+    public String getTimezone() {
+        return timezone;
+    }
+
+    public void setTimezone(String timezone) {
+        this.timezone = timezone;
+    }
+
+    public List<OpeningHours> getWeekly() {
+        return weekly;
+    }
+
+    public void setWeekly(List<OpeningHours> weekly) {
+        this.weekly = weekly;
+    }
+
+    public List<OpeningHoursOverride> getOverrides() {
+        return overrides;
+    }
+
+    public void setOverrides(List<OpeningHoursOverride> overrides) {
+        this.overrides = overrides;
+    }
+}
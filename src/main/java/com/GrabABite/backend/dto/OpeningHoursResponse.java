@@ -0,0 +1,67 @@
+package com.grababite.backend.dto;
+
+import com.grababite.backend.models.OpeningHours;
+import com.grababite.backend.models.OpeningHoursOverride;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+
+// DTO for a cafeteria's opening hours and its current open status.
+public class OpeningHoursResponse {
+    private UUID cafeteriaId;
+    private String timezone; // The zone the hours are evaluated in
+    private Boolean isOpen;
+    private OffsetDateTime nextOpening; // Null while open or when there are no hours
+    private List<OpeningHours> weekly;
+    private List<OpeningHoursOverride> overrides; // From today on
+
+    // Getters and Setters
+    public UUID getCafeteriaId() {
+        return cafeteriaId;
+    }
+
+    public void setCafeteriaId(UUID cafeteriaId) {
+        this.cafeteriaId = cafeteriaId;
+    }
+
+    public String getTimezone() {
+        return timezone;
+    }
+
+    public void setTimezone(String timezone) {
+        this.timezone = timezone;
+    }
+
+    public Boolean getIsOpen() {
+        return isOpen;
+    }
+
+    public void setIsOpen(Boolean isOpen) {
+        this.isOpen = isOpen;
+    }
+
+    public OffsetDateTime getNextOpening() {
+        return nextOpening;
+    }
+
+    public void setNextOpening(OffsetDateTime nextOpening) {
+        this.nextOpening = nextOpening;
+    }
+
+    public List<OpeningHours> getWeekly() {
+        return weekly;
+    }
+
+    public void setWeekly(List<OpeningHours> weekly) {
+        this.weekly = weekly;
+    }
+
+    public List<OpeningHoursOverride> getOverrides() {
+        return overrides;
+    }
+
+    public void setOverrides(List<OpeningHoursOverride> overrides) {
+        this.overrides = overrides;
+    }
+}
@@ -0,0 +1,15 @@
+package com.grababite.backend.dto;
+
+// DTO for exchanging a refresh token
+public class RefreshTokenRequest {
+    private String refreshToken;
+
+    // Getters and Setters
+    public String getRefreshToken() {
+        return refreshToken;
+    }
+
+    public void setRefreshToken(String refreshToken) {
+        this.refreshToken = refreshToken;
+    }
+}
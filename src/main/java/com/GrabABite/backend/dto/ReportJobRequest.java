@@ -0,0 +1,54 @@
+package com.grababite.backend.dto;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+// DTO for submitting an asynchronous report job.
+public class ReportJobRequest {
+    private String reportType; // "POPULAR_MENU_ITEMS" or "DAILY_SALES"
+    private UUID cafeteriaId;
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private Integer limit; // Only used by POPULAR_MENU_ITEMS
+
+    // Getters and Setters
+    public String getReportType() {
+        return reportType;
+    }
+
+    public void setReportType(String reportType) {
+        this.reportType = reportType;
+    }
+
+    public UUID getCafeteriaId() {
+        return cafeteriaId;
+    }
+
+    public void setCafeteriaId(UUID cafeteriaId) {
+        this.cafeteriaId = cafeteriaId;
+    }
+
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+
+    public void setStartDate(LocalDate startDate) {
+        this.startDate = startDate;
+    }
+
+    public LocalDate getEndDate() {
+        return endDate;
+    }
+
+    public void setEndDate(LocalDate endDate) {
+        this.endDate = endDate;
+    }
+
+    public Integer getLimit() {
+        return limit;
+    }
+
+    public void setLimit(Integer limit) {
+        this.limit = limit;
+    }
+}
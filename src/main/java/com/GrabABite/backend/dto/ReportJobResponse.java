@@ -0,0 +1,68 @@
+package com.grababite.backend.dto;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import com.grababite.backend.models.ReportJob;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// DTO describing the state of an asynchronous report job, including its result once completed.
+public class ReportJobResponse {
+    private UUID jobId;
+    private String reportType;
+    private String status;
+    private UUID cafeteriaId;
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private LocalDateTime createdAt;
+    private LocalDateTime completedAt;
+    private LocalDateTime expiresAt;
+    private String errorMessage;
+    @JsonRawValue
+    private String result; // Stored JSON, passed through without re-serialization
+
+    // Constructors
+    public ReportJobResponse() {
+    }
+
+    public static ReportJobResponse from(ReportJob job, boolean includeResult) {
+        ReportJobResponse response = new ReportJobResponse();
+        response.jobId = job.getJobId();
+        response.reportType = job.getReportType();
+        response.status = job.getStatus();
+        response.cafeteriaId = job.getCafeteriaId();
+        response.startDate = job.getStartDate();
+        response.endDate = job.getEndDate();
+        response.createdAt = job.getCreatedAt();
+        response.completedAt = job.getCompletedAt();
+        response.expiresAt = job.getExpiresAt();
+        response.errorMessage = job.getErrorMessage();
+        response.result = includeResult ? job.getResultJson() : null;
+        return response;
+    }
+
+    // Getters and Setters
+    public UUID getJobId() { return jobId; }
+    public void setJobId(UUID jobId) { this.jobId = jobId; }
+    public String getReportType() { return reportType; }
+    public void setReportType(String reportType) { this.reportType = reportType; }
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+    public UUID getCafeteriaId() { return cafeteriaId; }
+    public void setCafeteriaId(UUID cafeteriaId) { this.cafeteriaId = cafeteriaId; }
+    public LocalDate getStartDate() { return startDate; }
+    public void setStartDate(LocalDate startDate) { this.startDate = startDate; }
+    public LocalDate getEndDate() { return endDate; }
+    public void setEndDate(LocalDate endDate) { this.endDate = endDate; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+    public LocalDateTime getCompletedAt() { return completedAt; }
+    public void setCompletedAt(LocalDateTime completedAt) { this.completedAt = completedAt; }
+    public LocalDateTime getExpiresAt() { return expiresAt; }
+    public void setExpiresAt(LocalDateTime expiresAt) { this.expiresAt = expiresAt; }
+    public String getErrorMessage() { return errorMessage; }
+    public void setErrorMessage(String errorMessage) { this.errorMessage = errorMessage; }
+    public String getResult() { return result; }
+    public void setResult(String result) { this.result = result; }
+}
@@ -0,0 +1,107 @@
+package com.grababite.backend.dto;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+// DTO for a single catalog search hit (menu item or standard menu item).
+public class SearchResultResponse {
+    private UUID id;
+    private String name;
+    private String description;
+    private UUID cafeteriaId; // Null for standard menu items
+    private UUID standardMenuItemId; // Standard item a menu item is linked to, if any
+    private BigDecimal price; // Null for standard menu items
+    private Boolean isAvailable; // Null for standard menu items
+    private Long popularity; // Units sold (summed over linked menu items for standard items)
+    private Double score;
+
+    // Constructors
+    public SearchResultResponse() {
+    }
+
+    public SearchResultResponse(UUID id, String name, String description, UUID cafeteriaId, UUID standardMenuItemId,
+                                BigDecimal price, Boolean isAvailable, Long popularity, Double score) {
+        this.id = id;
+        this.name = name;
+        this.description = description;
+        this.cafeteriaId = cafeteriaId;
+        this.standardMenuItemId = standardMenuItemId;
+        this.price = price;
+        this.isAvailable = isAvailable;
+        this.popularity = popularity;
+        this.score = score;
+    }
+
+    // Getters and Setters
+    public UUID getId() {
+        return id;
+    }
+
+    public void setId(UUID id) {
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+    public UUID getCafeteriaId() {
+        return cafeteriaId;
+    }
+
+    public void setCafeteriaId(UUID cafeteriaId) {
+        this.cafeteriaId = cafeteriaId;
+    }
+
+    public UUID getStandardMenuItemId() {
+        return standardMenuItemId;
+    }
+
+    public void setStandardMenuItemId(UUID standardMenuItemId) {
+        this.standardMenuItemId = standardMenuItemId;
+    }
+
+    public BigDecimal getPrice() {
+        return price;
+    }
+
+    public void setPrice(BigDecimal price) {
+        this.price = price;
+    }
+
+    public Boolean getIsAvailable() {
+        return isAvailable;
+    }
+
+    public void setIsAvailable(Boolean isAvailable) {
+        this.isAvailable = isAvailable;
+    }
+
+    public Long getPopularity() {
+        return popularity;
+    }
+
+    public void setPopularity(Long popularity) {
+        this.popularity = popularity;
+    }
+
+    public Double getScore() {
+        return score;
+    }
+
+    public void setScore(Double score) {
+        this.score = score;
+    }
+}
@@ -0,0 +1,29 @@
+package com.grababite.backend.events;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+// Defers in-memory side effects (cache invalidation, index updates) until the surrounding
+// transaction commits, so nothing observes state that may still roll back.
+public final class AfterCommit {
+
+    private AfterCommit() {
+    }
+
+    /**
+     * Runs the action after the current transaction commits, or immediately when no
+     * transaction is active. The action is dropped if the transaction rolls back.
+     */
+    public static void run(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
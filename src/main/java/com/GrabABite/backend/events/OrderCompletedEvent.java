@@ -0,0 +1,85 @@
+package com.grababite.backend.events;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Published when an order transitions to COMPLETED. Carries everything analytics consumers
+ * need so they do not have to load the order again.
+ */
+public class OrderCompletedEvent {
+
+    private final UUID orderId;
+    private final UUID cafeteriaId;
+    private final String cafeteriaName;
+    private final LocalDateTime createdAt;
+    private final BigDecimal totalAmount;
+    private final List<Line> lines;
+
+    public OrderCompletedEvent(UUID orderId, UUID cafeteriaId, String cafeteriaName, LocalDateTime createdAt,
+                               BigDecimal totalAmount, List<Line> lines) {
+        this.orderId = orderId;
+        this.cafeteriaId = cafeteriaId;
+        this.cafeteriaName = cafeteriaName;
+        this.createdAt = createdAt;
+        this.totalAmount = totalAmount;
+        this.lines = lines;
+    }
+
+    public UUID getOrderId() {
+        return orderId;
+    }
+
+    public UUID getCafeteriaId() {
+        return cafeteriaId;
+    }
+
+    public String getCafeteriaName() {
+        return cafeteriaName;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public BigDecimal getTotalAmount() {
+        return totalAmount;
+    }
+
+    public List<Line> getLines() {
+        return lines;
+    }
+
+    // A single order line: which item, how many, and the price charged per unit.
+    public static class Line {
+        private final UUID menuItemId;
+        private final String menuItemName;
+        private final int quantity;
+        private final BigDecimal unitPrice;
+
+        public Line(UUID menuItemId, String menuItemName, int quantity, BigDecimal unitPrice) {
+            this.menuItemId = menuItemId;
+            this.menuItemName = menuItemName;
+            this.quantity = quantity;
+            this.unitPrice = unitPrice;
+        }
+
+        public UUID getMenuItemId() {
+            return menuItemId;
+        }
+
+        public String getMenuItemName() {
+            return menuItemName;
+        }
+
+        public int getQuantity() {
+            return quantity;
+        }
+
+        public BigDecimal getUnitPrice() {
+            return unitPrice;
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.grababite.backend.events;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Published when a COMPLETED order moves to another status or is deleted, so analytics
+ * consumers can stop counting it.
+ */
+public class OrderCompletionRevertedEvent {
+
+    private final UUID orderId;
+    private final UUID cafeteriaId;
+    private final LocalDateTime createdAt;
+
+    public OrderCompletionRevertedEvent(UUID orderId, UUID cafeteriaId, LocalDateTime createdAt) {
+        this.orderId = orderId;
+        this.cafeteriaId = cafeteriaId;
+        this.createdAt = createdAt;
+    }
+
+    public UUID getOrderId() {
+        return orderId;
+    }
+
+    public UUID getCafeteriaId() {
+        return cafeteriaId;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+}
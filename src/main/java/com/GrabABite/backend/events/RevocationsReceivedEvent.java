@@ -0,0 +1,23 @@
+package com.grababite.backend.events;
+
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Published after a node polls recent revoked_tokens rows. Besides token and session IDs the
+ * rows carry the IDs of users whose login details changed, so every node can drop its cached
+ * copy. Rows are delivered again while they are within the poll overlap; handlers must be
+ * idempotent.
+ */
+public class RevocationsReceivedEvent {
+
+    private final Set<UUID> ids;
+
+    public RevocationsReceivedEvent(Set<UUID> ids) {
+        this.ids = Set.copyOf(ids);
+    }
+
+    public Set<UUID> getIds() {
+        return ids;
+    }
+}
@@ -0,0 +1,22 @@
+package com.grababite.backend.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+import java.time.Instant;
+
+@ResponseStatus(HttpStatus.CONFLICT) // Orders can be retried once the cafeteria opens
+public class CafeteriaClosedException extends RuntimeException {
+
+    private final Instant nextOpening;
+
+    public CafeteriaClosedException(String message, Instant nextOpening) {
+        super(message);
+        this.nextOpening = nextOpening;
+    }
+
+    // Null when unknown (no hours, or closed for the whole lookahead)
+    public Instant getNextOpening() {
+        return nextOpening;
+    }
+}
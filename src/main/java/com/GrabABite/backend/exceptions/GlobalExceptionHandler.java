@@ -1,5 +1,6 @@
 package com.grababite.backend.exceptions;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
@@ -22,6 +23,20 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(body, HttpStatus.NOT_FOUND);
     }
 
+    // Registration and password changes hash on the same bounded pool as logins
+    @ExceptionHandler(PasswordHashingBusyException.class)
+    public ResponseEntity<Object> handlePasswordHashingBusyException(PasswordHashingBusyException ex) {
+        Map<String, Object> body = new HashMap<>();
+        body.put("timestamp", System.currentTimeMillis());
+        body.put("status", HttpStatus.SERVICE_UNAVAILABLE.value());
+        body.put("error", "Service Unavailable");
+        body.put("message", ex.getMessage());
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(body);
+    }
+
     // You can add more @ExceptionHandler methods here for other types of exceptions.
     // For example, to handle validation errors (MethodArgumentNotValidException),
     // or general unexpected errors (Exception.class).
@@ -0,0 +1,204 @@
+package com.grababite.backend.hours;
+
+import com.grababite.backend.models.OpeningHours;
+import com.grababite.backend.models.OpeningHoursOverride;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.zone.ZoneOffsetTransition;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A cafeteria's opening hours compiled into sorted, non-overlapping minute-of-day intervals:
+ * one array per weekday plus one per overridden date. Each array holds start/end pairs
+ * ({@code [start0, end0, start1, end1, ...]}, end exclusive), so "is open at" is a binary
+ * search and "next opening" a short forward scan. Immutable once built.
+ *
+ * Weekly intervals that close at or before they open are split at midnight and the tail is
+ * attributed to the next weekday. An override replaces every interval of its date, including
+ * such a tail, and also drops the tail of an overridden date's evening into the next day;
+ * override intervals end at midnight at the latest.
+ */
+final class CompiledSchedule {
+
+    static final int MINUTES_PER_DAY = 24 * 60;
+
+    // Overrides can close a cafeteria for weeks (e.g. semester break)
+    private static final int MAX_LOOKAHEAD_DAYS = 62;
+
+    private static final int[] CLOSED = new int[0];
+
+    private final ZoneId zone;
+    private final boolean hasHours;
+    private final boolean manuallyOpen;
+    private final int[][] weekly;
+    private final int[][] weeklyWithoutTails; // For the day after an overridden date
+    private final Map<LocalDate, int[]> overrides;
+
+    private CompiledSchedule(ZoneId zone, boolean hasHours, boolean manuallyOpen, int[][] weekly,
+                             int[][] weeklyWithoutTails, Map<LocalDate, int[]> overrides) {
+        this.zone = zone;
+        this.hasHours = hasHours;
+        this.manuallyOpen = manuallyOpen;
+        this.weekly = weekly;
+        this.weeklyWithoutTails = weeklyWithoutTails;
+        this.overrides = overrides;
+    }
+
+    /**
+     * @param zone The zone the hours are expressed in.
+     * @param manuallyOpen The cafeteria's manual isOpen switch, used when it has no hours at all.
+     * @param hours The weekly intervals.
+     * @param overrides The date overrides (past dates may be omitted).
+     */
+    static CompiledSchedule compile(ZoneId zone, Boolean manuallyOpen, List<OpeningHours> hours, List<OpeningHoursOverride> overrides) {
+        List<List<int[]>> days = new ArrayList<>(7);
+        List<List<int[]>> tails = new ArrayList<>(7);
+        for (int day = 0; day < 7; day++) {
+            days.add(new ArrayList<>());
+            tails.add(new ArrayList<>());
+        }
+        for (OpeningHours interval : hours) {
+            int day = interval.getDayOfWeek() - 1;
+            int start = minuteOf(interval.getOpensAt());
+            int end = minuteOf(interval.getClosesAt());
+            if (end > start) {
+                days.get(day).add(new int[]{start, end});
+            } else {
+                days.get(day).add(new int[]{start, MINUTES_PER_DAY});
+                if (end > 0) {
+                    tails.get((day + 1) % 7).add(new int[]{0, end});
+                }
+            }
+        }
+        int[][] weekly = new int[7][];
+        int[][] weeklyWithoutTails = new int[7][];
+        for (int day = 0; day < 7; day++) {
+            weeklyWithoutTails[day] = merge(new ArrayList<>(days.get(day)));
+            List<int[]> withTails = new ArrayList<>(days.get(day));
+            withTails.addAll(tails.get(day));
+            weekly[day] = merge(withTails);
+        }
+
+        Map<LocalDate, List<int[]>> byDate = new HashMap<>();
+        for (OpeningHoursOverride override : overrides) {
+            List<int[]> intervals = byDate.computeIfAbsent(override.getDate(), date -> new ArrayList<>());
+            if (override.getOpensAt() != null && override.getClosesAt() != null) {
+                int start = minuteOf(override.getOpensAt());
+                int end = minuteOf(override.getClosesAt());
+                intervals.add(new int[]{start, end > start ? end : MINUTES_PER_DAY});
+            }
+        }
+        Map<LocalDate, int[]> compiledOverrides = new HashMap<>();
+        byDate.forEach((date, intervals) -> compiledOverrides.put(date, merge(intervals)));
+
+        return new CompiledSchedule(zone, !hours.isEmpty() || !overrides.isEmpty(),
+                !Boolean.FALSE.equals(manuallyOpen), weekly, weeklyWithoutTails, compiledOverrides);
+    }
+
+    ZoneId zone() {
+        return zone;
+    }
+
+    boolean hasHours() {
+        return hasHours;
+    }
+
+    boolean isOpenAt(Instant instant) {
+        if (!hasHours) {
+            return manuallyOpen;
+        }
+        ZonedDateTime local = instant.atZone(zone);
+        return contains(intervalsOn(local.toLocalDate()), local.getHour() * 60 + local.getMinute());
+    }
+
+    /**
+     * @return The start of the next opening interval after {@code instant}, or null if the
+     * cafeteria is open at that instant, has no hours, or does not open within the lookahead.
+     */
+    Instant nextOpening(Instant instant) {
+        if (!hasHours || isOpenAt(instant)) {
+            return null;
+        }
+        ZonedDateTime local = instant.atZone(zone);
+        LocalDate date = local.toLocalDate();
+        int minute = local.getHour() * 60 + local.getMinute();
+        for (int day = 0; day <= MAX_LOOKAHEAD_DAYS; day++) {
+            int[] intervals = intervalsOn(date);
+            for (int i = 0; i < intervals.length; i += 2) {
+                if (day > 0 || intervals[i] > minute) {
+                    return instantOf(LocalDateTime.of(date, LocalTime.ofSecondOfDay(intervals[i] * 60L)));
+                }
+            }
+            date = date.plusDays(1);
+        }
+        return null;
+    }
+
+    // An opening time skipped by a DST gap opens when the clocks jump (isOpenAt agrees, since
+    // the first wall-clock time after the gap is inside the interval); ZonedDateTime.of would
+    // shift it by the gap's length instead. In an overlap the earlier occurrence is used.
+    private Instant instantOf(LocalDateTime local) {
+        ZoneOffsetTransition transition = zone.getRules().getTransition(local);
+        if (transition != null && transition.isGap()) {
+            return transition.getInstant();
+        }
+        return ZonedDateTime.of(local, zone).toInstant();
+    }
+
+    private int[] intervalsOn(LocalDate date) {
+        int[] override = overrides.get(date);
+        if (override != null) {
+            return override;
+        }
+        int day = date.getDayOfWeek().getValue() - 1;
+        return overrides.containsKey(date.minusDays(1)) ? weeklyWithoutTails[day] : weekly[day];
+    }
+
+    private static boolean contains(int[] intervals, int minute) {
+        // Binary search for the last interval starting at or before the minute
+        int low = 0;
+        int high = intervals.length / 2 - 1;
+        int candidate = -1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (intervals[2 * mid] <= minute) {
+                candidate = mid;
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return candidate >= 0 && minute < intervals[2 * candidate + 1];
+    }
+
+    private static int[] merge(List<int[]> intervals) {
+        if (intervals.isEmpty()) {
+            return CLOSED;
+        }
+        intervals.sort((a, b) -> Integer.compare(a[0], b[0]));
+        int[] merged = new int[intervals.size() * 2];
+        int count = 0;
+        for (int[] interval : intervals) {
+            if (count > 0 && interval[0] <= merged[count - 1]) {
+                merged[count - 1] = Math.max(merged[count - 1], interval[1]);
+            } else {
+                merged[count++] = interval[0];
+                merged[count++] = interval[1];
+            }
+        }
+        return Arrays.copyOf(merged, count);
+    }
+
+    private static int minuteOf(LocalTime time) {
+        return time.getHour() * 60 + time.getMinute();
+    }
+}
@@ -0,0 +1,208 @@
+package com.grababite.backend.hours;
+
+import com.grababite.backend.events.AfterCommit;
+import com.grababite.backend.models.Cafeteria;
+import com.grababite.backend.models.OpeningHours;
+import com.grababite.backend.models.OpeningHoursOverride;
+import com.grababite.backend.repositories.CafeteriaRepository;
+import com.grababite.backend.repositories.OpeningHoursOverrideRepository;
+import com.grababite.backend.repositories.OpeningHoursRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * In-memory index of every cafeteria's opening hours, so "is open now" and "next opening" are
+ * answered without a database read on the order path and in catalog responses.
+ *
+ * The index is loaded at startup, refreshed per cafeteria after every committed change to its
+ * hours or settings, and rebuilt on grababite.hours.rebuild-cron to pick up edits made on other
+ * nodes. Readers use the current immutable snapshot without locking.
+ *
+ * A cafeteria without any hours keeps the old behaviour of its manual isOpen switch.
+ */
+@Component
+public class OpeningHoursIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(OpeningHoursIndex.class);
+
+    @Autowired
+    private CafeteriaRepository cafeteriaRepository;
+
+    @Autowired
+    private OpeningHoursRepository openingHoursRepository;
+
+    @Autowired
+    private OpeningHoursOverrideRepository openingHoursOverrideRepository;
+
+    @Value("${grababite.hours.default-timezone:}")
+    private String defaultTimezone;
+
+    private volatile Map<UUID, CompiledSchedule> schedules = Map.of();
+    private volatile boolean ready = false;
+
+    // Guarded by this; non-null while a rebuild is loading
+    private Set<UUID> refreshedDuringRebuild;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        rebuild();
+    }
+
+    @Scheduled(cron = "${grababite.hours.rebuild-cron:0 */10 * * * *}")
+    public void scheduledRebuild() {
+        if (ready) {
+            rebuild();
+        }
+    }
+
+    /**
+     * Reloads the hours of every cafeteria and swaps the result in. Cafeterias refreshed while
+     * the reload is running are refreshed again afterwards, so the reload never reverts them.
+     */
+    public void rebuild() {
+        synchronized (this) {
+            if (refreshedDuringRebuild != null) {
+                return; // Already rebuilding
+            }
+            refreshedDuringRebuild = new HashSet<>();
+        }
+
+        long start = System.currentTimeMillis();
+        Map<UUID, CompiledSchedule> loaded = new HashMap<>();
+        Set<UUID> refreshed;
+        try {
+            LocalDate from = LocalDate.now().minusDays(1); // Covers every timezone's "today"
+            Map<UUID, List<OpeningHours>> hours = new HashMap<>();
+            for (OpeningHours interval : openingHoursRepository.findAll()) {
+                hours.computeIfAbsent(interval.getCafeteriaId(), id -> new ArrayList<>()).add(interval);
+            }
+            Map<UUID, List<OpeningHoursOverride>> overrides = new HashMap<>();
+            for (OpeningHoursOverride override : openingHoursOverrideRepository.findByDateGreaterThanEqual(from)) {
+                overrides.computeIfAbsent(override.getCafeteriaId(), id -> new ArrayList<>()).add(override);
+            }
+            for (Cafeteria cafeteria : cafeteriaRepository.findAllWithCollege()) {
+                UUID id = cafeteria.getCafeteriaId();
+                loaded.put(id, CompiledSchedule.compile(zoneOf(cafeteria), cafeteria.getIsOpen(),
+                        hours.getOrDefault(id, List.of()), overrides.getOrDefault(id, List.of())));
+            }
+        } catch (RuntimeException e) {
+            logger.error("Failed to load opening hours", e);
+            synchronized (this) {
+                refreshedDuringRebuild = null;
+            }
+            return;
+        }
+
+        synchronized (this) {
+            schedules = Map.copyOf(loaded);
+            refreshed = refreshedDuringRebuild;
+            refreshedDuringRebuild = null;
+            ready = true;
+        }
+        refreshed.forEach(this::refresh);
+        logger.info("Opening hours index loaded {} cafeterias in {} ms", loaded.size(), System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Reloads one cafeteria once the current transaction commits (immediately without one).
+     * Call after any change to its hours, overrides, timezone, manual switch or college, and
+     * after it is created or deleted.
+     */
+    public void refreshAfterCommit(UUID cafeteriaId) {
+        if (cafeteriaId != null) {
+            AfterCommit.run(() -> refresh(cafeteriaId));
+        }
+    }
+
+    /** Reloads one cafeteria, or drops it if it no longer exists. */
+    public void refresh(UUID cafeteriaId) {
+        CompiledSchedule schedule = cafeteriaRepository.findWithCollegeById(cafeteriaId)
+                .map(cafeteria -> CompiledSchedule.compile(zoneOf(cafeteria), cafeteria.getIsOpen(),
+                        openingHoursRepository.findByCafeteriaIdOrderByDayOfWeekAscOpensAtAsc(cafeteriaId),
+                        openingHoursOverrideRepository.findByCafeteriaIdAndDateGreaterThanEqualOrderByDateAscOpensAtAsc(
+                                cafeteriaId, LocalDate.now().minusDays(1))))
+                .orElse(null);
+        synchronized (this) {
+            Map<UUID, CompiledSchedule> updated = new HashMap<>(schedules);
+            if (schedule != null) {
+                updated.put(cafeteriaId, schedule);
+            } else {
+                updated.remove(cafeteriaId);
+            }
+            schedules = Map.copyOf(updated);
+            if (refreshedDuringRebuild != null) {
+                refreshedDuringRebuild.add(cafeteriaId);
+            }
+        }
+    }
+
+    /**
+     * @return Whether the cafeteria is open now, or null if it is not indexed (unknown, or
+     * created on another node since the last rebuild).
+     */
+    public Boolean isOpen(UUID cafeteriaId) {
+        return isOpen(cafeteriaId, Instant.now());
+    }
+
+    public Boolean isOpen(UUID cafeteriaId, Instant instant) {
+        CompiledSchedule schedule = schedules.get(cafeteriaId);
+        return schedule != null ? schedule.isOpenAt(instant) : null;
+    }
+
+    /**
+     * @return When the cafeteria next opens, or null if it is open now, has no opening hours,
+     * is not indexed, or stays closed for the whole lookahead.
+     */
+    public Instant nextOpening(UUID cafeteriaId) {
+        CompiledSchedule schedule = schedules.get(cafeteriaId);
+        return schedule != null ? schedule.nextOpening(Instant.now()) : null;
+    }
+
+    /** @return The zone the cafeteria's hours are evaluated in, or null if it is not indexed. */
+    public ZoneId zoneOf(UUID cafeteriaId) {
+        CompiledSchedule schedule = schedules.get(cafeteriaId);
+        return schedule != null ? schedule.zone() : null;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    // Cafeteria timezone, else the college's, else grababite.hours.default-timezone, else the server's
+    private ZoneId zoneOf(Cafeteria cafeteria) {
+        String zone = cafeteria.getTimezone();
+        if (zone == null && cafeteria.getCollege() != null) {
+            zone = cafeteria.getCollege().getTimezone();
+        }
+        if (zone == null || zone.isBlank()) {
+            zone = defaultTimezone;
+        }
+        if (zone == null || zone.isBlank()) {
+            return ZoneId.systemDefault();
+        }
+        try {
+            return ZoneId.of(zone);
+        } catch (DateTimeException e) {
+            logger.warn("Invalid timezone '{}' for cafeteria {}, using the server default", zone, cafeteria.getCafeteriaId());
+            return ZoneId.systemDefault();
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.grababite.backend.images;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Resized renditions generated for every uploaded image, all JPEG.
+ *
+ * Images are addressed as /api/images/{imageId}/{variant}, where variant is "original" or the
+ * name of one of these renditions. Image IDs are content hashes, so a URL never changes meaning.
+ */
+public enum ImageVariant {
+    THUMB("thumb", 160),
+    SMALL("small", 480),
+    LARGE("large", 960);
+
+    public static final String ORIGINAL = "original";
+
+    // An image URL served by this application, optionally absolute; group 1 is the URL up to the variant
+    private static final Pattern IMAGE_URL = Pattern.compile("^(.*/api/images/[0-9a-f]{64}/)[a-z]+$");
+
+    private final String variantName;
+    private final int width;
+
+    ImageVariant(String variantName, int width) {
+        this.variantName = variantName;
+        this.width = width;
+    }
+
+    public String getVariantName() {
+        return variantName;
+    }
+
+    /** @return The maximum width in pixels; smaller images are re-encoded but not enlarged. */
+    public int getWidth() {
+        return width;
+    }
+
+    /** @return The variant with the given name, or null if there is none. */
+    public static ImageVariant fromName(String name) {
+        for (ImageVariant variant : values()) {
+            if (variant.variantName.equals(name)) {
+                return variant;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Derives the variant URLs from an image URL that points at an uploaded image.
+     * @param imageUrl An image URL as stored on a menu item, e.g. "/api/images/{imageId}/original".
+     * @return Variant name to URL (thumb, small, large), or null if the URL is not an uploaded image.
+     */
+    public static Map<String, String> urlsFor(String imageUrl) {
+        if (imageUrl == null) {
+            return null;
+        }
+        Matcher matcher = IMAGE_URL.matcher(imageUrl);
+        if (!matcher.matches()) {
+            return null;
+        }
+        Map<String, String> urls = new LinkedHashMap<>();
+        for (ImageVariant variant : values()) {
+            urls.put(variant.variantName, matcher.group(1) + variant.variantName);
+        }
+        return urls;
+    }
+}
@@ -0,0 +1,107 @@
+package com.grababite.backend.imports;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// RFC 4180 CSV: comma separated, optional double quotes, "" escapes a quote, quoted fields may span lines.
+class CsvRowReader extends ImportRowReader {
+
+    private final BufferedReader reader;
+    private List<String> header;
+    private int rowNumber = 0;
+
+    CsvRowReader(InputStream in) {
+        this.reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public ImportRow next() throws IOException {
+        if (header == null) {
+            List<String> columns = readRecord();
+            if (columns == null) {
+                return null;
+            }
+            header = new ArrayList<>(columns.size());
+            for (String column : columns) {
+                header.add(ImportRow.normalizeColumn(column));
+            }
+        }
+        List<String> fields;
+        do {
+            fields = readRecord();
+            if (fields == null) {
+                return null;
+            }
+        } while (fields.size() == 1 && fields.get(0).isBlank()); // Skip empty lines
+
+        rowNumber++;
+        Map<String, String> values = new HashMap<>();
+        for (int i = 0; i < Math.min(fields.size(), header.size()); i++) {
+            values.put(header.get(i), fields.get(i));
+        }
+        String problem = fields.size() > header.size()
+                ? "Expected " + header.size() + " columns but found " + fields.size()
+                : null;
+        return new ImportRow(rowNumber, values, problem);
+    }
+
+    // Reads one record, or returns null at end of input.
+    private List<String> readRecord() throws IOException {
+        int c = reader.read();
+        if (c == -1) {
+            return null;
+        }
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        while (true) {
+            if (quoted) {
+                if (c == -1) {
+                    throw new IOException("Unterminated quoted field in CSV record " + (rowNumber + 1));
+                }
+                if (c == '"') {
+                    reader.mark(1);
+                    int next = reader.read();
+                    if (next == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        reader.reset();
+                    }
+                } else {
+                    field.append((char) c);
+                }
+            } else if (c == -1 || c == '\n') {
+                break;
+            } else if (c == '\r') {
+                reader.mark(1);
+                if (reader.read() != '\n') {
+                    reader.reset();
+                }
+                break;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '"' && field.length() == 0) {
+                quoted = true;
+            } else {
+                field.append((char) c);
+            }
+            c = reader.read();
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
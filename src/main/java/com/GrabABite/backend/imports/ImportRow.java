@@ -0,0 +1,45 @@
+package com.grababite.backend.imports;
+
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * One record of a bulk import file. Column names are normalized (lower case, letters and digits
+ * only), so "isAvailable", "is_available" and "Is Available" all read as "isavailable".
+ */
+public class ImportRow {
+
+    private final int rowNumber;
+    private final Map<String, String> values;
+    private final String problem;
+
+    ImportRow(int rowNumber, Map<String, String> values, String problem) {
+        this.rowNumber = rowNumber;
+        this.values = values;
+        this.problem = problem;
+    }
+
+    /** @return The 1-based position of the record among the data records of the file. */
+    public int getRowNumber() {
+        return rowNumber;
+    }
+
+    /** @return Why the record could not be read as a flat set of columns, or null if it could. */
+    public String getProblem() {
+        return problem;
+    }
+
+    /** @return The trimmed value of the column, or null if it is missing or blank. */
+    public String get(String column) {
+        String value = values.get(normalizeColumn(column));
+        if (value == null) {
+            return null;
+        }
+        value = value.trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    static String normalizeColumn(String column) {
+        return column.toLowerCase(Locale.ROOT).replaceAll("[^a-z0-9]", "");
+    }
+}
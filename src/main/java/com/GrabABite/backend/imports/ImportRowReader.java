@@ -0,0 +1,37 @@
+package com.grababite.backend.imports;
+
+import com.fasterxml.jackson.core.JsonFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Reads a bulk import file one record at a time, so an upload is never held in memory whole.
+ * Supports CSV with a header row (text/csv) and a JSON array of flat objects (application/json).
+ */
+public abstract class ImportRowReader implements Closeable {
+
+    /**
+     * @param in The request body.
+     * @param contentType The request's Content-Type.
+     * @param jsonFactory Used to stream JSON input.
+     * @throws IllegalArgumentException if the content type is not CSV or JSON.
+     */
+    public static ImportRowReader open(InputStream in, String contentType, JsonFactory jsonFactory) throws IOException {
+        String type = contentType != null ? contentType.toLowerCase() : "";
+        if (type.contains("json")) {
+            return new JsonRowReader(jsonFactory.createParser(in));
+        }
+        if (type.contains("csv") || type.startsWith("text/plain")) {
+            return new CsvRowReader(in);
+        }
+        throw new IllegalArgumentException("Unsupported content type for import: " + contentType);
+    }
+
+    /**
+     * @return The next record, or null at the end of the input.
+     * @throws IOException if the input is malformed beyond the current record.
+     */
+    public abstract ImportRow next() throws IOException;
+}
@@ -0,0 +1,57 @@
+package com.grababite.backend.imports;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+// A JSON array of flat objects, read with the streaming parser one element at a time.
+class JsonRowReader extends ImportRowReader {
+
+    private final JsonParser parser;
+    private boolean started = false;
+    private int rowNumber = 0;
+
+    JsonRowReader(JsonParser parser) {
+        this.parser = parser;
+    }
+
+    @Override
+    public ImportRow next() throws IOException {
+        if (!started) {
+            started = true;
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IOException("Expected a JSON array of objects");
+            }
+        }
+        JsonToken token = parser.nextToken();
+        if (token == null || token == JsonToken.END_ARRAY) {
+            return null;
+        }
+        rowNumber++;
+        if (token != JsonToken.START_OBJECT) {
+            parser.skipChildren();
+            return new ImportRow(rowNumber, Map.of(), "Expected an object");
+        }
+        Map<String, String> values = new HashMap<>();
+        String problem = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            if (value.isStructStart()) {
+                parser.skipChildren();
+                problem = "Field '" + field + "' must be a plain value";
+            } else if (value != JsonToken.VALUE_NULL) {
+                values.put(ImportRow.normalizeColumn(field), parser.getText());
+            }
+        }
+        return new ImportRow(rowNumber, values, problem);
+    }
+
+    @Override
+    public void close() throws IOException {
+        parser.close();
+    }
+}
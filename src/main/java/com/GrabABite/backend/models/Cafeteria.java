@@ -20,7 +20,10 @@ public class Cafeteria extends AuditModel {
     private String location;
 
     @Column(name = "is_open")
-    private Boolean isOpen;
+    private Boolean isOpen; // Manual switch, used only while the cafeteria has no opening hours
+
+    @Column(name = "timezone")
+    private String timezone; // IANA zone ID for opening hours; null means the college's timezone
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "college_id", nullable = false)
@@ -61,6 +64,14 @@ public class Cafeteria extends AuditModel {
         this.isOpen = isOpen;
     }
 
+    public String getTimezone() {
+        return timezone;
+    }
+
+    public void setTimezone(String timezone) {
+        this.timezone = timezone;
+    }
+
     // IMPORTANT: If you need college details in the response, you'll need to
     // either eagerly fetch it or use a DTO to manually map relevant fields.
     // For now, it's ignored.
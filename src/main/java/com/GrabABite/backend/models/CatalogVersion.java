@@ -0,0 +1,45 @@
+package com.grababite.backend.models;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+// Shared version counter of one catalog aggregate (or one cafeteria's menu), used for ETags on every node.
+@Entity
+@Table(name = "catalog_versions")
+public class CatalogVersion {
+
+    @Id
+    @Column(name = "name", nullable = false)
+    private String name; // e.g. "cafeterias" or "menu-<cafeteriaId>"
+
+    @Column(name = "version", nullable = false)
+    private Long version;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt; // Used by other nodes to poll for changes
+
+    // Getters and Setters
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
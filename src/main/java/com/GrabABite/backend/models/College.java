@@ -18,6 +18,9 @@ public class College extends AuditModel {
     @Column(name = "address")
     private String address;
 
+    @Column(name = "timezone")
+    private String timezone; // IANA zone ID, e.g. "Asia/Kolkata"; null means the server default
+
     // Getters and Setters
     public UUID getCollegeId() { // Changed getter name to match field
         return collegeId;
@@ -42,4 +45,12 @@ public class College extends AuditModel {
     public void setAddress(String address) {
         this.address = address;
     }
+
+    public String getTimezone() {
+        return timezone;
+    }
+
+    public void setTimezone(String timezone) {
+        this.timezone = timezone;
+    }
 }
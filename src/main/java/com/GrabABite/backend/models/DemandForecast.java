@@ -0,0 +1,107 @@
+package com.grababite.backend.models;
+
+import jakarta.persistence.*;
+import java.time.LocalDate;
+import java.util.UUID;
+
+// Smoothed demand for one menu item in one weekly slot (weekday + hour) at one cafeteria.
+@Entity
+@Table(name = "demand_forecasts", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_demand_forecasts_series",
+                columnNames = {"cafeteria_id", "menu_item_id", "day_of_week", "hour_of_day"})
+}, indexes = {
+        @Index(name = "idx_demand_forecasts_cafeteria_day", columnList = "cafeteria_id, day_of_week")
+})
+public class DemandForecast extends AuditModel {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    @Column(name = "forecast_id", nullable = false, unique = true)
+    private UUID forecastId;
+
+    @Column(name = "cafeteria_id", nullable = false)
+    private UUID cafeteriaId;
+
+    @Column(name = "menu_item_id", nullable = false)
+    private UUID menuItemId;
+
+    @Column(name = "day_of_week", nullable = false)
+    private Integer dayOfWeek; // ISO: 1 = Monday ... 7 = Sunday
+
+    @Column(name = "hour_of_day", nullable = false)
+    private Integer hourOfDay; // 0-23
+
+    @Column(name = "level", nullable = false)
+    private Double level; // Exponentially smoothed quantity as of lastObservedDate
+
+    @Column(name = "observations", nullable = false)
+    private Integer observations; // Number of days with sales folded into the level
+
+    @Column(name = "last_observed_date", nullable = false)
+    private LocalDate lastObservedDate; // Most recent day with sales in this slot
+
+    // Getters and Setters
+    public UUID getForecastId() {
+        return forecastId;
+    }
+
+    public void setForecastId(UUID forecastId) {
+        this.forecastId = forecastId;
+    }
+
+    public UUID getCafeteriaId() {
+        return cafeteriaId;
+    }
+
+    public void setCafeteriaId(UUID cafeteriaId) {
+        this.cafeteriaId = cafeteriaId;
+    }
+
+    public UUID getMenuItemId() {
+        return menuItemId;
+    }
+
+    public void setMenuItemId(UUID menuItemId) {
+        this.menuItemId = menuItemId;
+    }
+
+    public Integer getDayOfWeek() {
+        return dayOfWeek;
+    }
+
+    public void setDayOfWeek(Integer dayOfWeek) {
+        this.dayOfWeek = dayOfWeek;
+    }
+
+    public Integer getHourOfDay() {
+        return hourOfDay;
+    }
+
+    public void setHourOfDay(Integer hourOfDay) {
+        this.hourOfDay = hourOfDay;
+    }
+
+    public Double getLevel() {
+        return level;
+    }
+
+    public void setLevel(Double level) {
+        this.level = level;
+    }
+
+    public Integer getObservations() {
+        return observations;
+    }
+
+    public void setObservations(Integer observations) {
+        this.observations = observations;
+    }
+
+    public LocalDate getLastObservedDate() {
+        return lastObservedDate;
+    }
+
+    public void setLastObservedDate(LocalDate lastObservedDate) {
+        this.lastObservedDate = lastObservedDate;
+    }
+}
@@ -0,0 +1,56 @@
+package com.grababite.backend.models;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+// A named lease shared by all nodes, used so scheduled jobs run on one node at a time.
+@Entity
+@Table(name = "job_locks")
+public class JobLock {
+
+    @Id
+    @Column(name = "lock_name", nullable = false)
+    private String lockName;
+
+    @Column(name = "locked_until", nullable = false)
+    private LocalDateTime lockedUntil; // Lease expiry; a crashed holder loses the lock at this point
+
+    @Column(name = "locked_by")
+    private String lockedBy; // Node that holds (or last held) the lock
+
+    @Column(name = "last_run_key")
+    private String lastRunKey; // Identifies the last successfully completed run, e.g. a business date
+
+    // Getters and Setters
+    public String getLockName() {
+        return lockName;
+    }
+
+    public void setLockName(String lockName) {
+        this.lockName = lockName;
+    }
+
+    public LocalDateTime getLockedUntil() {
+        return lockedUntil;
+    }
+
+    public void setLockedUntil(LocalDateTime lockedUntil) {
+        this.lockedUntil = lockedUntil;
+    }
+
+    public String getLockedBy() {
+        return lockedBy;
+    }
+
+    public void setLockedBy(String lockedBy) {
+        this.lockedBy = lockedBy;
+    }
+
+    public String getLastRunKey() {
+        return lastRunKey;
+    }
+
+    public void setLastRunKey(String lastRunKey) {
+        this.lastRunKey = lastRunKey;
+    }
+}
@@ -1,12 +1,19 @@
 package com.grababite.backend.models;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.grababite.backend.images.ImageVariant;
 import jakarta.persistence.*;
 import java.math.BigDecimal;
+import java.util.Map;
 import java.util.UUID;
 import com.fasterxml.jackson.annotation.JsonIgnore; // Import JsonIgnore
 
 @Entity
-@Table(name = "menu_items")
+@Table(name = "menu_items", indexes = {
+        @Index(name = "idx_menu_items_cafeteria_id", columnList = "cafeteria_id"),
+        @Index(name = "idx_menu_items_standard_menu_item_id", columnList = "standard_menu_item_id"),
+        @Index(name = "idx_menu_items_menu_section_id", columnList = "menu_section_id")
+})
 public class MenuItem extends AuditModel {
 
     @Id
@@ -41,6 +48,22 @@ public class MenuItem extends AuditModel {
     @JsonIgnore // Ignore this field during serialization
     private StandardMenuItem standardMenuItem;
 
+    // For items linked to a StandardMenuItem: true when the cafeteria customized the field, so edits
+    // to the standard item no longer overwrite it. Null (rows created before these columns) means false.
+    @Column(name = "name_overridden")
+    private Boolean nameOverridden;
+
+    @Column(name = "description_overridden")
+    private Boolean descriptionOverridden;
+
+    @Column(name = "image_url_overridden")
+    private Boolean imageUrlOverridden;
+
+    // The MenuSection whose time window the item is served in; null means all day.
+    // Assigned through PATCH /api/menu-items/section, not through full updates.
+    @Column(name = "menu_section_id")
+    private UUID menuSectionId;
+
     // Getters and Setters
     public UUID getMenuItemId() {
         return menuItemId;
@@ -90,6 +113,20 @@ public class MenuItem extends AuditModel {
         this.imageUrl = imageUrl;
     }
 
+    public UUID getMenuSectionId() {
+        return menuSectionId;
+    }
+
+    public void setMenuSectionId(UUID menuSectionId) {
+        this.menuSectionId = menuSectionId;
+    }
+
+    // Resized renditions of an uploaded image (thumb, small, large); null for external image URLs
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    public Map<String, String> getImageVariants() {
+        return ImageVariant.urlsFor(imageUrl);
+    }
+
     // IMPORTANT: If you need cafeteria details in the response, you'll need to
     // either eagerly fetch it or use a DTO to manually map relevant fields.
     // For now, it's ignored.
@@ -108,4 +145,28 @@ public class MenuItem extends AuditModel {
     public void setStandardMenuItem(StandardMenuItem standardMenuItem) {
         this.standardMenuItem = standardMenuItem;
     }
+
+    public Boolean getNameOverridden() {
+        return nameOverridden;
+    }
+
+    public void setNameOverridden(Boolean nameOverridden) {
+        this.nameOverridden = nameOverridden;
+    }
+
+    public Boolean getDescriptionOverridden() {
+        return descriptionOverridden;
+    }
+
+    public void setDescriptionOverridden(Boolean descriptionOverridden) {
+        this.descriptionOverridden = descriptionOverridden;
+    }
+
+    public Boolean getImageUrlOverridden() {
+        return imageUrlOverridden;
+    }
+
+    public void setImageUrlOverridden(Boolean imageUrlOverridden) {
+        this.imageUrlOverridden = imageUrlOverridden;
+    }
 }
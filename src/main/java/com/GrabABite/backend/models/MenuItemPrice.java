@@ -0,0 +1,61 @@
+package com.grababite.backend.models;
+
+import jakarta.persistence.*;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// Append-only price history: the price of a menu item from effectiveFrom until the next entry.
+@Entity
+@Table(name = "menu_item_prices", indexes = {
+        @Index(name = "idx_menu_item_prices_item_effective", columnList = "menu_item_id, effective_from")
+})
+public class MenuItemPrice extends AuditModel {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    @Column(name = "price_id", nullable = false, unique = true)
+    private UUID priceId;
+
+    @Column(name = "menu_item_id", nullable = false)
+    private UUID menuItemId;
+
+    @Column(name = "price", nullable = false)
+    private BigDecimal price;
+
+    @Column(name = "effective_from", nullable = false)
+    private LocalDateTime effectiveFrom; // Same clock as orders.created_at
+
+    // Getters and Setters
+    public UUID getPriceId() {
+        return priceId;
+    }
+
+    public void setPriceId(UUID priceId) {
+        this.priceId = priceId;
+    }
+
+    public UUID getMenuItemId() {
+        return menuItemId;
+    }
+
+    public void setMenuItemId(UUID menuItemId) {
+        this.menuItemId = menuItemId;
+    }
+
+    public BigDecimal getPrice() {
+        return price;
+    }
+
+    public void setPrice(BigDecimal price) {
+        this.price = price;
+    }
+
+    public LocalDateTime getEffectiveFrom() {
+        return effectiveFrom;
+    }
+
+    public void setEffectiveFrom(LocalDateTime effectiveFrom) {
+        this.effectiveFrom = effectiveFrom;
+    }
+}
@@ -0,0 +1,73 @@
+package com.grababite.backend.models;
+
+import jakarta.persistence.*;
+import java.time.LocalTime;
+import java.util.UUID;
+
+// A daily time window of a cafeteria's menu (breakfast, lunch, dinner...). Items assigned to a
+// section are only on the menu and orderable inside its window; unassigned items are all-day.
+// An end at or before the start means the window runs past midnight.
+@Entity
+@Table(name = "menu_sections", indexes = {
+        @Index(name = "idx_menu_sections_cafeteria_id", columnList = "cafeteria_id")
+})
+public class MenuSection extends AuditModel {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    @Column(name = "menu_section_id", nullable = false, unique = true)
+    private UUID menuSectionId;
+
+    @Column(name = "cafeteria_id", nullable = false)
+    private UUID cafeteriaId;
+
+    @Column(name = "name", nullable = false)
+    private String name;
+
+    @Column(name = "starts_at", nullable = false)
+    private LocalTime startsAt;
+
+    @Column(name = "ends_at", nullable = false)
+    private LocalTime endsAt;
+
+    // Getters and Setters
+    public UUID getMenuSectionId() {
+        return menuSectionId;
+    }
+
+    public void setMenuSectionId(UUID menuSectionId) {
+        this.menuSectionId = menuSectionId;
+    }
+
+    public UUID getCafeteriaId() {
+        return cafeteriaId;
+    }
+
+    public void setCafeteriaId(UUID cafeteriaId) {
+        this.cafeteriaId = cafeteriaId;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public LocalTime getStartsAt() {
+        return startsAt;
+    }
+
+    public void setStartsAt(LocalTime startsAt) {
+        this.startsAt = startsAt;
+    }
+
+    public LocalTime getEndsAt() {
+        return endsAt;
+    }
+
+    public void setEndsAt(LocalTime endsAt) {
+        this.endsAt = endsAt;
+    }
+}
@@ -0,0 +1,72 @@
+package com.grababite.backend.models;
+
+import jakarta.persistence.*;
+import java.time.LocalTime;
+import java.util.UUID;
+
+// One weekly opening interval of a cafeteria. A closing time at or before the opening time
+// means the interval runs past midnight into the next day.
+@Entity
+@Table(name = "cafeteria_opening_hours", indexes = {
+        @Index(name = "idx_cafeteria_opening_hours_cafeteria_id", columnList = "cafeteria_id")
+})
+public class OpeningHours extends AuditModel {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    @Column(name = "opening_hours_id", nullable = false, unique = true)
+    private UUID openingHoursId;
+
+    @Column(name = "cafeteria_id", nullable = false)
+    private UUID cafeteriaId;
+
+    @Column(name = "day_of_week", nullable = false)
+    private Integer dayOfWeek; // ISO: 1 = Monday ... 7 = Sunday
+
+    @Column(name = "opens_at", nullable = false)
+    private LocalTime opensAt;
+
+    @Column(name = "closes_at", nullable = false)
+    private LocalTime closesAt;
+
+    // Getters and Setters
+    public UUID getOpeningHoursId() {
+        return openingHoursId;
+    }
+
+    public void setOpeningHoursId(UUID openingHoursId) {
+        this.openingHoursId = openingHoursId;
+    }
+
+    public UUID getCafeteriaId() {
+        return cafeteriaId;
+    }
+
+    public void setCafeteriaId(UUID cafeteriaId) {
+        this.cafeteriaId = cafeteriaId;
+    }
+
+    public Integer getDayOfWeek() {
+        return dayOfWeek;
+    }
+
+    public void setDayOfWeek(Integer dayOfWeek) {
+        this.dayOfWeek = dayOfWeek;
+    }
+
+    public LocalTime getOpensAt() {
+        return opensAt;
+    }
+
+    public void setOpensAt(LocalTime opensAt) {
+        this.opensAt = opensAt;
+    }
+
+    public LocalTime getClosesAt() {
+        return closesAt;
+    }
+
+    public void setClosesAt(LocalTime closesAt) {
+        this.closesAt = closesAt;
+    }
+}
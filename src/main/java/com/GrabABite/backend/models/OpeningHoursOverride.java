@@ -0,0 +1,84 @@
+package com.grababite.backend.models;
+
+import jakarta.persistence.*;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.UUID;
+
+// Replaces a cafeteria's weekly hours on one date (holidays, exam weeks, events). A row without
+// times closes the cafeteria for the day; several rows for one date give several intervals.
+@Entity
+@Table(name = "cafeteria_hours_overrides", indexes = {
+        @Index(name = "idx_cafeteria_hours_overrides_cafeteria_date", columnList = "cafeteria_id, override_date")
+})
+public class OpeningHoursOverride extends AuditModel {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    @Column(name = "override_id", nullable = false, unique = true)
+    private UUID overrideId;
+
+    @Column(name = "cafeteria_id", nullable = false)
+    private UUID cafeteriaId;
+
+    @Column(name = "override_date", nullable = false)
+    private LocalDate date;
+
+    @Column(name = "opens_at")
+    private LocalTime opensAt; // Null (with closesAt) = closed all day
+
+    @Column(name = "closes_at")
+    private LocalTime closesAt; // At or before opensAt = open until midnight
+
+    @Column(name = "note")
+    private String note;
+
+    // Getters and Setters
+    public UUID getOverrideId() {
+        return overrideId;
+    }
+
+    public void setOverrideId(UUID overrideId) {
+        this.overrideId = overrideId;
+    }
+
+    public UUID getCafeteriaId() {
+        return cafeteriaId;
+    }
+
+    public void setCafeteriaId(UUID cafeteriaId) {
+        this.cafeteriaId = cafeteriaId;
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public void setDate(LocalDate date) {
+        this.date = date;
+    }
+
+    public LocalTime getOpensAt() {
+        return opensAt;
+    }
+
+    public void setOpensAt(LocalTime opensAt) {
+        this.opensAt = opensAt;
+    }
+
+    public LocalTime getClosesAt() {
+        return closesAt;
+    }
+
+    public void setClosesAt(LocalTime closesAt) {
+        this.closesAt = closesAt;
+    }
+
+    public String getNote() {
+        return note;
+    }
+
+    public void setNote(String note) {
+        this.note = note;
+    }
+}
@@ -1,6 +1,7 @@
 package com.grababite.backend.models;
 
 import jakarta.persistence.*;
+import java.math.BigDecimal;
 import java.util.UUID;
 import org.hibernate.annotations.GenericGenerator; // Import GenericGenerator
 
@@ -28,6 +29,11 @@ public class OrderItem extends AuditModel {
     @JoinColumn(name = "menu_item_id", nullable = false)
     private MenuItem menuItem;
 
+    // Price of one unit at the time of sale; reports use this instead of the item's current price.
+    // Null only for lines recorded before this column existed and not yet backfilled.
+    @Column(name = "unit_price")
+    private BigDecimal unitPrice;
+
     public UUID getId() {
         return id;
     }
@@ -52,6 +58,14 @@ public class OrderItem extends AuditModel {
         this.order = order;
     }
 
+    public BigDecimal getUnitPrice() {
+        return unitPrice;
+    }
+
+    public void setUnitPrice(BigDecimal unitPrice) {
+        this.unitPrice = unitPrice;
+    }
+
     public MenuItem getMenuItem() {
         return menuItem;
     }
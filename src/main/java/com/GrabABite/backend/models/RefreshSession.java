@@ -0,0 +1,72 @@
+package com.grababite.backend.models;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// A login session, i.e. one refresh token family (its ID is the family ID and the access tokens'
+// sid). Rotation and revocation lock this row, so a refresh racing a logout or reuse detection
+// either finishes before the session is revoked or sees that it was.
+@Entity
+@Table(name = "refresh_sessions", indexes = {
+        @Index(name = "idx_refresh_sessions_user_id", columnList = "user_id"),
+        @Index(name = "idx_refresh_sessions_expires_at", columnList = "expires_at")
+})
+public class RefreshSession extends AuditModel {
+
+    @Id
+    @Column(name = "session_id", nullable = false, unique = true)
+    private UUID sessionId; // Assigned: the family ID of the session's refresh tokens
+
+    @Column(name = "user_id", nullable = false)
+    private UUID userId;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt; // Expiry of the newest refresh token issued in the session
+
+    @Column(name = "revoked_at")
+    private LocalDateTime revokedAt; // Set on logout, reuse detection or a password or role change
+
+    // Constructors
+    public RefreshSession() {
+    }
+
+    public RefreshSession(UUID sessionId, UUID userId, LocalDateTime expiresAt) {
+        this.sessionId = sessionId;
+        this.userId = userId;
+        this.expiresAt = expiresAt;
+    }
+
+    // Getters and Setters
+    public UUID getSessionId() {
+        return sessionId;
+    }
+
+    public void setSessionId(UUID sessionId) {
+        this.sessionId = sessionId;
+    }
+
+    public UUID getUserId() {
+        return userId;
+    }
+
+    public void setUserId(UUID userId) {
+        this.userId = userId;
+    }
+
+    public LocalDateTime getExpiresAt() {
+        return expiresAt;
+    }
+
+    public void setExpiresAt(LocalDateTime expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+
+    public LocalDateTime getRevokedAt() {
+        return revokedAt;
+    }
+
+    public void setRevokedAt(LocalDateTime revokedAt) {
+        this.revokedAt = revokedAt;
+    }
+}
@@ -0,0 +1,93 @@
+package com.grababite.backend.models;
+
+import jakarta.persistence.*;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Entity
+@Table(name = "report_snapshots", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_report_snapshots_cafeteria_date_type", columnNames = {"cafeteria_id", "report_date", "report_type"})
+})
+public class ReportSnapshot extends AuditModel {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    @Column(name = "snapshot_id", nullable = false, unique = true)
+    private UUID snapshotId;
+
+    @Column(name = "cafeteria_id", nullable = false)
+    private UUID cafeteriaId;
+
+    @Column(name = "report_date", nullable = false)
+    private LocalDate reportDate; // Business day the report covers
+
+    @Column(name = "report_type", nullable = false)
+    private String reportType; // DAILY_SALES, TOP_ITEMS, HOURLY_HEATMAP
+
+    @Column(name = "result_json", nullable = false, columnDefinition = "TEXT")
+    private String resultJson;
+
+    @Column(name = "computed_at", nullable = false)
+    private LocalDateTime computedAt;
+
+    @Column(name = "stale_since")
+    private LocalDateTime staleSince; // Set when orders of this day changed after computedAt; null when current
+
+    // Getters and Setters
+    public UUID getSnapshotId() {
+        return snapshotId;
+    }
+
+    public void setSnapshotId(UUID snapshotId) {
+        this.snapshotId = snapshotId;
+    }
+
+    public UUID getCafeteriaId() {
+        return cafeteriaId;
+    }
+
+    public void setCafeteriaId(UUID cafeteriaId) {
+        this.cafeteriaId = cafeteriaId;
+    }
+
+    public LocalDate getReportDate() {
+        return reportDate;
+    }
+
+    public void setReportDate(LocalDate reportDate) {
+        this.reportDate = reportDate;
+    }
+
+    public String getReportType() {
+        return reportType;
+    }
+
+    public void setReportType(String reportType) {
+        this.reportType = reportType;
+    }
+
+    public String getResultJson() {
+        return resultJson;
+    }
+
+    public void setResultJson(String resultJson) {
+        this.resultJson = resultJson;
+    }
+
+    public LocalDateTime getComputedAt() {
+        return computedAt;
+    }
+
+    public void setComputedAt(LocalDateTime computedAt) {
+        this.computedAt = computedAt;
+    }
+
+    public LocalDateTime getStaleSince() {
+        return staleSince;
+    }
+
+    public void setStaleSince(LocalDateTime staleSince) {
+        this.staleSince = staleSince;
+    }
+}
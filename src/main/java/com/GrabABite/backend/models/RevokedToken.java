@@ -0,0 +1,49 @@
+package com.grababite.backend.models;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// An access token ID (jti) or login session ID (sid) that must no longer be accepted. Every node
+// polls new rows into its in-memory revocation list; rows are deleted once every access token
+// they could match has expired.
+@Entity
+@Table(name = "revoked_tokens", indexes = {
+        @Index(name = "idx_revoked_tokens_created_at", columnList = "created_at"),
+        @Index(name = "idx_revoked_tokens_expires_at", columnList = "expires_at")
+})
+public class RevokedToken extends AuditModel {
+
+    @Id
+    @Column(name = "token_id", nullable = false, unique = true)
+    private UUID tokenId; // Assigned: the jti or sid being revoked
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    // Constructors
+    public RevokedToken() {
+    }
+
+    public RevokedToken(UUID tokenId, LocalDateTime expiresAt) {
+        this.tokenId = tokenId;
+        this.expiresAt = expiresAt;
+    }
+
+    // Getters and Setters
+    public UUID getTokenId() {
+        return tokenId;
+    }
+
+    public void setTokenId(UUID tokenId) {
+        this.tokenId = tokenId;
+    }
+
+    public LocalDateTime getExpiresAt() {
+        return expiresAt;
+    }
+
+    public void setExpiresAt(LocalDateTime expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+}
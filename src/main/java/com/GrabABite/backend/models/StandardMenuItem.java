@@ -1,6 +1,9 @@
 package com.grababite.backend.models;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.grababite.backend.images.ImageVariant;
 import jakarta.persistence.*;
+import java.util.Map;
 import java.util.UUID;
 
 @Entity
@@ -53,4 +56,10 @@ public class StandardMenuItem extends AuditModel {
     public void setImageUrl(String imageUrl) {
         this.imageUrl = imageUrl;
     }
+
+    // Resized renditions of an uploaded image (thumb, small, large); null for external image URLs
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    public Map<String, String> getImageVariants() {
+        return ImageVariant.urlsFor(imageUrl);
+    }
 }
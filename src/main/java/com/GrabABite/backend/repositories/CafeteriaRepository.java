@@ -1,9 +1,12 @@
 package com.grababite.backend.repositories;
 
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.grababite.backend.models.Cafeteria;
@@ -12,4 +15,16 @@ import com.grababite.backend.models.Cafeteria;
 public interface CafeteriaRepository extends JpaRepository<Cafeteria, UUID> {
     // ✅ Custom query to fetch cafeterias by collegeId
     List<Cafeteria> findByCollege_CollegeId(UUID collegeId);
+
+    // With the college loaded, for resolving the timezone of opening hours without N+1 queries
+    @Query("SELECT c FROM Cafeteria c JOIN FETCH c.college")
+    List<Cafeteria> findAllWithCollege();
+
+    @Query("SELECT c FROM Cafeteria c JOIN FETCH c.college WHERE c.cafeteriaId = :cafeteriaId")
+    Optional<Cafeteria> findWithCollegeById(@Param("cafeteriaId") UUID cafeteriaId);
+
+    // True when both cafeterias exist and belong to the same college
+    @Query("SELECT COUNT(a) > 0 FROM Cafeteria a, Cafeteria b " +
+            "WHERE a.cafeteriaId = :first AND b.cafeteriaId = :second AND a.college = b.college")
+    boolean inSameCollege(@Param("first") UUID first, @Param("second") UUID second);
 }
@@ -0,0 +1,55 @@
+package com.grababite.backend.repositories;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+// Whole-catalog reads for the in-memory search index. They run on the primary pool: the index
+// is rebuilt to catch up with edits, so reading a lagging replica would drop the newest ones.
+@Repository
+public class CatalogJdbcRepository {
+
+    private static final String SEARCH_MENU_ITEMS_SQL =
+            "SELECT item_id, name, description, price, is_available, cafeteria_id, standard_menu_item_id, " +
+            "       COALESCE(name_overridden, FALSE) AS name_overridden, " +
+            "       COALESCE(description_overridden, FALSE) AS description_overridden " +
+            "FROM menu_items";
+
+    private static final String SEARCH_STANDARD_MENU_ITEMS_SQL =
+            "SELECT standard_menu_item_id, name, description FROM standard_menu_items";
+
+    private static final String CAFETERIA_COLLEGES_SQL =
+            "SELECT cafeteria_id, college_id FROM cafeterias";
+
+    @Autowired
+    @Qualifier("primaryJdbcTemplate")
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Streams the searchable fields of every menu item.
+     * @param handler Callback invoked once per row (columns: item_id, name, description, price,
+     *                is_available, cafeteria_id, standard_menu_item_id, name_overridden,
+     *                description_overridden).
+     */
+    public void streamMenuItemsForSearch(RowCallbackHandler handler) {
+        JdbcStreams.stream(jdbcTemplate, SEARCH_MENU_ITEMS_SQL, handler);
+    }
+
+    /**
+     * Streams the searchable fields of every standard menu item.
+     * @param handler Callback invoked once per row (columns: standard_menu_item_id, name, description).
+     */
+    public void streamStandardMenuItemsForSearch(RowCallbackHandler handler) {
+        JdbcStreams.stream(jdbcTemplate, SEARCH_STANDARD_MENU_ITEMS_SQL, handler);
+    }
+
+    /**
+     * Streams the college of every cafeteria.
+     * @param handler Callback invoked once per row (columns: cafeteria_id, college_id).
+     */
+    public void streamCafeteriaColleges(RowCallbackHandler handler) {
+        jdbcTemplate.query(CAFETERIA_COLLEGES_SQL, handler);
+    }
+}
@@ -0,0 +1,32 @@
+package com.grababite.backend.repositories;
+
+import com.grababite.backend.models.CatalogVersion;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface CatalogVersionRepository extends JpaRepository<CatalogVersion, String> {
+
+    // Creates the counter at 1 or increments it. Joins the caller's transaction, so the new
+    // version commits together with the write it describes; callers must be @Transactional.
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO catalog_versions (name, version, updated_at) VALUES (:name, 1, :now) " +
+                   "ON CONFLICT (name) DO UPDATE SET version = catalog_versions.version + 1, updated_at = :now",
+           nativeQuery = true)
+    int increment(@Param("name") String name, @Param("now") LocalDateTime now);
+
+    // Read on the primary (not readOnly): called right after increment to learn the new value
+    @Transactional
+    @Query(value = "SELECT version FROM catalog_versions WHERE name = :name", nativeQuery = true)
+    long currentVersion(@Param("name") String name);
+
+    List<CatalogVersion> findByUpdatedAtAfter(LocalDateTime since);
+}
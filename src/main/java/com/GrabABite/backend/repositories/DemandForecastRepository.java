@@ -0,0 +1,17 @@
+package com.grababite.backend.repositories;
+
+import com.grababite.backend.models.DemandForecast;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface DemandForecastRepository extends JpaRepository<DemandForecast, UUID> {
+
+    List<DemandForecast> findByCafeteriaIdAndDayOfWeek(UUID cafeteriaId, Integer dayOfWeek);
+
+    List<DemandForecast> findByCafeteriaIdInAndDayOfWeek(Collection<UUID> cafeteriaIds, Integer dayOfWeek);
+}
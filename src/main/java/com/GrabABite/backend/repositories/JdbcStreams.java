@@ -0,0 +1,40 @@
+package com.grababite.backend.repositories;
+
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+
+// Row streaming shared by the JDBC repositories that walk whole tables.
+final class JdbcStreams {
+
+    private JdbcStreams() {
+    }
+
+    // Postgres only honours the fetch size (cursor-based fetching) inside a transaction,
+    // so the query runs with auto-commit disabled for its duration.
+    static void stream(JdbcTemplate jdbcTemplate, String sql, RowCallbackHandler handler, Object... args) {
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                statement.setFetchSize(jdbcTemplate.getFetchSize());
+                statement.setQueryTimeout(jdbcTemplate.getQueryTimeout());
+                for (int i = 0; i < args.length; i++) {
+                    statement.setObject(i + 1, args[i]);
+                }
+                try (ResultSet rs = statement.executeQuery()) {
+                    while (rs.next()) {
+                        handler.processRow(rs);
+                    }
+                }
+                connection.commit();
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+            return null;
+        });
+    }
+}
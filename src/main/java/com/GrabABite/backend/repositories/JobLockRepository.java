@@ -0,0 +1,39 @@
+package com.grababite.backend.repositories;
+
+import com.grababite.backend.models.JobLock;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface JobLockRepository extends JpaRepository<JobLock, String> {
+
+    // Takes the lease if it has expired and the run identified by runKey has not completed yet.
+    // The conditional UPDATE is atomic, so at most one node sees 1.
+    @Modifying
+    @Transactional
+    @Query("update JobLock l set l.lockedUntil = :until, l.lockedBy = :owner " +
+           "where l.lockName = :name and l.lockedUntil < :now " +
+           "and (l.lastRunKey is null or l.lastRunKey <> :runKey)")
+    int tryAcquire(@Param("name") String name,
+                   @Param("runKey") String runKey,
+                   @Param("owner") String owner,
+                   @Param("now") LocalDateTime now,
+                   @Param("until") LocalDateTime until);
+
+    // Releases the lease held by owner, recording runKey as completed when it is not null
+    @Modifying
+    @Transactional
+    @Query("update JobLock l set l.lockedUntil = :now, " +
+           "l.lastRunKey = coalesce(:runKey, l.lastRunKey) " +
+           "where l.lockName = :name and l.lockedBy = :owner")
+    int release(@Param("name") String name,
+                @Param("runKey") String runKey,
+                @Param("owner") String owner,
+                @Param("now") LocalDateTime now);
+}
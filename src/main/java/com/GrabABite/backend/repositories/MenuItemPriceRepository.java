@@ -0,0 +1,32 @@
+package com.grababite.backend.repositories;
+
+import com.grababite.backend.models.MenuItemPrice;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface MenuItemPriceRepository extends JpaRepository<MenuItemPrice, UUID> {
+
+    // The item's price in effect at the given time: one backward scan of idx_menu_item_prices_item_effective
+    @Query(value = "SELECT price FROM menu_item_prices WHERE menu_item_id = :menuItemId AND effective_from <= :at " +
+            "ORDER BY effective_from DESC LIMIT 1",
+            nativeQuery = true)
+    Optional<BigDecimal> findPriceAt(@Param("menuItemId") UUID menuItemId, @Param("at") LocalDateTime at);
+
+    // Starts the history of items that have none (created before price history existed) with
+    // their current price, effective from their creation
+    @Modifying
+    @Query(value = "INSERT INTO menu_item_prices (price_id, menu_item_id, price, effective_from, created_at) " +
+            "SELECT gen_random_uuid(), mi.item_id, mi.price, mi.created_at, now() FROM menu_items mi " +
+            "WHERE NOT EXISTS (SELECT 1 FROM menu_item_prices p WHERE p.menu_item_id = mi.item_id)",
+            nativeQuery = true)
+    int seedMissingHistories();
+}
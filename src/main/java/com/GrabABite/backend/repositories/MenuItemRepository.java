@@ -2,8 +2,17 @@ package com.grababite.backend.repositories;
 
 import com.grababite.backend.models.MenuItem;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.UUID;
 
 // @Repository marks this interface as a Spring Data JPA repository.
@@ -12,5 +21,146 @@ import java.util.UUID;
 @Repository
 public interface MenuItemRepository extends JpaRepository<MenuItem, UUID> {
     // Spring Data JPA automatically provides methods like save(), findById(), findAll(), deleteById().
-    // You can add custom query methods here if needed, e.g., findByCafeteriaId(UUID cafeteriaId);
+
+    // One cafeteria's menu; served by the idx_menu_items_cafeteria_id index
+    List<MenuItem> findByCafeteria_CafeteriaId(UUID cafeteriaId);
+
+    // Names only, for duplicate checks during bulk import without loading whole entities
+    @Query("SELECT m.name FROM MenuItem m WHERE m.cafeteria.cafeteriaId = :cafeteriaId")
+    List<String> findNamesByCafeteriaId(@Param("cafeteriaId") UUID cafeteriaId);
+
+    // Copies a standard item's details onto every linked menu item in one statement, keeping
+    // fields the cafeteria has overridden; served by the idx_menu_items_standard_menu_item_id index
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "UPDATE menu_items SET " +
+            "name = CASE WHEN COALESCE(name_overridden, FALSE) THEN name ELSE CAST(:name AS VARCHAR) END, " +
+            "description = CASE WHEN COALESCE(description_overridden, FALSE) THEN description ELSE CAST(:description AS VARCHAR) END, " +
+            "image_url = CASE WHEN COALESCE(image_url_overridden, FALSE) THEN image_url ELSE CAST(:imageUrl AS VARCHAR) END " +
+            "WHERE standard_menu_item_id = :standardMenuItemId",
+            nativeQuery = true)
+    int propagateStandardMenuItem(@Param("standardMenuItemId") UUID standardMenuItemId,
+                                  @Param("name") String name,
+                                  @Param("description") String description,
+                                  @Param("imageUrl") String imageUrl);
+
+    // Targeted column updates for the PATCH endpoints; scoped to one cafeteria so an ID from
+    // another cafeteria simply matches nothing
+    @Modifying
+    @Query("UPDATE MenuItem m SET m.isAvailable = :isAvailable " +
+            "WHERE m.menuItemId IN :menuItemIds AND m.cafeteria.cafeteriaId = :cafeteriaId")
+    int updateAvailability(@Param("cafeteriaId") UUID cafeteriaId,
+                           @Param("menuItemIds") Collection<UUID> menuItemIds,
+                           @Param("isAvailable") Boolean isAvailable);
+
+    @Modifying
+    @Query("UPDATE MenuItem m SET m.price = :price " +
+            "WHERE m.menuItemId = :menuItemId AND m.cafeteria.cafeteriaId = :cafeteriaId")
+    int updatePrice(@Param("cafeteriaId") UUID cafeteriaId,
+                    @Param("menuItemId") UUID menuItemId,
+                    @Param("price") BigDecimal price);
+
+    // Section assignment for many items at once; scoped to one cafeteria like the other PATCH updates
+    @Modifying
+    @Query("UPDATE MenuItem m SET m.menuSectionId = :menuSectionId " +
+            "WHERE m.menuItemId IN :menuItemIds AND m.cafeteria.cafeteriaId = :cafeteriaId")
+    int updateMenuSection(@Param("cafeteriaId") UUID cafeteriaId,
+                          @Param("menuItemIds") Collection<UUID> menuItemIds,
+                          @Param("menuSectionId") UUID menuSectionId);
+
+    // Items of a deleted section become all-day; served by the idx_menu_items_menu_section_id index
+    @Modifying
+    @Query("UPDATE MenuItem m SET m.menuSectionId = NULL WHERE m.menuSectionId = :menuSectionId")
+    int clearMenuSection(@Param("menuSectionId") UUID menuSectionId);
+
+    // Copies a cafeteria's items into another in one statement (and starts their price history),
+    // keeping standard item links and override flags; items whose name already exists in the
+    // target are skipped and sections are not copied (they belong to the source cafeteria).
+    // Returns the searchable fields of the new rows: (item_id, name, description, price,
+    // is_available, standard_menu_item_id, name_overridden, description_overridden).
+    // @Modifying would run it through executeUpdate, which rejects the returned rows; MANDATORY
+    // instead makes it fail unless the caller's (read-write) transaction is active, as it writes
+    // several tables that must commit together.
+    @Transactional(propagation = Propagation.MANDATORY)
+    @Query(value = "WITH cloned AS (" +
+            "  INSERT INTO menu_items (item_id, name, description, price, is_available, image_url, cafeteria_id, " +
+            "      standard_menu_item_id, name_overridden, description_overridden, image_url_overridden, created_at) " +
+            "  SELECT gen_random_uuid(), s.name, s.description, ROUND(s.price * :priceMultiplier, 2), s.is_available, s.image_url, " +
+            "      :targetCafeteriaId, s.standard_menu_item_id, s.name_overridden, s.description_overridden, s.image_url_overridden, :now " +
+            "  FROM menu_items s " +
+            "  WHERE s.cafeteria_id = :sourceCafeteriaId " +
+            "    AND (:onlyAvailable = FALSE OR COALESCE(s.is_available, TRUE)) " +
+            "    AND (CAST(:namePattern AS VARCHAR) IS NULL OR LOWER(s.name) LIKE CAST(:namePattern AS VARCHAR)) " +
+            "    AND NOT EXISTS (SELECT 1 FROM menu_items t WHERE t.cafeteria_id = :targetCafeteriaId AND LOWER(t.name) = LOWER(s.name)) " +
+            "  RETURNING item_id, name, description, price, is_available, standard_menu_item_id, " +
+            "      COALESCE(name_overridden, FALSE) AS name_overridden, " +
+            "      COALESCE(description_overridden, FALSE) AS description_overridden" +
+            "), history AS (" +
+            "  INSERT INTO menu_item_prices (price_id, menu_item_id, price, effective_from, created_at) " +
+            "  SELECT gen_random_uuid(), item_id, price, :now, :now FROM cloned" +
+            ") SELECT item_id, name, description, price, is_available, standard_menu_item_id, " +
+            "      name_overridden, description_overridden FROM cloned",
+            nativeQuery = true)
+    List<Object[]> cloneMenu(@Param("sourceCafeteriaId") UUID sourceCafeteriaId,
+                             @Param("targetCafeteriaId") UUID targetCafeteriaId,
+                             @Param("priceMultiplier") BigDecimal priceMultiplier,
+                             @Param("onlyAvailable") boolean onlyAvailable,
+                             @Param("namePattern") String namePattern,
+                             @Param("now") LocalDateTime now);
+
+    // Items matched by a bulk reprice (scope filters are ANDed, null = not filtered) with their
+    // new price: price * (1 + percent / 100) + amount, rounded to a multiple of roundTo
+    // (NEAREST, UP or DOWN) and never below zero. Only items whose price changes are returned.
+    String REPRICE_TARGETS = "SELECT m.item_id, m.cafeteria_id, m.name, m.price AS old_price, " +
+            "    ROUND(GREATEST(CASE CAST(:rounding AS VARCHAR) WHEN 'UP' THEN CEIL(r.steps) WHEN 'DOWN' THEN FLOOR(r.steps) ELSE ROUND(r.steps) END " +
+            "        * CAST(:roundTo AS NUMERIC), 0), 2) AS new_price " +
+            "FROM menu_items m JOIN cafeterias c ON c.cafeteria_id = m.cafeteria_id " +
+            "CROSS JOIN LATERAL (SELECT (m.price * (1 + CAST(:percent AS NUMERIC) / 100) + CAST(:amount AS NUMERIC)) " +
+            "    / CAST(:roundTo AS NUMERIC) AS steps) r " +
+            "WHERE (CAST(:cafeteriaId AS UUID) IS NULL OR m.cafeteria_id = CAST(:cafeteriaId AS UUID)) " +
+            "  AND (CAST(:collegeId AS UUID) IS NULL OR c.college_id = CAST(:collegeId AS UUID)) " +
+            "  AND (CAST(:standardMenuItemId AS UUID) IS NULL OR m.standard_menu_item_id = CAST(:standardMenuItemId AS UUID))";
+
+    // Dry run of repriceItems: rows of (item_id, cafeteria_id, name, old_price, new_price)
+    @Query(value = "SELECT item_id, cafeteria_id, name, old_price, new_price FROM (" + REPRICE_TARGETS + ") t " +
+            "WHERE new_price <> old_price ORDER BY cafeteria_id, name",
+            nativeQuery = true)
+    List<Object[]> previewReprice(@Param("cafeteriaId") UUID cafeteriaId,
+                                  @Param("collegeId") UUID collegeId,
+                                  @Param("standardMenuItemId") UUID standardMenuItemId,
+                                  @Param("percent") BigDecimal percent,
+                                  @Param("amount") BigDecimal amount,
+                                  @Param("roundTo") BigDecimal roundTo,
+                                  @Param("rounding") String rounding);
+
+    // Applies a bulk reprice and appends the price history in one statement; returns the same rows
+    // as previewReprice for the items actually changed. Rows whose price changed concurrently
+    // (after the targets were read) are left alone.
+    // Not @Modifying because it returns the changed rows; see cloneMenu.
+    @Transactional(propagation = Propagation.MANDATORY)
+    @Query(value = "WITH targets AS (" + REPRICE_TARGETS + "), " +
+            "updated AS (" +
+            "  UPDATE menu_items m SET price = t.new_price FROM targets t " +
+            "  WHERE m.item_id = t.item_id AND t.new_price <> t.old_price AND m.price = t.old_price " +
+            "  RETURNING m.item_id, m.cafeteria_id, m.name, t.old_price, m.price AS new_price" +
+            "), history AS (" +
+            "  INSERT INTO menu_item_prices (price_id, menu_item_id, price, effective_from, created_at) " +
+            "  SELECT gen_random_uuid(), item_id, new_price, :now, :now FROM updated" +
+            ") SELECT item_id, cafeteria_id, name, old_price, new_price FROM updated ORDER BY cafeteria_id, name",
+            nativeQuery = true)
+    List<Object[]> repriceItems(@Param("cafeteriaId") UUID cafeteriaId,
+                                @Param("collegeId") UUID collegeId,
+                                @Param("standardMenuItemId") UUID standardMenuItemId,
+                                @Param("percent") BigDecimal percent,
+                                @Param("amount") BigDecimal amount,
+                                @Param("roundTo") BigDecimal roundTo,
+                                @Param("rounding") String rounding,
+                                @Param("now") LocalDateTime now);
+
+    // Cafeterias whose menus contain items linked to the standard item
+    @Query("SELECT DISTINCT m.cafeteria.cafeteriaId FROM MenuItem m WHERE m.standardMenuItem.standardMenuItemId = :standardMenuItemId")
+    List<UUID> findCafeteriaIdsByStandardMenuItemId(@Param("standardMenuItemId") UUID standardMenuItemId);
+
+    // Available items of several cafeterias in one query, for the campus catalog
+    @Query("SELECT m FROM MenuItem m WHERE m.cafeteria.cafeteriaId IN :cafeteriaIds AND m.isAvailable = true ORDER BY m.name")
+    List<MenuItem> findAvailableByCafeteriaIds(@Param("cafeteriaIds") Collection<UUID> cafeteriaIds);
 }
@@ -0,0 +1,17 @@
+package com.grababite.backend.repositories;
+
+import com.grababite.backend.models.MenuSection;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface MenuSectionRepository extends JpaRepository<MenuSection, UUID> {
+
+    List<MenuSection> findByCafeteriaIdOrderByStartsAtAsc(UUID cafeteriaId);
+
+    Optional<MenuSection> findByMenuSectionIdAndCafeteriaId(UUID menuSectionId, UUID cafeteriaId);
+}
@@ -0,0 +1,25 @@
+package com.grababite.backend.repositories;
+
+import com.grababite.backend.models.OpeningHoursOverride;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface OpeningHoursOverrideRepository extends JpaRepository<OpeningHoursOverride, UUID> {
+
+    // Past overrides never affect "open now", so loads start from a given date
+    List<OpeningHoursOverride> findByDateGreaterThanEqual(LocalDate from);
+
+    List<OpeningHoursOverride> findByCafeteriaIdAndDateGreaterThanEqualOrderByDateAscOpensAtAsc(UUID cafeteriaId, LocalDate from);
+
+    @Modifying
+    @Query("DELETE FROM OpeningHoursOverride o WHERE o.cafeteriaId = :cafeteriaId")
+    int deleteByCafeteriaId(@Param("cafeteriaId") UUID cafeteriaId);
+}
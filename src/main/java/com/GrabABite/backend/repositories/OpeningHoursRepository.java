@@ -0,0 +1,22 @@
+package com.grababite.backend.repositories;
+
+import com.grababite.backend.models.OpeningHours;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface OpeningHoursRepository extends JpaRepository<OpeningHours, UUID> {
+
+    List<OpeningHours> findByCafeteriaIdOrderByDayOfWeekAscOpensAtAsc(UUID cafeteriaId);
+
+    // Schedules are replaced as a whole
+    @Modifying
+    @Query("DELETE FROM OpeningHours h WHERE h.cafeteriaId = :cafeteriaId")
+    int deleteByCafeteriaId(@Param("cafeteriaId") UUID cafeteriaId);
+}
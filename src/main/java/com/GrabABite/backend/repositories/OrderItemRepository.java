@@ -2,8 +2,13 @@ package com.grababite.backend.repositories;
 
 import com.grababite.backend.models.OrderItem;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.UUID;
 
 // @Repository marks this interface as a Spring Data JPA repository.
@@ -13,4 +18,21 @@ import java.util.UUID;
 public interface OrderItemRepository extends JpaRepository<OrderItem, UUID> {
     // Spring Data JPA automatically provides methods like save(), findById(), findAll(), deleteById().
     // You can add custom query methods here if needed.
+
+    // Order lines recorded before unit prices were stored, in ID order, starting after the given ID
+    @Query(value = "SELECT id FROM order_items WHERE unit_price IS NULL AND id > :after ORDER BY id LIMIT :limit",
+            nativeQuery = true)
+    List<UUID> findUnpricedIdsAfter(@Param("after") UUID after, @Param("limit") int limit);
+
+    // Fills in the unit price of the given order lines: the item's price history as of the
+    // order time, else its current price
+    @Modifying
+    @Query(value = "UPDATE order_items oi SET unit_price = COALESCE(" +
+            "(SELECT p.price FROM menu_item_prices p JOIN orders o ON o.order_id = oi.order_id " +
+            " WHERE p.menu_item_id = oi.menu_item_id AND p.effective_from <= o.created_at " +
+            " ORDER BY p.effective_from DESC LIMIT 1), " +
+            "(SELECT mi.price FROM menu_items mi WHERE mi.item_id = oi.menu_item_id)) " +
+            "WHERE oi.id IN (:ids) AND oi.unit_price IS NULL",
+            nativeQuery = true)
+    int backfillUnitPrices(@Param("ids") Collection<UUID> ids);
 }
@@ -0,0 +1,39 @@
+package com.grababite.backend.repositories;
+
+import com.grababite.backend.models.RefreshSession;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface RefreshSessionRepository extends JpaRepository<RefreshSession, UUID> {
+
+    // SELECT ... FOR UPDATE: serializes rotation and revocation of one session
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM RefreshSession s WHERE s.sessionId = :sessionId")
+    Optional<RefreshSession> findForUpdate(@Param("sessionId") UUID sessionId);
+
+    // Creates the row of a session started before sessions had one, from its refresh tokens;
+    // does nothing if the row exists or the family has no tokens left
+    @Modifying
+    @Query(value = "INSERT INTO refresh_sessions (session_id, user_id, expires_at, revoked_at, created_at) " +
+            "SELECT t.family_id, (ARRAY_AGG(t.user_id))[1], MAX(t.expires_at), MAX(t.revoked_at), :now " +
+            "FROM refresh_tokens t WHERE t.family_id = :sessionId GROUP BY t.family_id " +
+            "ON CONFLICT (session_id) DO NOTHING",
+            nativeQuery = true)
+    int insertFromTokens(@Param("sessionId") UUID sessionId, @Param("now") LocalDateTime now);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM RefreshSession s WHERE s.expiresAt < :cutoff")
+    int deleteExpired(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -0,0 +1,38 @@
+package com.grababite.backend.repositories;
+
+import com.grababite.backend.models.RefreshToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, UUID> {
+
+    Optional<RefreshToken> findByTokenHash(String tokenHash);
+
+    // Claims the token for one rotation; 0 when it was already rotated or revoked (reuse)
+    @Modifying
+    @Query("UPDATE RefreshToken t SET t.rotatedAt = :now WHERE t.tokenId = :tokenId AND t.rotatedAt IS NULL AND t.revokedAt IS NULL")
+    int markRotated(@Param("tokenId") UUID tokenId, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE RefreshToken t SET t.revokedAt = :now WHERE t.familyId = :familyId AND t.revokedAt IS NULL")
+    int revokeFamily(@Param("familyId") UUID familyId, @Param("now") LocalDateTime now);
+
+    // Session (family) IDs the user can still refresh with
+    @Query("SELECT DISTINCT t.familyId FROM RefreshToken t WHERE t.userId = :userId AND t.revokedAt IS NULL AND t.expiresAt > :now")
+    List<UUID> findLiveFamilyIds(@Param("userId") UUID userId, @Param("now") LocalDateTime now);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM RefreshToken t WHERE t.expiresAt < :cutoff")
+    int deleteExpired(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -0,0 +1,38 @@
+package com.grababite.backend.repositories;
+
+import com.grababite.backend.models.ReportJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface ReportJobRepository extends JpaRepository<ReportJob, UUID> {
+
+    // Which of the given jobs have reached one of the statuses (used to pick up jobs finished on other nodes)
+    List<ReportJob> findByJobIdInAndStatusIn(Collection<UUID> jobIds, Collection<String> statuses);
+
+    // Removes finished jobs whose result TTL has passed
+    @Modifying
+    @Transactional
+    @Query("delete from ReportJob j where j.expiresAt < :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+
+    // Marks jobs that never finished (e.g. the node running them was restarted) as failed
+    @Modifying
+    @Transactional
+    @Query("update ReportJob j set j.status = 'FAILED', j.errorMessage = :message, j.completedAt = :now, j.expiresAt = :expiresAt " +
+           "where j.status in :statuses and j.createdAt < :cutoff")
+    int failStaleJobs(@Param("statuses") Collection<String> statuses,
+                      @Param("cutoff") LocalDateTime cutoff,
+                      @Param("message") String message,
+                      @Param("now") LocalDateTime now,
+                      @Param("expiresAt") LocalDateTime expiresAt);
+}
@@ -0,0 +1,42 @@
+package com.grababite.backend.repositories;
+
+import com.grababite.backend.models.ReportSnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface ReportSnapshotRepository extends JpaRepository<ReportSnapshot, UUID> {
+
+    Optional<ReportSnapshot> findByCafeteriaIdAndReportDateAndReportType(UUID cafeteriaId, LocalDate reportDate, String reportType);
+
+    List<ReportSnapshot> findByCafeteriaIdInAndReportDate(List<UUID> cafeteriaIds, LocalDate reportDate);
+
+    // Snapshots whose day changed after they were computed
+    List<ReportSnapshot> findByStaleSinceIsNotNull();
+
+    // Snapshots computed or marked stale after the given time (picked up by other nodes)
+    @Query("select s from ReportSnapshot s where s.computedAt > :since or s.staleSince > :since")
+    List<ReportSnapshot> findChangedSince(@Param("since") LocalDateTime since);
+
+    // Flags a cafeteria's snapshots for a day as outdated by an order change that landed late
+    @Modifying
+    @Transactional
+    @Query("update ReportSnapshot s set s.staleSince = :now where s.cafeteriaId = :cafeteriaId and s.reportDate = :date")
+    int markStale(@Param("cafeteriaId") UUID cafeteriaId, @Param("date") LocalDate date, @Param("now") LocalDateTime now);
+
+    // Removes snapshots older than the retention window
+    @Modifying
+    @Transactional
+    @Query("delete from ReportSnapshot s where s.reportDate < :cutoff")
+    int deleteOlderThan(@Param("cutoff") LocalDate cutoff);
+}
@@ -0,0 +1,217 @@
+package com.grababite.backend.repositories;
+
+import com.grababite.backend.dto.HourlySalesResponse;
+import com.grababite.backend.dto.PopularMenuItemResponse;
+import com.grababite.backend.dto.SalesSummaryResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+// Aggregate report queries executed on the dedicated reporting connection pool.
+// Aggregation happens in the database so long date ranges never materialize
+// Order/OrderItem entities in the application.
+@Repository
+public class ReportingJdbcRepository {
+
+    // Revenue uses the unit price recorded on each order line; the current menu price is only a
+    // fallback for lines from before unit prices were stored that the startup backfill has not reached
+    private static final String POPULAR_MENU_ITEMS_SQL =
+            "SELECT oi.menu_item_id, mi.name, SUM(oi.quantity) AS total_quantity, " +
+            "       SUM(COALESCE(oi.unit_price, mi.price) * oi.quantity) AS total_revenue, c.name AS cafeteria_name " +
+            "FROM order_items oi " +
+            "JOIN orders o ON o.order_id = oi.order_id " +
+            "JOIN menu_items mi ON mi.item_id = oi.menu_item_id " +
+            "JOIN cafeterias c ON c.cafeteria_id = o.cafeteria_id " +
+            "WHERE o.cafeteria_id = ? AND o.created_at >= ? AND o.created_at < ? AND UPPER(o.status) = 'COMPLETED' " +
+            "GROUP BY oi.menu_item_id, mi.name, c.name " +
+            "ORDER BY total_quantity DESC " +
+            "LIMIT ?";
+
+    private static final String DAILY_SALES_SQL =
+            "SELECT CAST(o.created_at AS DATE) AS sales_date, COUNT(*) AS total_orders, " +
+            "       SUM(o.total_amount) AS total_sales, " +
+            "       SUM((SELECT COALESCE(SUM(oi.quantity), 0) FROM order_items oi WHERE oi.order_id = o.order_id)) AS total_items " +
+            "FROM orders o " +
+            "WHERE o.cafeteria_id = ? AND o.created_at >= ? AND o.created_at < ? AND UPPER(o.status) = 'COMPLETED' " +
+            "GROUP BY CAST(o.created_at AS DATE) " +
+            "ORDER BY sales_date";
+
+    private static final String HOURLY_SALES_SQL =
+            "SELECT CAST(EXTRACT(HOUR FROM o.created_at) AS INTEGER) AS hour_of_day, COUNT(*) AS total_orders, " +
+            "       SUM(o.total_amount) AS total_sales " +
+            "FROM orders o " +
+            "WHERE o.cafeteria_id = ? AND o.created_at >= ? AND o.created_at < ? AND UPPER(o.status) = 'COMPLETED' " +
+            "GROUP BY CAST(EXTRACT(HOUR FROM o.created_at) AS INTEGER)";
+
+    // Quantity sold per cafeteria, item, day and hour; ordered by day so consumers can fold it in time order
+    private static final String ITEM_DEMAND_SQL =
+            "SELECT o.cafeteria_id, oi.menu_item_id, CAST(o.created_at AS DATE) AS sales_date, " +
+            "       CAST(EXTRACT(HOUR FROM o.created_at) AS INTEGER) AS hour_of_day, SUM(oi.quantity) AS quantity " +
+            "FROM order_items oi " +
+            "JOIN orders o ON o.order_id = oi.order_id " +
+            "WHERE o.created_at >= ? AND o.created_at < ? AND UPPER(o.status) = 'COMPLETED' " +
+            "GROUP BY o.cafeteria_id, oi.menu_item_id, CAST(o.created_at AS DATE), CAST(EXTRACT(HOUR FROM o.created_at) AS INTEGER) " +
+            "ORDER BY sales_date";
+
+    private static final String CAFETERIA_NAME_SQL =
+            "SELECT name FROM cafeterias WHERE cafeteria_id = ?";
+
+    private static final String ALL_CAFETERIA_NAMES_SQL =
+            "SELECT cafeteria_id, name FROM cafeterias";
+
+    private static final String ALL_MENU_ITEM_NAMES_SQL =
+            "SELECT item_id, name FROM menu_items";
+
+    private static final String MENU_ITEM_SALES_SQL =
+            "SELECT oi.menu_item_id, SUM(oi.quantity) AS quantity " +
+            "FROM order_items oi " +
+            "JOIN orders o ON o.order_id = oi.order_id " +
+            "WHERE UPPER(o.status) = 'COMPLETED' " +
+            "GROUP BY oi.menu_item_id";
+
+    // One row per order line, grouped by order; orders without lines yield a single row with null item columns
+    private static final String COMPLETED_ORDER_LINES_SQL =
+            "SELECT o.order_id, o.created_at, o.cafeteria_id, o.total_amount, " +
+            "       oi.menu_item_id, oi.quantity, COALESCE(oi.unit_price, mi.price) AS unit_price " +
+            "FROM orders o " +
+            "LEFT JOIN order_items oi ON oi.order_id = o.order_id " +
+            "LEFT JOIN menu_items mi ON mi.item_id = oi.menu_item_id AND oi.unit_price IS NULL " +
+            "WHERE UPPER(o.status) = 'COMPLETED' " +
+            "ORDER BY o.order_id";
+
+    @Autowired
+    @Qualifier("reportingJdbcTemplate")
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Aggregates completed order lines per menu item for a cafeteria over an inclusive date range.
+     * @param cafeteriaId The ID of the cafeteria.
+     * @param startDate The first day of the range.
+     * @param endDate The last day of the range (inclusive).
+     * @param limit The maximum number of items to return.
+     * @return Menu items sorted by quantity sold, highest first.
+     */
+    public List<PopularMenuItemResponse> findPopularMenuItems(UUID cafeteriaId, LocalDate startDate, LocalDate endDate, int limit) {
+        return jdbcTemplate.query(POPULAR_MENU_ITEMS_SQL,
+                (rs, rowNum) -> new PopularMenuItemResponse(
+                        rs.getObject("menu_item_id", UUID.class),
+                        rs.getString("name"),
+                        rs.getLong("total_quantity"),
+                        rs.getBigDecimal("total_revenue"),
+                        cafeteriaId,
+                        rs.getString("cafeteria_name")),
+                cafeteriaId, startOf(startDate), startOf(endDate.plusDays(1)), limit);
+    }
+
+    /**
+     * Aggregates completed orders per day for a cafeteria over an inclusive date range.
+     * Days without completed orders are omitted.
+     * @param cafeteriaId The ID of the cafeteria.
+     * @param startDate The first day of the range.
+     * @param endDate The last day of the range (inclusive).
+     * @return One SalesSummaryResponse per day with sales, ordered by date.
+     */
+    public List<SalesSummaryResponse> findDailySales(UUID cafeteriaId, LocalDate startDate, LocalDate endDate) {
+        String cafeteriaName = findCafeteriaName(cafeteriaId);
+        return jdbcTemplate.query(DAILY_SALES_SQL,
+                (rs, rowNum) -> new SalesSummaryResponse(
+                        cafeteriaId,
+                        cafeteriaName,
+                        rs.getObject("sales_date", LocalDate.class),
+                        nullToZero(rs.getBigDecimal("total_sales")),
+                        rs.getLong("total_orders"),
+                        rs.getLong("total_items")),
+                cafeteriaId, startOf(startDate), startOf(endDate.plusDays(1)));
+    }
+
+    /**
+     * Aggregates completed orders of a cafeteria per hour of a single day.
+     * @param cafeteriaId The ID of the cafeteria.
+     * @param date The day to aggregate.
+     * @return 24 entries, one per hour (0-23), with zero totals for hours without sales.
+     */
+    public List<HourlySalesResponse> findHourlySales(UUID cafeteriaId, LocalDate date) {
+        List<HourlySalesResponse> hours = new ArrayList<>(24);
+        for (int hour = 0; hour < 24; hour++) {
+            hours.add(new HourlySalesResponse(cafeteriaId, date, hour, 0L, BigDecimal.ZERO));
+        }
+        jdbcTemplate.query(HOURLY_SALES_SQL,
+                (RowCallbackHandler) rs -> {
+                    HourlySalesResponse hour = hours.get(rs.getInt("hour_of_day"));
+                    hour.setTotalOrders(rs.getLong("total_orders"));
+                    hour.setTotalSalesAmount(nullToZero(rs.getBigDecimal("total_sales")));
+                },
+                cafeteriaId, startOf(date), startOf(date.plusDays(1)));
+        return hours;
+    }
+
+    /**
+     * Streams every completed order line, ordered by order, without materializing the result set.
+     * @param handler Callback invoked once per row.
+     */
+    public void streamCompletedOrderLines(RowCallbackHandler handler) {
+        stream(COMPLETED_ORDER_LINES_SQL, handler);
+    }
+
+    /**
+     * Streams completed quantities per cafeteria, menu item, day and hour over an inclusive
+     * date range, ordered by day.
+     * @param startDate The first day of the range.
+     * @param endDate The last day of the range (inclusive).
+     * @param handler Callback invoked once per row (columns: cafeteria_id, menu_item_id,
+     *                sales_date, hour_of_day, quantity).
+     */
+    public void streamItemDemand(LocalDate startDate, LocalDate endDate, RowCallbackHandler handler) {
+        stream(ITEM_DEMAND_SQL, handler, startOf(startDate), startOf(endDate.plusDays(1)));
+    }
+
+    /**
+     * Streams the ID and name of every cafeteria.
+     * @param handler Callback invoked once per row (columns: cafeteria_id, name).
+     */
+    public void streamCafeteriaNames(RowCallbackHandler handler) {
+        jdbcTemplate.query(ALL_CAFETERIA_NAMES_SQL, handler);
+    }
+
+    /**
+     * Streams the ID and name of every menu item.
+     * @param handler Callback invoked once per row (columns: item_id, name).
+     */
+    public void streamMenuItemNames(RowCallbackHandler handler) {
+        stream(ALL_MENU_ITEM_NAMES_SQL, handler);
+    }
+
+    /**
+     * Streams the total quantity sold per menu item over all completed orders.
+     * @param handler Callback invoked once per row (columns: menu_item_id, quantity).
+     */
+    public void streamMenuItemSales(RowCallbackHandler handler) {
+        stream(MENU_ITEM_SALES_SQL, handler);
+    }
+
+    private void stream(String sql, RowCallbackHandler handler, Object... args) {
+        JdbcStreams.stream(jdbcTemplate, sql, handler, args);
+    }
+
+    private String findCafeteriaName(UUID cafeteriaId) {
+        List<String> names = jdbcTemplate.queryForList(CAFETERIA_NAME_SQL, String.class, cafeteriaId);
+        return names.isEmpty() ? "Unknown Cafeteria" : names.get(0);
+    }
+
+    private static Timestamp startOf(LocalDate date) {
+        return Timestamp.valueOf(date.atStartOfDay());
+    }
+
+    private static BigDecimal nullToZero(BigDecimal value) {
+        return value != null ? value : BigDecimal.ZERO;
+    }
+}
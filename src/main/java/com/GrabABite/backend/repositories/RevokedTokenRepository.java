@@ -0,0 +1,35 @@
+package com.grababite.backend.repositories;
+
+import com.grababite.backend.models.RevokedToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface RevokedTokenRepository extends JpaRepository<RevokedToken, UUID> {
+
+    List<RevokedToken> findByCreatedAtAfter(LocalDateTime since);
+
+    List<RevokedToken> findByExpiresAtAfter(LocalDateTime now);
+
+    // Inserts the row, or re-stamps an existing one so other nodes' polls pick it up again
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT INTO revoked_tokens (token_id, expires_at, created_at) VALUES (:id, :expiresAt, :now) " +
+            "ON CONFLICT (token_id) DO UPDATE SET created_at = EXCLUDED.created_at, " +
+            "expires_at = GREATEST(revoked_tokens.expires_at, EXCLUDED.expires_at)",
+            nativeQuery = true)
+    int publish(@Param("id") UUID id, @Param("expiresAt") LocalDateTime expiresAt, @Param("now") LocalDateTime now);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM RevokedToken t WHERE t.expiresAt < :cutoff")
+    int deleteExpired(@Param("cutoff") LocalDateTime cutoff);
+}
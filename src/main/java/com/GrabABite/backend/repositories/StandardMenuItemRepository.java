@@ -2,8 +2,12 @@ package com.grababite.backend.repositories;
 
 import com.grababite.backend.models.StandardMenuItem;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -11,4 +15,13 @@ import java.util.UUID;
 public interface StandardMenuItemRepository extends JpaRepository<StandardMenuItem, UUID> {
     // Custom query to find a standard menu item by its name
     Optional<StandardMenuItem> findByName(String name);
+
+    // Resolves the standard items referenced by a chunk of imported rows, by ID or by (case-insensitive) name, in one query
+    @Query("SELECT s FROM StandardMenuItem s WHERE s.standardMenuItemId IN :ids OR LOWER(s.name) IN :lowerNames")
+    List<StandardMenuItem> findByIdInOrLowerNameIn(@Param("ids") Collection<UUID> ids,
+                                                   @Param("lowerNames") Collection<String> lowerNames);
+
+    // Which of the given (lower-cased) names already exist, for duplicate checks during bulk import
+    @Query("SELECT LOWER(s.name) FROM StandardMenuItem s WHERE LOWER(s.name) IN :lowerNames")
+    List<String> findExistingLowerNames(@Param("lowerNames") Collection<String> lowerNames);
 }
@@ -1,5 +1,6 @@
 package com.grababite.backend.repositories;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -18,4 +19,15 @@ public interface UserRepository extends JpaRepository<User, UUID> {
     // ✅ Check if any user has a given role (e.g., "ADMIN")
     @Query("select (count(u) > 0) from User u join u.roles r where r = :role")
     boolean existsByRole(@Param("role") String role);
+
+    // Login/identity projection in one round trip: one row per role with
+    // (id, email, password, role, cafeteriaId, collegeId); see AuthAccount.fromRows
+    String AUTH_ROWS = "select u.id, u.email, u.password, r, c.cafeteriaId, col.collegeId from User u "
+            + "left join u.roles r left join u.cafeteria c left join u.college col ";
+
+    @Query(AUTH_ROWS + "where u.email = :email")
+    List<Object[]> findAuthRowsByEmail(@Param("email") String email);
+
+    @Query(AUTH_ROWS + "where u.id = :id")
+    List<Object[]> findAuthRowsById(@Param("id") UUID id);
 }
@@ -0,0 +1,419 @@
+package com.grababite.backend.search;
+
+import java.math.BigDecimal;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Inverted index over the names and descriptions of one kind of catalog entry.
+ *
+ * Documents get dense int ids so postings are plain int arrays. Each query token is matched
+ * against the vocabulary three ways, and a document keeps the best match per query token:
+ * - exact token (weight 3)
+ * - prefix completion, for the last query token only, since it is usually still being typed (weight 2)
+ * - typo: candidates sharing trigrams, confirmed by bounded edit distance (weight 1 per edit allowed)
+ * Matches in the description count half. Every query token must match. Within a relevance
+ * tier, more popular documents rank first: popularity adds at most 1 point, on a log scale
+ * relative to the most popular document.
+ *
+ * Not thread-safe; guarded by {@link CatalogSearchIndex}.
+ */
+final class CatalogIndex {
+
+    private static final byte FIELD_NAME = 1;
+    private static final byte FIELD_DESCRIPTION = 2;
+
+    private static final float EXACT_WEIGHT = 3f;
+    private static final float PREFIX_WEIGHT = 2f;
+    private static final float FUZZY_WEIGHT = 1f;
+    private static final float DESCRIPTION_FACTOR = 0.5f;
+    private static final float POPULARITY_WEIGHT = 0.9f;
+
+    private static final int MAX_PREFIX_EXPANSIONS = 64;
+    private static final int MIN_FUZZY_LENGTH = 3;
+    private static final int MAX_POOLED_SCRATCH = 4;
+
+    private static final Comparator<Hit> WORST_FIRST = Comparator.comparingDouble((Hit hit) -> hit.score)
+            .thenComparing((Hit hit) -> hit.doc.name, Comparator.reverseOrder());
+
+    private final List<Doc> docs = new ArrayList<>();
+    private final ArrayDeque<Integer> freeSlots = new ArrayDeque<>();
+    private final Map<UUID, Integer> slotsById = new HashMap<>();
+    private final Map<String, Postings> postings = new HashMap<>();
+    private final Map<String, Set<String>> tokensByTrigram = new HashMap<>();
+    private final TokenTrie trie = new TokenTrie();
+    // Score buffers indexed by document slot, so scoring a query allocates nothing per posting. Only a few
+    // are kept between searches, and they go away with the index when it is rebuilt.
+    private final ArrayBlockingQueue<Scratch> scratchPool = new ArrayBlockingQueue<>(MAX_POOLED_SCRATCH);
+    private long maxPopularity = 0;
+
+    Doc get(UUID id) {
+        Integer slot = slotsById.get(id);
+        return slot != null ? docs.get(slot) : null;
+    }
+
+    int size() {
+        return slotsById.size();
+    }
+
+    /** Adds the document, replacing any previous version with the same id. */
+    void put(Doc doc) {
+        remove(doc.id);
+        int slot;
+        if (freeSlots.isEmpty()) {
+            slot = docs.size();
+            docs.add(doc);
+        } else {
+            slot = freeSlots.poll();
+            docs.set(slot, doc);
+        }
+        slotsById.put(doc.id, slot);
+
+        Map<String, Byte> fields = new HashMap<>();
+        for (String token : SearchText.tokenize(doc.name)) {
+            fields.merge(token, FIELD_NAME, (a, b) -> (byte) (a | b));
+        }
+        for (String token : SearchText.tokenize(doc.description)) {
+            fields.merge(token, FIELD_DESCRIPTION, (a, b) -> (byte) (a | b));
+        }
+        doc.tokens = new String[fields.size()];
+        doc.positions = new int[fields.size()];
+        int tokenIndex = 0;
+        for (Map.Entry<String, Byte> field : fields.entrySet()) {
+            Postings tokenPostings = postings.get(field.getKey());
+            if (tokenPostings == null) {
+                tokenPostings = new Postings();
+                postings.put(field.getKey(), tokenPostings);
+                addToVocabulary(field.getKey());
+            }
+            doc.tokens[tokenIndex] = field.getKey();
+            doc.positions[tokenIndex] = tokenPostings.add(slot, field.getValue(), tokenIndex);
+            tokenIndex++;
+        }
+        doc.logPopularity = Math.log1p(doc.popularity);
+        maxPopularity = Math.max(maxPopularity, doc.popularity);
+    }
+
+    /** @return The removed document, or null if it was not indexed. */
+    Doc remove(UUID id) {
+        Integer slot = slotsById.remove(id);
+        if (slot == null) {
+            return null;
+        }
+        Doc doc = docs.get(slot);
+        for (int i = 0; i < doc.tokens.length; i++) {
+            Postings tokenPostings = postings.get(doc.tokens[i]);
+            int position = doc.positions[i];
+            tokenPostings.removeAt(position);
+            if (position < tokenPostings.size) {
+                // The last entry moved into the freed position; tell its document where it went
+                docs.get(tokenPostings.docs[position]).positions[tokenPostings.tokenIndexes[position]] = position;
+            } else if (tokenPostings.size == 0) {
+                postings.remove(doc.tokens[i]);
+                removeFromVocabulary(doc.tokens[i]);
+            }
+        }
+        docs.set(slot, null);
+        freeSlots.add(slot);
+        return doc;
+    }
+
+    void addPopularity(Doc doc, long delta) {
+        doc.popularity += delta;
+        doc.logPopularity = Math.log1p(doc.popularity);
+        maxPopularity = Math.max(maxPopularity, doc.popularity);
+    }
+
+    void forEach(Consumer<Doc> action) {
+        for (Doc doc : docs) {
+            if (doc != null) {
+                action.accept(doc);
+            }
+        }
+    }
+
+    /**
+     * @param queryTokens Tokenized query; the last token is also matched as a prefix.
+     * @param filter Restricts which documents may be returned.
+     * @param limit The maximum number of hits.
+     * @return Matching documents, best first.
+     */
+    List<Hit> search(List<String> queryTokens, Predicate<Doc> filter, int limit) {
+        if (queryTokens.isEmpty()) {
+            return List.of();
+        }
+        Scratch scratch = scratchPool.poll();
+        if (scratch == null) {
+            scratch = new Scratch();
+        }
+        scratch.ensureCapacity(docs.size());
+        int candidateCount = 0;
+        try {
+            for (int i = 0; i < queryTokens.size(); i++) {
+                scoreToken(queryTokens.get(i), i == queryTokens.size() - 1, scratch);
+                if (i == 0) {
+                    // Only documents matching the first token can match them all
+                    for (int k = 0; k < scratch.touchedCount; k++) {
+                        int doc = scratch.touched[k];
+                        scratch.total[doc] = scratch.best[doc];
+                        scratch.matched[doc] = 1;
+                    }
+                    scratch.keepTouchedAsCandidates();
+                    candidateCount = scratch.candidateCount;
+                } else {
+                    for (int k = 0; k < scratch.touchedCount; k++) {
+                        int doc = scratch.touched[k];
+                        if (scratch.matched[doc] == i) {
+                            scratch.total[doc] += scratch.best[doc];
+                            scratch.matched[doc]++;
+                        }
+                    }
+                }
+                scratch.clearTouched();
+            }
+
+            double popularityScale = maxPopularity > 0 ? POPULARITY_WEIGHT / Math.log1p(maxPopularity) : 0;
+            PriorityQueue<Hit> top = new PriorityQueue<>(limit + 1, WORST_FIRST);
+            for (int k = 0; k < candidateCount; k++) {
+                int slot = scratch.candidates[k];
+                if (scratch.matched[slot] != queryTokens.size()) {
+                    continue;
+                }
+                Doc doc = docs.get(slot);
+                double score = scratch.total[slot] + doc.logPopularity * popularityScale;
+                if (top.size() == limit && score < top.peek().score) {
+                    continue;
+                }
+                if (!filter.test(doc)) {
+                    continue;
+                }
+                top.add(new Hit(doc, score));
+                if (top.size() > limit) {
+                    top.poll();
+                }
+            }
+            List<Hit> hits = new ArrayList<>(top);
+            hits.sort(WORST_FIRST.reversed());
+            return hits;
+        } finally {
+            scratch.clearTouched();
+            scratch.clearCandidates();
+            scratchPool.offer(scratch);
+        }
+    }
+
+    // Records the best weight per document for a single query token in scratch.best.
+    private void scoreToken(String token, boolean prefix, Scratch scratch) {
+        collect(token, EXACT_WEIGHT, scratch);
+        if (prefix) {
+            for (String completion : trie.withPrefix(token, MAX_PREFIX_EXPANSIONS)) {
+                if (!completion.equals(token)) {
+                    collect(completion, PREFIX_WEIGHT, scratch);
+                }
+            }
+        }
+        if (token.length() >= MIN_FUZZY_LENGTH) {
+            int maxEdits = token.length() <= 4 ? 1 : 2;
+            List<String> trigrams = SearchText.trigrams(token);
+            // Each edit destroys at most three trigrams
+            int minShared = Math.max(1, trigrams.size() - 3 * maxEdits);
+            Map<String, Integer> shared = new HashMap<>();
+            for (String trigram : trigrams) {
+                Set<String> candidates = tokensByTrigram.get(trigram);
+                if (candidates != null) {
+                    for (String candidate : candidates) {
+                        shared.merge(candidate, 1, Integer::sum);
+                    }
+                }
+            }
+            for (Map.Entry<String, Integer> candidate : shared.entrySet()) {
+                if (candidate.getValue() < minShared || candidate.getKey().equals(token)) {
+                    continue;
+                }
+                int edits = SearchText.boundedEditDistance(token, candidate.getKey(), maxEdits);
+                if (edits <= maxEdits) {
+                    collect(candidate.getKey(), FUZZY_WEIGHT / edits, scratch);
+                }
+            }
+        }
+    }
+
+    private void collect(String token, float weight, Scratch scratch) {
+        Postings tokenPostings = postings.get(token);
+        if (tokenPostings == null) {
+            return;
+        }
+        for (int i = 0; i < tokenPostings.size; i++) {
+            float score = (tokenPostings.fields[i] & FIELD_NAME) != 0 ? weight : weight * DESCRIPTION_FACTOR;
+            scratch.offer(tokenPostings.docs[i], score);
+        }
+    }
+
+    private void addToVocabulary(String token) {
+        trie.add(token);
+        for (String trigram : SearchText.trigrams(token)) {
+            tokensByTrigram.computeIfAbsent(trigram, key -> new HashSet<>()).add(token);
+        }
+    }
+
+    private void removeFromVocabulary(String token) {
+        trie.remove(token);
+        for (String trigram : SearchText.trigrams(token)) {
+            Set<String> tokens = tokensByTrigram.get(trigram);
+            if (tokens != null) {
+                tokens.remove(token);
+                if (tokens.isEmpty()) {
+                    tokensByTrigram.remove(trigram);
+                }
+            }
+        }
+    }
+
+    // An indexed catalog entry. Menu items carry their cafeteria and standard item; standard items leave them null.
+    static final class Doc {
+        final UUID id;
+        final String name;
+        final String description;
+        final UUID cafeteriaId;
+        final UUID standardMenuItemId;
+        // Not indexed, so updated in place under the index lock
+        BigDecimal price;
+        Boolean isAvailable;
+        // Menu item fields customized by the cafeteria, which standard item edits leave alone
+        final boolean nameOverridden;
+        final boolean descriptionOverridden;
+        long popularity;
+        private double logPopularity;
+        private String[] tokens;
+        // Where this document sits in the postings of each of its tokens
+        private int[] positions;
+
+        Doc(UUID id, String name, String description, UUID cafeteriaId, UUID standardMenuItemId,
+            BigDecimal price, Boolean isAvailable, boolean nameOverridden, boolean descriptionOverridden) {
+            this.id = id;
+            this.name = name != null ? name : "";
+            this.description = description;
+            this.cafeteriaId = cafeteriaId;
+            this.standardMenuItemId = standardMenuItemId;
+            this.price = price;
+            this.isAvailable = isAvailable;
+            this.nameOverridden = nameOverridden;
+            this.descriptionOverridden = descriptionOverridden;
+        }
+
+        // Documents are owned by one index; changes replayed onto a rebuilt index need their own copy.
+        Doc copy() {
+            return new Doc(id, name, description, cafeteriaId, standardMenuItemId, price, isAvailable,
+                    nameOverridden, descriptionOverridden);
+        }
+
+        // A copy carrying the linked standard item's new details wherever they are not overridden.
+        Doc withStandardDetails(String standardName, String standardDescription) {
+            return new Doc(id, nameOverridden ? name : standardName,
+                    descriptionOverridden ? description : standardDescription,
+                    cafeteriaId, standardMenuItemId, price, isAvailable, nameOverridden, descriptionOverridden);
+        }
+    }
+
+    static final class Hit {
+        final Doc doc;
+        final double score;
+
+        Hit(Doc doc, double score) {
+            this.doc = doc;
+            this.score = score;
+        }
+    }
+
+    // Dense per-slot buffers; every entry written during a search is reset before it returns.
+    private static final class Scratch {
+        private float[] best = new float[0];
+        private float[] total = new float[0];
+        private byte[] matched = new byte[0];
+        private int[] touched = new int[0];
+        private int touchedCount;
+        private int[] candidates = new int[0];
+        private int candidateCount;
+
+        void ensureCapacity(int slots) {
+            if (best.length < slots) {
+                int capacity = Math.max(slots, best.length * 2);
+                best = new float[capacity];
+                total = new float[capacity];
+                matched = new byte[capacity];
+                touched = new int[capacity];
+                candidates = new int[capacity];
+            }
+        }
+
+        void offer(int doc, float score) {
+            if (best[doc] == 0f) {
+                touched[touchedCount++] = doc;
+                best[doc] = score;
+            } else if (score > best[doc]) {
+                best[doc] = score;
+            }
+        }
+
+        void keepTouchedAsCandidates() {
+            System.arraycopy(touched, 0, candidates, 0, touchedCount);
+            candidateCount = touchedCount;
+        }
+
+        void clearTouched() {
+            for (int k = 0; k < touchedCount; k++) {
+                best[touched[k]] = 0f;
+            }
+            touchedCount = 0;
+        }
+
+        void clearCandidates() {
+            for (int k = 0; k < candidateCount; k++) {
+                total[candidates[k]] = 0f;
+                matched[candidates[k]] = 0;
+            }
+            candidateCount = 0;
+        }
+    }
+
+    // Documents containing one token, with the fields it occurs in and the token's index in each
+    // document's token list. Unordered; removal swaps in the last entry.
+    private static final class Postings {
+        private int[] docs = new int[4];
+        private byte[] fields = new byte[4];
+        private int[] tokenIndexes = new int[4];
+        private int size;
+
+        /** @return The position of the new entry. */
+        int add(int doc, byte field, int tokenIndex) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+                fields = Arrays.copyOf(fields, size * 2);
+                tokenIndexes = Arrays.copyOf(tokenIndexes, size * 2);
+            }
+            docs[size] = doc;
+            fields[size] = field;
+            tokenIndexes[size] = tokenIndex;
+            return size++;
+        }
+
+        void removeAt(int position) {
+            size--;
+            docs[position] = docs[size];
+            fields[position] = fields[size];
+            tokenIndexes[position] = tokenIndexes[size];
+        }
+    }
+}
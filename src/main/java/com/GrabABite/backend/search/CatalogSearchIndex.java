@@ -0,0 +1,385 @@
+package com.grababite.backend.search;
+
+import com.grababite.backend.dto.SearchResultResponse;
+import com.grababite.backend.events.AfterCommit;
+import com.grababite.backend.events.OrderCompletedEvent;
+import com.grababite.backend.models.Cafeteria;
+import com.grababite.backend.models.MenuItem;
+import com.grababite.backend.models.StandardMenuItem;
+import com.grababite.backend.repositories.CatalogJdbcRepository;
+import com.grababite.backend.repositories.ReportingJdbcRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Typo-tolerant, in-memory search over menu items and standard menu items.
+ *
+ * The catalog is loaded from the primary database at startup and kept current by the catalog
+ * services, which register each change to be applied once their transaction commits.
+ * Popularity (units sold) is aggregated on the reporting pool, where replica lag only costs a
+ * few recent sales, and bumped as orders complete; a standard item's popularity is the sum
+ * over the menu items linked to it.
+ *
+ * The index is local to this node, so it is rebuilt on grababite.search.rebuild-cron to pick
+ * up edits made on other nodes. Changes arriving during a rebuild are replayed onto the new
+ * index; a sale replayed that way may be counted twice, which only nudges ranking.
+ */
+@Component
+public class CatalogSearchIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(CatalogSearchIndex.class);
+
+    public static final int MAX_RESULTS = 50;
+    private static final int MAX_QUERY_TOKENS = 8;
+
+    @Autowired
+    private CatalogJdbcRepository catalogJdbcRepository;
+
+    @Autowired
+    private ReportingJdbcRepository reportingJdbcRepository;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Guarded by lock
+    private State state = new State();
+    private List<Consumer<State>> pendingChanges;
+
+    private volatile boolean ready = false;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        rebuild();
+    }
+
+    @Scheduled(cron = "${grababite.search.rebuild-cron:0 */15 * * * *}")
+    public void scheduledRebuild() {
+        if (ready) {
+            rebuild();
+        }
+    }
+
+    /**
+     * Reloads the whole catalog from the database and swaps the result in.
+     * Changes made while the reload is running are applied to both the old and the new index.
+     */
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            if (pendingChanges != null) {
+                return; // Already rebuilding
+            }
+            pendingChanges = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        long start = System.currentTimeMillis();
+        State loaded = new State();
+        try {
+            catalogJdbcRepository.streamCafeteriaColleges(rs -> loaded.collegeByCafeteria.put(
+                    rs.getObject("cafeteria_id", UUID.class), rs.getObject("college_id", UUID.class)));
+            reportingJdbcRepository.streamMenuItemSales(rs -> loaded.menuItemSales.put(
+                    rs.getObject("menu_item_id", UUID.class), rs.getLong("quantity")));
+            catalogJdbcRepository.streamStandardMenuItemsForSearch(rs -> putStandardMenuItem(loaded, new CatalogIndex.Doc(
+                    rs.getObject("standard_menu_item_id", UUID.class), rs.getString("name"), rs.getString("description"),
+                    null, null, null, null, false, false)));
+            catalogJdbcRepository.streamMenuItemsForSearch(rs -> putMenuItem(loaded, new CatalogIndex.Doc(
+                    rs.getObject("item_id", UUID.class), rs.getString("name"), rs.getString("description"),
+                    rs.getObject("cafeteria_id", UUID.class), rs.getObject("standard_menu_item_id", UUID.class),
+                    rs.getBigDecimal("price"), (Boolean) rs.getObject("is_available"),
+                    rs.getBoolean("name_overridden"), rs.getBoolean("description_overridden"))));
+        } catch (RuntimeException e) {
+            logger.error("Failed to build catalog search index", e);
+            lock.writeLock().lock();
+            try {
+                pendingChanges = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            pendingChanges.forEach(change -> change.accept(loaded));
+            state = loaded;
+            pendingChanges = null;
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        logger.info("Catalog search index loaded {} menu items / {} standard items in {} ms",
+                loaded.menuItems.size(), loaded.standardItems.size(), System.currentTimeMillis() - start);
+    }
+
+    /** @return true once the initial load has finished. */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Searches menu item names and descriptions.
+     * @param query Free text; the last word may be incomplete and words may contain typos.
+     * @param cafeteriaId Optional: only items of this cafeteria.
+     * @param collegeId Optional: only items of cafeterias belonging to this college.
+     * @param limit The maximum number of results (capped at MAX_RESULTS).
+     * @return Matching menu items, best first.
+     * @throws IllegalArgumentException if the query has no searchable characters or the limit is not positive.
+     * @throws IllegalStateException if the index has not finished loading.
+     */
+    public List<SearchResultResponse> searchMenuItems(String query, UUID cafeteriaId, UUID collegeId, int limit) {
+        List<String> tokens = queryTokens(query, limit);
+        lock.readLock().lock();
+        try {
+            State current = state;
+            Predicate<CatalogIndex.Doc> inScope = doc ->
+                    (cafeteriaId == null || cafeteriaId.equals(doc.cafeteriaId))
+                            && (collegeId == null || collegeId.equals(current.collegeByCafeteria.get(doc.cafeteriaId)));
+            return toResponses(current.menuItems.search(tokens, inScope, Math.min(limit, MAX_RESULTS)));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Searches standard menu item names and descriptions.
+     * @param query Free text; the last word may be incomplete and words may contain typos.
+     * @param limit The maximum number of results (capped at MAX_RESULTS).
+     * @return Matching standard menu items, best first.
+     * @throws IllegalArgumentException if the query has no searchable characters or the limit is not positive.
+     * @throws IllegalStateException if the index has not finished loading.
+     */
+    public List<SearchResultResponse> searchStandardMenuItems(String query, int limit) {
+        List<String> tokens = queryTokens(query, limit);
+        lock.readLock().lock();
+        try {
+            return toResponses(state.standardItems.search(tokens, doc -> true, Math.min(limit, MAX_RESULTS)));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Indexes (or re-indexes) the menu item once the current transaction commits. */
+    public void indexMenuItemAfterCommit(MenuItem item) {
+        indexMenuItemAfterCommit(item.getMenuItemId(), item.getName(), item.getDescription(),
+                item.getCafeteria() != null ? item.getCafeteria().getCafeteriaId() : null,
+                item.getStandardMenuItem() != null ? item.getStandardMenuItem().getStandardMenuItemId() : null,
+                item.getPrice(), item.getIsAvailable(),
+                Boolean.TRUE.equals(item.getNameOverridden()), Boolean.TRUE.equals(item.getDescriptionOverridden()));
+    }
+
+    /**
+     * Indexes (or re-indexes) a menu item from its column values, for rows written in SQL,
+     * once the current transaction commits.
+     */
+    public void indexMenuItemAfterCommit(UUID menuItemId, String name, String description, UUID cafeteriaId,
+                                         UUID standardMenuItemId, BigDecimal price, Boolean isAvailable,
+                                         boolean nameOverridden, boolean descriptionOverridden) {
+        CatalogIndex.Doc doc = new CatalogIndex.Doc(menuItemId, name, description, cafeteriaId, standardMenuItemId,
+                price, isAvailable, nameOverridden, descriptionOverridden);
+        AfterCommit.run(() -> change(current -> putMenuItem(current, doc.copy())));
+    }
+
+    /** Updates the availability shown in search results once the current transaction commits. */
+    public void updateAvailabilityAfterCommit(Collection<UUID> menuItemIds, Boolean isAvailable) {
+        List<UUID> ids = List.copyOf(menuItemIds);
+        AfterCommit.run(() -> change(current -> {
+            for (UUID id : ids) {
+                CatalogIndex.Doc doc = current.menuItems.get(id);
+                if (doc != null) {
+                    doc.isAvailable = isAvailable;
+                }
+            }
+        }));
+    }
+
+    /** Updates the price shown in search results once the current transaction commits. */
+    public void updatePriceAfterCommit(UUID menuItemId, BigDecimal price) {
+        AfterCommit.run(() -> change(current -> {
+            CatalogIndex.Doc doc = current.menuItems.get(menuItemId);
+            if (doc != null) {
+                doc.price = price;
+            }
+        }));
+    }
+
+    /** Updates the prices shown in search results for many items once the current transaction commits. */
+    public void updatePricesAfterCommit(Map<UUID, BigDecimal> prices) {
+        Map<UUID, BigDecimal> copy = Map.copyOf(prices);
+        AfterCommit.run(() -> change(current -> copy.forEach((id, price) -> {
+            CatalogIndex.Doc doc = current.menuItems.get(id);
+            if (doc != null) {
+                doc.price = price;
+            }
+        })));
+    }
+
+    public void removeMenuItemAfterCommit(UUID menuItemId) {
+        AfterCommit.run(() -> change(current -> removeMenuItem(current, menuItemId)));
+    }
+
+    /** Indexes (or re-indexes) the standard menu item once the current transaction commits. */
+    public void indexStandardMenuItemAfterCommit(StandardMenuItem item) {
+        CatalogIndex.Doc doc = new CatalogIndex.Doc(item.getStandardMenuItemId(), item.getName(), item.getDescription(),
+                null, null, null, null, false, false);
+        AfterCommit.run(() -> change(current -> putStandardMenuItem(current, doc.copy())));
+    }
+
+    /**
+     * Re-indexes the menu items linked to the standard item with its new name and description
+     * (except overridden fields) once the current transaction commits.
+     */
+    public void propagateStandardMenuItemAfterCommit(StandardMenuItem item) {
+        UUID standardMenuItemId = item.getStandardMenuItemId();
+        String name = item.getName();
+        String description = item.getDescription();
+        AfterCommit.run(() -> change(current -> {
+            List<CatalogIndex.Doc> linked = new ArrayList<>();
+            current.menuItems.forEach(doc -> {
+                if (standardMenuItemId.equals(doc.standardMenuItemId)) {
+                    linked.add(doc);
+                }
+            });
+            linked.forEach(doc -> putMenuItem(current, doc.withStandardDetails(name, description)));
+        }));
+    }
+
+    public void removeStandardMenuItemAfterCommit(UUID standardMenuItemId) {
+        AfterCommit.run(() -> change(current -> current.standardItems.remove(standardMenuItemId)));
+    }
+
+    /** Records the cafeteria's college (used for college-scoped searches) once the current transaction commits. */
+    public void indexCafeteriaAfterCommit(Cafeteria cafeteria) {
+        UUID cafeteriaId = cafeteria.getCafeteriaId();
+        UUID collegeId = cafeteria.getCollege() != null ? cafeteria.getCollege().getCollegeId() : null;
+        AfterCommit.run(() -> change(current -> current.collegeByCafeteria.put(cafeteriaId, collegeId)));
+    }
+
+    /** Drops the cafeteria and its menu items once the current transaction commits. */
+    public void removeCafeteriaAfterCommit(UUID cafeteriaId) {
+        AfterCommit.run(() -> change(current -> {
+            List<UUID> menuItemIds = new ArrayList<>();
+            current.menuItems.forEach(doc -> {
+                if (cafeteriaId.equals(doc.cafeteriaId)) {
+                    menuItemIds.add(doc.id);
+                }
+            });
+            menuItemIds.forEach(id -> removeMenuItem(current, id));
+            current.collegeByCafeteria.remove(cafeteriaId);
+        }));
+    }
+
+    /**
+     * Adds the units sold by a newly completed order to item popularity once its transaction has committed.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onOrderCompleted(OrderCompletedEvent event) {
+        change(current -> {
+            for (OrderCompletedEvent.Line line : event.getLines()) {
+                recordSale(current, line.getMenuItemId(), line.getQuantity());
+            }
+        });
+    }
+
+    private void change(Consumer<State> change) {
+        lock.writeLock().lock();
+        try {
+            change.accept(state);
+            if (pendingChanges != null) {
+                pendingChanges.add(change);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private List<String> queryTokens(String query, int limit) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("Limit must be positive");
+        }
+        List<String> tokens = SearchText.tokenize(query);
+        if (tokens.isEmpty()) {
+            throw new IllegalArgumentException("Search query must contain at least one letter or digit");
+        }
+        if (!ready) {
+            throw new IllegalStateException("Catalog search index is still loading");
+        }
+        return tokens.size() > MAX_QUERY_TOKENS ? tokens.subList(0, MAX_QUERY_TOKENS) : tokens;
+    }
+
+    private static List<SearchResultResponse> toResponses(List<CatalogIndex.Hit> hits) {
+        List<SearchResultResponse> results = new ArrayList<>(hits.size());
+        for (CatalogIndex.Hit hit : hits) {
+            CatalogIndex.Doc doc = hit.doc;
+            results.add(new SearchResultResponse(doc.id, doc.name, doc.description, doc.cafeteriaId,
+                    doc.standardMenuItemId, doc.price, doc.isAvailable, doc.popularity, hit.score));
+        }
+        return results;
+    }
+
+    private static void putMenuItem(State state, CatalogIndex.Doc doc) {
+        removeMenuItem(state, doc.id);
+        doc.popularity = state.menuItemSales.getOrDefault(doc.id, 0L);
+        state.menuItems.put(doc);
+        addStandardSales(state, doc.standardMenuItemId, doc.popularity);
+    }
+
+    private static void removeMenuItem(State state, UUID menuItemId) {
+        CatalogIndex.Doc removed = state.menuItems.remove(menuItemId);
+        if (removed != null) {
+            addStandardSales(state, removed.standardMenuItemId, -removed.popularity);
+        }
+    }
+
+    private static void putStandardMenuItem(State state, CatalogIndex.Doc doc) {
+        doc.popularity = state.standardSales.getOrDefault(doc.id, 0L);
+        state.standardItems.put(doc);
+    }
+
+    private static void recordSale(State state, UUID menuItemId, long quantity) {
+        state.menuItemSales.merge(menuItemId, quantity, Long::sum);
+        CatalogIndex.Doc doc = state.menuItems.get(menuItemId);
+        if (doc != null) {
+            state.menuItems.addPopularity(doc, quantity);
+            addStandardSales(state, doc.standardMenuItemId, quantity);
+        }
+    }
+
+    private static void addStandardSales(State state, UUID standardMenuItemId, long delta) {
+        if (standardMenuItemId == null || delta == 0) {
+            return;
+        }
+        state.standardSales.merge(standardMenuItemId, delta, Long::sum);
+        CatalogIndex.Doc doc = state.standardItems.get(standardMenuItemId);
+        if (doc != null) {
+            state.standardItems.addPopularity(doc, delta);
+        }
+    }
+
+    private static final class State {
+        private final CatalogIndex menuItems = new CatalogIndex();
+        private final CatalogIndex standardItems = new CatalogIndex();
+        private final Map<UUID, UUID> collegeByCafeteria = new HashMap<>();
+        private final Map<UUID, Long> menuItemSales = new HashMap<>();
+        // Units sold by the menu items currently linked to each standard item
+        private final Map<UUID, Long> standardSales = new HashMap<>();
+    }
+}
@@ -0,0 +1,125 @@
+package com.grababite.backend.search;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Prefix tree over the index vocabulary, used to expand the token being typed into the
+ * indexed tokens that start with it. Children are kept in sorted arrays rather than maps
+ * so a vocabulary of tens of thousands of tokens stays compact.
+ *
+ * Not thread-safe; guarded by the owning index's lock.
+ */
+final class TokenTrie {
+
+    private static final char[] NO_KEYS = new char[0];
+    private static final Node[] NO_CHILDREN = new Node[0];
+
+    private final Node root = new Node();
+
+    void add(String token) {
+        Node node = root;
+        for (int i = 0; i < token.length(); i++) {
+            node = node.childOrCreate(token.charAt(i));
+        }
+        node.terminal = true;
+    }
+
+    void remove(String token) {
+        remove(root, token, 0);
+    }
+
+    /**
+     * Returns up to limit indexed tokens starting with prefix (including prefix itself when it
+     * is indexed), shortest first, since those are the closest completions of what was typed.
+     */
+    List<String> withPrefix(String prefix, int limit) {
+        Node node = root;
+        for (int i = 0; i < prefix.length() && node != null; i++) {
+            node = node.child(prefix.charAt(i));
+        }
+        List<String> tokens = new ArrayList<>();
+        if (node == null) {
+            return tokens;
+        }
+        ArrayDeque<Node> nodes = new ArrayDeque<>();
+        ArrayDeque<String> paths = new ArrayDeque<>();
+        nodes.add(node);
+        paths.add(prefix);
+        while (!nodes.isEmpty() && tokens.size() < limit) {
+            Node current = nodes.poll();
+            String path = paths.poll();
+            if (current.terminal) {
+                tokens.add(path);
+            }
+            for (int i = 0; i < current.keys.length; i++) {
+                nodes.add(current.children[i]);
+                paths.add(path + current.keys[i]);
+            }
+        }
+        return tokens;
+    }
+
+    // Returns true when the node no longer holds any token and can be pruned by its parent.
+    private static boolean remove(Node node, String token, int depth) {
+        if (depth == token.length()) {
+            node.terminal = false;
+        } else {
+            Node child = node.child(token.charAt(depth));
+            if (child == null) {
+                return false;
+            }
+            if (remove(child, token, depth + 1)) {
+                node.removeChild(token.charAt(depth));
+            }
+        }
+        return !node.terminal && node.keys.length == 0;
+    }
+
+    private static final class Node {
+        private char[] keys = NO_KEYS;
+        private Node[] children = NO_CHILDREN;
+        private boolean terminal;
+
+        Node child(char key) {
+            int i = Arrays.binarySearch(keys, key);
+            return i >= 0 ? children[i] : null;
+        }
+
+        Node childOrCreate(char key) {
+            int i = Arrays.binarySearch(keys, key);
+            if (i >= 0) {
+                return children[i];
+            }
+            int insertAt = -i - 1;
+            char[] newKeys = new char[keys.length + 1];
+            Node[] newChildren = new Node[children.length + 1];
+            System.arraycopy(keys, 0, newKeys, 0, insertAt);
+            System.arraycopy(children, 0, newChildren, 0, insertAt);
+            newKeys[insertAt] = key;
+            newChildren[insertAt] = new Node();
+            System.arraycopy(keys, insertAt, newKeys, insertAt + 1, keys.length - insertAt);
+            System.arraycopy(children, insertAt, newChildren, insertAt + 1, children.length - insertAt);
+            keys = newKeys;
+            children = newChildren;
+            return newChildren[insertAt];
+        }
+
+        void removeChild(char key) {
+            int i = Arrays.binarySearch(keys, key);
+            if (i < 0) {
+                return;
+            }
+            char[] newKeys = new char[keys.length - 1];
+            Node[] newChildren = new Node[children.length - 1];
+            System.arraycopy(keys, 0, newKeys, 0, i);
+            System.arraycopy(children, 0, newChildren, 0, i);
+            System.arraycopy(keys, i + 1, newKeys, i, keys.length - i - 1);
+            System.arraycopy(children, i + 1, newChildren, i, children.length - i - 1);
+            keys = newKeys;
+            children = newChildren;
+        }
+    }
+}
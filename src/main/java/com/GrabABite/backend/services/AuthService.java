@@ -1,44 +1,89 @@
 package com.grababite.backend.services;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.stereotype.Service;
 
+import com.grababite.backend.auth.AuthAccount;
+import com.grababite.backend.auth.AuthAccountCache;
+import com.grababite.backend.auth.LoginThrottle;
+import com.grababite.backend.config.AuthenticatedUser;
 import com.grababite.backend.config.JwtUtil;
 import com.grababite.backend.dto.AuthResponse;
-import com.grababite.backend.models.User;
-import com.grababite.backend.repositories.UserRepository;
 
 @Service
 public class AuthService {
 
     private final AuthenticationManager authenticationManager;
-    private final UserRepository userRepository;
+    private final AuthAccountCache authAccountCache;
     private final JwtUtil jwtUtil;
+    private final LoginThrottle loginThrottle;
+    private final RefreshTokenService refreshTokenService;
 
     public AuthService(AuthenticationManager authenticationManager,
-                       UserRepository userRepository,
-                       JwtUtil jwtUtil) {
+                       AuthAccountCache authAccountCache,
+                       JwtUtil jwtUtil,
+                       LoginThrottle loginThrottle,
+                       RefreshTokenService refreshTokenService) {
         this.authenticationManager = authenticationManager;
-        this.userRepository = userRepository;
+        this.authAccountCache = authAccountCache;
         this.jwtUtil = jwtUtil;
+        this.loginThrottle = loginThrottle;
+        this.refreshTokenService = refreshTokenService;
     }
 
-    public AuthResponse login(String email, String password) {
+    // Throttled per account and per client address before any password hashing is done
+    public AuthResponse login(String email, String password, String clientAddress) {
+
+        loginThrottle.acquire(email, clientAddress);
 
         authenticationManager.authenticate(
                 new UsernamePasswordAuthenticationToken(email, password)
         );
-    
-        User user = userRepository.findByEmail(email)
+
+        // Served from the entry the authentication above just loaded
+        AuthAccount account = authAccountCache.findByEmail(email)
                 .orElseThrow(() -> new RuntimeException("User not found"));
+
+        // Starts a new session (refresh token family)
+        RefreshTokenService.IssuedToken refreshToken = refreshTokenService.issue(account.getUserId());
+        return buildResponse(account, refreshToken);
+    }
+
+    /**
+     * Exchanges a refresh token for a new access token and a new refresh token. The access token
+     * is built from the user's current roles and cafeteria.
+     * @throws BadCredentialsException if the refresh token is invalid, expired or already used.
+     */
+    public AuthResponse refresh(String refreshToken) {
+        RefreshTokenService.IssuedToken rotated = refreshTokenService.rotate(refreshToken);
+        AuthAccount account = authAccountCache.findById(rotated.getUserId())
+                .orElseThrow(() -> new BadCredentialsException("User no longer exists"));
+        return buildResponse(account, rotated);
+    }
+
+    /**
+     * Ends the caller's session: its refresh token and every access token issued in it stop working.
+     */
+    public void logout(AuthenticatedUser user) {
+        refreshTokenService.revokeSession(user.getSessionId());
+    }
+
+    private AuthResponse buildResponse(AuthAccount account, RefreshTokenService.IssuedToken refreshToken) {
+        List<String> roles = new ArrayList<>(account.getRoles());
+        if (roles.isEmpty()) {
+            throw new RuntimeException("No role assigned");
+        }
+        String role = roles.get(0); // Kept for clients that only read a single role
+
+        // The token carries the user's identity so requests don't need to load the user again
+        String token = jwtUtil.generateToken(account.getUserId(), account.getEmail(), roles,
+                account.getCafeteriaId(), account.getCollegeId(), refreshToken.getSessionId());
     
-        // Get first role from Set
-        String role = user.getRoles().stream().findFirst()
-                .orElseThrow(() -> new RuntimeException("No role assigned"));
-    
-        String token = jwtUtil.generateToken(email, role);
-    
-        return new AuthResponse(token, role, user.getId());
+        return new AuthResponse(token, role, roles, account.getUserId(), refreshToken.getToken());
     }
 }
@@ -1,11 +1,18 @@
 package com.grababite.backend.services;
 
+import com.grababite.backend.cache.CatalogVersions;
+import com.grababite.backend.cache.MenuCache;
+import com.grababite.backend.hours.OpeningHoursIndex;
 import com.grababite.backend.models.Cafeteria;
 import com.grababite.backend.models.College; // Import College entity
 import com.grababite.backend.repositories.CafeteriaRepository;
 import com.grababite.backend.repositories.CollegeRepository; // Import CollegeRepository
+import com.grababite.backend.repositories.OpeningHoursOverrideRepository;
+import com.grababite.backend.repositories.OpeningHoursRepository;
+import com.grababite.backend.search.CatalogSearchIndex;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
@@ -26,10 +33,29 @@ public class CafeteriaService {
     @Autowired
     private CollegeRepository collegeRepository;
 
+    @Autowired
+    private CatalogVersions catalogVersions;
+
+    @Autowired
+    private MenuCache menuCache;
+
+    @Autowired
+    private CatalogSearchIndex catalogSearchIndex;
+
+    @Autowired
+    private OpeningHoursIndex openingHoursIndex;
+
+    @Autowired
+    private OpeningHoursRepository openingHoursRepository;
+
+    @Autowired
+    private OpeningHoursOverrideRepository openingHoursOverrideRepository;
+
     /**
      * Retrieves a list of all cafeterias from the database.
      * @return A list of Cafeteria objects.
      */
+    @Transactional(readOnly = true)
     public List<Cafeteria> getAllCafeterias() {
         return cafeteriaRepository.findAll();
     }
@@ -39,6 +65,7 @@ public class CafeteriaService {
      * @param id The UUID of the cafeteria to retrieve.
      * @return An Optional containing the Cafeteria if found, or empty if not.
      */
+    @Transactional(readOnly = true)
     public Optional<Cafeteria> getCafeteriaById(UUID id) {
         return cafeteriaRepository.findById(id);
     }
@@ -51,10 +78,15 @@ public class CafeteriaService {
      * @param cafeteria The Cafeteria object to save.
      * @return The saved Cafeteria object (with its ID populated if new).
      */
+    @Transactional
     public Cafeteria createCafeteria(Cafeteria cafeteria) {
         // Ensure that the cafeteriaId is generated by the database if it's a new entity.
         // For UUIDs with GenerationType.AUTO, Spring/Hibernate handles this.
-        return cafeteriaRepository.save(cafeteria);
+        Cafeteria savedCafeteria = cafeteriaRepository.save(cafeteria);
+        catalogVersions.bumpAfterCommit(CatalogVersions.CAFETERIAS);
+        catalogSearchIndex.indexCafeteriaAfterCommit(savedCafeteria);
+        openingHoursIndex.refreshAfterCommit(savedCafeteria.getCafeteriaId());
+        return savedCafeteria;
     }
 
     /**
@@ -64,6 +96,7 @@ public class CafeteriaService {
      * This object may or may not contain an updated College reference.
      * @return The updated Cafeteria object, or null if the cafeteria was not found.
      */
+    @Transactional
     public Cafeteria updateCafeteria(UUID id, Cafeteria cafeteriaDetails) {
         return cafeteriaRepository.findById(id).map(cafeteria -> {
             // Update basic fields
@@ -82,7 +115,11 @@ public class CafeteriaService {
             }
 
             // Save the updated cafeteria
-            return cafeteriaRepository.save(cafeteria);
+            Cafeteria savedCafeteria = cafeteriaRepository.save(cafeteria);
+            catalogVersions.bumpAfterCommit(CatalogVersions.CAFETERIAS);
+            catalogSearchIndex.indexCafeteriaAfterCommit(savedCafeteria);
+            openingHoursIndex.refreshAfterCommit(id); // Manual switch or college (timezone) may have changed
+            return savedCafeteria;
         }).orElse(null);
     }
 
@@ -91,9 +128,16 @@ public class CafeteriaService {
      * @param id The UUID of the cafeteria to delete.
      * @return true if the cafeteria was deleted, false otherwise.
      */
+    @Transactional
     public boolean deleteCafeteria(UUID id) {
         if (cafeteriaRepository.existsById(id)) {
+            openingHoursRepository.deleteByCafeteriaId(id);
+            openingHoursOverrideRepository.deleteByCafeteriaId(id);
             cafeteriaRepository.deleteById(id);
+            catalogVersions.bumpAfterCommit(CatalogVersions.CAFETERIAS);
+            menuCache.invalidateAfterCommit(id);
+            catalogSearchIndex.removeCafeteriaAfterCommit(id);
+            openingHoursIndex.refreshAfterCommit(id);
             return true;
         }
         return false;
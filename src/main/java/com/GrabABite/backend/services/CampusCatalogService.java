@@ -0,0 +1,117 @@
+package com.grababite.backend.services;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.grababite.backend.cache.CampusCatalogCache;
+import com.grababite.backend.cache.SerializedPayload;
+import com.grababite.backend.dto.CampusCatalogResponse;
+import com.grababite.backend.exceptions.ResourceNotFoundException;
+import com.grababite.backend.hours.OpeningHoursIndex;
+import com.grababite.backend.models.Cafeteria;
+import com.grababite.backend.models.College;
+import com.grababite.backend.models.MenuItem;
+import com.grababite.backend.repositories.CafeteriaRepository;
+import com.grababite.backend.repositories.CollegeRepository;
+import com.grababite.backend.repositories.MenuItemRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Builds the campus catalog (a college, its cafeterias and their available menu items) that the
+ * app needs for its home screen, so a cold start costs one request instead of one per cafeteria.
+ */
+@Service
+public class CampusCatalogService {
+
+    @Autowired
+    private CollegeRepository collegeRepository;
+
+    @Autowired
+    private CafeteriaRepository cafeteriaRepository;
+
+    @Autowired
+    private MenuItemRepository menuItemRepository;
+
+    @Autowired
+    private CampusCatalogCache campusCatalogCache;
+
+    @Autowired
+    private OpeningHoursIndex openingHoursIndex;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /**
+     * Returns the serialized catalog of a college, built with three queries (cafeterias, college,
+     * available menu items) on a cache miss. Loads from the primary: the catalog is cached under
+     * the versions read first, so data from a lagging replica could be cached as current.
+     * @param collegeId The UUID of the college.
+     * @return The catalog with its ETag.
+     * @throws ResourceNotFoundException if the college does not exist.
+     */
+    @Transactional
+    public CampusCatalogCache.Entry getCatalog(UUID collegeId) {
+        CampusCatalogCache.Entry cached = campusCatalogCache.get(collegeId);
+        if (cached != null) {
+            return cached;
+        }
+
+        // Each version is read before the data it covers, so a concurrent write yields a stale tag, never stale data under a new one
+        String collegeVersions = campusCatalogCache.collegeVersions();
+        List<Cafeteria> cafeterias = cafeteriaRepository.findByCollege_CollegeId(collegeId);
+        List<UUID> cafeteriaIds = cafeterias.stream().map(Cafeteria::getCafeteriaId).toList();
+        String etag = campusCatalogCache.etag(collegeId, collegeVersions, cafeteriaIds);
+
+        College college = collegeRepository.findById(collegeId)
+                .orElseThrow(() -> new ResourceNotFoundException("College not found with id: " + collegeId));
+
+        Map<UUID, List<MenuItem>> menus = new HashMap<>();
+        if (!cafeteriaIds.isEmpty()) {
+            for (MenuItem menuItem : menuItemRepository.findAvailableByCafeteriaIds(cafeteriaIds)) {
+                menus.computeIfAbsent(menuItem.getCafeteria().getCafeteriaId(), id -> new ArrayList<>()).add(menuItem);
+            }
+        }
+
+        CampusCatalogResponse response = new CampusCatalogResponse();
+        response.setCollegeId(college.getCollegeId());
+        response.setCollegeName(college.getCollegeName());
+        response.setAddress(college.getAddress());
+        response.setTimezone(college.getTimezone());
+        List<CampusCatalogResponse.CafeteriaCatalog> catalogs = new ArrayList<>(cafeterias.size());
+        for (Cafeteria cafeteria : cafeterias) {
+            CampusCatalogResponse.CafeteriaCatalog catalog = new CampusCatalogResponse.CafeteriaCatalog();
+            catalog.setCafeteriaId(cafeteria.getCafeteriaId());
+            catalog.setName(cafeteria.getName());
+            catalog.setLocation(cafeteria.getLocation());
+            Boolean open = openingHoursIndex.isOpen(cafeteria.getCafeteriaId());
+            catalog.setIsOpen(open != null ? open : cafeteria.getIsOpen());
+            Instant nextOpening = openingHoursIndex.nextOpening(cafeteria.getCafeteriaId());
+            if (nextOpening != null) {
+                ZoneId zone = openingHoursIndex.zoneOf(cafeteria.getCafeteriaId());
+                catalog.setNextOpening(nextOpening.atZone(zone).toOffsetDateTime());
+            }
+            catalog.setMenuItems(menus.getOrDefault(cafeteria.getCafeteriaId(), List.of()));
+            catalogs.add(catalog);
+        }
+        response.setCafeterias(catalogs);
+
+        SerializedPayload payload;
+        try {
+            payload = SerializedPayload.of(objectMapper.writeValueAsBytes(response));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize catalog of college " + collegeId, e);
+        }
+        CampusCatalogCache.Entry entry = new CampusCatalogCache.Entry(etag, payload, cafeteriaIds);
+        campusCatalogCache.put(collegeId, entry);
+        return entry;
+    }
+}
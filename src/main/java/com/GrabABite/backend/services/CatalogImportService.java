@@ -0,0 +1,424 @@
+package com.grababite.backend.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.grababite.backend.cache.CatalogVersions;
+import com.grababite.backend.cache.MenuCache;
+import com.grababite.backend.dto.BulkImportResponse;
+import com.grababite.backend.exceptions.ResourceNotFoundException;
+import com.grababite.backend.imports.ImportRow;
+import com.grababite.backend.imports.ImportRowReader;
+import com.grababite.backend.models.Cafeteria;
+import com.grababite.backend.models.MenuItem;
+import com.grababite.backend.models.StandardMenuItem;
+import com.grababite.backend.repositories.CafeteriaRepository;
+import com.grababite.backend.repositories.MenuItemRepository;
+import com.grababite.backend.repositories.StandardMenuItemRepository;
+import com.grababite.backend.search.CatalogSearchIndex;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Bulk import of menu items and standard menu items from CSV or JSON uploads.
+ *
+ * The upload is read one record at a time. Valid records are buffered into chunks of
+ * grababite.import.chunk-size; each chunk resolves its standard items / duplicate names with a
+ * single query and is inserted in its own transaction, flushed as JDBC batches
+ * (hibernate.jdbc.batch_size) and then cleared from the persistence context, so memory stays
+ * flat regardless of file size. Chunks that committed stay imported if a later chunk fails;
+ * the response reports every row that was skipped or failed.
+ */
+@Service
+public class CatalogImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CatalogImportService.class);
+
+    @Autowired
+    private CafeteriaRepository cafeteriaRepository;
+
+    @Autowired
+    private MenuItemRepository menuItemRepository;
+
+    @Autowired
+    private StandardMenuItemRepository standardMenuItemRepository;
+
+    @Autowired
+    private MenuCache menuCache;
+
+    @Autowired
+    private CatalogVersions catalogVersions;
+
+    @Autowired
+    private PriceHistoryService priceHistoryService;
+
+    @Autowired
+    private CatalogSearchIndex catalogSearchIndex;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${grababite.import.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${grababite.import.max-rows:20000}")
+    private int maxRows;
+
+    /**
+     * Imports menu items into a cafeteria.
+     * Columns: name, description, price (required), isAvailable (default true), imageUrl, and
+     * optionally standardMenuItemId or standardMenuItemName to link a standard item, in which
+     * case name, description and image come from the standard item (as in createMenuItem).
+     * Rows whose name already exists in the cafeteria, or appeared earlier in the file, are skipped.
+     * @param cafeteriaId The cafeteria to import into.
+     * @param in The uploaded file.
+     * @param contentType text/csv or application/json.
+     * @return The per-row import report.
+     * @throws ResourceNotFoundException if the cafeteria does not exist.
+     * @throws IllegalArgumentException if the content type is not supported.
+     */
+    public BulkImportResponse importMenuItems(UUID cafeteriaId, InputStream in, String contentType) throws IOException {
+        if (!cafeteriaRepository.existsById(cafeteriaId)) {
+            throw new ResourceNotFoundException("Cafeteria not found with ID: " + cafeteriaId);
+        }
+        long start = System.currentTimeMillis();
+        BulkImportResponse response = new BulkImportResponse();
+        Set<String> seenNames = new HashSet<>();
+        for (String name : menuItemRepository.findNamesByCafeteriaId(cafeteriaId)) {
+            seenNames.add(nameKey(name));
+        }
+
+        List<MenuItemRow> chunk = new ArrayList<>(chunkSize);
+        readRows(in, contentType, response, row -> {
+            MenuItemRow parsed = parseMenuItemRow(row, response);
+            if (parsed != null) {
+                chunk.add(parsed);
+                if (chunk.size() >= chunkSize) {
+                    saveMenuItemChunk(cafeteriaId, chunk, seenNames, response);
+                    chunk.clear();
+                }
+            }
+        });
+        if (!chunk.isEmpty()) {
+            saveMenuItemChunk(cafeteriaId, chunk, seenNames, response);
+        }
+        logger.info("Menu import into cafeteria {}: {} rows, {} imported, {} skipped, {} failed in {} ms",
+                cafeteriaId, response.getTotalRows(), response.getImported(), response.getSkipped(),
+                response.getFailed(), System.currentTimeMillis() - start);
+        return response;
+    }
+
+    /**
+     * Imports standard menu items.
+     * Columns: name (required), description, imageUrl. Rows whose name already exists
+     * (case-insensitively), or appeared earlier in the file, are skipped.
+     * @param in The uploaded file.
+     * @param contentType text/csv or application/json.
+     * @return The per-row import report.
+     * @throws IllegalArgumentException if the content type is not supported.
+     */
+    public BulkImportResponse importStandardMenuItems(InputStream in, String contentType) throws IOException {
+        long start = System.currentTimeMillis();
+        BulkImportResponse response = new BulkImportResponse();
+        Set<String> seenNames = new HashSet<>();
+
+        List<StandardMenuItemRow> chunk = new ArrayList<>(chunkSize);
+        readRows(in, contentType, response, row -> {
+            String name = row.get("name");
+            if (name == null) {
+                response.addFailed(row.getRowNumber(), null, "Name is required");
+                return;
+            }
+            if (!seenNames.add(nameKey(name))) {
+                response.addSkipped(row.getRowNumber(), name, "Duplicate of an earlier row");
+                return;
+            }
+            chunk.add(new StandardMenuItemRow(row.getRowNumber(), name, row.get("description"), row.get("imageUrl")));
+            if (chunk.size() >= chunkSize) {
+                saveStandardMenuItemChunk(chunk, response);
+                chunk.clear();
+            }
+        });
+        if (!chunk.isEmpty()) {
+            saveStandardMenuItemChunk(chunk, response);
+        }
+        logger.info("Standard menu import: {} rows, {} imported, {} skipped, {} failed in {} ms",
+                response.getTotalRows(), response.getImported(), response.getSkipped(),
+                response.getFailed(), System.currentTimeMillis() - start);
+        return response;
+    }
+
+    // Streams the rows of the upload into handler, recording unreadable rows and input errors in the report.
+    private void readRows(InputStream in, String contentType, BulkImportResponse response, RowHandler handler) throws IOException {
+        try (ImportRowReader reader = ImportRowReader.open(in, contentType, objectMapper.getFactory())) {
+            ImportRow row;
+            while (true) {
+                try {
+                    row = reader.next();
+                } catch (IOException e) {
+                    // Malformed input: keep what was read so far and report where it stopped
+                    response.addFailed(response.getTotalRows() + 1, null, "Unreadable input, import stopped: " + e.getMessage());
+                    return;
+                }
+                if (row == null) {
+                    return;
+                }
+                if (row.getRowNumber() > maxRows) {
+                    response.addFailed(row.getRowNumber(), null, "Import is limited to " + maxRows + " rows, remaining rows ignored");
+                    return;
+                }
+                response.setTotalRows(row.getRowNumber());
+                if (row.getProblem() != null) {
+                    response.addFailed(row.getRowNumber(), row.get("name"), row.getProblem());
+                    continue;
+                }
+                handler.handle(row);
+            }
+        }
+    }
+
+    private MenuItemRow parseMenuItemRow(ImportRow row, BulkImportResponse response) {
+        MenuItemRow parsed = new MenuItemRow();
+        parsed.rowNumber = row.getRowNumber();
+        parsed.name = row.get("name");
+        parsed.description = row.get("description");
+        parsed.imageUrl = row.get("imageUrl");
+        parsed.standardMenuItemName = row.get("standardMenuItemName");
+        try {
+            String price = row.get("price");
+            if (price == null) {
+                throw new IllegalArgumentException("Price is required");
+            }
+            parsed.price = new BigDecimal(price);
+            if (parsed.price.signum() < 0) {
+                throw new IllegalArgumentException("Price must not be negative");
+            }
+            parsed.isAvailable = parseBoolean(row.get("isAvailable"));
+            String standardMenuItemId = row.get("standardMenuItemId");
+            parsed.standardMenuItemId = standardMenuItemId != null ? UUID.fromString(standardMenuItemId) : null;
+        } catch (NumberFormatException e) {
+            response.addFailed(row.getRowNumber(), parsed.name, "Invalid price: " + row.get("price"));
+            return null;
+        } catch (IllegalArgumentException e) {
+            response.addFailed(row.getRowNumber(), parsed.name, e.getMessage());
+            return null;
+        }
+        if (parsed.name == null && parsed.standardMenuItemId == null && parsed.standardMenuItemName == null) {
+            response.addFailed(row.getRowNumber(), null, "Either a name or a standard menu item is required");
+            return null;
+        }
+        return parsed;
+    }
+
+    private void saveMenuItemChunk(UUID cafeteriaId, List<MenuItemRow> chunk, Set<String> seenNames,
+                                   BulkImportResponse response) {
+        // Resolve every standard item referenced by the chunk with one query
+        Set<UUID> standardIds = new HashSet<>();
+        Set<String> standardNames = new HashSet<>();
+        for (MenuItemRow row : chunk) {
+            if (row.standardMenuItemId != null) {
+                standardIds.add(row.standardMenuItemId);
+            } else if (row.standardMenuItemName != null) {
+                standardNames.add(nameKey(row.standardMenuItemName));
+            }
+        }
+        Map<UUID, StandardMenuItem> standardById = new HashMap<>();
+        Map<String, StandardMenuItem> standardByName = new HashMap<>();
+        if (!standardIds.isEmpty() || !standardNames.isEmpty()) {
+            for (StandardMenuItem item : standardMenuItemRepository.findByIdInOrLowerNameIn(standardIds, standardNames)) {
+                standardById.put(item.getStandardMenuItemId(), item);
+                standardByName.put(nameKey(item.getName()), item);
+            }
+        }
+
+        List<MenuItemRow> accepted = new ArrayList<>(chunk.size());
+        List<String> acceptedKeys = new ArrayList<>(chunk.size());
+        for (MenuItemRow row : chunk) {
+            if (row.standardMenuItemId != null || row.standardMenuItemName != null) {
+                StandardMenuItem standard = row.standardMenuItemId != null
+                        ? standardById.get(row.standardMenuItemId)
+                        : standardByName.get(nameKey(row.standardMenuItemName));
+                if (standard == null) {
+                    response.addFailed(row.rowNumber, row.name, "Standard menu item not found");
+                    continue;
+                }
+                row.standardMenuItemId = standard.getStandardMenuItemId();
+                row.name = standard.getName();
+                row.description = standard.getDescription();
+                row.imageUrl = standard.getImageUrl();
+            }
+            String key = nameKey(row.name);
+            if (!seenNames.add(key)) {
+                response.addSkipped(row.rowNumber, row.name, "A menu item with this name already exists in the cafeteria");
+                continue;
+            }
+            accepted.add(row);
+            acceptedKeys.add(key);
+        }
+        if (accepted.isEmpty()) {
+            return;
+        }
+
+        try {
+            List<UUID> ids = new TransactionTemplate(transactionManager).execute(status -> {
+                Cafeteria cafeteria = entityManager.getReference(Cafeteria.class, cafeteriaId);
+                List<UUID> created = new ArrayList<>(accepted.size());
+                List<BigDecimal> prices = new ArrayList<>(accepted.size());
+                for (MenuItemRow row : accepted) {
+                    MenuItem menuItem = new MenuItem();
+                    menuItem.setCafeteria(cafeteria);
+                    menuItem.setName(row.name);
+                    menuItem.setDescription(row.description);
+                    menuItem.setImageUrl(row.imageUrl);
+                    menuItem.setPrice(row.price);
+                    menuItem.setIsAvailable(row.isAvailable);
+                    if (row.standardMenuItemId != null) {
+                        menuItem.setStandardMenuItem(entityManager.getReference(StandardMenuItem.class, row.standardMenuItemId));
+                    }
+                    entityManager.persist(menuItem);
+                    created.add(menuItem.getMenuItemId());
+                    prices.add(menuItem.getPrice());
+                    catalogSearchIndex.indexMenuItemAfterCommit(menuItem);
+                }
+                priceHistoryService.recordAll(created, prices);
+                entityManager.flush();
+                entityManager.clear();
+                menuCache.invalidateAfterCommit(cafeteriaId);
+                catalogVersions.bumpAfterCommit(CatalogVersions.MENU_ITEMS);
+                return created;
+            });
+            response.setImported(response.getImported() + ids.size());
+            response.getCreatedIds().addAll(ids);
+        } catch (RuntimeException e) {
+            logger.warn("Menu import chunk for cafeteria {} failed", cafeteriaId, e);
+            seenNames.removeAll(acceptedKeys);
+            for (MenuItemRow row : accepted) {
+                response.addFailed(row.rowNumber, row.name, "Could not be saved: " + rootMessage(e));
+            }
+        }
+    }
+
+    private void saveStandardMenuItemChunk(List<StandardMenuItemRow> chunk, BulkImportResponse response) {
+        Set<String> keys = new HashSet<>();
+        for (StandardMenuItemRow row : chunk) {
+            keys.add(nameKey(row.name));
+        }
+        Set<String> existing = new HashSet<>(standardMenuItemRepository.findExistingLowerNames(keys));
+
+        List<StandardMenuItemRow> accepted = new ArrayList<>(chunk.size());
+        for (StandardMenuItemRow row : chunk) {
+            if (existing.contains(nameKey(row.name))) {
+                response.addSkipped(row.rowNumber, row.name, "A standard menu item with this name already exists");
+            } else {
+                accepted.add(row);
+            }
+        }
+        if (accepted.isEmpty()) {
+            return;
+        }
+
+        try {
+            List<UUID> ids = new TransactionTemplate(transactionManager).execute(status -> {
+                List<UUID> created = new ArrayList<>(accepted.size());
+                for (StandardMenuItemRow row : accepted) {
+                    StandardMenuItem item = new StandardMenuItem();
+                    item.setName(row.name);
+                    item.setDescription(row.description);
+                    item.setImageUrl(row.imageUrl);
+                    entityManager.persist(item);
+                    created.add(item.getStandardMenuItemId());
+                    catalogSearchIndex.indexStandardMenuItemAfterCommit(item);
+                }
+                entityManager.flush();
+                entityManager.clear();
+                catalogVersions.bumpAfterCommit(CatalogVersions.STANDARD_MENU_ITEMS);
+                return created;
+            });
+            response.setImported(response.getImported() + ids.size());
+            response.getCreatedIds().addAll(ids);
+        } catch (RuntimeException e) {
+            logger.warn("Standard menu import chunk failed", e);
+            for (StandardMenuItemRow row : accepted) {
+                response.addFailed(row.rowNumber, row.name, "Could not be saved: " + rootMessage(e));
+            }
+        }
+    }
+
+    private static Boolean parseBoolean(String value) {
+        if (value == null) {
+            return Boolean.TRUE;
+        }
+        switch (value.toLowerCase(Locale.ROOT)) {
+            case "true": case "yes": case "y": case "1":
+                return Boolean.TRUE;
+            case "false": case "no": case "n": case "0":
+                return Boolean.FALSE;
+            default:
+                throw new IllegalArgumentException("Invalid isAvailable value: " + value);
+        }
+    }
+
+    private static String nameKey(String name) {
+        return name.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static String rootMessage(Throwable e) {
+        Throwable root = e;
+        while (root.getCause() != null && root.getCause() != root) {
+            root = root.getCause();
+        }
+        return root.getMessage();
+    }
+
+    private interface RowHandler {
+        void handle(ImportRow row);
+    }
+
+    private static final class MenuItemRow {
+        private int rowNumber;
+        private String name;
+        private String description;
+        private String imageUrl;
+        private BigDecimal price;
+        private Boolean isAvailable;
+        private UUID standardMenuItemId;
+        private String standardMenuItemName;
+    }
+
+    private static final class StandardMenuItemRow {
+        private final int rowNumber;
+        private final String name;
+        private final String description;
+        private final String imageUrl;
+
+        StandardMenuItemRow(int rowNumber, String name, String description, String imageUrl) {
+            this.rowNumber = rowNumber;
+            this.name = name;
+            this.description = description;
+            this.imageUrl = imageUrl;
+        }
+    }
+}
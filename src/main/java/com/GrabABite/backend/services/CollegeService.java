@@ -1,9 +1,13 @@
 package com.grababite.backend.services;
 
+import com.grababite.backend.cache.CatalogVersions;
+import com.grababite.backend.events.AfterCommit;
+import com.grababite.backend.hours.OpeningHoursIndex;
 import com.grababite.backend.models.College;
 import com.grababite.backend.repositories.CollegeRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
@@ -19,10 +23,17 @@ public class CollegeService {
     @Autowired
     private CollegeRepository collegeRepository;
 
+    @Autowired
+    private CatalogVersions catalogVersions;
+
+    @Autowired
+    private OpeningHoursIndex openingHoursIndex;
+
     /**
      * Retrieves a list of all colleges from the database.
      * @return A list of College objects.
      */
+    @Transactional(readOnly = true)
     public List<College> getAllColleges() {
         return collegeRepository.findAll();
     }
@@ -32,6 +43,7 @@ public class CollegeService {
      * @param id The UUID of the college to retrieve.
      * @return An Optional containing the College if found, or empty if not.
      */
+    @Transactional(readOnly = true)
     public Optional<College> getCollegeById(UUID id) {
         return collegeRepository.findById(id);
     }
@@ -43,10 +55,13 @@ public class CollegeService {
      * @param college The College object to save.
      * @return The saved College object (with its ID populated if new).
      */
+    @Transactional
     public College createCollege(College college) {
         // Ensure that the collegeId is generated by the database if it's a new entity.
         // For UUIDs with GenerationType.AUTO, Spring/Hibernate handles this.
-        return collegeRepository.save(college);
+        College savedCollege = collegeRepository.save(college);
+        catalogVersions.bumpAfterCommit(CatalogVersions.COLLEGES);
+        return savedCollege;
     }
 
     /**
@@ -55,12 +70,20 @@ public class CollegeService {
      * @param collegeDetails The College object with updated details.
      * @return The updated College object, or null if the college was not found.
      */
+    @Transactional
     public College updateCollege(UUID id, College collegeDetails) {
         return collegeRepository.findById(id).map(college -> {
             college.setCollegeName(collegeDetails.getCollegeName());
             college.setAddress(collegeDetails.getAddress());
+            if (collegeDetails.getTimezone() != null && !collegeDetails.getTimezone().equals(college.getTimezone())) {
+                college.setTimezone(collegeDetails.getTimezone());
+                // Cafeterias without a timezone of their own follow the college's
+                AfterCommit.run(openingHoursIndex::rebuild);
+            }
             // Update audit fields if necessary, though AuditModel handles some
-            return collegeRepository.save(college);
+            College savedCollege = collegeRepository.save(college);
+            catalogVersions.bumpAfterCommit(CatalogVersions.COLLEGES);
+            return savedCollege;
         }).orElse(null);
     }
 
@@ -69,9 +92,11 @@ public class CollegeService {
      * @param id The UUID of the college to delete.
      * @return true if the college was deleted, false otherwise.
      */
+    @Transactional
     public boolean deleteCollege(UUID id) {
         if (collegeRepository.existsById(id)) {
             collegeRepository.deleteById(id);
+            catalogVersions.bumpAfterCommit(CatalogVersions.COLLEGES);
             return true;
         }
         return false;
@@ -0,0 +1,262 @@
+package com.grababite.backend.services;
+
+import com.grababite.backend.dto.DemandForecastResponse;
+import com.grababite.backend.models.DemandForecast;
+import com.grababite.backend.models.MenuItem;
+import com.grababite.backend.repositories.DemandForecastRepository;
+import com.grababite.backend.repositories.MenuItemRepository;
+import com.grababite.backend.repositories.ReportingJdbcRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Forecasts hourly demand per menu item for kitchen prep planning.
+ *
+ * Every (cafeteria, item, weekday, hour) slot is a weekly series: one observation per
+ * occurrence of that weekday, being the quantity sold in that hour. Each series keeps an
+ * exponentially smoothed level. Weeks without sales are zero observations; instead of storing
+ * them, the level is decayed by (1 - alpha) per missed week, both when the next sale is folded
+ * in and when a forecast is read.
+ *
+ * The nightly fit is incremental: it streams only the days after the stored watermark, already
+ * aggregated by the database, and loads and updates only the series those days touch.
+ */
+@Service
+public class DemandForecastService {
+
+    private static final Logger logger = LoggerFactory.getLogger(DemandForecastService.class);
+
+    static final String FITTED_THROUGH_SETTING = "DEMAND_FORECAST_FITTED_THROUGH";
+    private static final String LOCK_NAME = "demand-forecast";
+
+    @Autowired
+    private DemandForecastRepository demandForecastRepository;
+
+    @Autowired
+    private MenuItemRepository menuItemRepository;
+
+    @Autowired
+    private ReportingJdbcRepository reportingJdbcRepository;
+
+    @Autowired
+    private AppSettingService appSettingService;
+
+    @Autowired
+    private JobLockService jobLockService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${grababite.forecast.enabled:true}")
+    private boolean enabled;
+
+    @Value("${grababite.forecast.alpha:0.3}")
+    private double alpha;
+
+    @Value("${grababite.forecast.initial-history-days:182}")
+    private int initialHistoryDays;
+
+    @Value("${grababite.forecast.lock-lease:PT1H}")
+    private Duration lockLease;
+
+    /**
+     * Forecasts demand per menu item and hour for a cafeteria on the given day.
+     * @param cafeteriaId The ID of the cafeteria.
+     * @param date The day to forecast.
+     * @return Forecasts ordered by hour, then by expected quantity (highest first). Slots that
+     * have never had sales are omitted.
+     */
+    @Transactional(readOnly = true)
+    public List<DemandForecastResponse> getForecast(UUID cafeteriaId, LocalDate date) {
+        LocalDate fittedThrough = getFittedThrough();
+        if (fittedThrough == null) {
+            return List.of();
+        }
+        List<DemandForecast> series = demandForecastRepository.findByCafeteriaIdAndDayOfWeek(
+                cafeteriaId, date.getDayOfWeek().getValue());
+        Set<UUID> itemIds = series.stream().map(DemandForecast::getMenuItemId).collect(Collectors.toSet());
+        Map<UUID, String> itemNames = menuItemRepository.findAllById(itemIds).stream()
+                .collect(Collectors.toMap(MenuItem::getMenuItemId, MenuItem::getName));
+
+        return series.stream()
+                .map(forecast -> new DemandForecastResponse(
+                        cafeteriaId,
+                        forecast.getMenuItemId(),
+                        itemNames.getOrDefault(forecast.getMenuItemId(), "Unknown Item"),
+                        date,
+                        forecast.getHourOfDay(),
+                        BigDecimal.valueOf(decayedLevel(forecast, fittedThrough)).setScale(2, RoundingMode.HALF_UP)))
+                .filter(forecast -> forecast.getExpectedQuantity().signum() > 0)
+                .sorted(Comparator.comparing(DemandForecastResponse::getHour)
+                        .thenComparing(DemandForecastResponse::getExpectedQuantity, Comparator.reverseOrder()))
+                .toList();
+    }
+
+    /**
+     * Folds every completed day since the last fit into the forecasts. Runs on one node only.
+     */
+    @Scheduled(cron = "${grababite.forecast.cron:0 30 3 * * *}")
+    public void refit() {
+        if (!enabled) {
+            return;
+        }
+        LocalDate target = LocalDate.now().minusDays(1);
+        LocalDate fittedThrough = getFittedThrough();
+        if (fittedThrough != null && !fittedThrough.isBefore(target)) {
+            return;
+        }
+        if (!jobLockService.tryAcquire(LOCK_NAME, target.toString(), lockLease)) {
+            return;
+        }
+        try {
+            // Re-read under the lock: another node may have finished a fit meanwhile
+            fittedThrough = getFittedThrough();
+            LocalDate start = fittedThrough != null ? fittedThrough.plusDays(1) : target.minusDays(initialHistoryDays - 1);
+            if (!start.isAfter(target)) {
+                fit(start, target);
+            }
+            jobLockService.complete(LOCK_NAME, target.toString());
+        } catch (RuntimeException e) {
+            jobLockService.release(LOCK_NAME);
+            logger.error("Demand forecast refit failed", e);
+        }
+    }
+
+    // One transaction per day, so a long first fit makes progress that survives a failure
+    private void fit(LocalDate start, LocalDate end) {
+        long startedAt = System.currentTimeMillis();
+        int updated = 0;
+        for (LocalDate date = start; !date.isAfter(end); date = date.plusDays(1)) {
+            updated += fitDay(date);
+        }
+        logger.info("Demand forecast refit {}..{}: {} series updated in {} ms",
+                start, end, updated, System.currentTimeMillis() - startedAt);
+    }
+
+    /**
+     * Folds one day's sales into the forecasts. Only the series of that weekday at cafeterias
+     * with sales that day are loaded; they stay managed, so changes are flushed as batched
+     * UPDATEs, and only new series are inserted.
+     * @return The number of series updated.
+     */
+    private int fitDay(LocalDate date) {
+        List<DemandRow> rows = new ArrayList<>();
+        reportingJdbcRepository.streamItemDemand(date, date, rs -> rows.add(new DemandRow(
+                rs.getObject("cafeteria_id", UUID.class),
+                rs.getObject("menu_item_id", UUID.class),
+                rs.getInt("hour_of_day"),
+                rs.getLong("quantity"))));
+        int dayOfWeek = date.getDayOfWeek().getValue();
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            if (!rows.isEmpty()) {
+                Set<UUID> cafeteriaIds = rows.stream().map(row -> row.cafeteriaId).collect(Collectors.toSet());
+                Map<String, DemandForecast> series = demandForecastRepository
+                        .findByCafeteriaIdInAndDayOfWeek(cafeteriaIds, dayOfWeek).stream()
+                        .collect(Collectors.toMap(DemandForecastService::seriesKey, Function.identity()));
+                List<DemandForecast> created = new ArrayList<>();
+                for (DemandRow row : rows) {
+                    String key = seriesKey(row.cafeteriaId, row.menuItemId, dayOfWeek, row.hour);
+                    DemandForecast forecast = series.get(key);
+                    if (forecast == null) {
+                        forecast = newSeries(row.cafeteriaId, row.menuItemId, date, row.hour);
+                        series.put(key, forecast);
+                        created.add(forecast);
+                    }
+                    observe(forecast, date, row.quantity);
+                }
+                demandForecastRepository.saveAll(created);
+            }
+            appSettingService.setSettingValue(FITTED_THROUGH_SETTING, date.toString(),
+                    "Last day folded into the demand forecasts");
+        });
+        return rows.size();
+    }
+
+    private void observe(DemandForecast forecast, LocalDate date, long quantity) {
+        if (forecast.getObservations() == 0) {
+            forecast.setLevel((double) quantity);
+        } else {
+            double level = decay(forecast.getLevel(), missedWeeks(forecast.getLastObservedDate(), date.minusDays(1)));
+            forecast.setLevel(alpha * quantity + (1 - alpha) * level);
+        }
+        forecast.setObservations(forecast.getObservations() + 1);
+        forecast.setLastObservedDate(date);
+    }
+
+    // The series level after the zero observations between its last sale and fittedThrough
+    private double decayedLevel(DemandForecast forecast, LocalDate fittedThrough) {
+        return decay(forecast.getLevel(), missedWeeks(forecast.getLastObservedDate(), fittedThrough));
+    }
+
+    private double decay(double level, long missedWeeks) {
+        return missedWeeks > 0 ? level * Math.pow(1 - alpha, missedWeeks) : level;
+    }
+
+    // Occurrences of lastObserved's weekday after lastObserved, up to and including through
+    private static long missedWeeks(LocalDate lastObserved, LocalDate through) {
+        long days = ChronoUnit.DAYS.between(lastObserved, through);
+        return days > 0 ? days / 7 : 0;
+    }
+
+    private LocalDate getFittedThrough() {
+        String value = appSettingService.getSettingValue(FITTED_THROUGH_SETTING);
+        return value != null ? LocalDate.parse(value) : null;
+    }
+
+    private static DemandForecast newSeries(UUID cafeteriaId, UUID menuItemId, LocalDate date, int hour) {
+        DemandForecast forecast = new DemandForecast();
+        forecast.setCafeteriaId(cafeteriaId);
+        forecast.setMenuItemId(menuItemId);
+        forecast.setDayOfWeek(date.getDayOfWeek().getValue());
+        forecast.setHourOfDay(hour);
+        forecast.setLevel(0.0);
+        forecast.setObservations(0);
+        forecast.setLastObservedDate(date);
+        return forecast;
+    }
+
+    // One aggregated row of ReportingJdbcRepository.streamItemDemand for a single day
+    private static final class DemandRow {
+        final UUID cafeteriaId;
+        final UUID menuItemId;
+        final int hour;
+        final long quantity;
+
+        DemandRow(UUID cafeteriaId, UUID menuItemId, int hour, long quantity) {
+            this.cafeteriaId = cafeteriaId;
+            this.menuItemId = menuItemId;
+            this.hour = hour;
+            this.quantity = quantity;
+        }
+    }
+
+    private static String seriesKey(DemandForecast forecast) {
+        return seriesKey(forecast.getCafeteriaId(), forecast.getMenuItemId(), forecast.getDayOfWeek(), forecast.getHourOfDay());
+    }
+
+    private static String seriesKey(UUID cafeteriaId, UUID menuItemId, int dayOfWeek, int hour) {
+        return cafeteriaId + ":" + menuItemId + ":" + dayOfWeek + ":" + hour;
+    }
+}
@@ -0,0 +1,281 @@
+package com.grababite.backend.services;
+
+import com.grababite.backend.dto.ImageUploadResponse;
+import com.grababite.backend.images.ImageVariant;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * Stores uploaded images on local disk and renders their resized JPEG variants.
+ *
+ * An image's ID is the SHA-256 of its bytes, so re-uploading the same photo is free and every
+ * file under an ID is immutable. Layout: {dir}/{first two ID chars}/{ID}/original.{ext} and
+ * {variant}.jpg next to it. Files are written to a temporary name and moved into place, so a
+ * reader never sees a partial file.
+ *
+ * The directory is local to this node; with several nodes it must be on shared storage.
+ */
+@Service
+public class ImageStorageService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ImageStorageService.class);
+
+    private static final Pattern IMAGE_ID = Pattern.compile("[0-9a-f]{64}");
+    private static final Set<String> ACCEPTED_FORMATS = Set.of("jpeg", "png", "gif", "bmp");
+
+    @Autowired
+    @Qualifier("imageExecutor")
+    private ThreadPoolTaskExecutor imageExecutor;
+
+    @Value("${grababite.images.dir:./data/images}")
+    private String directory;
+
+    @Value("${grababite.images.jpeg-quality:0.82}")
+    private float jpegQuality;
+
+    // Decoding a huge image needs width * height * 4 bytes of heap; reject those before decoding
+    @Value("${grababite.images.max-pixels:40000000}")
+    private long maxPixels;
+
+    private final Set<String> rendering = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Stores an uploaded image and schedules rendering of its variants.
+     * @param bytes The uploaded file.
+     * @return The image ID and the URLs of the original and its variants.
+     * @throws IllegalArgumentException if the file is not a JPEG, PNG, GIF or BMP image or is too large to decode.
+     */
+    public ImageUploadResponse store(byte[] bytes) throws IOException {
+        String format;
+        int width;
+        int height;
+        try (ImageInputStream input = ImageIO.createImageInputStream(new ByteArrayInputStream(bytes))) {
+            Iterator<ImageReader> readers = input != null ? ImageIO.getImageReaders(input) : null;
+            if (readers == null || !readers.hasNext()) {
+                throw new IllegalArgumentException("Not a supported image");
+            }
+            ImageReader reader = readers.next();
+            try {
+                format = reader.getFormatName().toLowerCase(Locale.ROOT);
+                if (format.equals("jpg")) {
+                    format = "jpeg";
+                }
+                if (!ACCEPTED_FORMATS.contains(format)) {
+                    throw new IllegalArgumentException("Unsupported image format: " + format);
+                }
+                reader.setInput(input);
+                width = reader.getWidth(0);
+                height = reader.getHeight(0);
+            } finally {
+                reader.dispose();
+            }
+        }
+        if ((long) width * height > maxPixels) {
+            throw new IllegalArgumentException("Image is too large: " + width + "x" + height);
+        }
+
+        String imageId = sha256(bytes);
+        Path imageDirectory = imageDirectory(imageId);
+        Path original = imageDirectory.resolve("original." + format);
+        if (!Files.exists(original)) {
+            Files.createDirectories(imageDirectory);
+            writeAtomically(original, out -> out.write(bytes));
+        }
+        scheduleVariants(imageId);
+
+        String url = "/api/images/" + imageId + "/" + ImageVariant.ORIGINAL;
+        return new ImageUploadResponse(imageId, url, ImageVariant.urlsFor(url), width, height);
+    }
+
+    /**
+     * Finds the file of an image variant.
+     * When a variant has not been rendered yet, rendering is scheduled and null is returned.
+     * @param imageId The image ID.
+     * @param variantName "original" or a variant name.
+     * @return The file, or null if the image, the variant name or the rendered file does not exist.
+     */
+    public Path resolve(String imageId, String variantName) throws IOException {
+        if (imageId == null || !IMAGE_ID.matcher(imageId).matches()) {
+            return null;
+        }
+        if (ImageVariant.ORIGINAL.equals(variantName)) {
+            return findOriginal(imageId);
+        }
+        ImageVariant variant = ImageVariant.fromName(variantName);
+        if (variant == null) {
+            return null;
+        }
+        Path file = variantPath(imageId, variant);
+        if (Files.exists(file)) {
+            return file;
+        }
+        if (findOriginal(imageId) != null) {
+            scheduleVariants(imageId);
+        }
+        return null;
+    }
+
+    private void scheduleVariants(String imageId) {
+        if (!rendering.add(imageId)) {
+            return; // Already queued or running
+        }
+        try {
+            imageExecutor.execute(() -> {
+                try {
+                    renderVariants(imageId);
+                } catch (Exception e) {
+                    logger.error("Failed to render variants of image {}", imageId, e);
+                } finally {
+                    rendering.remove(imageId);
+                }
+            });
+        } catch (TaskRejectedException e) {
+            // Pool is busy; the variants are rendered when first requested
+            rendering.remove(imageId);
+        }
+    }
+
+    private void renderVariants(String imageId) throws IOException {
+        Path original = findOriginal(imageId);
+        if (original == null) {
+            return;
+        }
+        BufferedImage source = null;
+        for (ImageVariant variant : ImageVariant.values()) {
+            Path target = variantPath(imageId, variant);
+            if (Files.exists(target)) {
+                continue;
+            }
+            if (source == null) {
+                source = ImageIO.read(original.toFile());
+                if (source == null) {
+                    logger.warn("Image {} can no longer be decoded", imageId);
+                    return;
+                }
+            }
+            BufferedImage scaled = scaleToWidth(source, variant.getWidth());
+            writeAtomically(target, out -> writeJpeg(scaled, out));
+        }
+    }
+
+    // Downscales in steps of at most half, which keeps bilinear filtering sharp for large reductions,
+    // and flattens transparency onto white since JPEG has no alpha channel.
+    private static BufferedImage scaleToWidth(BufferedImage source, int maxWidth) {
+        int targetWidth = Math.min(maxWidth, source.getWidth());
+        int targetHeight = Math.max(1, (int) Math.round((double) source.getHeight() * targetWidth / source.getWidth()));
+
+        BufferedImage current = source;
+        int width = source.getWidth();
+        int height = source.getHeight();
+        do {
+            width = Math.max(targetWidth, width / 2);
+            height = width == targetWidth ? targetHeight : Math.max(targetHeight, height / 2);
+            BufferedImage step = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+            Graphics2D graphics = step.createGraphics();
+            try {
+                graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                graphics.setColor(Color.WHITE);
+                graphics.fillRect(0, 0, width, height);
+                graphics.drawImage(current, 0, 0, width, height, null);
+            } finally {
+                graphics.dispose();
+            }
+            current = step;
+        } while (width > targetWidth);
+        return current;
+    }
+
+    private void writeJpeg(BufferedImage image, OutputStream out) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        try (ImageOutputStream output = ImageIO.createImageOutputStream(out)) {
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(jpegQuality);
+            param.setProgressiveMode(ImageWriteParam.MODE_DEFAULT);
+            writer.setOutput(output);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+    }
+
+    private Path findOriginal(String imageId) throws IOException {
+        Path imageDirectory = imageDirectory(imageId);
+        if (!Files.isDirectory(imageDirectory)) {
+            return null;
+        }
+        for (String format : ACCEPTED_FORMATS) {
+            Path original = imageDirectory.resolve("original." + format);
+            if (Files.exists(original)) {
+                return original;
+            }
+        }
+        return null;
+    }
+
+    private Path imageDirectory(String imageId) {
+        return Paths.get(directory).resolve(imageId.substring(0, 2)).resolve(imageId);
+    }
+
+    private Path variantPath(String imageId, ImageVariant variant) {
+        return imageDirectory(imageId).resolve(variant.getVariantName() + ".jpg");
+    }
+
+    private static void writeAtomically(Path target, FileWriter writer) throws IOException {
+        Path temporary = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".tmp");
+        try {
+            try (OutputStream out = Files.newOutputStream(temporary)) {
+                writer.write(out);
+            }
+            Files.move(temporary, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    private static String sha256(byte[] bytes) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private interface FileWriter {
+        void write(OutputStream out) throws IOException;
+    }
+}
@@ -0,0 +1,101 @@
+package com.grababite.backend.services;
+
+import com.grababite.backend.models.JobLock;
+import com.grababite.backend.repositories.JobLockRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Database-backed locks for scheduled jobs, so that work like nightly precomputation runs on
+ * exactly one node even when several instances are deployed.
+ *
+ * A lock is a lease: it expires on its own if the holder dies. A lock can also remember the
+ * last run it completed (its run key, e.g. a business date) so that other nodes, or the same
+ * node on its next schedule tick, do not repeat a finished run.
+ */
+@Service
+public class JobLockService {
+
+    private static final LocalDateTime NEVER_LOCKED = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    @Autowired
+    private JobLockRepository jobLockRepository;
+
+    private final String nodeId = resolveNodeId();
+
+    /**
+     * Tries to take the lock for the given run.
+     * @param lockName The name of the lock.
+     * @param runKey Identifies the run; the lock is not granted if this run already completed.
+     * @param lease How long the lock is held before it expires on its own.
+     * @return true if this node now holds the lock.
+     */
+    public boolean tryAcquire(String lockName, String runKey, Duration lease) {
+        if (acquire(lockName, runKey, lease)) {
+            return true;
+        }
+        if (jobLockRepository.existsById(lockName)) {
+            return false;
+        }
+        // First use of this lock: create it unlocked, then compete for it like any other node
+        try {
+            JobLock lock = new JobLock();
+            lock.setLockName(lockName);
+            lock.setLockedUntil(NEVER_LOCKED);
+            jobLockRepository.saveAndFlush(lock);
+        } catch (DataIntegrityViolationException e) {
+            // Another node created it concurrently
+        }
+        return acquire(lockName, runKey, lease);
+    }
+
+    /**
+     * Releases a lock held by this node and records the run as completed.
+     * @param lockName The name of the lock.
+     * @param runKey The run that completed.
+     */
+    public void complete(String lockName, String runKey) {
+        jobLockRepository.release(lockName, runKey, nodeId, LocalDateTime.now());
+    }
+
+    /**
+     * Releases a lock held by this node without marking the run completed, so it is retried.
+     * @param lockName The name of the lock.
+     */
+    public void release(String lockName) {
+        jobLockRepository.release(lockName, null, nodeId, LocalDateTime.now());
+    }
+
+    /**
+     * @param lockName The name of the lock.
+     * @param runKey The run to check.
+     * @return true if the given run has completed on any node.
+     */
+    public boolean isCompleted(String lockName, String runKey) {
+        return jobLockRepository.findById(lockName)
+                .map(lock -> runKey.equals(lock.getLastRunKey()))
+                .orElse(false);
+    }
+
+    private boolean acquire(String lockName, String runKey, Duration lease) {
+        LocalDateTime now = LocalDateTime.now();
+        return jobLockRepository.tryAcquire(lockName, runKey, nodeId, now, now.plus(lease)) == 1;
+    }
+
+    private static String resolveNodeId() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            host = "unknown";
+        }
+        return host + ":" + UUID.randomUUID().toString().substring(0, 8);
+    }
+}
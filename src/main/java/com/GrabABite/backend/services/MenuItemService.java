@@ -1,36 +1,101 @@
 package com.grababite.backend.services;
 
+import com.grababite.backend.cache.CatalogVersions;
+import com.grababite.backend.cache.MenuCache;
+import com.grababite.backend.cache.RequestEntityCache;
+import com.grababite.backend.dto.MenuCloneRequest;
+import com.grababite.backend.dto.MenuRepriceRequest;
+import com.grababite.backend.dto.MenuRepriceResponse;
+import com.grababite.backend.exceptions.ResourceNotFoundException;
 import com.grababite.backend.models.Cafeteria;
 import com.grababite.backend.models.MenuItem;
 import com.grababite.backend.models.StandardMenuItem; // NEW: Import StandardMenuItem
 import com.grababite.backend.repositories.CafeteriaRepository;
+import com.grababite.backend.repositories.CollegeRepository;
 import com.grababite.backend.repositories.MenuItemRepository;
 import com.grababite.backend.repositories.StandardMenuItemRepository; // NEW: Import StandardMenuItemRepository
+import com.grababite.backend.search.CatalogSearchIndex;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 @Service
 public class MenuItemService {
 
+    public static final int MAX_BULK_UPDATE = 500;
+
+    private static final BigDecimal MAX_PRICE_MULTIPLIER = BigDecimal.TEN;
+
+    private static final BigDecimal MAX_REPRICE_PERCENT = BigDecimal.valueOf(100);
+    private static final BigDecimal MAX_ROUND_TO = BigDecimal.valueOf(100);
+    private static final Set<String> ROUNDING_MODES = Set.of("NEAREST", "UP", "DOWN");
+
     @Autowired
     private MenuItemRepository menuItemRepository;
 
     @Autowired
     private CafeteriaRepository cafeteriaRepository;
 
+    @Autowired
+    private CollegeRepository collegeRepository;
+
     @Autowired
     private StandardMenuItemRepository standardMenuItemRepository; // NEW: Autowire StandardMenuItemRepository
 
+    @Autowired
+    private MenuCache menuCache;
+
+    @Autowired
+    private CatalogVersions catalogVersions;
+
+    @Autowired
+    private PriceHistoryService priceHistoryService;
+
+    @Autowired
+    private CatalogSearchIndex catalogSearchIndex;
+
+    @Autowired
+    private RequestEntityCache requestEntityCache;
+
+    @Transactional(readOnly = true)
     public List<MenuItem> getAllMenuItems() {
         return menuItemRepository.findAll();
     }
 
+    /**
+     * Retrieves a menu item, at most once per request: ownership checks and handlers share the
+     * loaded item through the request's entity cache. The update and delete paths below do not
+     * use it: they load the item once from the primary and check ownership on that copy.
+     */
+    @Transactional(readOnly = true)
     public Optional<MenuItem> getMenuItemById(UUID id) {
-        return menuItemRepository.findById(id);
+        return findInRequest(id);
+    }
+
+    /**
+     * Retrieves the menu of a single cafeteria.
+     * Served from the menu cache; the database is only queried when the cafeteria's menu
+     * changed since it was cached (or the entry expired or was evicted).
+     * @param cafeteriaId The UUID of the cafeteria.
+     * @return An unmodifiable list of the cafeteria's menu items.
+     */
+    public List<MenuItem> getMenuByCafeteriaId(UUID cafeteriaId) {
+        return menuCache.get(cafeteriaId, menuItemRepository::findByCafeteria_CafeteriaId);
     }
 
     /**
@@ -43,6 +108,7 @@ public class MenuItemService {
      * @return The created MenuItem object.
      * @throws IllegalArgumentException if a standardMenuItemId is provided but not found.
      */
+    @Transactional
     public MenuItem createMenuItem(MenuItem menuItem, UUID standardMenuItemId) {
         if (standardMenuItemId != null) {
             StandardMenuItem standardItem = standardMenuItemRepository.findById(standardMenuItemId)
@@ -52,18 +118,32 @@ public class MenuItemService {
             menuItem.setName(standardItem.getName());
             menuItem.setDescription(standardItem.getDescription());
             menuItem.setImageUrl(standardItem.getImageUrl());
+            menuItem.setNameOverridden(false);
+            menuItem.setDescriptionOverridden(false);
+            menuItem.setImageUrlOverridden(false);
         }
-        return menuItemRepository.save(menuItem);
+        MenuItem savedMenuItem = menuItemRepository.save(menuItem);
+        priceHistoryService.record(savedMenuItem.getMenuItemId(), savedMenuItem.getPrice());
+        menuCache.invalidateAfterCommit(cafeteriaIdOf(savedMenuItem));
+        catalogVersions.bumpAfterCommit(CatalogVersions.MENU_ITEMS);
+        catalogSearchIndex.indexMenuItemAfterCommit(savedMenuItem);
+        return savedMenuItem;
     }
 
     /**
      * Updates an existing menu item.
      * @param id The UUID of the menu item to update.
      * @param menuItemDetails The MenuItem object with updated details.
+     * @param requiredCafeteriaId The cafeteria the item must belong to, or null for any (admins).
      * @return The updated MenuItem object, or null if not found.
+     * @throws AccessDeniedException if the item belongs to another cafeteria.
      */
-    public MenuItem updateMenuItem(UUID id, MenuItem menuItemDetails) {
-        return menuItemRepository.findById(id).map(menuItem -> {
+    @Transactional
+    public MenuItem updateMenuItem(UUID id, MenuItem menuItemDetails, UUID requiredCafeteriaId) {
+        return findForUpdate(id, requiredCafeteriaId).map(menuItem -> {
+            UUID previousCafeteriaId = cafeteriaIdOf(menuItem);
+            boolean priceChanged = menuItem.getPrice() == null || menuItemDetails.getPrice() == null
+                    || menuItem.getPrice().compareTo(menuItemDetails.getPrice()) != 0;
             menuItem.setName(menuItemDetails.getName());
             menuItem.setDescription(menuItemDetails.getDescription());
             menuItem.setPrice(menuItemDetails.getPrice());
@@ -84,16 +164,272 @@ public class MenuItemService {
             } else if (menuItemDetails.getStandardMenuItem() == null) {
                 menuItem.setStandardMenuItem(null);
             }
+            markOverrides(menuItem);
 
-            return menuItemRepository.save(menuItem);
+            MenuItem savedMenuItem = menuItemRepository.save(menuItem);
+            requestEntityCache.put(MenuItem.class, id, savedMenuItem);
+            if (priceChanged) {
+                priceHistoryService.record(id, savedMenuItem.getPrice());
+            }
+            // Moving an item changes two menus
+            menuCache.invalidateAfterCommit(previousCafeteriaId);
+            if (!Objects.equals(previousCafeteriaId, cafeteriaIdOf(savedMenuItem))) {
+                menuCache.invalidateAfterCommit(cafeteriaIdOf(savedMenuItem));
+            }
+            catalogVersions.bumpAfterCommit(CatalogVersions.MENU_ITEMS);
+            catalogSearchIndex.indexMenuItemAfterCommit(savedMenuItem);
+            return savedMenuItem;
         }).orElse(null);
     }
 
-    public boolean deleteMenuItem(UUID id) {
-        if (menuItemRepository.existsById(id)) {
-            menuItemRepository.deleteById(id);
+    /**
+     * Sets the availability of menu items of one cafeteria with a single UPDATE.
+     * IDs that do not exist or belong to another cafeteria are ignored.
+     * @param cafeteriaId The cafeteria the items must belong to.
+     * @param menuItemIds The items to update (at most MAX_BULK_UPDATE).
+     * @param isAvailable The new availability.
+     * @return The number of items updated.
+     * @throws IllegalArgumentException if an argument is missing or too many IDs are given.
+     */
+    @Transactional
+    public int updateAvailability(UUID cafeteriaId, Collection<UUID> menuItemIds, Boolean isAvailable) {
+        if (cafeteriaId == null || isAvailable == null || menuItemIds == null || menuItemIds.isEmpty()) {
+            throw new IllegalArgumentException("cafeteriaId, isAvailable and at least one menu item ID are required");
+        }
+        Collection<UUID> ids = new LinkedHashSet<>(menuItemIds);
+        if (ids.size() > MAX_BULK_UPDATE) {
+            throw new IllegalArgumentException("At most " + MAX_BULK_UPDATE + " menu items can be updated at once");
+        }
+        int updated = menuItemRepository.updateAvailability(cafeteriaId, ids, isAvailable);
+        if (updated > 0) {
+            menuCache.invalidateAfterCommit(cafeteriaId);
+            catalogVersions.bumpAfterCommit(CatalogVersions.MENU_ITEMS);
+            catalogSearchIndex.updateAvailabilityAfterCommit(ids, isAvailable);
+        }
+        return updated;
+    }
+
+    /**
+     * Sets the price of a menu item of one cafeteria with a single UPDATE.
+     * @param cafeteriaId The cafeteria the item must belong to.
+     * @param menuItemId The item to update.
+     * @param price The new price.
+     * @return true if updated, false if the item does not exist in that cafeteria.
+     * @throws IllegalArgumentException if an argument is missing or the price is negative.
+     */
+    @Transactional
+    public boolean updatePrice(UUID cafeteriaId, UUID menuItemId, BigDecimal price) {
+        if (cafeteriaId == null || price == null || price.signum() < 0) {
+            throw new IllegalArgumentException("cafeteriaId and a non-negative price are required");
+        }
+        if (menuItemRepository.updatePrice(cafeteriaId, menuItemId, price) == 0) {
+            return false;
+        }
+        priceHistoryService.record(menuItemId, price);
+        menuCache.invalidateAfterCommit(cafeteriaId);
+        catalogVersions.bumpAfterCommit(CatalogVersions.MENU_ITEMS);
+        catalogSearchIndex.updatePriceAfterCommit(menuItemId, price);
+        return true;
+    }
+
+    /**
+     * Copies the menu items of one cafeteria into another with a single INSERT ... SELECT.
+     * Standard item links and override flags are kept; items whose name already exists in the
+     * target are skipped; section assignments are not copied. The new items are indexed for
+     * search from the rows the insert returns, so none are loaded.
+     * @param targetCafeteriaId The cafeteria to copy into.
+     * @param request The source cafeteria, optional price multiplier and filters.
+     * @return The IDs of the created menu items.
+     * @throws ResourceNotFoundException if either cafeteria does not exist.
+     * @throws IllegalArgumentException if the source is missing or the same as the target, or the multiplier is out of range.
+     */
+    @Transactional
+    public List<UUID> cloneMenu(UUID targetCafeteriaId, MenuCloneRequest request) {
+        UUID sourceCafeteriaId = request.getSourceCafeteriaId();
+        if (sourceCafeteriaId == null || sourceCafeteriaId.equals(targetCafeteriaId)) {
+            throw new IllegalArgumentException("A source cafeteria other than the target is required");
+        }
+        BigDecimal multiplier = request.getPriceMultiplier() != null ? request.getPriceMultiplier() : BigDecimal.ONE;
+        if (multiplier.signum() <= 0 || multiplier.compareTo(MAX_PRICE_MULTIPLIER) > 0) {
+            throw new IllegalArgumentException("priceMultiplier must be greater than 0 and at most " + MAX_PRICE_MULTIPLIER);
+        }
+        for (UUID cafeteriaId : List.of(sourceCafeteriaId, targetCafeteriaId)) {
+            if (!cafeteriaRepository.existsById(cafeteriaId)) {
+                throw new ResourceNotFoundException("Cafeteria not found with id: " + cafeteriaId);
+            }
+        }
+        String namePattern = request.getNameContains() == null || request.getNameContains().isBlank() ? null
+                : "%" + request.getNameContains().trim().toLowerCase()
+                        .replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%";
+
+        LocalDateTime now = LocalDateTime.now();
+        List<Object[]> rows = menuItemRepository.cloneMenu(sourceCafeteriaId, targetCafeteriaId, multiplier,
+                Boolean.TRUE.equals(request.getOnlyAvailable()), namePattern, now);
+        List<UUID> ids = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            ids.add((UUID) row[0]);
+            catalogSearchIndex.indexMenuItemAfterCommit((UUID) row[0], (String) row[1], (String) row[2],
+                    targetCafeteriaId, (UUID) row[5], (BigDecimal) row[3], (Boolean) row[4],
+                    (Boolean) row[6], (Boolean) row[7]);
+        }
+        if (!ids.isEmpty()) {
+            menuCache.invalidateAfterCommit(targetCafeteriaId);
+            catalogVersions.bumpAfterCommit(CatalogVersions.MENU_ITEMS);
+        }
+        return ids;
+    }
+
+    /**
+     * Computes the new prices of a bulk reprice without changing anything.
+     * @param request The scope, the change and the rounding rule.
+     * @return The items whose price would change, with their old and new price.
+     * @throws ResourceNotFoundException if the cafeteria, college or standard item does not exist.
+     * @throws IllegalArgumentException if the request is invalid.
+     */
+    @Transactional(readOnly = true)
+    public MenuRepriceResponse previewReprice(MenuRepriceRequest request) {
+        Reprice reprice = validateReprice(request);
+        List<Object[]> rows = menuItemRepository.previewReprice(request.getCafeteriaId(), request.getCollegeId(),
+                request.getStandardMenuItemId(), reprice.percent, reprice.amount, reprice.roundTo, reprice.rounding);
+        return new MenuRepriceResponse(true, toPriceChanges(rows));
+    }
+
+    /**
+     * Applies a percentage and/or absolute price change to every item of a cafeteria, a college
+     * or a standard item group with one set-based UPDATE that also appends the price history.
+     * New prices are rounded in SQL to a multiple of roundTo and never go below zero.
+     * @param request The scope, the change and the rounding rule.
+     * @return The items whose price changed, with their old and new price.
+     * @throws ResourceNotFoundException if the cafeteria, college or standard item does not exist.
+     * @throws IllegalArgumentException if the request is invalid.
+     */
+    @Transactional
+    public MenuRepriceResponse reprice(MenuRepriceRequest request) {
+        Reprice reprice = validateReprice(request);
+        LocalDateTime now = LocalDateTime.now();
+        List<Object[]> rows = menuItemRepository.repriceItems(request.getCafeteriaId(), request.getCollegeId(),
+                request.getStandardMenuItemId(), reprice.percent, reprice.amount, reprice.roundTo, reprice.rounding, now);
+        List<MenuRepriceResponse.PriceChange> changes = toPriceChanges(rows);
+        if (!changes.isEmpty()) {
+            Map<UUID, BigDecimal> newPrices = new HashMap<>();
+            Set<UUID> cafeteriaIds = new LinkedHashSet<>();
+            for (MenuRepriceResponse.PriceChange change : changes) {
+                newPrices.put(change.getMenuItemId(), change.getNewPrice());
+                cafeteriaIds.add(change.getCafeteriaId());
+            }
+            cafeteriaIds.forEach(menuCache::invalidateAfterCommit);
+            catalogVersions.bumpAfterCommit(CatalogVersions.MENU_ITEMS);
+            catalogSearchIndex.updatePricesAfterCommit(newPrices);
+        }
+        return new MenuRepriceResponse(false, changes);
+    }
+
+    private Reprice validateReprice(MenuRepriceRequest request) {
+        if (request.getCafeteriaId() == null && request.getCollegeId() == null && request.getStandardMenuItemId() == null) {
+            throw new IllegalArgumentException("At least one of cafeteriaId, collegeId or standardMenuItemId is required");
+        }
+        BigDecimal percent = request.getPercent() != null ? request.getPercent() : BigDecimal.ZERO;
+        BigDecimal amount = request.getAmount() != null ? request.getAmount() : BigDecimal.ZERO;
+        if (percent.signum() == 0 && amount.signum() == 0) {
+            throw new IllegalArgumentException("A non-zero percent or amount is required");
+        }
+        if (percent.compareTo(MAX_REPRICE_PERCENT.negate()) <= 0 || percent.compareTo(MAX_REPRICE_PERCENT) > 0) {
+            throw new IllegalArgumentException("percent must be greater than -100 and at most " + MAX_REPRICE_PERCENT);
+        }
+        BigDecimal roundTo = request.getRoundTo() != null ? request.getRoundTo() : new BigDecimal("0.01");
+        if (roundTo.signum() <= 0 || roundTo.compareTo(MAX_ROUND_TO) > 0) {
+            throw new IllegalArgumentException("roundTo must be greater than 0 and at most " + MAX_ROUND_TO);
+        }
+        String rounding = request.getRounding() != null ? request.getRounding().trim().toUpperCase(Locale.ROOT) : "NEAREST";
+        if (!ROUNDING_MODES.contains(rounding)) {
+            throw new IllegalArgumentException("rounding must be one of " + ROUNDING_MODES);
+        }
+        if (request.getCafeteriaId() != null && !cafeteriaRepository.existsById(request.getCafeteriaId())) {
+            throw new ResourceNotFoundException("Cafeteria not found with id: " + request.getCafeteriaId());
+        }
+        if (request.getCollegeId() != null && !collegeRepository.existsById(request.getCollegeId())) {
+            throw new ResourceNotFoundException("College not found with id: " + request.getCollegeId());
+        }
+        if (request.getStandardMenuItemId() != null && !standardMenuItemRepository.existsById(request.getStandardMenuItemId())) {
+            throw new ResourceNotFoundException("Standard menu item not found with id: " + request.getStandardMenuItemId());
+        }
+        return new Reprice(percent, amount, roundTo, rounding);
+    }
+
+    private static List<MenuRepriceResponse.PriceChange> toPriceChanges(List<Object[]> rows) {
+        List<MenuRepriceResponse.PriceChange> changes = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            changes.add(new MenuRepriceResponse.PriceChange((UUID) row[0], (UUID) row[1], (String) row[2],
+                    (BigDecimal) row[3], (BigDecimal) row[4]));
+        }
+        return changes;
+    }
+
+    private static final class Reprice {
+        final BigDecimal percent;
+        final BigDecimal amount;
+        final BigDecimal roundTo;
+        final String rounding;
+
+        Reprice(BigDecimal percent, BigDecimal amount, BigDecimal roundTo, String rounding) {
+            this.percent = percent;
+            this.amount = amount;
+            this.roundTo = roundTo;
+            this.rounding = rounding;
+        }
+    }
+
+    /**
+     * Deletes a menu item.
+     * @param requiredCafeteriaId The cafeteria the item must belong to, or null for any (admins).
+     * @return false if the item does not exist.
+     * @throws AccessDeniedException if the item belongs to another cafeteria.
+     */
+    @Transactional
+    public boolean deleteMenuItem(UUID id, UUID requiredCafeteriaId) {
+        return findForUpdate(id, requiredCafeteriaId).map(menuItem -> {
+            UUID cafeteriaId = cafeteriaIdOf(menuItem);
+            menuItemRepository.delete(menuItem);
+            requestEntityCache.evict(MenuItem.class, id);
+            menuCache.invalidateAfterCommit(cafeteriaId);
+            catalogVersions.bumpAfterCommit(CatalogVersions.MENU_ITEMS);
+            catalogSearchIndex.removeMenuItemAfterCommit(id);
             return true;
+        }).orElse(false);
+    }
+
+    private Optional<MenuItem> findInRequest(UUID id) {
+        return requestEntityCache.get(MenuItem.class, id, () -> menuItemRepository.findById(id));
+    }
+
+    // The item to write, read once in the caller's read-write transaction and so from the
+    // primary. Ownership is checked on this copy rather than in @PreAuthorize, which would load
+    // the item a second time (and from the replica).
+    private Optional<MenuItem> findForUpdate(UUID id, UUID requiredCafeteriaId) {
+        Optional<MenuItem> found = menuItemRepository.findById(id);
+        if (found.isPresent() && requiredCafeteriaId != null && !requiredCafeteriaId.equals(cafeteriaIdOf(found.get()))) {
+            throw new AccessDeniedException("Menu item " + id + " belongs to another cafeteria");
         }
-        return false;
+        requestEntityCache.put(MenuItem.class, id, found.orElse(null));
+        return found;
+    }
+
+    // A linked item's field counts as overridden while it differs from the standard item's value,
+    // so edits to the standard item stop propagating to it (see StandardMenuItemService).
+    private static void markOverrides(MenuItem menuItem) {
+        StandardMenuItem standardItem = menuItem.getStandardMenuItem();
+        if (standardItem == null) {
+            menuItem.setNameOverridden(null);
+            menuItem.setDescriptionOverridden(null);
+            menuItem.setImageUrlOverridden(null);
+            return;
+        }
+        menuItem.setNameOverridden(!Objects.equals(menuItem.getName(), standardItem.getName()));
+        menuItem.setDescriptionOverridden(!Objects.equals(menuItem.getDescription(), standardItem.getDescription()));
+        menuItem.setImageUrlOverridden(!Objects.equals(menuItem.getImageUrl(), standardItem.getImageUrl()));
+    }
+
+    private static UUID cafeteriaIdOf(MenuItem menuItem) {
+        return menuItem.getCafeteria() != null ? menuItem.getCafeteria().getCafeteriaId() : null;
     }
 }
@@ -0,0 +1,148 @@
+package com.grababite.backend.services;
+
+import com.grababite.backend.cache.CatalogVersions;
+import com.grababite.backend.cache.MenuCache;
+import com.grababite.backend.exceptions.ResourceNotFoundException;
+import com.grababite.backend.models.MenuSection;
+import com.grababite.backend.repositories.CafeteriaRepository;
+import com.grababite.backend.repositories.MenuItemRepository;
+import com.grababite.backend.repositories.MenuSectionRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Menu sections (breakfast, lunch, ...) and the assignment of items to them. Every change
+ * invalidates the cafeteria's menu, which also rebuilds its menu timeline.
+ */
+@Service
+public class MenuSectionService {
+
+    private static final int MAX_SECTIONS = 24;
+
+    @Autowired
+    private MenuSectionRepository menuSectionRepository;
+
+    @Autowired
+    private MenuItemRepository menuItemRepository;
+
+    @Autowired
+    private CafeteriaRepository cafeteriaRepository;
+
+    @Autowired
+    private MenuCache menuCache;
+
+    @Autowired
+    private CatalogVersions catalogVersions;
+
+    /**
+     * @param cafeteriaId The UUID of the cafeteria.
+     * @return The cafeteria's sections, ordered by start time.
+     */
+    @Transactional(readOnly = true)
+    public List<MenuSection> getSections(UUID cafeteriaId) {
+        return menuSectionRepository.findByCafeteriaIdOrderByStartsAtAsc(cafeteriaId);
+    }
+
+    /**
+     * Creates a section.
+     * @throws ResourceNotFoundException if the cafeteria does not exist.
+     * @throws IllegalArgumentException if the name or times are missing or the cafeteria has too many sections.
+     */
+    @Transactional
+    public MenuSection createSection(UUID cafeteriaId, MenuSection details) {
+        if (!cafeteriaRepository.existsById(cafeteriaId)) {
+            throw new ResourceNotFoundException("Cafeteria not found with id: " + cafeteriaId);
+        }
+        validate(details);
+        if (menuSectionRepository.findByCafeteriaIdOrderByStartsAtAsc(cafeteriaId).size() >= MAX_SECTIONS) {
+            throw new IllegalArgumentException("A cafeteria can have at most " + MAX_SECTIONS + " menu sections");
+        }
+        MenuSection section = new MenuSection();
+        section.setCafeteriaId(cafeteriaId);
+        section.setName(details.getName());
+        section.setStartsAt(details.getStartsAt());
+        section.setEndsAt(details.getEndsAt());
+        MenuSection saved = menuSectionRepository.save(section);
+        changed(cafeteriaId);
+        return saved;
+    }
+
+    /**
+     * Updates a section's name and window.
+     * @throws ResourceNotFoundException if the section does not exist in the cafeteria.
+     * @throws IllegalArgumentException if the name or times are missing.
+     */
+    @Transactional
+    public MenuSection updateSection(UUID cafeteriaId, UUID menuSectionId, MenuSection details) {
+        validate(details);
+        MenuSection section = findSection(cafeteriaId, menuSectionId);
+        section.setName(details.getName());
+        section.setStartsAt(details.getStartsAt());
+        section.setEndsAt(details.getEndsAt());
+        MenuSection saved = menuSectionRepository.save(section);
+        changed(cafeteriaId);
+        return saved;
+    }
+
+    /**
+     * Deletes a section; its items become all-day.
+     * @throws ResourceNotFoundException if the section does not exist in the cafeteria.
+     */
+    @Transactional
+    public void deleteSection(UUID cafeteriaId, UUID menuSectionId) {
+        MenuSection section = findSection(cafeteriaId, menuSectionId);
+        menuItemRepository.clearMenuSection(menuSectionId);
+        menuSectionRepository.delete(section);
+        changed(cafeteriaId);
+    }
+
+    /**
+     * Assigns menu items of one cafeteria to a section with a single UPDATE.
+     * IDs that do not exist or belong to another cafeteria are ignored.
+     * @param menuSectionId The section, or null to make the items all-day.
+     * @return The number of items updated.
+     * @throws ResourceNotFoundException if the section does not exist in the cafeteria.
+     * @throws IllegalArgumentException if an argument is missing or too many IDs are given.
+     */
+    @Transactional
+    public int assignItems(UUID cafeteriaId, UUID menuSectionId, Collection<UUID> menuItemIds) {
+        if (cafeteriaId == null || menuItemIds == null || menuItemIds.isEmpty()) {
+            throw new IllegalArgumentException("cafeteriaId and at least one menu item ID are required");
+        }
+        Collection<UUID> ids = new LinkedHashSet<>(menuItemIds);
+        if (ids.size() > MenuItemService.MAX_BULK_UPDATE) {
+            throw new IllegalArgumentException("At most " + MenuItemService.MAX_BULK_UPDATE + " menu items can be updated at once");
+        }
+        if (menuSectionId != null) {
+            findSection(cafeteriaId, menuSectionId);
+        }
+        int updated = menuItemRepository.updateMenuSection(cafeteriaId, ids, menuSectionId);
+        if (updated > 0) {
+            changed(cafeteriaId);
+        }
+        return updated;
+    }
+
+    private MenuSection findSection(UUID cafeteriaId, UUID menuSectionId) {
+        return menuSectionRepository.findByMenuSectionIdAndCafeteriaId(menuSectionId, cafeteriaId)
+                .orElseThrow(() -> new ResourceNotFoundException("Menu section not found with id: " + menuSectionId));
+    }
+
+    private void changed(UUID cafeteriaId) {
+        menuCache.invalidateAfterCommit(cafeteriaId);
+        catalogVersions.bumpAfterCommit(CatalogVersions.MENU_ITEMS);
+    }
+
+    private static void validate(MenuSection details) {
+        if (details.getName() == null || details.getName().isBlank()
+                || details.getStartsAt() == null || details.getEndsAt() == null) {
+            throw new IllegalArgumentException("name, startsAt and endsAt are required");
+        }
+    }
+}
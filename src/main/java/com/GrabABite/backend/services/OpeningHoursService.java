@@ -0,0 +1,158 @@
+package com.grababite.backend.services;
+
+import com.grababite.backend.cache.CatalogVersions;
+import com.grababite.backend.dto.OpeningHoursRequest;
+import com.grababite.backend.dto.OpeningHoursResponse;
+import com.grababite.backend.exceptions.ResourceNotFoundException;
+import com.grababite.backend.hours.OpeningHoursIndex;
+import com.grababite.backend.models.Cafeteria;
+import com.grababite.backend.models.OpeningHours;
+import com.grababite.backend.models.OpeningHoursOverride;
+import com.grababite.backend.repositories.CafeteriaRepository;
+import com.grababite.backend.repositories.OpeningHoursOverrideRepository;
+import com.grababite.backend.repositories.OpeningHoursRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+@Service
+public class OpeningHoursService {
+
+    private static final int MAX_WEEKLY_INTERVALS = 7 * 6;
+    private static final int MAX_OVERRIDES = 366;
+
+    @Autowired
+    private CafeteriaRepository cafeteriaRepository;
+
+    @Autowired
+    private OpeningHoursRepository openingHoursRepository;
+
+    @Autowired
+    private OpeningHoursOverrideRepository openingHoursOverrideRepository;
+
+    @Autowired
+    private OpeningHoursIndex openingHoursIndex;
+
+    @Autowired
+    private CatalogVersions catalogVersions;
+
+    /**
+     * Retrieves a cafeteria's weekly hours, its upcoming overrides and whether it is open now.
+     * @param cafeteriaId The UUID of the cafeteria.
+     * @return The cafeteria's opening hours.
+     * @throws ResourceNotFoundException if the cafeteria does not exist.
+     */
+    @Transactional(readOnly = true)
+    public OpeningHoursResponse getHours(UUID cafeteriaId) {
+        if (!cafeteriaRepository.existsById(cafeteriaId)) {
+            throw new ResourceNotFoundException("Cafeteria not found with id: " + cafeteriaId);
+        }
+        return toResponse(cafeteriaId,
+                openingHoursRepository.findByCafeteriaIdOrderByDayOfWeekAscOpensAtAsc(cafeteriaId),
+                openingHoursOverrideRepository.findByCafeteriaIdAndDateGreaterThanEqualOrderByDateAscOpensAtAsc(
+                        cafeteriaId, LocalDate.now().minusDays(1)));
+    }
+
+    /**
+     * Replaces a cafeteria's timezone, weekly hours and overrides. The opening hours index is
+     * refreshed once the change commits.
+     * @param cafeteriaId The UUID of the cafeteria.
+     * @param request The new hours; empty lists remove all hours (back to the manual switch).
+     * @return The cafeteria's hours as stored.
+     * @throws ResourceNotFoundException if the cafeteria does not exist.
+     * @throws IllegalArgumentException if the timezone or an interval is invalid.
+     */
+    @Transactional
+    public OpeningHoursResponse replaceHours(UUID cafeteriaId, OpeningHoursRequest request) {
+        Cafeteria cafeteria = cafeteriaRepository.findById(cafeteriaId)
+                .orElseThrow(() -> new ResourceNotFoundException("Cafeteria not found with id: " + cafeteriaId));
+        List<OpeningHours> weekly = request.getWeekly() != null ? request.getWeekly() : List.of();
+        List<OpeningHoursOverride> overrides = request.getOverrides() != null ? request.getOverrides() : List.of();
+        validate(request.getTimezone(), weekly, overrides);
+
+        cafeteria.setTimezone(request.getTimezone() == null || request.getTimezone().isBlank() ? null : request.getTimezone());
+        openingHoursRepository.deleteByCafeteriaId(cafeteriaId);
+        openingHoursOverrideRepository.deleteByCafeteriaId(cafeteriaId);
+
+        List<OpeningHours> savedWeekly = new ArrayList<>(weekly.size());
+        for (OpeningHours interval : weekly) {
+            OpeningHours row = new OpeningHours();
+            row.setCafeteriaId(cafeteriaId);
+            row.setDayOfWeek(interval.getDayOfWeek());
+            row.setOpensAt(interval.getOpensAt());
+            row.setClosesAt(interval.getClosesAt());
+            savedWeekly.add(row);
+        }
+        List<OpeningHoursOverride> savedOverrides = new ArrayList<>(overrides.size());
+        for (OpeningHoursOverride override : overrides) {
+            OpeningHoursOverride row = new OpeningHoursOverride();
+            row.setCafeteriaId(cafeteriaId);
+            row.setDate(override.getDate());
+            row.setOpensAt(override.getOpensAt());
+            row.setClosesAt(override.getClosesAt());
+            row.setNote(override.getNote());
+            savedOverrides.add(row);
+        }
+        savedWeekly = openingHoursRepository.saveAll(savedWeekly);
+        savedOverrides = openingHoursOverrideRepository.saveAll(savedOverrides);
+
+        openingHoursIndex.refreshAfterCommit(cafeteriaId);
+        catalogVersions.bumpAfterCommit(CatalogVersions.CAFETERIAS);
+        return toResponse(cafeteriaId, savedWeekly, savedOverrides);
+    }
+
+    private void validate(String timezone, List<OpeningHours> weekly, List<OpeningHoursOverride> overrides) {
+        if (timezone != null && !timezone.isBlank()) {
+            try {
+                ZoneId.of(timezone);
+            } catch (DateTimeException e) {
+                throw new IllegalArgumentException("Invalid timezone: " + timezone);
+            }
+        }
+        if (weekly.size() > MAX_WEEKLY_INTERVALS || overrides.size() > MAX_OVERRIDES) {
+            throw new IllegalArgumentException("Too many opening hours intervals.");
+        }
+        for (OpeningHours interval : weekly) {
+            if (interval.getDayOfWeek() == null || interval.getDayOfWeek() < 1 || interval.getDayOfWeek() > 7) {
+                throw new IllegalArgumentException("dayOfWeek must be between 1 (Monday) and 7 (Sunday).");
+            }
+            if (interval.getOpensAt() == null || interval.getClosesAt() == null) {
+                throw new IllegalArgumentException("Weekly hours need both opensAt and closesAt.");
+            }
+        }
+        for (OpeningHoursOverride override : overrides) {
+            if (override.getDate() == null) {
+                throw new IllegalArgumentException("Overrides need a date.");
+            }
+            if ((override.getOpensAt() == null) != (override.getClosesAt() == null)) {
+                throw new IllegalArgumentException("Overrides need both opensAt and closesAt, or neither to close for the day.");
+            }
+        }
+    }
+
+    private OpeningHoursResponse toResponse(UUID cafeteriaId, List<OpeningHours> weekly, List<OpeningHoursOverride> overrides) {
+        OpeningHoursResponse response = new OpeningHoursResponse();
+        response.setCafeteriaId(cafeteriaId);
+        response.setWeekly(weekly);
+        response.setOverrides(overrides);
+        // Status comes from the index, so it reflects committed hours only
+        ZoneId zone = openingHoursIndex.zoneOf(cafeteriaId);
+        if (zone != null) {
+            response.setTimezone(zone.getId());
+            response.setIsOpen(openingHoursIndex.isOpen(cafeteriaId));
+            Instant nextOpening = openingHoursIndex.nextOpening(cafeteriaId);
+            if (nextOpening != null) {
+                response.setNextOpening(nextOpening.atZone(zone).toOffsetDateTime());
+            }
+        }
+        return response;
+    }
+}
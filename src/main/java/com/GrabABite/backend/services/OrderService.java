@@ -2,7 +2,13 @@ package com.grababite.backend.services;
 
 import com.grababite.backend.dto.OrderCreationRequest;
 import com.grababite.backend.dto.OrderItemRequest;
+import com.grababite.backend.events.OrderCompletedEvent;
+import com.grababite.backend.events.OrderCompletionRevertedEvent;
+import com.grababite.backend.cache.MenuCache;
+import com.grababite.backend.cache.MenuTimelineCache;
+import com.grababite.backend.exceptions.CafeteriaClosedException;
 import com.grababite.backend.exceptions.ResourceNotFoundException;
+import com.grababite.backend.hours.OpeningHoursIndex;
 import com.grababite.backend.models.Cafeteria;
 import com.grababite.backend.models.Order;
 import com.grababite.backend.models.OrderItem;
@@ -14,6 +20,7 @@ import com.grababite.backend.repositories.OrderItemRepository;
 import com.grababite.backend.repositories.OrderRepository;
 import com.grababite.backend.repositories.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -46,11 +53,24 @@ public class OrderService {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private OpeningHoursIndex openingHoursIndex;
+
+    @Autowired
+    private MenuCache menuCache;
+
+    @Autowired
+    private MenuTimelineCache menuTimelineCache;
+
     /**
      * Retrieves all orders.
      * This method is typically for administrative access.
      * @return A list of all Order objects.
      */
+    @Transactional(readOnly = true)
     public List<Order> getAllOrders() {
         return orderRepository.findAll();
     }
@@ -60,6 +80,7 @@ public class OrderService {
      * @param id The UUID of the order.
      * @return An Optional containing the Order if found.
      */
+    @Transactional(readOnly = true)
     public Optional<Order> getOrderById(UUID id) {
         return orderRepository.findById(id);
     }
@@ -70,6 +91,7 @@ public class OrderService {
      * @param cafeteriaId The UUID of the cafeteria.
      * @return A list of Order objects for the given cafeteria.
      */
+    @Transactional(readOnly = true)
     public List<Order> getOrdersByCafeteriaId(UUID cafeteriaId) {
         return orderRepository.findByCafeteriaCafeteriaId(cafeteriaId);
     }
@@ -80,6 +102,7 @@ public class OrderService {
      * @param userId The UUID of the user.
      * @return A list of Order objects placed by the given user.
      */
+    @Transactional(readOnly = true)
     public List<Order> getOrdersByUserId(UUID userId) {
         return orderRepository.findByUser_Id(userId);
     }
@@ -90,13 +113,23 @@ public class OrderService {
      * @param request The OrderCreationRequest DTO containing order details and items.
      * @return The created Order object.
      * @throws ResourceNotFoundException if cafeteria or any menu item is not found.
-     * @throws IllegalArgumentException if an order item has a non-positive quantity.
+     * @throws IllegalArgumentException if an order item has a non-positive quantity or is outside its menu section's window.
+     * @throws CafeteriaClosedException if the cafeteria is closed.
      */
     @Transactional
     public Order createOrder(OrderCreationRequest request) {
-        // 1. Validate Cafeteria
+        // 1. Validate Cafeteria; closed cafeterias are rejected from the in-memory hours index before any DB read
+        Boolean open = openingHoursIndex.isOpen(request.getCafeteriaId());
+        if (Boolean.FALSE.equals(open)) {
+            throw new CafeteriaClosedException("Cafeteria is closed: " + request.getCafeteriaId(),
+                    openingHoursIndex.nextOpening(request.getCafeteriaId()));
+        }
         Cafeteria cafeteria = cafeteriaRepository.findById(request.getCafeteriaId())
                 .orElseThrow(() -> new ResourceNotFoundException("Cafeteria not found with ID: " + request.getCafeteriaId()));
+        if (open == null && Boolean.FALSE.equals(cafeteria.getIsOpen())) {
+            // Not indexed yet (e.g. created on another node); fall back to the manual switch
+            throw new CafeteriaClosedException("Cafeteria is closed: " + request.getCafeteriaId(), null);
+        }
         logger.debug("Found Cafeteria: {}", cafeteria.getName());
 
         // 2. Validate and set User
@@ -126,6 +159,7 @@ public class OrderService {
         logger.debug("Generated pickup code: {}", order.getPickupCode());
 
         BigDecimal totalAmount = BigDecimal.ZERO;
+        List<MenuItem> menu = null; // The cafeteria's cached menu, for menu section windows
 
         // 4. Process Order Items
         for (OrderItemRequest itemRequest : request.getOrderItems()) {
@@ -136,14 +170,23 @@ public class OrderService {
             if (itemRequest.getQuantity() <= 0) {
                 throw new IllegalArgumentException("Quantity for menu item " + menuItem.getName() + " must be positive.");
             }
+            if (menuItem.getMenuSectionId() != null) {
+                if (menu == null) {
+                    menu = menuCache.get(cafeteria.getCafeteriaId(), menuItemRepository::findByCafeteria_CafeteriaId);
+                }
+                if (!menuTimelineCache.isInWindow(cafeteria.getCafeteriaId(), menu, menuItem.getMenuSectionId())) {
+                    throw new IllegalArgumentException("Menu item " + menuItem.getName() + " is not served at this time.");
+                }
+            }
 
             OrderItem orderItem = new OrderItem();
             orderItem.setOrder(order); // Link to the current order
             orderItem.setMenuItem(menuItem);
             orderItem.setQuantity(itemRequest.getQuantity());
+            orderItem.setUnitPrice(menuItem.getPrice()); // Price at the time of sale, for reports
 
             // Calculate item total and add to overall total
-            totalAmount = totalAmount.add(menuItem.getPrice().multiply(BigDecimal.valueOf(itemRequest.getQuantity())));
+            totalAmount = totalAmount.add(orderItem.getUnitPrice().multiply(BigDecimal.valueOf(itemRequest.getQuantity())));
 
             order.addOrderItem(orderItem); // Add to the order's collection
         }
@@ -166,14 +209,24 @@ public class OrderService {
      * @return The updated Order object, or null if not found.
      * @throws IllegalArgumentException if the new status is invalid.
      */
+    @Transactional
     public Order updateOrderStatus(UUID id, String newStatus) {
         return orderRepository.findById(id).map(order -> {
             // Basic validation for status (you might have an enum or more complex logic)
             if (!isValidOrderStatus(newStatus)) {
                 throw new IllegalArgumentException("Invalid order status: " + newStatus);
             }
+            boolean wasCompleted = "COMPLETED".equalsIgnoreCase(order.getStatus());
+            boolean completing = "COMPLETED".equalsIgnoreCase(newStatus) && !wasCompleted;
             order.setStatus(newStatus);
-            return orderRepository.save(order);
+            Order savedOrder = orderRepository.save(order);
+            if (completing) {
+                // Delivered to listeners only after the transaction commits
+                eventPublisher.publishEvent(toCompletedEvent(savedOrder));
+            } else if (wasCompleted && !"COMPLETED".equalsIgnoreCase(newStatus)) {
+                eventPublisher.publishEvent(toRevertedEvent(savedOrder));
+            }
+            return savedOrder;
         }).orElse(null);
     }
 
@@ -182,9 +235,14 @@ public class OrderService {
      * @param id The UUID of the order to delete.
      * @return true if the order was deleted, false otherwise.
      */
+    @Transactional
     public boolean deleteOrder(UUID id) {
-        if (orderRepository.existsById(id)) {
-            orderRepository.deleteById(id);
+        Optional<Order> order = orderRepository.findById(id);
+        if (order.isPresent()) {
+            if ("COMPLETED".equalsIgnoreCase(order.get().getStatus())) {
+                eventPublisher.publishEvent(toRevertedEvent(order.get()));
+            }
+            orderRepository.delete(order.get());
             return true;
         }
         return false;
@@ -205,6 +263,23 @@ public class OrderService {
         return code;
     }
 
+    private OrderCompletedEvent toCompletedEvent(Order order) {
+        List<OrderCompletedEvent.Line> lines = order.getOrderItems().stream()
+                .map(item -> new OrderCompletedEvent.Line(
+                        item.getMenuItem().getMenuItemId(),
+                        item.getMenuItem().getName(),
+                        item.getQuantity(),
+                        item.getUnitPrice() != null ? item.getUnitPrice() : item.getMenuItem().getPrice()))
+                .toList();
+        return new OrderCompletedEvent(order.getOrderId(), order.getCafeteria().getCafeteriaId(),
+                order.getCafeteria().getName(), order.getCreatedAt(), order.getTotalAmount(), lines);
+    }
+
+    private OrderCompletionRevertedEvent toRevertedEvent(Order order) {
+        return new OrderCompletionRevertedEvent(order.getOrderId(), order.getCafeteria().getCafeteriaId(),
+                order.getCreatedAt());
+    }
+
     private boolean isValidOrderStatus(String status) {
         // Define your valid order statuses here
         return List.of("PENDING", "PREPARING", "READY_FOR_PICKUP", "COMPLETED", "CANCELLED")
@@ -0,0 +1,119 @@
+package com.grababite.backend.services;
+
+import com.grababite.backend.models.MenuItemPrice;
+import com.grababite.backend.repositories.MenuItemPriceRepository;
+import com.grababite.backend.repositories.OrderItemRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Records menu item price changes in the append-only menu_item_prices table and looks up the
+ * price an item had at a given time.
+ */
+@Service
+public class PriceHistoryService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PriceHistoryService.class);
+
+    private static final String BACKFILL_LOCK = "price-history-backfill";
+    private static final String BACKFILL_RUN = "v1";
+    private static final int BACKFILL_BATCH_SIZE = 1000;
+
+    @Autowired
+    private MenuItemPriceRepository menuItemPriceRepository;
+
+    @Autowired
+    private OrderItemRepository orderItemRepository;
+
+    @Autowired
+    private JobLockService jobLockService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    /**
+     * Once per database: starts a history for items created before price history existed and
+     * fills in unit prices of old order lines, in batches that each commit on their own.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillOnStartup() {
+        try {
+            if (!jobLockService.isCompleted(BACKFILL_LOCK, BACKFILL_RUN)
+                    && jobLockService.tryAcquire(BACKFILL_LOCK, BACKFILL_RUN, Duration.ofHours(1))) {
+                try {
+                    TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+                    int seeded = transaction.execute(status -> menuItemPriceRepository.seedMissingHistories());
+                    int backfilled = 0;
+                    UUID after = new UUID(0, 0);
+                    while (true) {
+                        UUID from = after;
+                        List<UUID> batch = transaction.execute(status -> {
+                            List<UUID> ids = orderItemRepository.findUnpricedIdsAfter(from, BACKFILL_BATCH_SIZE);
+                            if (!ids.isEmpty()) {
+                                orderItemRepository.backfillUnitPrices(ids);
+                            }
+                            return ids;
+                        });
+                        if (batch.isEmpty()) {
+                            break;
+                        }
+                        backfilled += batch.size();
+                        after = batch.get(batch.size() - 1);
+                    }
+                    jobLockService.complete(BACKFILL_LOCK, BACKFILL_RUN);
+                    logger.info("Price history backfill: {} item histories started, {} order lines priced", seeded, backfilled);
+                } catch (RuntimeException e) {
+                    jobLockService.release(BACKFILL_LOCK);
+                    throw e;
+                }
+            }
+        } catch (RuntimeException e) {
+            logger.error("Failed to backfill menu price history", e);
+        }
+    }
+
+    /**
+     * @param menuItemId The ID of the menu item.
+     * @param at The point in time (orders.created_at clock).
+     * @return The item's price at that time, or empty if its history starts later.
+     */
+    public Optional<BigDecimal> priceAt(UUID menuItemId, LocalDateTime at) {
+        return menuItemPriceRepository.findPriceAt(menuItemId, at);
+    }
+
+    /**
+     * Appends the item's new price to its history, effective now. Must run in the transaction
+     * that changes the price.
+     */
+    public void record(UUID menuItemId, BigDecimal price) {
+        recordAll(List.of(menuItemId), List.of(price));
+    }
+
+    /** Appends several items' new prices (same order in both lists), effective now. */
+    public void recordAll(List<UUID> menuItemIds, List<BigDecimal> prices) {
+        LocalDateTime now = LocalDateTime.now();
+        List<MenuItemPrice> entries = new ArrayList<>(menuItemIds.size());
+        for (int i = 0; i < menuItemIds.size(); i++) {
+            MenuItemPrice entry = new MenuItemPrice();
+            entry.setMenuItemId(menuItemIds.get(i));
+            entry.setPrice(prices.get(i));
+            entry.setEffectiveFrom(now);
+            entries.add(entry);
+        }
+        menuItemPriceRepository.saveAll(entries);
+    }
+}
@@ -0,0 +1,206 @@
+package com.grababite.backend.services;
+
+import com.grababite.backend.auth.RevocationList;
+import com.grababite.backend.config.JwtUtil;
+import com.grababite.backend.models.RefreshSession;
+import com.grababite.backend.models.RefreshToken;
+import com.grababite.backend.models.RevokedToken;
+import com.grababite.backend.repositories.RefreshSessionRepository;
+import com.grababite.backend.repositories.RefreshTokenRepository;
+import com.grababite.backend.repositories.RevokedTokenRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Issues, rotates and revokes refresh tokens.
+ *
+ * Each login starts a session (a token family). Every refresh exchanges the presented token for
+ * a new one in the same family, exactly once; presenting an already rotated token revokes the
+ * whole session, including its outstanding access tokens, through the revocation list.
+ * Rotation and revocation lock the session's row, so a refresh racing a logout can never leave
+ * a working token behind in the revoked session.
+ */
+@Service
+public class RefreshTokenService {
+
+    private static final int TOKEN_BYTES = 32;
+
+    // Added to the access token lifetime when revoking a session's sid: covers access tokens signed
+    // just after a rotation that committed before the revocation, and clock differences between nodes
+    private static final Duration REVOCATION_MARGIN = Duration.ofMinutes(1);
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Autowired
+    private RefreshSessionRepository refreshSessionRepository;
+
+    @Autowired
+    private RevokedTokenRepository revokedTokenRepository;
+
+    @Autowired
+    private RevocationList revocationList;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Value("${grababite.jwt.refresh-ttl:P30D}")
+    private Duration refreshTtl;
+
+    private final SecureRandom random = new SecureRandom();
+
+    /**
+     * Starts a session and issues its first refresh token.
+     * @param userId The user the token is for.
+     * @return The token (only ever returned to the client, never stored in plain) and its session.
+     */
+    @Transactional
+    public IssuedToken issue(UUID userId) {
+        RefreshSession session = new RefreshSession(UUID.randomUUID(), userId, LocalDateTime.now().plus(refreshTtl));
+        refreshSessionRepository.save(session);
+        return issue(session);
+    }
+
+    /**
+     * Exchanges a refresh token for a new one in the same session.
+     * @throws BadCredentialsException if the token is unknown, expired or revoked, or was
+     * already exchanged (in which case the whole session is revoked).
+     */
+    @Transactional(noRollbackFor = BadCredentialsException.class)
+    public IssuedToken rotate(String presentedToken) {
+        if (presentedToken == null || presentedToken.isBlank()) {
+            throw new BadCredentialsException("Refresh token is required");
+        }
+        RefreshToken current = refreshTokenRepository.findByTokenHash(hash(presentedToken))
+                .orElseThrow(() -> new BadCredentialsException("Invalid refresh token"));
+        LocalDateTime now = LocalDateTime.now();
+        if (current.getExpiresAt().isBefore(now)) {
+            throw new BadCredentialsException("Refresh token expired");
+        }
+        RefreshSession session = lockSession(current.getFamilyId(), now)
+                .orElseThrow(() -> new BadCredentialsException("Invalid refresh token"));
+        if (session.getRevokedAt() != null) {
+            throw new BadCredentialsException("Session was revoked");
+        }
+        if (refreshTokenRepository.markRotated(current.getTokenId(), now) == 0) {
+            // Already exchanged: a copy of the token is in someone else's hands
+            revoke(session.getSessionId(), session, now);
+            throw new BadCredentialsException("Refresh token was already used");
+        }
+        session.setExpiresAt(now.plus(refreshTtl));
+        return issue(session);
+    }
+
+    /**
+     * Ends a session: its refresh tokens stop working and its access tokens are rejected on
+     * every node within the revocation poll interval (immediately on this node).
+     */
+    @Transactional
+    public void revokeSession(UUID sessionId) {
+        LocalDateTime now = LocalDateTime.now();
+        revoke(sessionId, lockSession(sessionId, now).orElse(null), now);
+    }
+
+    /**
+     * Ends every live session of the user, e.g. after a password or role change.
+     */
+    @Transactional
+    public void revokeUserSessions(UUID userId) {
+        LocalDateTime now = LocalDateTime.now();
+        for (UUID sessionId : refreshTokenRepository.findLiveFamilyIds(userId, now)) {
+            revoke(sessionId, lockSession(sessionId, now).orElse(null), now);
+        }
+    }
+
+    @Scheduled(cron = "${grababite.jwt.refresh-cleanup-cron:0 20 4 * * *}")
+    public void deleteExpired() {
+        LocalDateTime now = LocalDateTime.now();
+        refreshTokenRepository.deleteExpired(now);
+        refreshSessionRepository.deleteExpired(now);
+    }
+
+    // Locks the session's row for the rest of the transaction, creating it first for sessions
+    // started before sessions had rows. Empty if the session has no row and no tokens left.
+    private Optional<RefreshSession> lockSession(UUID sessionId, LocalDateTime now) {
+        Optional<RefreshSession> session = refreshSessionRepository.findForUpdate(sessionId);
+        if (session.isEmpty()) {
+            refreshSessionRepository.insertFromTokens(sessionId, now);
+            session = refreshSessionRepository.findForUpdate(sessionId);
+        }
+        return session;
+    }
+
+    // The caller holds the lock on the session's row; session is null if it has none
+    private void revoke(UUID sessionId, RefreshSession session, LocalDateTime now) {
+        if (session != null) {
+            session.setRevokedAt(now);
+        }
+        refreshTokenRepository.revokeFamily(sessionId, now);
+        // With the session revoked under its lock, no access token of it is signed after now
+        LocalDateTime expiresAt = now.plus(jwtUtil.getAccessTtl()).plus(REVOCATION_MARGIN);
+        revokedTokenRepository.save(new RevokedToken(sessionId, expiresAt));
+        revocationList.addAfterCommit(sessionId, expiresAt);
+    }
+
+    private IssuedToken issue(RefreshSession session) {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        random.nextBytes(bytes);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        RefreshToken refreshToken = new RefreshToken();
+        refreshToken.setUserId(session.getUserId());
+        refreshToken.setFamilyId(session.getSessionId());
+        refreshToken.setTokenHash(hash(token));
+        refreshToken.setExpiresAt(session.getExpiresAt());
+        refreshTokenRepository.save(refreshToken);
+        return new IssuedToken(token, session.getUserId(), session.getSessionId());
+    }
+
+    private static String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public static final class IssuedToken {
+        private final String token;
+        private final UUID userId;
+        private final UUID sessionId;
+
+        IssuedToken(String token, UUID userId, UUID sessionId) {
+            this.token = token;
+            this.userId = userId;
+            this.sessionId = sessionId;
+        }
+
+        public String getToken() {
+            return token;
+        }
+
+        public UUID getUserId() {
+            return userId;
+        }
+
+        public UUID getSessionId() {
+            return sessionId;
+        }
+    }
+}
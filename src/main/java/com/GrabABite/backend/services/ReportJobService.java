@@ -0,0 +1,265 @@
+package com.grababite.backend.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.grababite.backend.analytics.ColumnarAnalyticsEngine;
+import com.grababite.backend.dto.ReportJobRequest;
+import com.grababite.backend.dto.ReportJobResponse;
+import com.grababite.backend.models.ReportJob;
+import com.grababite.backend.repositories.ReportJobRepository;
+import com.grababite.backend.repositories.ReportingJdbcRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Runs long-range reports as background jobs.
+ *
+ * A submitted job is persisted as PENDING and handed to the bounded reportJobExecutor.
+ * The worker runs the aggregate query on the reporting connection pool, stores the result
+ * as JSON on the job row and notifies any SSE subscribers. Results are kept until their
+ * TTL expires and are then purged by a scheduled task.
+ *
+ * SSE connections are held by whichever node the client reached, which need not be the node
+ * running the job. Each node therefore also polls the job table for its subscribed jobs, so a
+ * job finished elsewhere is delivered within grababite.reports.jobs.subscriber-poll-interval-ms.
+ */
+@Service
+public class ReportJobService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReportJobService.class);
+
+    public static final String TYPE_POPULAR_MENU_ITEMS = "POPULAR_MENU_ITEMS";
+    public static final String TYPE_DAILY_SALES = "DAILY_SALES";
+
+    public static final String STATUS_PENDING = "PENDING";
+    public static final String STATUS_RUNNING = "RUNNING";
+    public static final String STATUS_COMPLETED = "COMPLETED";
+    public static final String STATUS_FAILED = "FAILED";
+
+    @Autowired
+    private ReportJobRepository reportJobRepository;
+
+    @Autowired
+    private ReportingJdbcRepository reportingJdbcRepository;
+
+    // Present only when grababite.analytics.columnar.enabled=true
+    @Autowired(required = false)
+    private ColumnarAnalyticsEngine analyticsEngine;
+
+    @Autowired
+    @Qualifier("reportJobExecutor")
+    private ThreadPoolTaskExecutor reportJobExecutor;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${grababite.reports.jobs.result-ttl:PT24H}")
+    private Duration resultTtl;
+
+    @Value("${grababite.reports.jobs.max-runtime:PT2H}")
+    private Duration maxRuntime;
+
+    @Value("${grababite.reports.jobs.max-range-days:366}")
+    private long maxRangeDays;
+
+    private static final int POLL_BATCH_SIZE = 500;
+
+    // Open SSE connections per job, local to this node
+    private final Map<UUID, List<SseEmitter>> subscribers = new ConcurrentHashMap<>();
+
+    /**
+     * Validates and persists a new report job, then queues it for execution.
+     * @param request The ReportJobRequest describing the report.
+     * @param requestedBy Email of the user submitting the job.
+     * @return The persisted job in PENDING state.
+     * @throws IllegalArgumentException if the request is invalid.
+     * @throws TaskRejectedException if the worker pool and its queue are full.
+     */
+    public ReportJob submitJob(ReportJobRequest request, String requestedBy) {
+        validate(request);
+
+        ReportJob job = new ReportJob();
+        job.setReportType(request.getReportType().toUpperCase());
+        job.setStatus(STATUS_PENDING);
+        job.setCafeteriaId(request.getCafeteriaId());
+        job.setStartDate(request.getStartDate());
+        job.setEndDate(request.getEndDate());
+        job.setResultLimit(request.getLimit() != null ? request.getLimit() : 5);
+        job.setRequestedBy(requestedBy);
+        ReportJob savedJob = reportJobRepository.save(job);
+
+        try {
+            reportJobExecutor.execute(() -> runJob(savedJob.getJobId()));
+        } catch (TaskRejectedException e) {
+            reportJobRepository.deleteById(savedJob.getJobId());
+            throw e;
+        }
+        return savedJob;
+    }
+
+    /**
+     * Retrieves a report job by its ID.
+     * @param jobId The UUID of the job.
+     * @return An Optional containing the ReportJob if found.
+     */
+    public Optional<ReportJob> getJob(UUID jobId) {
+        return reportJobRepository.findById(jobId);
+    }
+
+    /**
+     * Opens an SSE stream that receives a single "completed" event when the job finishes.
+     * If the job has already finished the event is sent immediately.
+     * @param job The job to subscribe to.
+     * @return The SseEmitter to return from the controller.
+     */
+    public SseEmitter subscribe(ReportJob job) {
+        SseEmitter emitter = new SseEmitter(maxRuntime.toMillis());
+        if (isFinished(job.getStatus())) {
+            sendAndComplete(emitter, job);
+            return emitter;
+        }
+
+        List<SseEmitter> emitters = subscribers.computeIfAbsent(job.getJobId(), id -> new CopyOnWriteArrayList<>());
+        emitters.add(emitter);
+        emitter.onCompletion(() -> emitters.remove(emitter));
+        emitter.onTimeout(() -> emitters.remove(emitter));
+
+        // The job may have finished between the status check and the registration above
+        reportJobRepository.findById(job.getJobId())
+                .filter(latest -> isFinished(latest.getStatus()))
+                .ifPresent(latest -> notifySubscribers(latest));
+        return emitter;
+    }
+
+    /**
+     * Purges expired job results and fails jobs that have been running for longer than the maximum runtime.
+     */
+    @Scheduled(fixedDelayString = "${grababite.reports.jobs.purge-interval-ms:600000}")
+    public void purgeExpiredJobs() {
+        LocalDateTime now = LocalDateTime.now();
+        int failed = reportJobRepository.failStaleJobs(
+                List.of(STATUS_PENDING, STATUS_RUNNING),
+                now.minus(maxRuntime),
+                "Job did not finish within " + maxRuntime,
+                now,
+                now.plus(resultTtl));
+        int purged = reportJobRepository.deleteExpired(now);
+        if (failed > 0 || purged > 0) {
+            logger.info("Report job cleanup: {} stale job(s) failed, {} expired job(s) purged", failed, purged);
+        }
+    }
+
+    /**
+     * Notifies this node's subscribers of jobs that another node has finished.
+     */
+    @Scheduled(fixedDelayString = "${grababite.reports.jobs.subscriber-poll-interval-ms:2000}")
+    public void notifyJobsFinishedElsewhere() {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        List<UUID> jobIds = List.copyOf(subscribers.keySet());
+        for (int from = 0; from < jobIds.size(); from += POLL_BATCH_SIZE) {
+            List<UUID> batch = jobIds.subList(from, Math.min(from + POLL_BATCH_SIZE, jobIds.size()));
+            reportJobRepository.findByJobIdInAndStatusIn(batch, List.of(STATUS_COMPLETED, STATUS_FAILED))
+                    .forEach(this::notifySubscribers);
+        }
+    }
+
+    private void runJob(UUID jobId) {
+        ReportJob job = reportJobRepository.findById(jobId).orElse(null);
+        if (job == null) {
+            return;
+        }
+        job.setStatus(STATUS_RUNNING);
+        job.setStartedAt(LocalDateTime.now());
+        job = reportJobRepository.save(job);
+
+        try {
+            boolean inMemory = analyticsEngine != null && analyticsEngine.isReady();
+            Object result = switch (job.getReportType()) {
+                case TYPE_POPULAR_MENU_ITEMS -> inMemory
+                        ? analyticsEngine.getPopularMenuItems(
+                                job.getCafeteriaId(), job.getStartDate(), job.getEndDate(), job.getResultLimit())
+                        : reportingJdbcRepository.findPopularMenuItems(
+                                job.getCafeteriaId(), job.getStartDate(), job.getEndDate(), job.getResultLimit());
+                case TYPE_DAILY_SALES -> inMemory
+                        ? analyticsEngine.getDailySales(job.getCafeteriaId(), job.getStartDate(), job.getEndDate())
+                        : reportingJdbcRepository.findDailySales(
+                                job.getCafeteriaId(), job.getStartDate(), job.getEndDate());
+                default -> throw new IllegalArgumentException("Unsupported report type: " + job.getReportType());
+            };
+            job.setResultJson(objectMapper.writeValueAsString(result));
+            job.setStatus(STATUS_COMPLETED);
+        } catch (Exception e) {
+            logger.error("Report job {} failed", jobId, e);
+            job.setStatus(STATUS_FAILED);
+            String message = String.valueOf(e.getMessage());
+            job.setErrorMessage(message.length() > 255 ? message.substring(0, 255) : message);
+        }
+
+        LocalDateTime completedAt = LocalDateTime.now();
+        job.setCompletedAt(completedAt);
+        job.setExpiresAt(completedAt.plus(resultTtl));
+        ReportJob finishedJob = reportJobRepository.save(job);
+        logger.info("Report job {} ({}) finished with status {} in {} ms", jobId, finishedJob.getReportType(),
+                finishedJob.getStatus(), Duration.between(finishedJob.getStartedAt(), completedAt).toMillis());
+
+        notifySubscribers(finishedJob);
+    }
+
+    private void notifySubscribers(ReportJob job) {
+        List<SseEmitter> emitters = subscribers.remove(job.getJobId());
+        if (emitters != null) {
+            emitters.forEach(emitter -> sendAndComplete(emitter, job));
+        }
+    }
+
+    private void sendAndComplete(SseEmitter emitter, ReportJob job) {
+        try {
+            emitter.send(SseEmitter.event().name("completed").data(ReportJobResponse.from(job, false)));
+            emitter.complete();
+        } catch (IOException | IllegalStateException e) {
+            emitter.completeWithError(e);
+        }
+    }
+
+    private void validate(ReportJobRequest request) {
+        if (request.getReportType() == null ||
+            !List.of(TYPE_POPULAR_MENU_ITEMS, TYPE_DAILY_SALES).contains(request.getReportType().toUpperCase())) {
+            throw new IllegalArgumentException("Unsupported report type: " + request.getReportType());
+        }
+        if (request.getCafeteriaId() == null || request.getStartDate() == null || request.getEndDate() == null) {
+            throw new IllegalArgumentException("cafeteriaId, startDate and endDate are required.");
+        }
+        if (request.getEndDate().isBefore(request.getStartDate())) {
+            throw new IllegalArgumentException("endDate must not be before startDate.");
+        }
+        if (request.getStartDate().plusDays(maxRangeDays).isBefore(request.getEndDate())) {
+            throw new IllegalArgumentException("Date range must not exceed " + maxRangeDays + " days.");
+        }
+        if (request.getLimit() != null && request.getLimit() <= 0) {
+            throw new IllegalArgumentException("limit must be positive.");
+        }
+    }
+
+    private static boolean isFinished(String status) {
+        return STATUS_COMPLETED.equals(status) || STATUS_FAILED.equals(status);
+    }
+}
@@ -0,0 +1,221 @@
+package com.grababite.backend.services;
+
+import com.grababite.backend.dto.SalesSummaryResponse;
+import com.grababite.backend.models.Cafeteria;
+import com.grababite.backend.models.College;
+import com.grababite.backend.models.ReportSnapshot;
+import com.grababite.backend.repositories.CafeteriaRepository;
+import com.grababite.backend.repositories.CollegeRepository;
+import com.grababite.backend.repositories.ReportingJdbcRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.DateTimeException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Precomputes each cafeteria's reports for the last closed business day so that the first
+ * dashboard visit of the morning does not pay for them.
+ *
+ * The schedule ticks hourly. For every college, the business day counts as closed once the
+ * campus's local time passes grababite.precompute.close-of-business. One node per college and
+ * day computes the daily sales summary, top items and hourly heatmap under a database lock;
+ * every node then loads the finished snapshots into its own cache, well before opening hours.
+ *
+ * Snapshots marked stale by orders that changed after they were taken are recomputed by a
+ * separate, more frequent task (grababite.precompute.stale-recompute-interval-ms), on one node
+ * at a time.
+ */
+@Service
+public class ReportPrecomputeService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReportPrecomputeService.class);
+
+    static final String LAST_DURATION_SETTING = "REPORT_PRECOMPUTE_LAST_DURATION_MS";
+
+    @Autowired
+    private CollegeRepository collegeRepository;
+
+    @Autowired
+    private CafeteriaRepository cafeteriaRepository;
+
+    @Autowired
+    private ReportingJdbcRepository reportingJdbcRepository;
+
+    @Autowired
+    private ReportSnapshotService reportSnapshotService;
+
+    @Autowired
+    private JobLockService jobLockService;
+
+    @Autowired
+    private AppSettingService appSettingService;
+
+    @Value("${grababite.precompute.enabled:true}")
+    private boolean enabled;
+
+    @Value("${grababite.precompute.close-of-business:22:00}")
+    private String closeOfBusiness; // Local time, HH:mm
+
+    @Value("${grababite.precompute.default-timezone:}")
+    private String defaultTimezone;
+
+    @Value("${grababite.precompute.lock-lease:PT30M}")
+    private Duration lockLease;
+
+    // The reporting pool may read from the replica; changes younger than this may not be visible there yet
+    @Value("${grababite.datasource.replica.max-lag-ms:5000}")
+    private long replicaMaxLagMs;
+
+    // "collegeId:date" runs whose snapshots are already in this node's cache
+    private final Set<String> warmedRuns = ConcurrentHashMap.newKeySet();
+
+    @Scheduled(cron = "${grababite.precompute.cron:0 5 * * * *}")
+    public void precomputeClosedBusinessDays() {
+        if (!enabled) {
+            return;
+        }
+        for (College college : collegeRepository.findAll()) {
+            try {
+                precomputeCollege(college);
+            } catch (RuntimeException e) {
+                logger.error("Report precomputation failed for college {}", college.getCollegeId(), e);
+            }
+        }
+        reportSnapshotService.purgeExpired();
+    }
+
+    private void precomputeCollege(College college) {
+        LocalDate businessDate = lastClosedBusinessDay(zoneOf(college));
+        String lockName = "report-precompute:" + college.getCollegeId();
+        String runKey = businessDate.toString();
+        String warmKey = college.getCollegeId() + ":" + runKey;
+        if (warmedRuns.contains(warmKey)) {
+            return;
+        }
+
+        List<Cafeteria> cafeterias = cafeteriaRepository.findByCollege_CollegeId(college.getCollegeId());
+        List<UUID> cafeteriaIds = cafeterias.stream().map(Cafeteria::getCafeteriaId).toList();
+
+        if (jobLockService.tryAcquire(lockName, runKey, lockLease)) {
+            long start = System.currentTimeMillis();
+            try {
+                for (Cafeteria cafeteria : cafeterias) {
+                    precomputeCafeteria(cafeteria, businessDate);
+                }
+            } catch (Exception e) {
+                jobLockService.release(lockName);
+                throw new IllegalStateException("Precomputation of " + runKey + " failed", e);
+            }
+            jobLockService.complete(lockName, runKey);
+
+            long durationMs = System.currentTimeMillis() - start;
+            logger.info("Precomputed reports for {} cafeteria(s) of college {} for {} in {} ms",
+                    cafeteriaIds.size(), college.getCollegeId(), businessDate, durationMs);
+            appSettingService.setSettingValue(LAST_DURATION_SETTING, String.valueOf(durationMs),
+                    "Duration of the most recent nightly report precomputation, in milliseconds");
+        }
+
+        // Runs on every node; the snapshots may have been computed here or on another node
+        if (jobLockService.isCompleted(lockName, runKey)) {
+            int loaded = reportSnapshotService.warm(cafeteriaIds, businessDate);
+            warmedRuns.add(warmKey);
+            warmedRuns.removeIf(key -> key.startsWith(college.getCollegeId() + ":") && !key.equals(warmKey));
+            logger.debug("Warmed {} report snapshot(s) for college {} on {}", loaded, college.getCollegeId(), businessDate);
+        }
+    }
+
+    /**
+     * Recomputes snapshots whose day changed after they were taken.
+     */
+    @Scheduled(fixedDelayString = "${grababite.precompute.stale-recompute-interval-ms:60000}")
+    public void recomputeStaleSnapshots() {
+        if (!enabled) {
+            return;
+        }
+        LocalDateTime settledBefore = LocalDateTime.now().minusNanos(replicaMaxLagMs * 1_000_000L);
+        List<ReportSnapshot> stale = reportSnapshotService.findStale().stream()
+                .filter(snapshot -> snapshot.getStaleSince().isBefore(settledBefore))
+                .toList();
+        if (stale.isEmpty()) {
+            return;
+        }
+        // A fresh run key per attempt: the lock only keeps nodes from recomputing at the same time
+        String lockName = "report-recompute";
+        if (!jobLockService.tryAcquire(lockName, LocalDateTime.now().toString(), lockLease)) {
+            return;
+        }
+        try {
+            Map<UUID, Set<LocalDate>> days = new HashMap<>();
+            for (ReportSnapshot snapshot : stale) {
+                days.computeIfAbsent(snapshot.getCafeteriaId(), id -> new LinkedHashSet<>()).add(snapshot.getReportDate());
+            }
+            for (Map.Entry<UUID, Set<LocalDate>> entry : days.entrySet()) {
+                Cafeteria cafeteria = cafeteriaRepository.findById(entry.getKey()).orElse(null);
+                if (cafeteria == null) {
+                    continue; // Deleted; its snapshots age out with the retention window
+                }
+                for (LocalDate date : entry.getValue()) {
+                    try {
+                        precomputeCafeteria(cafeteria, date);
+                    } catch (Exception e) {
+                        logger.error("Recomputing reports of cafeteria {} for {} failed", entry.getKey(), date, e);
+                    }
+                }
+            }
+            logger.info("Recomputed {} stale report snapshot(s)", stale.size());
+        } finally {
+            jobLockService.release(lockName);
+        }
+    }
+
+    private void precomputeCafeteria(Cafeteria cafeteria, LocalDate date) throws Exception {
+        UUID cafeteriaId = cafeteria.getCafeteriaId();
+        LocalDateTime startedAt = LocalDateTime.now();
+        SalesSummaryResponse summary = reportingJdbcRepository.findDailySales(cafeteriaId, date, date).stream()
+                .findFirst()
+                .orElseGet(() -> new SalesSummaryResponse(cafeteriaId, cafeteria.getName(), date, BigDecimal.ZERO, 0L, 0L));
+        reportSnapshotService.save(cafeteriaId, date, ReportSnapshotService.TYPE_DAILY_SALES, summary, startedAt);
+        reportSnapshotService.save(cafeteriaId, date, ReportSnapshotService.TYPE_TOP_ITEMS,
+                reportingJdbcRepository.findPopularMenuItems(cafeteriaId, date, date, reportSnapshotService.getTopItemsLimit()),
+                startedAt);
+        reportSnapshotService.save(cafeteriaId, date, ReportSnapshotService.TYPE_HOURLY_HEATMAP,
+                reportingJdbcRepository.findHourlySales(cafeteriaId, date), startedAt);
+    }
+
+    // The most recent day whose close of business has passed in the given zone
+    private LocalDate lastClosedBusinessDay(ZoneId zone) {
+        ZonedDateTime now = ZonedDateTime.now(zone);
+        return now.toLocalTime().isBefore(LocalTime.parse(closeOfBusiness)) ? now.toLocalDate().minusDays(1) : now.toLocalDate();
+    }
+
+    private ZoneId zoneOf(College college) {
+        String zone = college.getTimezone() != null ? college.getTimezone() : defaultTimezone;
+        if (zone == null || zone.isBlank()) {
+            return ZoneId.systemDefault();
+        }
+        try {
+            return ZoneId.of(zone);
+        } catch (DateTimeException e) {
+            logger.warn("Invalid timezone '{}' for college {}, using the server default", zone, college.getCollegeId());
+            return ZoneId.systemDefault();
+        }
+    }
+}
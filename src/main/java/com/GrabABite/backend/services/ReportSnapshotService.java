@@ -0,0 +1,290 @@
+package com.grababite.backend.services;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.grababite.backend.dto.HourlySalesResponse;
+import com.grababite.backend.dto.PopularMenuItemResponse;
+import com.grababite.backend.dto.SalesSummaryResponse;
+import com.grababite.backend.events.OrderCompletedEvent;
+import com.grababite.backend.events.OrderCompletionRevertedEvent;
+import com.grababite.backend.hours.OpeningHoursIndex;
+import com.grababite.backend.models.ReportSnapshot;
+import com.grababite.backend.repositories.ReportSnapshotRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Stores precomputed reports for closed business days and serves them from a per-node cache.
+ *
+ * Snapshots are only looked up for days before the cafeteria's local today; today's figures are
+ * still changing and always come from the live reports. Lookups that find no snapshot are cached
+ * too, so a day without one costs a single query per node.
+ *
+ * An order completed, reverted or deleted after its day's snapshot was taken marks that day's
+ * snapshots stale: they are skipped (live reports are served) until the precompute service
+ * recomputes them. Every node polls the table for recomputed and newly stale snapshots and
+ * updates its cache, within grababite.precompute.snapshot-poll-interval-ms.
+ */
+@Service
+public class ReportSnapshotService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReportSnapshotService.class);
+
+    public static final String TYPE_DAILY_SALES = "DAILY_SALES";
+    public static final String TYPE_TOP_ITEMS = "TOP_ITEMS";
+    public static final String TYPE_HOURLY_HEATMAP = "HOURLY_HEATMAP";
+
+    private static final TypeReference<List<PopularMenuItemResponse>> TOP_ITEMS_TYPE = new TypeReference<>() {};
+    private static final TypeReference<List<HourlySalesResponse>> HOURLY_HEATMAP_TYPE = new TypeReference<>() {};
+
+    private static final List<String> TYPES = List.of(TYPE_DAILY_SALES, TYPE_TOP_ITEMS, TYPE_HOURLY_HEATMAP);
+
+    // Cached in place of a snapshot that does not exist or is stale
+    private static final Object MISSING = new Object();
+
+    // Polls overlap by this much so rows committed late or stamped by a node whose clock is behind are not missed
+    private static final long POLL_OVERLAP_SECONDS = 60;
+
+    @Autowired
+    private ReportSnapshotRepository reportSnapshotRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${grababite.precompute.top-items:20}")
+    private int topItemsLimit;
+
+    @Value("${grababite.precompute.retention-days:35}")
+    private int retentionDays;
+
+    @Value("${grababite.precompute.close-of-business:22:00}")
+    private String closeOfBusiness; // Local time, HH:mm
+
+    @Value("${grababite.precompute.default-timezone:}")
+    private String defaultTimezone;
+
+    @Autowired
+    private OpeningHoursIndex openingHoursIndex;
+
+    // Decoded snapshots (or MISSING) by report date, then "cafeteriaId:type"
+    private final Map<LocalDate, Map<String, Object>> cache = new ConcurrentHashMap<>();
+
+    private volatile LocalDateTime lastPoll = LocalDateTime.now();
+
+    /** @return The number of top items stored per cafeteria and day. */
+    public int getTopItemsLimit() {
+        return topItemsLimit;
+    }
+
+    public Optional<SalesSummaryResponse> findDailySales(UUID cafeteriaId, LocalDate date) {
+        return find(cafeteriaId, date, TYPE_DAILY_SALES);
+    }
+
+    /**
+     * @return The precomputed top items, if a snapshot exists and holds at least {@code limit} entries
+     * (or every item sold that day).
+     */
+    public Optional<List<PopularMenuItemResponse>> findTopItems(UUID cafeteriaId, LocalDate date, int limit) {
+        Optional<List<PopularMenuItemResponse>> items = find(cafeteriaId, date, TYPE_TOP_ITEMS);
+        return items
+                .filter(list -> limit <= topItemsLimit || list.size() < topItemsLimit)
+                .map(list -> list.size() > limit ? list.subList(0, limit) : list);
+    }
+
+    public Optional<List<HourlySalesResponse>> findHourlyHeatmap(UUID cafeteriaId, LocalDate date) {
+        return find(cafeteriaId, date, TYPE_HOURLY_HEATMAP);
+    }
+
+    /**
+     * Inserts or replaces a snapshot and caches it on this node.
+     * @param startedAt When the queries behind {@code result} started. If the day was marked stale
+     *                  after that, the snapshot is stored but stays stale.
+     */
+    public void save(UUID cafeteriaId, LocalDate date, String reportType, Object result, LocalDateTime startedAt)
+            throws JsonProcessingException {
+        ReportSnapshot snapshot = reportSnapshotRepository
+                .findByCafeteriaIdAndReportDateAndReportType(cafeteriaId, date, reportType)
+                .orElseGet(ReportSnapshot::new);
+        boolean staleAgain = snapshot.getStaleSince() != null && snapshot.getStaleSince().isAfter(startedAt);
+        snapshot.setCafeteriaId(cafeteriaId);
+        snapshot.setReportDate(date);
+        snapshot.setReportType(reportType);
+        snapshot.setResultJson(objectMapper.writeValueAsString(result));
+        snapshot.setComputedAt(LocalDateTime.now());
+        snapshot.setStaleSince(staleAgain ? snapshot.getStaleSince() : null);
+        reportSnapshotRepository.save(snapshot);
+        cache.computeIfAbsent(date, d -> new ConcurrentHashMap<>())
+                .put(key(cafeteriaId, reportType), staleAgain ? MISSING : result);
+    }
+
+    /** @return The snapshots that need recomputing because their day changed after they were taken. */
+    public List<ReportSnapshot> findStale() {
+        return reportSnapshotRepository.findByStaleSinceIsNotNull();
+    }
+
+    /**
+     * Loads every snapshot of the given cafeterias for a day into this node's cache.
+     * @return The number of snapshots loaded.
+     */
+    public int warm(List<UUID> cafeteriaIds, LocalDate date) {
+        if (cafeteriaIds.isEmpty()) {
+            return 0;
+        }
+        Map<String, Object> day = cache.computeIfAbsent(date, d -> new ConcurrentHashMap<>());
+        int loaded = 0;
+        for (ReportSnapshot snapshot : reportSnapshotRepository.findByCafeteriaIdInAndReportDate(cafeteriaIds, date)) {
+            Object result = snapshot.getStaleSince() == null ? decode(snapshot) : null;
+            day.put(key(snapshot.getCafeteriaId(), snapshot.getReportType()), result != null ? result : MISSING);
+            if (result != null) {
+                loaded++;
+            }
+        }
+        return loaded;
+    }
+
+    /**
+     * A completion that lands after its day's snapshot was taken (e.g. an order from before
+     * close of business completed afterwards) makes that snapshot outdated.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onOrderCompleted(OrderCompletedEvent event) {
+        markStaleIfSnapshotted(event.getCafeteriaId(), event.getCreatedAt());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onOrderCompletionReverted(OrderCompletionRevertedEvent event) {
+        markStaleIfSnapshotted(event.getCafeteriaId(), event.getCreatedAt());
+    }
+
+    /**
+     * Applies snapshots recomputed, and days marked stale, on other nodes to this node's cache.
+     */
+    @Scheduled(fixedDelayString = "${grababite.precompute.snapshot-poll-interval-ms:30000}")
+    public void poll() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDate cutoff = LocalDate.now().minusDays(retentionDays);
+        try {
+            for (ReportSnapshot snapshot : reportSnapshotRepository.findChangedSince(lastPoll.minusSeconds(POLL_OVERLAP_SECONDS))) {
+                if (snapshot.getReportDate().isBefore(cutoff)) {
+                    continue;
+                }
+                Object result = snapshot.getStaleSince() == null ? decode(snapshot) : null;
+                cache.computeIfAbsent(snapshot.getReportDate(), d -> new ConcurrentHashMap<>())
+                        .put(key(snapshot.getCafeteriaId(), snapshot.getReportType()), result != null ? result : MISSING);
+            }
+            lastPoll = now;
+        } catch (RuntimeException e) {
+            logger.warn("Failed to poll report snapshots", e);
+        }
+    }
+
+    /**
+     * Drops cached and stored snapshots older than the retention window.
+     */
+    public void purgeExpired() {
+        LocalDate cutoff = LocalDate.now().minusDays(retentionDays);
+        cache.keySet().removeIf(date -> date.isBefore(cutoff));
+        int purged = reportSnapshotRepository.deleteOlderThan(cutoff);
+        if (purged > 0) {
+            logger.info("Purged {} report snapshot(s) older than {}", purged, cutoff);
+        }
+    }
+
+    // The cached value's type is determined by reportType (see decode)
+    @SuppressWarnings("unchecked")
+    private <T> Optional<T> find(UUID cafeteriaId, LocalDate date, String reportType) {
+        LocalDate today = LocalDate.now(zoneOf(cafeteriaId));
+        if (!date.isBefore(today) || date.isBefore(today.minusDays(retentionDays))) {
+            return Optional.empty();
+        }
+        String key = key(cafeteriaId, reportType);
+        Map<String, Object> day = cache.get(date);
+        Object cached = day != null ? day.get(key) : null;
+        if (cached == null) {
+            // Not warmed on this node yet (e.g. a restart, or a day that has no snapshot)
+            cached = reportSnapshotRepository.findByCafeteriaIdAndReportDateAndReportType(cafeteriaId, date, reportType)
+                    .filter(snapshot -> snapshot.getStaleSince() == null)
+                    .map(this::decode)
+                    .orElse(MISSING);
+            cache.computeIfAbsent(date, d -> new ConcurrentHashMap<>()).putIfAbsent(key, cached);
+        }
+        return cached == MISSING ? Optional.empty() : Optional.of((T) cached);
+    }
+
+    private void markStaleIfSnapshotted(UUID cafeteriaId, LocalDateTime orderCreatedAt) {
+        if (cafeteriaId == null || orderCreatedAt == null) {
+            return;
+        }
+        LocalDate date = orderCreatedAt.toLocalDate();
+        if (!mayHaveSnapshot(cafeteriaId, date)) {
+            return;
+        }
+        Map<String, Object> day = cache.computeIfAbsent(date, d -> new ConcurrentHashMap<>());
+        TYPES.forEach(type -> day.put(key(cafeteriaId, type), MISSING));
+        try {
+            reportSnapshotRepository.markStale(cafeteriaId, date, LocalDateTime.now());
+        } catch (RuntimeException e) {
+            logger.warn("Failed to mark report snapshots of cafeteria {} on {} stale", cafeteriaId, date, e);
+        }
+    }
+
+    // Snapshots exist only for days whose close of business has passed in the cafeteria's zone
+    private boolean mayHaveSnapshot(UUID cafeteriaId, LocalDate date) {
+        LocalDateTime now = LocalDateTime.now(zoneOf(cafeteriaId));
+        LocalDate lastClosed = now.toLocalTime().isBefore(LocalTime.parse(closeOfBusiness))
+                ? now.toLocalDate().minusDays(1) : now.toLocalDate();
+        return !date.isAfter(lastClosed) && !date.isBefore(lastClosed.minusDays(retentionDays));
+    }
+
+    // The cafeteria's zone as used for its opening hours, else the precompute default, else the server's
+    private ZoneId zoneOf(UUID cafeteriaId) {
+        ZoneId zone = openingHoursIndex.zoneOf(cafeteriaId);
+        if (zone != null) {
+            return zone;
+        }
+        if (defaultTimezone != null && !defaultTimezone.isBlank()) {
+            try {
+                return ZoneId.of(defaultTimezone);
+            } catch (DateTimeException e) {
+                // Fall through to the server default; ReportPrecomputeService logs the bad setting
+            }
+        }
+        return ZoneId.systemDefault();
+    }
+
+    private Object decode(ReportSnapshot snapshot) {
+        try {
+            return switch (snapshot.getReportType()) {
+                case TYPE_DAILY_SALES -> objectMapper.readValue(snapshot.getResultJson(), SalesSummaryResponse.class);
+                case TYPE_TOP_ITEMS -> objectMapper.readValue(snapshot.getResultJson(), TOP_ITEMS_TYPE);
+                case TYPE_HOURLY_HEATMAP -> objectMapper.readValue(snapshot.getResultJson(), HOURLY_HEATMAP_TYPE);
+                default -> null;
+            };
+        } catch (JsonProcessingException e) {
+            logger.warn("Ignoring unreadable report snapshot {}", snapshot.getSnapshotId(), e);
+            return null;
+        }
+    }
+
+    private static String key(UUID cafeteriaId, String reportType) {
+        return cafeteriaId + ":" + reportType;
+    }
+}
@@ -1,5 +1,7 @@
 package com.grababite.backend.services;
 
+import com.grababite.backend.analytics.ColumnarAnalyticsEngine;
+import com.grababite.backend.dto.HourlySalesResponse;
 import com.grababite.backend.dto.PopularMenuItemResponse;
 import com.grababite.backend.dto.SalesSummaryResponse;
 import com.grababite.backend.models.Order;
@@ -7,8 +9,10 @@ import com.grababite.backend.models.OrderItem;
 import com.grababite.backend.repositories.CafeteriaRepository;
 import com.grababite.backend.repositories.MenuItemRepository;
 import com.grababite.backend.repositories.OrderRepository;
+import com.grababite.backend.repositories.ReportingJdbcRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -17,6 +21,7 @@ import java.time.LocalTime;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -32,6 +37,19 @@ public class ReportingService {
     @Autowired
     private MenuItemRepository menuItemRepository;
 
+    @Autowired
+    private ReportSnapshotService reportSnapshotService;
+
+    @Autowired
+    private ReportingJdbcRepository reportingJdbcRepository;
+
+    @Autowired
+    private PriceHistoryService priceHistoryService;
+
+    // Present only when grababite.analytics.columnar.enabled=true
+    @Autowired(required = false)
+    private ColumnarAnalyticsEngine analyticsEngine;
+
     /**
      * Generates a daily sales summary for a specific cafeteria.
      *
@@ -39,7 +57,16 @@ public class ReportingService {
      * @param date The date for which to generate the report.
      * @return SalesSummaryResponse containing aggregated sales data for the day.
      */
+    @Transactional(readOnly = true)
     public SalesSummaryResponse getDailySalesSummary(UUID cafeteriaId, LocalDate date) {
+        Optional<SalesSummaryResponse> precomputed = reportSnapshotService.findDailySales(cafeteriaId, date);
+        if (precomputed.isPresent()) {
+            return precomputed.get();
+        }
+        if (useAnalyticsEngine()) {
+            return analyticsEngine.getDailySalesSummary(cafeteriaId, date);
+        }
+
         // Define the start and end of the day
         LocalDateTime startOfDay = date.atStartOfDay();
         LocalDateTime endOfDay = date.atTime(LocalTime.MAX);
@@ -84,7 +111,18 @@ public class ReportingService {
      * @param limit The maximum number of popular items to return.
      * @return A list of PopularMenuItemResponse objects, sorted by quantity sold.
      */
+    @Transactional(readOnly = true)
     public List<PopularMenuItemResponse> getPopularMenuItems(UUID cafeteriaId, LocalDate startDate, LocalDate endDate, int limit) {
+        if (startDate.equals(endDate)) {
+            Optional<List<PopularMenuItemResponse>> precomputed = reportSnapshotService.findTopItems(cafeteriaId, startDate, limit);
+            if (precomputed.isPresent()) {
+                return precomputed.get();
+            }
+        }
+        if (useAnalyticsEngine()) {
+            return analyticsEngine.getPopularMenuItems(cafeteriaId, startDate, endDate, limit);
+        }
+
         LocalDateTime startDateTime = startDate.atStartOfDay();
         LocalDateTime endDateTime = endDate.atTime(LocalTime.MAX);
 
@@ -107,7 +145,7 @@ public class ReportingService {
                                             orderItem.getMenuItem().getMenuItemId(),
                                             orderItem.getMenuItem().getName(),
                                             (long) orderItem.getQuantity(),
-                                            orderItem.getMenuItem().getPrice().multiply(BigDecimal.valueOf(orderItem.getQuantity())),
+                                            unitPriceOf(orderItem).multiply(BigDecimal.valueOf(orderItem.getQuantity())),
                                             cafeteriaId,
                                             orderItem.getOrder().getCafeteria().getName()
                                     );
@@ -128,4 +166,34 @@ public class ReportingService {
                 .limit(limit)
                 .collect(Collectors.toList());
     }
+
+    /**
+     * Generates an hourly sales heatmap (orders and sales per hour) for a cafeteria on one day.
+     *
+     * @param cafeteriaId The ID of the cafeteria.
+     * @param date The day to report on.
+     * @return 24 HourlySalesResponse entries, one per hour of the day.
+     */
+    public List<HourlySalesResponse> getHourlySales(UUID cafeteriaId, LocalDate date) {
+        return reportSnapshotService.findHourlyHeatmap(cafeteriaId, date)
+                .orElseGet(() -> reportingJdbcRepository.findHourlySales(cafeteriaId, date));
+    }
+
+    /**
+     * Reports are served from the in-memory columnar store when it is enabled and loaded;
+     * otherwise (disabled, or still loading after startup) they are computed from the database.
+     */
+    public boolean useAnalyticsEngine() {
+        return analyticsEngine != null && analyticsEngine.isReady();
+    }
+
+    // Price at the time of sale as recorded on the line. Lines the startup backfill has not reached
+    // yet are priced from the item's history as of the order, and today's price if that has no entry.
+    private BigDecimal unitPriceOf(OrderItem orderItem) {
+        if (orderItem.getUnitPrice() != null) {
+            return orderItem.getUnitPrice();
+        }
+        return priceHistoryService.priceAt(orderItem.getMenuItem().getMenuItemId(), orderItem.getOrder().getCreatedAt())
+                .orElse(orderItem.getMenuItem().getPrice());
+    }
 }
@@ -1,11 +1,17 @@
 package com.grababite.backend.services;
 
+import com.grababite.backend.cache.CatalogVersions;
+import com.grababite.backend.cache.MenuCache;
 import com.grababite.backend.models.StandardMenuItem;
+import com.grababite.backend.repositories.MenuItemRepository;
 import com.grababite.backend.repositories.StandardMenuItemRepository;
+import com.grababite.backend.search.CatalogSearchIndex;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -15,10 +21,23 @@ public class StandardMenuItemService {
     @Autowired
     private StandardMenuItemRepository standardMenuItemRepository;
 
+    @Autowired
+    private MenuItemRepository menuItemRepository;
+
+    @Autowired
+    private CatalogVersions catalogVersions;
+
+    @Autowired
+    private MenuCache menuCache;
+
+    @Autowired
+    private CatalogSearchIndex catalogSearchIndex;
+
     /**
      * Retrieves all standard menu items.
      * @return A list of StandardMenuItem objects.
      */
+    @Transactional(readOnly = true)
     public List<StandardMenuItem> getAllStandardMenuItems() {
         return standardMenuItemRepository.findAll();
     }
@@ -28,6 +47,7 @@ public class StandardMenuItemService {
      * @param id The UUID of the standard menu item to retrieve.
      * @return An Optional containing the StandardMenuItem if found, or empty if not.
      */
+    @Transactional(readOnly = true)
     public Optional<StandardMenuItem> getStandardMenuItemById(UUID id) {
         return standardMenuItemRepository.findById(id);
     }
@@ -37,33 +57,79 @@ public class StandardMenuItemService {
      * @param standardMenuItem The StandardMenuItem object to save.
      * @return The saved StandardMenuItem object.
      */
+    @Transactional
     public StandardMenuItem createStandardMenuItem(StandardMenuItem standardMenuItem) {
-        return standardMenuItemRepository.save(standardMenuItem);
+        StandardMenuItem savedItem = standardMenuItemRepository.save(standardMenuItem);
+        catalogVersions.bumpAfterCommit(CatalogVersions.STANDARD_MENU_ITEMS);
+        catalogSearchIndex.indexStandardMenuItemAfterCommit(savedItem);
+        return savedItem;
+    }
+
+    /**
+     * Creates several standard menu items in one transaction; the inserts are sent as JDBC batches.
+     * @param standardMenuItems The StandardMenuItem objects to save.
+     * @return The saved StandardMenuItem objects.
+     */
+    @Transactional
+    public List<StandardMenuItem> createStandardMenuItems(List<StandardMenuItem> standardMenuItems) {
+        List<StandardMenuItem> savedItems = standardMenuItemRepository.saveAll(standardMenuItems);
+        catalogVersions.bumpAfterCommit(CatalogVersions.STANDARD_MENU_ITEMS);
+        savedItems.forEach(catalogSearchIndex::indexStandardMenuItemAfterCommit);
+        return savedItems;
     }
 
     /**
      * Updates an existing standard menu item.
+     * Name, description and image changes are copied to every linked menu item in a single
+     * set-based UPDATE, except for fields a cafeteria has overridden, and the menus of the
+     * affected cafeterias are invalidated when the transaction commits.
      * @param id The UUID of the standard menu item to update.
      * @param standardMenuItemDetails The StandardMenuItem object with updated details.
      * @return The updated StandardMenuItem object, or null if not found.
      */
+    @Transactional
     public StandardMenuItem updateStandardMenuItem(UUID id, StandardMenuItem standardMenuItemDetails) {
         return standardMenuItemRepository.findById(id).map(item -> {
+            boolean detailsChanged = !Objects.equals(item.getName(), standardMenuItemDetails.getName())
+                    || !Objects.equals(item.getDescription(), standardMenuItemDetails.getDescription())
+                    || !Objects.equals(item.getImageUrl(), standardMenuItemDetails.getImageUrl());
             item.setName(standardMenuItemDetails.getName());
             item.setDescription(standardMenuItemDetails.getDescription());
             item.setImageUrl(standardMenuItemDetails.getImageUrl());
-            return standardMenuItemRepository.save(item);
+            StandardMenuItem savedItem = standardMenuItemRepository.save(item);
+            catalogVersions.bumpAfterCommit(CatalogVersions.STANDARD_MENU_ITEMS);
+            catalogSearchIndex.indexStandardMenuItemAfterCommit(savedItem);
+            if (detailsChanged) {
+                propagateToMenuItems(savedItem);
+            }
+            return savedItem;
         }).orElse(null);
     }
 
+    private void propagateToMenuItems(StandardMenuItem item) {
+        int updated = menuItemRepository.propagateStandardMenuItem(
+                item.getStandardMenuItemId(), item.getName(), item.getDescription(), item.getImageUrl());
+        if (updated == 0) {
+            return;
+        }
+        for (UUID cafeteriaId : menuItemRepository.findCafeteriaIdsByStandardMenuItemId(item.getStandardMenuItemId())) {
+            menuCache.invalidateAfterCommit(cafeteriaId);
+        }
+        catalogVersions.bumpAfterCommit(CatalogVersions.MENU_ITEMS);
+        catalogSearchIndex.propagateStandardMenuItemAfterCommit(item);
+    }
+
     /**
      * Deletes a standard menu item by its ID.
      * @param id The UUID of the standard menu item to delete.
      * @return true if deleted, false otherwise.
      */
+    @Transactional
     public boolean deleteStandardMenuItem(UUID id) {
         if (standardMenuItemRepository.existsById(id)) {
             standardMenuItemRepository.deleteById(id);
+            catalogVersions.bumpAfterCommit(CatalogVersions.STANDARD_MENU_ITEMS);
+            catalogSearchIndex.removeStandardMenuItemAfterCommit(id);
             return true;
         }
         return false;
@@ -12,6 +12,8 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.grababite.backend.auth.AuthAccountCache;
+import com.grababite.backend.config.AuthenticatedUser;
 import com.grababite.backend.dto.UserResponse;
 import com.grababite.backend.exceptions.ResourceNotFoundException;
 import com.grababite.backend.models.Cafeteria;
@@ -36,6 +38,12 @@ public class UserService {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private AuthAccountCache authAccountCache;
+
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+
     // ✅ Convert User entity to UserResponse
     public UserResponse convertToUserResponse(User user) {
         UUID collegeId = (user.getCollege() != null) ? user.getCollege().getCollegeId() : null;
@@ -87,6 +95,7 @@ public class UserService {
         }
         if (userDetails.getPassword() != null && !userDetails.getPassword().isEmpty()) {
             existingUser.setPassword(passwordEncoder.encode(userDetails.getPassword()));
+            refreshTokenService.revokeUserSessions(existingUser.getId());
         }
 
         // ✅ Students can set college only once (during onboarding)
@@ -96,6 +105,8 @@ public class UserService {
                         .orElseThrow(() -> new ResourceNotFoundException(
                                 "College not found with id: " + userDetails.getCollege().getCollegeId()));
                 existingUser.setCollege(college);
+                // The college is a claim in the user's access tokens
+                refreshTokenService.revokeUserSessions(existingUser.getId());
             }
         }
 
@@ -108,6 +119,7 @@ public class UserService {
         }
 
         User updated = userRepository.save(existingUser);
+        authAccountCache.invalidateAfterCommit(updated.getId()); // Covers a changed email too: entries are dropped by ID
         return convertToUserResponse(updated);
     }
 
@@ -121,6 +133,12 @@ public class UserService {
                 .orElseThrow(() -> new ResourceNotFoundException("User not found with email: " + email));
     }
 
+    // ✅ Cafeteria of the logged-in user, or null if none (read from the token, no query)
+    public UUID getCurrentUserCafeteriaId() {
+        AuthenticatedUser user = AuthenticatedUser.current();
+        return user != null ? user.getCafeteriaId() : null;
+    }
+
     // ✅ ADMIN endpoints
     public Optional<UserResponse> getUserById(UUID id) {
         return userRepository.findById(id).map(this::convertToUserResponse);
@@ -146,32 +164,53 @@ public class UserService {
             }
             existingUser.setEmail(userDetails.getEmail());
         }
+        boolean credentialsChanged = false;
         if (userDetails.getPassword() != null && !userDetails.getPassword().isEmpty()) {
             existingUser.setPassword(passwordEncoder.encode(userDetails.getPassword()));
+            credentialsChanged = true;
         }
-        if (userDetails.getRoles() != null && !userDetails.getRoles().isEmpty()) {
+        if (userDetails.getRoles() != null && !userDetails.getRoles().isEmpty()
+                && !userDetails.getRoles().equals(existingUser.getRoles())) {
             existingUser.setRoles(userDetails.getRoles());
+            credentialsChanged = true;
         }
         if (userDetails.getCollege() != null && userDetails.getCollege().getCollegeId() != null) {
             College college = collegeRepository.findById(userDetails.getCollege().getCollegeId())
                     .orElseThrow(() -> new ResourceNotFoundException(
                             "College not found with id: " + userDetails.getCollege().getCollegeId()));
+            if (existingUser.getCollege() == null
+                    || !college.getCollegeId().equals(existingUser.getCollege().getCollegeId())) {
+                credentialsChanged = true;
+            }
             existingUser.setCollege(college);
         }
         if (userDetails.getCafeteria() != null && userDetails.getCafeteria().getCafeteriaId() != null) {
             Cafeteria cafeteria = cafeteriaRepository.findById(userDetails.getCafeteria().getCafeteriaId())
                     .orElseThrow(() -> new ResourceNotFoundException(
                             "Cafeteria not found with id: " + userDetails.getCafeteria().getCafeteriaId()));
+            if (existingUser.getCafeteria() == null
+                    || !cafeteria.getCafeteriaId().equals(existingUser.getCafeteria().getCafeteriaId())) {
+                credentialsChanged = true;
+            }
             existingUser.setCafeteria(cafeteria);
         }
+        if (credentialsChanged) {
+            // Access tokens carry the roles, cafeteria and college, and owner writes are
+            // authorized from them: sessions signed in with the old values end on every node
+            refreshTokenService.revokeUserSessions(existingUser.getId());
+        }
 
         User updated = userRepository.save(existingUser);
+        authAccountCache.invalidateAfterCommit(updated.getId());
         return convertToUserResponse(updated);
     }
 
+    @Transactional
     public boolean deleteUser(UUID id) {
         if (userRepository.existsById(id)) {
+            refreshTokenService.revokeUserSessions(id);
             userRepository.deleteById(id);
+            authAccountCache.invalidateAfterCommit(id);
             return true;
         }
         return false;
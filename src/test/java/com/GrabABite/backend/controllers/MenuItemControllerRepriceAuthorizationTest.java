@@ -0,0 +1,106 @@
+package com.grababite.backend.controllers;
+
+import com.grababite.backend.config.AuthenticatedUser;
+import com.grababite.backend.config.Ownership;
+import com.grababite.backend.dto.MenuRepriceRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.support.StaticApplicationContext;
+import org.springframework.expression.EvaluationContext;
+import org.springframework.security.access.expression.ExpressionUtils;
+import org.springframework.security.access.expression.method.DefaultMethodSecurityExpressionHandler;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.util.SimpleMethodInvocation;
+
+import java.lang.reflect.Method;
+import java.time.Instant;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Evaluates the @PreAuthorize expression of POST /api/menu-items/reprice against different callers.
+class MenuItemControllerRepriceAuthorizationTest {
+
+    private final DefaultMethodSecurityExpressionHandler handler = new DefaultMethodSecurityExpressionHandler();
+
+    @BeforeEach
+    void setUp() {
+        StaticApplicationContext context = new StaticApplicationContext();
+        context.getBeanFactory().registerSingleton("ownership", new Ownership());
+        handler.setApplicationContext(context);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void ownerMayRepriceOwnCafeteria() throws Exception {
+        UUID cafeteriaId = UUID.randomUUID();
+        assertTrue(allowed(user("CAFETERIA_OWNER", cafeteriaId), request(cafeteriaId, null, null)));
+    }
+
+    @Test
+    void ownerMayNotRepriceAnotherCafeteria() throws Exception {
+        assertFalse(allowed(user("CAFETERIA_OWNER", UUID.randomUUID()), request(UUID.randomUUID(), null, null)));
+    }
+
+    @Test
+    void ownerMayNotRepriceCollegeWide() throws Exception {
+        UUID cafeteriaId = UUID.randomUUID();
+        assertFalse(allowed(user("CAFETERIA_OWNER", cafeteriaId), request(cafeteriaId, UUID.randomUUID(), null)));
+    }
+
+    @Test
+    void ownerWithoutCafeteriaMayNotRepriceWithoutCafeteria() throws Exception {
+        // null == null must not let an owner reprice a standard item group across every cafeteria
+        assertFalse(allowed(user("CAFETERIA_OWNER", null), request(null, null, UUID.randomUUID())));
+    }
+
+    @Test
+    void ownerMayNotRepriceWithoutCafeteria() throws Exception {
+        assertFalse(allowed(user("CAFETERIA_OWNER", UUID.randomUUID()), request(null, null, UUID.randomUUID())));
+    }
+
+    @Test
+    void studentMayNotReprice() throws Exception {
+        assertFalse(allowed(user("STUDENT", null), request(null, null, UUID.randomUUID())));
+    }
+
+    @Test
+    void adminMayRepriceAnyScope() throws Exception {
+        assertTrue(allowed(user("ADMIN", null), request(null, UUID.randomUUID(), null)));
+    }
+
+    private boolean allowed(AuthenticatedUser user, MenuRepriceRequest request) throws Exception {
+        Authentication authentication = new UsernamePasswordAuthenticationToken(user, null,
+                user.getRoles().stream().map(role -> new SimpleGrantedAuthority("ROLE_" + role)).toList());
+        SecurityContextHolder.getContext().setAuthentication(authentication);
+        Method method = MenuItemController.class.getMethod("repriceMenuItems", MenuRepriceRequest.class);
+        String expression = method.getAnnotation(PreAuthorize.class).value();
+        EvaluationContext context = handler.createEvaluationContext(() -> authentication,
+                new SimpleMethodInvocation(new MenuItemController(), method, request));
+        return ExpressionUtils.evaluateAsBoolean(handler.getExpressionParser().parseExpression(expression), context);
+    }
+
+    private static AuthenticatedUser user(String role, UUID cafeteriaId) {
+        return new AuthenticatedUser(UUID.randomUUID(), role.toLowerCase() + "@example.edu", Set.of(role), cafeteriaId,
+                null, UUID.randomUUID(), UUID.randomUUID(), Instant.now().plusSeconds(900));
+    }
+
+    private static MenuRepriceRequest request(UUID cafeteriaId, UUID collegeId, UUID standardMenuItemId) {
+        MenuRepriceRequest request = new MenuRepriceRequest();
+        request.setCafeteriaId(cafeteriaId);
+        request.setCollegeId(collegeId);
+        request.setStandardMenuItemId(standardMenuItemId);
+        return request;
+    }
+}
@@ -0,0 +1,144 @@
+package com.grababite.backend.hours;
+
+import com.grababite.backend.models.OpeningHours;
+import com.grababite.backend.models.OpeningHoursOverride;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CompiledScheduleTest {
+
+    private static final ZoneId UTC = ZoneOffset.UTC;
+    private static final ZoneId BERLIN = ZoneId.of("Europe/Berlin");
+
+    // Days of ISO week 2026-W43, Monday 2026-10-19
+    private static final int WEDNESDAY = 3;
+    private static final int FRIDAY = 5;
+    private static final int SUNDAY = 7;
+
+    @Test
+    void intervalPastMidnightContinuesIntoNextDay() {
+        CompiledSchedule schedule = CompiledSchedule.compile(UTC, false,
+                List.of(hours(FRIDAY, "18:00", "02:00")), List.of());
+
+        assertFalse(schedule.isOpenAt(utc("2026-10-23T17:59")));
+        assertTrue(schedule.isOpenAt(utc("2026-10-23T23:30")));
+        assertTrue(schedule.isOpenAt(utc("2026-10-24T01:59")));
+        assertFalse(schedule.isOpenAt(utc("2026-10-24T02:00")));
+        assertEquals(utc("2026-10-30T18:00"), schedule.nextOpening(utc("2026-10-24T02:00")));
+    }
+
+    @Test
+    void sundayNightIntervalWrapsToMonday() {
+        CompiledSchedule schedule = CompiledSchedule.compile(UTC, false,
+                List.of(hours(SUNDAY, "22:00", "01:00")), List.of());
+
+        assertTrue(schedule.isOpenAt(utc("2026-10-26T00:30")));
+        assertFalse(schedule.isOpenAt(utc("2026-10-26T01:00")));
+    }
+
+    @Test
+    void openingInsideSpringForwardGapStartsWhenClocksJump() {
+        // 2026-03-29: Berlin clocks go from 02:00 CET straight to 03:00 CEST (01:00Z)
+        CompiledSchedule schedule = CompiledSchedule.compile(BERLIN, false,
+                List.of(hours(SUNDAY, "02:30", "05:00")), List.of());
+
+        assertFalse(schedule.isOpenAt(Instant.parse("2026-03-29T00:59:00Z"))); // 01:59 CET
+        assertTrue(schedule.isOpenAt(Instant.parse("2026-03-29T01:00:00Z"))); // 03:00 CEST
+        assertEquals(Instant.parse("2026-03-29T01:00:00Z"), schedule.nextOpening(Instant.parse("2026-03-29T00:30:00Z")));
+        assertFalse(schedule.isOpenAt(Instant.parse("2026-03-29T03:00:00Z"))); // 05:00 CEST
+    }
+
+    @Test
+    void repeatedHourAfterFallBackFollowsTheWallClock() {
+        // 2026-10-25: Berlin clocks go back from 03:00 CEST to 02:00 CET, so 02:00-03:00 happens twice
+        CompiledSchedule schedule = CompiledSchedule.compile(BERLIN, false,
+                List.of(hours(SUNDAY, "00:00", "02:30")), List.of());
+
+        assertTrue(schedule.isOpenAt(Instant.parse("2026-10-25T00:15:00Z"))); // 02:15 CEST
+        assertFalse(schedule.isOpenAt(Instant.parse("2026-10-25T00:45:00Z"))); // 02:45 CEST
+        assertTrue(schedule.isOpenAt(Instant.parse("2026-10-25T01:15:00Z"))); // 02:15 CET
+        assertFalse(schedule.isOpenAt(Instant.parse("2026-10-25T01:45:00Z"))); // 02:45 CET
+    }
+
+    @Test
+    void openingInsideRepeatedHourUsesItsFirstOccurrence() {
+        CompiledSchedule schedule = CompiledSchedule.compile(BERLIN, false,
+                List.of(hours(SUNDAY, "02:30", "05:00")), List.of());
+
+        assertEquals(Instant.parse("2026-10-25T00:30:00Z"), // 02:30 CEST
+                schedule.nextOpening(Instant.parse("2026-10-25T00:00:00Z")));
+    }
+
+    @Test
+    void holidayOverrideClosesNormallyOpenDay() {
+        List<OpeningHours> weekdays = List.of(
+                hours(1, "08:00", "16:00"), hours(2, "08:00", "16:00"), hours(WEDNESDAY, "08:00", "16:00"),
+                hours(4, "08:00", "16:00"), hours(FRIDAY, "08:00", "16:00"));
+        CompiledSchedule schedule = CompiledSchedule.compile(UTC, true, weekdays,
+                List.of(closedOn(LocalDate.parse("2026-10-21"))));
+
+        assertTrue(schedule.isOpenAt(utc("2026-10-20T10:00")));
+        assertFalse(schedule.isOpenAt(utc("2026-10-21T10:00")));
+        assertEquals(utc("2026-10-22T08:00"), schedule.nextOpening(utc("2026-10-21T10:00")));
+    }
+
+    @Test
+    void overrideOnDateAlsoDropsItsOvernightTail() {
+        CompiledSchedule schedule = CompiledSchedule.compile(UTC, true,
+                List.of(hours(FRIDAY, "18:00", "02:00")), List.of(closedOn(LocalDate.parse("2026-10-23"))));
+
+        assertFalse(schedule.isOpenAt(utc("2026-10-23T20:00")));
+        assertFalse(schedule.isOpenAt(utc("2026-10-24T01:00")));
+    }
+
+    @Test
+    void withoutHoursTheManualSwitchDecides() {
+        CompiledSchedule open = CompiledSchedule.compile(UTC, true, List.of(), List.of());
+        CompiledSchedule closed = CompiledSchedule.compile(UTC, false, List.of(), List.of());
+        CompiledSchedule unset = CompiledSchedule.compile(UTC, null, List.of(), List.of());
+
+        assertFalse(open.hasHours());
+        assertTrue(open.isOpenAt(utc("2026-10-21T03:00")));
+        assertFalse(closed.isOpenAt(utc("2026-10-21T12:00")));
+        assertTrue(unset.isOpenAt(utc("2026-10-21T12:00")));
+        assertNull(closed.nextOpening(utc("2026-10-21T12:00")));
+    }
+
+    @Test
+    void manualSwitchIsIgnoredOnceHoursExist() {
+        CompiledSchedule schedule = CompiledSchedule.compile(UTC, false,
+                List.of(hours(WEDNESDAY, "08:00", "16:00")), List.of());
+
+        assertTrue(schedule.isOpenAt(utc("2026-10-21T12:00")));
+    }
+
+    private static OpeningHours hours(int dayOfWeek, String opensAt, String closesAt) {
+        OpeningHours hours = new OpeningHours();
+        hours.setDayOfWeek(dayOfWeek);
+        hours.setOpensAt(LocalTime.parse(opensAt));
+        hours.setClosesAt(LocalTime.parse(closesAt));
+        return hours;
+    }
+
+    private static OpeningHoursOverride closedOn(LocalDate date) {
+        OpeningHoursOverride override = new OpeningHoursOverride();
+        override.setDate(date);
+        return override;
+    }
+
+    private static Instant utc(String localDateTime) {
+        return LocalDateTime.parse(localDateTime).toInstant(ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,141 @@
+package com.grababite.backend.search;
+
+import com.grababite.backend.dto.SearchResultResponse;
+import com.grababite.backend.models.Cafeteria;
+import com.grababite.backend.models.College;
+import com.grababite.backend.models.StandardMenuItem;
+import com.grababite.backend.repositories.CatalogJdbcRepository;
+import com.grababite.backend.repositories.ReportingJdbcRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Starts from an empty catalog (the mocked repositories stream no rows) and builds it through
+// the incremental updates, which apply at once outside a transaction
+@ExtendWith(MockitoExtension.class)
+class CatalogSearchIndexTest {
+
+    @Mock
+    private CatalogJdbcRepository catalogJdbcRepository;
+
+    @Mock
+    private ReportingJdbcRepository reportingJdbcRepository;
+
+    @InjectMocks
+    private CatalogSearchIndex index;
+
+    private final UUID collegeId = UUID.randomUUID();
+    private final UUID cafeteriaId = UUID.randomUUID();
+    private final UUID otherCafeteriaId = UUID.randomUUID();
+    private final UUID otherCollegeCafeteriaId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        index.rebuild();
+        index.indexCafeteriaAfterCommit(cafeteria(cafeteriaId, collegeId));
+        index.indexCafeteriaAfterCommit(cafeteria(otherCafeteriaId, collegeId));
+        index.indexCafeteriaAfterCommit(cafeteria(otherCollegeCafeteriaId, UUID.randomUUID()));
+    }
+
+    @Test
+    void oneEditTypoStillMatches() {
+        UUID biryani = menuItem("Chicken Biryani", "Basmati rice, slow cooked", cafeteriaId, null);
+        menuItem("Paneer Tikka", "Grilled cottage cheese", cafeteriaId, null);
+
+        assertEquals(List.of(biryani), ids(index.searchMenuItems("chiken", null, null, 10)));
+        assertEquals(List.of(biryani), ids(index.searchMenuItems("biryeni rice", null, null, 10)));
+    }
+
+    @Test
+    void exactMatchRanksAboveTypoMatch() {
+        UUID exact = menuItem("Dosa", null, cafeteriaId, null);
+        UUID typo = menuItem("Dose", null, cafeteriaId, null);
+
+        assertEquals(List.of(exact, typo), ids(index.searchMenuItems("dosa", null, null, 10)));
+    }
+
+    @Test
+    void searchIsScopedToCafeteriaOrCollege() {
+        UUID own = menuItem("Masala Dosa", null, cafeteriaId, null);
+        UUID sameCollege = menuItem("Masala Dosa", null, otherCafeteriaId, null);
+        menuItem("Masala Dosa", null, otherCollegeCafeteriaId, null);
+
+        assertEquals(List.of(own), ids(index.searchMenuItems("dosa", cafeteriaId, null, 10)));
+        List<UUID> inCollege = ids(index.searchMenuItems("dosa", null, collegeId, 10));
+        assertEquals(2, inCollege.size());
+        assertTrue(inCollege.containsAll(List.of(own, sameCollege)));
+        assertEquals(3, index.searchMenuItems("dosa", null, null, 10).size());
+    }
+
+    @Test
+    void deletedItemIsNoLongerFound() {
+        UUID samosa = menuItem("Samosa", "Fried pastry", cafeteriaId, null);
+        UUID chaat = menuItem("Samosa Chaat", null, cafeteriaId, null);
+
+        index.removeMenuItemAfterCommit(samosa);
+
+        assertEquals(List.of(chaat), ids(index.searchMenuItems("samosa", null, null, 10)));
+        assertTrue(index.searchMenuItems("pastry", null, null, 10).isEmpty());
+    }
+
+    @Test
+    void standardItemRenamePropagatesToLinkedItemsExceptOverriddenNames() {
+        UUID standardId = UUID.randomUUID();
+        StandardMenuItem standard = standardItem(standardId, "Veg Sandwich", "Toasted");
+        index.indexStandardMenuItemAfterCommit(standard);
+        UUID linked = menuItem("Veg Sandwich", "Toasted", cafeteriaId, standardId);
+        UUID overridden = UUID.randomUUID();
+        index.indexMenuItemAfterCommit(overridden, "House Sandwich", "Toasted", otherCafeteriaId, standardId,
+                BigDecimal.TEN, true, true, false);
+
+        standard.setName("Club Sandwich");
+        standard.setDescription("Triple decker");
+        index.indexStandardMenuItemAfterCommit(standard);
+        index.propagateStandardMenuItemAfterCommit(standard);
+
+        assertEquals(List.of(linked), ids(index.searchMenuItems("club", null, null, 10)));
+        assertTrue(index.searchMenuItems("veg", null, null, 10).isEmpty());
+        assertEquals(List.of(overridden), ids(index.searchMenuItems("house", null, null, 10)));
+        List<UUID> decker = ids(index.searchMenuItems("decker", null, null, 10));
+        assertTrue(decker.containsAll(List.of(linked, overridden)));
+        assertEquals(List.of(standardId), ids(index.searchStandardMenuItems("club", 10)));
+    }
+
+    private UUID menuItem(String name, String description, UUID cafeteriaId, UUID standardMenuItemId) {
+        UUID id = UUID.randomUUID();
+        index.indexMenuItemAfterCommit(id, name, description, cafeteriaId, standardMenuItemId,
+                BigDecimal.TEN, true, false, false);
+        return id;
+    }
+
+    private static List<UUID> ids(List<SearchResultResponse> results) {
+        return results.stream().map(SearchResultResponse::getId).toList();
+    }
+
+    private static Cafeteria cafeteria(UUID id, UUID collegeId) {
+        College college = new College();
+        college.setCollegeId(collegeId);
+        Cafeteria cafeteria = new Cafeteria();
+        cafeteria.setCafeteriaId(id);
+        cafeteria.setCollege(college);
+        return cafeteria;
+    }
+
+    private static StandardMenuItem standardItem(UUID id, String name, String description) {
+        StandardMenuItem item = new StandardMenuItem();
+        item.setStandardMenuItemId(id);
+        item.setName(name);
+        item.setDescription(description);
+        return item;
+    }
+}
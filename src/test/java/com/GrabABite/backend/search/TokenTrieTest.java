@@ -0,0 +1,34 @@
+package com.grababite.backend.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TokenTrieTest {
+
+    @Test
+    void completionsAreShortestFirstAndLimited() {
+        TokenTrie trie = new TokenTrie();
+        List.of("paneer", "pan", "pancake", "pasta", "panini").forEach(trie::add);
+
+        assertEquals(List.of("pan", "paneer", "panini", "pancake"), trie.withPrefix("pan", 10));
+        assertEquals(2, trie.withPrefix("pa", 2).size());
+        assertTrue(trie.withPrefix("pz", 10).isEmpty());
+    }
+
+    @Test
+    void removedTokenIsNoLongerCompletedButItsExtensionsAre() {
+        TokenTrie trie = new TokenTrie();
+        List.of("dos", "dosa").forEach(trie::add);
+
+        trie.remove("dos");
+        assertEquals(List.of("dosa"), trie.withPrefix("do", 10));
+
+        trie.remove("dosa");
+        assertTrue(trie.withPrefix("d", 10).isEmpty());
+        trie.remove("missing");
+    }
+}
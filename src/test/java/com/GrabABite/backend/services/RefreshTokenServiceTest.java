@@ -0,0 +1,217 @@
+package com.grababite.backend.services;
+
+import com.grababite.backend.auth.RevocationList;
+import com.grababite.backend.config.JwtUtil;
+import com.grababite.backend.models.RefreshSession;
+import com.grababite.backend.models.RefreshToken;
+import com.grababite.backend.models.RevokedToken;
+import com.grababite.backend.repositories.RefreshSessionRepository;
+import com.grababite.backend.repositories.RefreshTokenRepository;
+import com.grababite.backend.repositories.RevokedTokenRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RefreshTokenServiceTest {
+
+    private static final Duration ACCESS_TTL = Duration.ofMinutes(15);
+
+    @Mock
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Mock
+    private RefreshSessionRepository refreshSessionRepository;
+
+    @Mock
+    private RevokedTokenRepository revokedTokenRepository;
+
+    @Mock
+    private RevocationList revocationList;
+
+    @Mock
+    private JwtUtil jwtUtil;
+
+    @InjectMocks
+    private RefreshTokenService refreshTokenService;
+
+    private final UUID userId = UUID.randomUUID();
+    private final UUID sessionId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(refreshTokenService, "refreshTtl", Duration.ofDays(30));
+    }
+
+    @Test
+    void issueStartsSessionAndStoresOnlyTheHash() {
+        RefreshTokenService.IssuedToken issued = refreshTokenService.issue(userId);
+
+        ArgumentCaptor<RefreshSession> session = ArgumentCaptor.forClass(RefreshSession.class);
+        verify(refreshSessionRepository).save(session.capture());
+        ArgumentCaptor<RefreshToken> token = ArgumentCaptor.forClass(RefreshToken.class);
+        verify(refreshTokenRepository).save(token.capture());
+        assertEquals(session.getValue().getSessionId(), issued.getSessionId());
+        assertEquals(issued.getSessionId(), token.getValue().getFamilyId());
+        assertEquals(userId, token.getValue().getUserId());
+        assertNotEquals(issued.getToken(), token.getValue().getTokenHash());
+    }
+
+    @Test
+    void rotateLocksSessionBeforeClaimingTokenAndIssuesInSameSession() {
+        RefreshToken current = token();
+        RefreshSession session = new RefreshSession(sessionId, userId, LocalDateTime.now().plusDays(1));
+        when(refreshTokenRepository.findByTokenHash(anyString())).thenReturn(Optional.of(current));
+        when(refreshSessionRepository.findForUpdate(sessionId)).thenReturn(Optional.of(session));
+        when(refreshTokenRepository.markRotated(eq(current.getTokenId()), any())).thenReturn(1);
+
+        RefreshTokenService.IssuedToken rotated = refreshTokenService.rotate("presented");
+
+        InOrder order = inOrder(refreshSessionRepository, refreshTokenRepository);
+        order.verify(refreshSessionRepository).findForUpdate(sessionId);
+        order.verify(refreshTokenRepository).markRotated(eq(current.getTokenId()), any());
+        order.verify(refreshTokenRepository).save(any(RefreshToken.class));
+        assertEquals(sessionId, rotated.getSessionId());
+        assertEquals(userId, rotated.getUserId());
+        assertTrue(session.getExpiresAt().isAfter(LocalDateTime.now().plusDays(29)));
+        verify(refreshTokenRepository, never()).revokeFamily(any(), any());
+    }
+
+    @Test
+    void reusedTokenRevokesSession() {
+        when(jwtUtil.getAccessTtl()).thenReturn(ACCESS_TTL);
+        RefreshToken current = token();
+        RefreshSession session = new RefreshSession(sessionId, userId, LocalDateTime.now().plusDays(1));
+        when(refreshTokenRepository.findByTokenHash(anyString())).thenReturn(Optional.of(current));
+        when(refreshSessionRepository.findForUpdate(sessionId)).thenReturn(Optional.of(session));
+        when(refreshTokenRepository.markRotated(eq(current.getTokenId()), any())).thenReturn(0);
+
+        assertThrows(BadCredentialsException.class, () -> refreshTokenService.rotate("presented"));
+
+        assertNotNull(session.getRevokedAt());
+        verify(refreshTokenRepository).revokeFamily(eq(sessionId), any());
+        verify(refreshTokenRepository, never()).save(any(RefreshToken.class));
+        assertSessionRevokedForAccessTtl();
+    }
+
+    @Test
+    void rotateInRevokedSessionIssuesNothing() {
+        RefreshToken current = token();
+        RefreshSession session = new RefreshSession(sessionId, userId, LocalDateTime.now().plusDays(1));
+        session.setRevokedAt(LocalDateTime.now());
+        when(refreshTokenRepository.findByTokenHash(anyString())).thenReturn(Optional.of(current));
+        when(refreshSessionRepository.findForUpdate(sessionId)).thenReturn(Optional.of(session));
+
+        assertThrows(BadCredentialsException.class, () -> refreshTokenService.rotate("presented"));
+
+        verify(refreshTokenRepository, never()).markRotated(any(), any());
+        verify(refreshTokenRepository, never()).save(any(RefreshToken.class));
+    }
+
+    @Test
+    void expiredTokenIsRejectedWithoutLocking() {
+        RefreshToken current = token();
+        current.setExpiresAt(LocalDateTime.now().minusMinutes(1));
+        when(refreshTokenRepository.findByTokenHash(anyString())).thenReturn(Optional.of(current));
+
+        assertThrows(BadCredentialsException.class, () -> refreshTokenService.rotate("presented"));
+
+        verify(refreshSessionRepository, never()).findForUpdate(any());
+    }
+
+    @Test
+    void revokeSessionLocksSessionAndRevokesItsTokens() {
+        when(jwtUtil.getAccessTtl()).thenReturn(ACCESS_TTL);
+        RefreshSession session = new RefreshSession(sessionId, userId, LocalDateTime.now().plusDays(1));
+        when(refreshSessionRepository.findForUpdate(sessionId)).thenReturn(Optional.of(session));
+
+        refreshTokenService.revokeSession(sessionId);
+
+        InOrder order = inOrder(refreshSessionRepository, refreshTokenRepository);
+        order.verify(refreshSessionRepository).findForUpdate(sessionId);
+        order.verify(refreshTokenRepository).revokeFamily(eq(sessionId), any());
+        assertNotNull(session.getRevokedAt());
+        assertSessionRevokedForAccessTtl();
+    }
+
+    @Test
+    void revokeSessionWithoutRowCreatesItFromTokensFirst() {
+        when(jwtUtil.getAccessTtl()).thenReturn(ACCESS_TTL);
+        RefreshSession session = new RefreshSession(sessionId, userId, LocalDateTime.now().plusDays(1));
+        when(refreshSessionRepository.findForUpdate(sessionId)).thenReturn(Optional.empty(), Optional.of(session));
+
+        refreshTokenService.revokeSession(sessionId);
+
+        InOrder order = inOrder(refreshSessionRepository);
+        order.verify(refreshSessionRepository).insertFromTokens(eq(sessionId), any());
+        order.verify(refreshSessionRepository).findForUpdate(sessionId);
+        assertNotNull(session.getRevokedAt());
+    }
+
+    @Test
+    void revokeUserSessionsRevokesEachLiveSession() {
+        when(jwtUtil.getAccessTtl()).thenReturn(ACCESS_TTL);
+        RefreshSession session = new RefreshSession(sessionId, userId, LocalDateTime.now().plusDays(1));
+        when(refreshTokenRepository.findLiveFamilyIds(eq(userId), any())).thenReturn(List.of(sessionId));
+        when(refreshSessionRepository.findForUpdate(sessionId)).thenReturn(Optional.of(session));
+
+        refreshTokenService.revokeUserSessions(userId);
+
+        verify(refreshTokenRepository).revokeFamily(eq(sessionId), any());
+        assertNotNull(session.getRevokedAt());
+        assertSessionRevokedForAccessTtl();
+    }
+
+    @Test
+    void unknownTokenIsRejected() {
+        when(refreshTokenRepository.findByTokenHash(anyString())).thenReturn(Optional.empty());
+
+        assertThrows(BadCredentialsException.class, () -> refreshTokenService.rotate("presented"));
+        verify(refreshSessionRepository, never()).findForUpdate(any());
+    }
+
+    // The sid must stay revoked at least as long as an access token signed now would be valid
+    private void assertSessionRevokedForAccessTtl() {
+        ArgumentCaptor<RevokedToken> revoked = ArgumentCaptor.forClass(RevokedToken.class);
+        verify(revokedTokenRepository).save(revoked.capture());
+        assertEquals(sessionId, revoked.getValue().getTokenId());
+        assertTrue(revoked.getValue().getExpiresAt().isAfter(LocalDateTime.now().plus(ACCESS_TTL)));
+        verify(revocationList).addAfterCommit(eq(sessionId), eq(revoked.getValue().getExpiresAt()));
+    }
+
+    private RefreshToken token() {
+        RefreshToken token = new RefreshToken();
+        token.setTokenId(UUID.randomUUID());
+        token.setUserId(userId);
+        token.setFamilyId(sessionId);
+        token.setTokenHash("hash");
+        token.setExpiresAt(LocalDateTime.now().plusDays(1));
+        return token;
+    }
+}
@@ -0,0 +1,176 @@
+package com.grababite.backend.services;
+
+import com.grababite.backend.auth.AuthAccountCache;
+import com.grababite.backend.auth.RevocationList;
+import com.grababite.backend.config.AuthenticatedUser;
+import com.grababite.backend.config.JwtUtil;
+import com.grababite.backend.models.Cafeteria;
+import com.grababite.backend.models.College;
+import com.grababite.backend.models.RefreshSession;
+import com.grababite.backend.models.User;
+import com.grababite.backend.repositories.CafeteriaRepository;
+import com.grababite.backend.repositories.CollegeRepository;
+import com.grababite.backend.repositories.RefreshSessionRepository;
+import com.grababite.backend.repositories.RefreshTokenRepository;
+import com.grababite.backend.repositories.RevokedTokenRepository;
+import com.grababite.backend.repositories.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+// Real JwtUtil, RevocationList and RefreshTokenService over mocked repositories: a token issued
+// before an update must stop authenticating once the update changed one of its claims
+@ExtendWith(MockitoExtension.class)
+class UserServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private CollegeRepository collegeRepository;
+
+    @Mock
+    private CafeteriaRepository cafeteriaRepository;
+
+    @Mock
+    private PasswordEncoder passwordEncoder;
+
+    @Mock
+    private AuthAccountCache authAccountCache;
+
+    @Mock
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Mock
+    private RefreshSessionRepository refreshSessionRepository;
+
+    @Mock
+    private RevokedTokenRepository revokedTokenRepository;
+
+    @InjectMocks
+    private UserService userService;
+
+    private final JwtUtil jwtUtil = new JwtUtil(100, Duration.ofMinutes(15));
+    private final RevocationList revocationList = new RevocationList(1024);
+
+    private final UUID userId = UUID.randomUUID();
+    private final UUID sessionId = UUID.randomUUID();
+    private final College college = college(UUID.randomUUID());
+    private final Cafeteria ownCafeteria = cafeteria(UUID.randomUUID());
+    private User owner;
+
+    @BeforeEach
+    void setUp() {
+        RefreshTokenService refreshTokenService = new RefreshTokenService();
+        ReflectionTestUtils.setField(refreshTokenService, "refreshTokenRepository", refreshTokenRepository);
+        ReflectionTestUtils.setField(refreshTokenService, "refreshSessionRepository", refreshSessionRepository);
+        ReflectionTestUtils.setField(refreshTokenService, "revokedTokenRepository", revokedTokenRepository);
+        ReflectionTestUtils.setField(refreshTokenService, "revocationList", revocationList);
+        ReflectionTestUtils.setField(refreshTokenService, "jwtUtil", jwtUtil);
+        ReflectionTestUtils.setField(refreshTokenService, "refreshTtl", Duration.ofDays(30));
+        ReflectionTestUtils.setField(userService, "refreshTokenService", refreshTokenService);
+
+        owner = new User();
+        owner.setId(userId);
+        owner.setEmail("owner@example.com");
+        owner.setRoles(Set.of("CAFETERIA_OWNER"));
+        owner.setCollege(college);
+        owner.setCafeteria(ownCafeteria);
+        when(userRepository.findById(userId)).thenReturn(Optional.of(owner));
+        when(userRepository.save(owner)).thenReturn(owner);
+    }
+
+    @Test
+    void movingOwnerToAnotherCafeteriaRejectsTokensIssuedBefore() {
+        String token = issueToken();
+        expectLiveSession();
+        Cafeteria other = cafeteria(UUID.randomUUID());
+        when(cafeteriaRepository.findById(other.getCafeteriaId())).thenReturn(Optional.of(other));
+
+        User update = new User();
+        update.setCafeteria(cafeteria(other.getCafeteriaId()));
+        userService.updateUser(userId, update);
+
+        assertFalse(authenticates(token));
+        verify(refreshTokenRepository).revokeFamily(eq(sessionId), any());
+    }
+
+    @Test
+    void movingUserToAnotherCollegeRejectsTokensIssuedBefore() {
+        String token = issueToken();
+        expectLiveSession();
+        College other = college(UUID.randomUUID());
+        when(collegeRepository.findById(other.getCollegeId())).thenReturn(Optional.of(other));
+
+        User update = new User();
+        update.setCollege(college(other.getCollegeId()));
+        userService.updateUser(userId, update);
+
+        assertFalse(authenticates(token));
+    }
+
+    @Test
+    void unchangedCafeteriaKeepsSessions() {
+        String token = issueToken();
+        when(cafeteriaRepository.findById(ownCafeteria.getCafeteriaId())).thenReturn(Optional.of(ownCafeteria));
+
+        User update = new User();
+        update.setName("Renamed");
+        update.setCafeteria(cafeteria(ownCafeteria.getCafeteriaId()));
+        userService.updateUser(userId, update);
+
+        assertTrue(authenticates(token));
+        verify(refreshTokenRepository, never()).findLiveFamilyIds(any(), any());
+    }
+
+    private String issueToken() {
+        String token = jwtUtil.generateToken(userId, owner.getEmail(), owner.getRoles(),
+                ownCafeteria.getCafeteriaId(), college.getCollegeId(), sessionId);
+        assertTrue(authenticates(token));
+        return token;
+    }
+
+    private void expectLiveSession() {
+        when(refreshTokenRepository.findLiveFamilyIds(eq(userId), any())).thenReturn(List.of(sessionId));
+        when(refreshSessionRepository.findForUpdate(sessionId)).thenReturn(
+                Optional.of(new RefreshSession(sessionId, userId, LocalDateTime.now().plusDays(1))));
+    }
+
+    // The check JwtFilter makes before authenticating a request
+    private boolean authenticates(String token) {
+        Optional<AuthenticatedUser> user = jwtUtil.verify(token);
+        return user.isPresent() && !revocationList.isRevoked(user.get().getTokenId(), user.get().getSessionId());
+    }
+
+    private static Cafeteria cafeteria(UUID id) {
+        Cafeteria cafeteria = new Cafeteria();
+        cafeteria.setCafeteriaId(id);
+        return cafeteria;
+    }
+
+    private static College college(UUID id) {
+        College college = new College();
+        college.setCollegeId(id);
+        return college;
+    }
+}